@@ -3,6 +3,7 @@ package com.sequenceiq.cloudbreak.auth.altus;
 import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -68,6 +69,9 @@ public class GrpcUmsClient {
     @Inject
     private Tracer tracer;
 
+    @Inject
+    private UmsRightDecisionCache rightDecisionCache;
+
     public static GrpcUmsClient createClient(ManagedChannelWrapper channelWrapper, UmsClientConfig clientConfig, Tracer tracer) {
         GrpcUmsClient client = new GrpcUmsClient();
         client.channelWrapper = Preconditions.checkNotNull(channelWrapper);
@@ -373,13 +377,12 @@ public class GrpcUmsClient {
         return client.listAssigmentsOfUser(RequestIdUtil.getOrGenerate(requestId), userCrn);
     }
 
-    @Cacheable(cacheNames = "umsUserHasRightsForResourceCache", key = "{ #actorCrn, #userCrn, #right, #resource }")
     public boolean checkResourceRight(String actorCrn, String userCrn, String right, String resource, Optional<String> requestId) {
         if (InternalCrnBuilder.isInternalCrn(userCrn)) {
             LOGGER.info("InternalCrn, allow right {} for user {}!", right, userCrn);
             return true;
         }
-        return makeCheckRightCall(actorCrn, userCrn, right, resource, requestId);
+        return makeCachedCheckRightCall(actorCrn, userCrn, right, resource, requestId);
     }
 
     @Cacheable(cacheNames = "umsUserHasRightsForResourceCache", key = "{ #actorCrn, #userCrn, #right, #resource }")
@@ -396,13 +399,12 @@ public class GrpcUmsClient {
         return makeCheckRightCall(actorCrn, userCrn, right, resource, requestId);
     }
 
-    @Cacheable(cacheNames = "umsUserRightsCache", key = "{ #actorCrn, #userCrn, #right }")
     public boolean checkAccountRight(String actorCrn, String userCrn, String right, Optional<String> requestId) {
         if (InternalCrnBuilder.isInternalCrn(userCrn)) {
             LOGGER.info("InternalCrn, allow account right {} for user {}!", right, userCrn);
             return true;
         }
-        return makeCheckRightCall(actorCrn, userCrn, right, null, requestId);
+        return makeCachedCheckRightCall(actorCrn, userCrn, right, null, requestId);
     }
 
     @Cacheable(cacheNames = "umsUserRightsCache", key = "{ #actorCrn, #userCrn, #right }")
@@ -432,6 +434,17 @@ public class GrpcUmsClient {
         }
     }
 
+    private boolean makeCachedCheckRightCall(String actorCrn, String userCrn, String right, String resource, Optional<String> requestId) {
+        try {
+            List<String> resources = new ArrayList<>();
+            resources.add(resource);
+            return Boolean.TRUE.equals(getCachedRights(actorCrn, userCrn, right, resources, requestId).get(resource));
+        } catch (Exception e) {
+            LOGGER.error("Checking right {} failed for user {}, thus access is denied! Cause: {}", right, userCrn, e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Retrieves whether the member has the specified rights.
      *
@@ -481,18 +494,41 @@ public class GrpcUmsClient {
         return Joiner.on(" ").join(Lists.newArrayList(right, "for", resource));
     }
 
-    @Cacheable(cacheNames = "umsUserHasRightsForResourceCache", key = "{ #actorCrn, #memberCrn, #resources, #right }")
     public Map<String, Boolean> hasRights(String actorCrn, String memberCrn, List<String> resources, String right, Optional<String> requestId) {
-        List<RightCheck> rightChecks = resources.stream()
-                .map(resource -> RightCheck.newBuilder()
-                        .setResource(resource)
-                        .setRight(right)
-                        .build())
-                .collect(Collectors.toList());
-        LOGGER.debug("Check if {} has rights to resources {}:", actorCrn, rightChecks);
-        List<Boolean> result = hasRights(actorCrn, memberCrn, rightChecks, requestId);
-        return resources.stream().collect(
-                Collectors.toMap(resource -> resource, resource -> result.get(resources.indexOf(resource))));
+        LOGGER.debug("Check if {} has right {} to resources {}", memberCrn, right, resources);
+        return getCachedRights(actorCrn, memberCrn, right, resources, requestId);
+    }
+
+    /**
+     * Answers the right checks from the per decision cache and asks UMS only about the resources missing from it. The cached decisions of the
+     * account are dropped first if its event generation ids changed.
+     */
+    private Map<String, Boolean> getCachedRights(String actorCrn, String memberCrn, String right, List<String> resources, Optional<String> requestId) {
+        UmsRightDecisionCache.RightLoader loader = missing -> hasRightsNoCache(actorCrn, memberCrn, missing.stream()
+                .map(resource -> toRightCheck(right, resource))
+                .collect(Collectors.toList()), requestId);
+        if (rightDecisionCache == null) {
+            List<Boolean> result = loader.load(resources);
+            Map<String, Boolean> rights = new LinkedHashMap<>();
+            for (int i = 0; i < resources.size(); i++) {
+                rights.put(resources.get(i), result.get(i));
+            }
+            return rights;
+        }
+        if (!InternalCrnBuilder.isInternalCrn(memberCrn) && Crn.isCrn(memberCrn)) {
+            String accountId = Crn.accountIdOf(memberCrn);
+            rightDecisionCache.checkGeneration(accountId,
+                    () -> getEventGenerationIds(ThreadBasedUserCrnProvider.INTERNAL_ACTOR_CRN, accountId, requestId).getEventGenerationIds());
+        }
+        return rightDecisionCache.getRights(actorCrn, memberCrn, right, resources, loader);
+    }
+
+    private RightCheck toRightCheck(String right, String resource) {
+        RightCheck.Builder builder = RightCheck.newBuilder().setRight(right);
+        if (resource != null) {
+            builder.setResource(resource);
+        }
+        return builder.build();
     }
 
     @Cacheable(cacheNames = "umsResourceAssigneesCache", key = "{ #actorCrn, #userCrn, #resourceCrn }")
@@ -0,0 +1,295 @@
+package com.sequenceiq.cloudbreak.auth.altus;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+
+/**
+ * Caches the rights of members one (actor, member, right, resource) decision at a time, so batch checks that differ in a few resources are
+ * answered mostly from the cache and only the missing resources are sent to UMS. Decisions older than the refresh interval are still served
+ * but reloaded in the background, so popular decisions do not expire at the same time. The decisions live as long as the other UMS rights
+ * caches and are reloaded after half of that time. The decisions of an account are dropped when the UMS event generation ids of the account
+ * change, for example after a role assignment.
+ */
+@Component
+public class UmsRightDecisionCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UmsRightDecisionCache.class);
+
+    private static final String ACCOUNT_RESOURCE = "";
+
+    @Value("${altus.ums.rights.decision.cache.max.size:100000}")
+    private long maxSize;
+
+    /**
+     * @deprecated {@link #ttlMinutes} was replaced by {@link #ttlSeconds} because it was not providing enough flexibility on ttl.
+     */
+    @Value("${altus.ums.rights.cache.ttl:1}")
+    @Deprecated
+    private long ttlMinutes;
+
+    @Value("${altus.ums.rights.cache.seconds.ttl:0}")
+    private long ttlSeconds;
+
+    @Value("${altus.ums.rights.decision.cache.generation.check.seconds:10}")
+    private long generationCheckSeconds;
+
+    @Value("${altus.ums.rights.decision.cache.refresh.threads:2}")
+    private int refreshThreads;
+
+    @Value("${altus.ums.rights.decision.cache.refresh.queue.size:1000}")
+    private int refreshQueueSize;
+
+    @Inject
+    private MetricService metricService;
+
+    private final Map<String, AccountGeneration> generations = new ConcurrentHashMap<>();
+
+    private final Set<DecisionKey> refreshing = ConcurrentHashMap.newKeySet();
+
+    private Cache<DecisionKey, Decision> decisions;
+
+    private ExecutorService refreshExecutor;
+
+    private long refreshNanos;
+
+    @PostConstruct
+    public void init() {
+        long timeToLiveSeconds = getTimeToLiveSeconds();
+        refreshNanos = TimeUnit.SECONDS.toNanos(timeToLiveSeconds) / 2;
+        decisions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(timeToLiveSeconds, TimeUnit.SECONDS)
+                .build();
+        refreshExecutor = new MDCCleanerThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueSize), new ThreadFactoryBuilder().setNameFormat("ums-right-refresh-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the decisions of the member for the right on the resources. The decisions missing from the cache are loaded with one call.
+     *
+     * @param actorCrn  the CRN of the actor
+     * @param memberCrn the CRN of the member
+     * @param right     the right to check
+     * @param resources the resource CRNs, a null resource stands for the account
+     * @param loader    loads the decisions of the given resources in their order
+     * @return the decisions by resource in the order of the resources
+     */
+    public Map<String, Boolean> getRights(String actorCrn, String memberCrn, String right, List<String> resources, RightLoader loader) {
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        List<String> stale = new ArrayList<>();
+        long now = System.nanoTime();
+        for (String resource : resources) {
+            Decision decision = decisions.getIfPresent(new DecisionKey(actorCrn, memberCrn, right, resource));
+            if (decision == null) {
+                missing.add(resource);
+            } else {
+                result.put(resource, decision.allowed);
+                if (now - decision.loadedAt >= refreshNanos) {
+                    stale.add(resource);
+                }
+            }
+        }
+        countLookups("hit", resources.size() - missing.size());
+        countLookups("miss", missing.size());
+        if (!missing.isEmpty()) {
+            result.putAll(load(actorCrn, memberCrn, right, missing, loader));
+        }
+        if (!stale.isEmpty()) {
+            refreshInBackground(actorCrn, memberCrn, right, stale, loader);
+        }
+        Map<String, Boolean> ordered = new LinkedHashMap<>();
+        resources.forEach(resource -> ordered.put(resource, result.get(resource)));
+        return ordered;
+    }
+
+    /**
+     * Drops the cached decisions of the account when its UMS event generation ids changed since the last check. The generation ids are
+     * read at most once per check interval for an account, by the first caller of the interval, the others go on with the cached decisions.
+     * A failed read is not repeated within the interval either.
+     *
+     * @param accountId     the account of the members
+     * @param generationIds reads the current event generation ids of the account
+     */
+    public void checkGeneration(String accountId, Supplier<Object> generationIds) {
+        long now = System.nanoTime();
+        AccountGeneration previous = generations.get(accountId);
+        if (previous != null && now - previous.checkedAt < TimeUnit.SECONDS.toNanos(generationCheckSeconds)) {
+            return;
+        }
+        AccountGeneration claim = new AccountGeneration(previous == null ? null : previous.generationIds, now);
+        boolean claimed = previous == null ? generations.putIfAbsent(accountId, claim) == null : generations.replace(accountId, previous, claim);
+        if (!claimed) {
+            return;
+        }
+        try {
+            Object current = generationIds.get();
+            if (claim.generationIds != null && !Objects.equals(claim.generationIds, current)) {
+                invalidateAccount(accountId);
+            }
+            generations.replace(accountId, claim, new AccountGeneration(current, now));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not read the UMS event generation ids of account {}, the cached rights stay until they expire", accountId, e);
+        }
+    }
+
+    public void invalidateAccount(String accountId) {
+        LOGGER.debug("Dropping the cached rights of account {}", accountId);
+        metricService.incrementMetricCounter(UmsRightDecisionMetricType.UMS_RIGHT_DECISION_INVALIDATION);
+        decisions.asMap().keySet().removeIf(key -> accountId.equals(key.accountId));
+    }
+
+    private Map<String, Boolean> load(String actorCrn, String memberCrn, String right, List<String> resources, RightLoader loader) {
+        List<Boolean> loaded = loader.load(resources);
+        long loadedAt = System.nanoTime();
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (int i = 0; i < resources.size(); i++) {
+            Boolean allowed = loaded.get(i);
+            result.put(resources.get(i), allowed);
+            decisions.put(new DecisionKey(actorCrn, memberCrn, right, resources.get(i)), new Decision(allowed, loadedAt));
+        }
+        return result;
+    }
+
+    private void refreshInBackground(String actorCrn, String memberCrn, String right, List<String> stale, RightLoader loader) {
+        List<String> toRefresh = new ArrayList<>();
+        List<DecisionKey> keys = new ArrayList<>();
+        for (String resource : stale) {
+            DecisionKey key = new DecisionKey(actorCrn, memberCrn, right, resource);
+            if (refreshing.add(key)) {
+                toRefresh.add(resource);
+                keys.add(key);
+            }
+        }
+        if (toRefresh.isEmpty()) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(actorCrn, memberCrn, right, toRefresh, loader);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Background refresh of the rights of {} failed, the decisions expire as usual", memberCrn, e);
+                } finally {
+                    keys.forEach(refreshing::remove);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Refresh queue of the rights cache is full, skipping the refresh of {} decisions", toRefresh.size());
+            keys.forEach(refreshing::remove);
+        }
+    }
+
+    private long getTimeToLiveSeconds() {
+        if (ttlSeconds != 0) {
+            return ttlSeconds;
+        }
+        return ttlMinutes == 0L ? 1 : TimeUnit.MINUTES.toSeconds(ttlMinutes);
+    }
+
+    private void countLookups(String result, int count) {
+        for (int i = 0; i < count; i++) {
+            metricService.incrementMetricCounter(UmsRightDecisionMetricType.UMS_RIGHT_DECISION_LOOKUP, "result", result);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RightLoader {
+        List<Boolean> load(List<String> resources);
+    }
+
+    private static class DecisionKey {
+
+        private final String actorCrn;
+
+        private final String memberCrn;
+
+        private final String right;
+
+        private final String resource;
+
+        private final String accountId;
+
+        DecisionKey(String actorCrn, String memberCrn, String right, String resource) {
+            this.actorCrn = actorCrn;
+            this.memberCrn = memberCrn;
+            this.right = right;
+            this.resource = resource == null ? ACCOUNT_RESOURCE : resource;
+            this.accountId = Crn.isCrn(memberCrn) ? Crn.accountIdOf(memberCrn) : ACCOUNT_RESOURCE;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DecisionKey that = (DecisionKey) o;
+            return Objects.equals(actorCrn, that.actorCrn) && Objects.equals(memberCrn, that.memberCrn) && Objects.equals(right, that.right)
+                    && Objects.equals(resource, that.resource);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(actorCrn, memberCrn, right, resource);
+        }
+    }
+
+    private static class Decision {
+
+        private final Boolean allowed;
+
+        private final long loadedAt;
+
+        Decision(Boolean allowed, long loadedAt) {
+            this.allowed = allowed;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class AccountGeneration {
+
+        private final Object generationIds;
+
+        private final long checkedAt;
+
+        AccountGeneration(Object generationIds, long checkedAt) {
+            this.generationIds = generationIds;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
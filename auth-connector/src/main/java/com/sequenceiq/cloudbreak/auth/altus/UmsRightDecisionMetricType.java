@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.auth.altus;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum UmsRightDecisionMetricType implements Metric {
+
+    UMS_RIGHT_DECISION_LOOKUP("ums.right.decision.lookup"),
+    UMS_RIGHT_DECISION_INVALIDATION("ums.right.decision.invalidation");
+
+    private final String metricName;
+
+    UmsRightDecisionMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -37,7 +37,7 @@ public class UmsAuthenticationService implements AuthenticationService {
         String requestId = MDCBuilder.getMdcContextMap().get(LoggerContextKey.REQUEST_ID.toString());
         Crn crn;
         try {
-            crn = Crn.safeFromString(userCrn);
+            crn = Crn.intern(userCrn);
         } catch (NullPointerException | CrnParseException e) {
             throw new UmsAuthenticationException(String.format("Invalid CRN has been provided: %s", userCrn));
         }
@@ -45,7 +45,7 @@ public class UmsAuthenticationService implements AuthenticationService {
         switch (crn.getResourceType()) {
             case USER:
                 if (InternalCrnBuilder.isInternalCrn(userCrn)) {
-                    return InternalCrnBuilder.createInternalCrnUser(Crn.fromString(userCrn));
+                    return InternalCrnBuilder.createInternalCrnUser(crn);
                 } else {
                     User userInfo = umsClient.getUserDetails(userCrn, userCrn, Optional.ofNullable(requestId));
                     String userName = principal != null ? principal : userInfo.getEmail();
@@ -55,7 +55,7 @@ public class UmsAuthenticationService implements AuthenticationService {
                 break;
             case MACHINE_USER:
                 MachineUser machineUserInfo =
-                        umsClient.getMachineUserDetails(userCrn, userCrn, Crn.fromString(userCrn).getAccountId(), Optional.ofNullable(requestId));
+                        umsClient.getMachineUserDetails(userCrn, userCrn, crn.getAccountId(), Optional.ofNullable(requestId));
                 String machineUserName = principal != null ? principal : machineUserInfo.getMachineUserName();
                 cloudbreakUser = new CloudbreakUser(machineUserInfo.getMachineUserId(), userCrn,
                         machineUserName, machineUserInfo.getMachineUserName(), crn.getAccountId());
@@ -0,0 +1,159 @@
+package com.sequenceiq.cloudbreak.auth.altus;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UmsRightDecisionCacheTest {
+
+    private static final String ACTOR_CRN = "crn:cdp:iam:us-west-1:1234:user:actor";
+
+    private static final String MEMBER_CRN = "crn:cdp:iam:us-west-1:1234:user:member";
+
+    private static final String RIGHT = "environments/describeEnvironment";
+
+    private final List<List<String>> loads = new ArrayList<>();
+
+    @Mock
+    private MetricService metricService;
+
+    @InjectMocks
+    private UmsRightDecisionCache underTest;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "maxSize", 100L);
+        ReflectionTestUtils.setField(underTest, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(underTest, "generationCheckSeconds", 0L);
+        ReflectionTestUtils.setField(underTest, "refreshThreads", 1);
+        ReflectionTestUtils.setField(underTest, "refreshQueueSize", 10);
+        underTest.init();
+    }
+
+    @After
+    public void tearDown() {
+        underTest.shutdown();
+    }
+
+    @Test
+    public void testOnlyMissingResourcesAreLoaded() {
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1", "crn2"), this::allowOdd);
+
+        Map<String, Boolean> result = underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn3", "crn2", "crn1"), this::allowOdd);
+
+        assertEquals(List.of(List.of("crn1", "crn2"), List.of("crn3")), loads);
+        assertEquals(List.of("crn3", "crn2", "crn1"), new ArrayList<>(result.keySet()));
+        assertEquals(Arrays.asList(true, false, true), new ArrayList<>(result.values()));
+        verify(metricService, times(2)).incrementMetricCounter(UmsRightDecisionMetricType.UMS_RIGHT_DECISION_LOOKUP, "result", "hit");
+    }
+
+    @Test
+    public void testAccountRightIsCachedUnderNullResource() {
+        List<String> account = new ArrayList<>();
+        account.add(null);
+
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, account, resources -> load(resources, true));
+        Map<String, Boolean> result = underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, account, resources -> load(resources, false));
+
+        assertEquals(Boolean.TRUE, result.get(null));
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void testChangedGenerationDropsTheDecisionsOfTheAccount() {
+        underTest.checkGeneration("1234", () -> "generation1");
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), this::allowOdd);
+        underTest.checkGeneration("1234", () -> "generation1");
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), this::allowOdd);
+
+        underTest.checkGeneration("1234", () -> "generation2");
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), this::allowOdd);
+
+        assertEquals(List.of(List.of("crn1"), List.of("crn1")), loads);
+        verify(metricService).incrementMetricCounter(UmsRightDecisionMetricType.UMS_RIGHT_DECISION_INVALIDATION);
+    }
+
+    @Test
+    public void testGenerationReadFailureKeepsTheDecisions() {
+        underTest.checkGeneration("1234", () -> "generation1");
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), this::allowOdd);
+
+        underTest.checkGeneration("1234", () -> {
+            throw new IllegalStateException("UMS is down");
+        });
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), this::allowOdd);
+
+        assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void testFailedGenerationReadIsNotRepeatedWithinTheCheckInterval() {
+        ReflectionTestUtils.setField(underTest, "generationCheckSeconds", 60L);
+        AtomicInteger reads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            underTest.checkGeneration("1234", () -> {
+                reads.incrementAndGet();
+                throw new IllegalStateException("UMS is down");
+            });
+        }
+
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testDecisionsLiveAsLongAsTheOtherRightsCaches() {
+        ReflectionTestUtils.setField(underTest, "ttlSeconds", 0L);
+        ReflectionTestUtils.setField(underTest, "ttlMinutes", 2L);
+        underTest.shutdown();
+        underTest.init();
+
+        assertEquals(TimeUnit.MINUTES.toNanos(1), ReflectionTestUtils.getField(underTest, "refreshNanos"));
+    }
+
+    @Test
+    public void testStaleDecisionIsServedAndRefreshed() {
+        ReflectionTestUtils.setField(underTest, "refreshNanos", 0L);
+        ReflectionTestUtils.setField(underTest, "refreshExecutor", MoreExecutors.newDirectExecutorService());
+        underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), resources -> load(resources, false));
+
+        Map<String, Boolean> stale = underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), resources -> load(resources, true));
+        Map<String, Boolean> refreshed = underTest.getRights(ACTOR_CRN, MEMBER_CRN, RIGHT, List.of("crn1"), resources -> load(resources, true));
+
+        assertEquals(Boolean.FALSE, stale.get("crn1"));
+        assertEquals(Boolean.TRUE, refreshed.get("crn1"));
+    }
+
+    private List<Boolean> allowOdd(List<String> resources) {
+        loads.add(List.copyOf(resources));
+        return resources.stream()
+                .map(resource -> Integer.parseInt(resource.substring("crn".length())) % 2 == 1)
+                .collect(Collectors.toList());
+    }
+
+    private List<Boolean> load(List<String> resources, boolean allowed) {
+        loads.add(new ArrayList<>(resources));
+        return resources.stream().map(resource -> allowed).collect(Collectors.toList());
+    }
+}
@@ -41,7 +41,7 @@ public class ListPermissionChecker {
             commonPermissionCheckingUtils.checkPermissionForUser(action, userCrn);
             return commonPermissionCheckingUtils.proceed(proceedingJoinPoint, methodSignature, startTime);
         }
-        if (entitlementService.listFilteringEnabled(Crn.safeFromString(userCrn).getAccountId())) {
+        if (entitlementService.listFilteringEnabled(Crn.intern(userCrn).getAccountId())) {
             List<String> allResourceCrns = commonPermissionCheckingUtils.getResourceBasedCrnProvider(action).getResourceCrnsInAccount();
             Set<String> filteredResourceCrns = commonPermissionCheckingUtils.getPermissionsForUserOnResources(action, userCrn, allResourceCrns)
                     .entrySet()
@@ -49,7 +49,8 @@ public class ListPermissionChecker {
                     .filter(Map.Entry::getValue)
                     .map(Map.Entry::getKey)
                     .collect(Collectors.toSet());
-            Object result = commonPermissionCheckingUtils.proceed(proceedingJoinPoint, methodSignature, startTime);
+            Object result = ThreadBasedAllowedResourceCrnProvider.doWithAllowedResourceCrns(action.getAuthorizationResourceType(), filteredResourceCrns,
+                    () -> commonPermissionCheckingUtils.proceed(proceedingJoinPoint, methodSignature, startTime));
             switch (ListResponseFilteringType.getByClass(result.getClass())) {
                 case SET:
                     return filterSet(filteredResourceCrns, (Set) result);
@@ -0,0 +1,75 @@
+package com.sequenceiq.authorization.service.list;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.collect.Iterables;
+import com.sequenceiq.authorization.resource.AuthorizationResourceType;
+
+/**
+ * Holds the resource CRNs the user is allowed to see while a list method filtered by {@link ListPermissionChecker} runs. List methods can push
+ * the filter down into their queries with {@link #findAllowed(AuthorizationResourceType, Supplier, Function)} instead of loading every resource
+ * of the account and letting the checker drop most of them afterwards. The CRNs are held by resource type, so a list method of another type
+ * called meanwhile is not restricted to them.
+ */
+public class ThreadBasedAllowedResourceCrnProvider {
+
+    private static final int QUERY_PAGE_SIZE = 1000;
+
+    private static final ThreadLocal<Map<AuthorizationResourceType, Set<String>>> ALLOWED_RESOURCE_CRNS = new ThreadLocal<>();
+
+    private ThreadBasedAllowedResourceCrnProvider() {
+    }
+
+    public static Optional<Set<String>> getAllowedResourceCrns(AuthorizationResourceType resourceType) {
+        Map<AuthorizationResourceType, Set<String>> allowedResourceCrns = ALLOWED_RESOURCE_CRNS.get();
+        return allowedResourceCrns == null ? Optional.empty() : Optional.ofNullable(allowedResourceCrns.get(resourceType));
+    }
+
+    public static <T> T doWithAllowedResourceCrns(AuthorizationResourceType resourceType, Set<String> allowedResourceCrns, Supplier<T> callable) {
+        Map<AuthorizationResourceType, Set<String>> previous = ALLOWED_RESOURCE_CRNS.get();
+        Map<AuthorizationResourceType, Set<String>> current = previous == null ? new EnumMap<>(AuthorizationResourceType.class) : new EnumMap<>(previous);
+        current.put(resourceType, allowedResourceCrns);
+        ALLOWED_RESOURCE_CRNS.set(current);
+        try {
+            return callable.get();
+        } finally {
+            if (previous != null) {
+                ALLOWED_RESOURCE_CRNS.set(previous);
+            } else {
+                ALLOWED_RESOURCE_CRNS.remove();
+            }
+        }
+    }
+
+    /**
+     * Runs the query restricted to the allowed resource CRNs when a list filter of the resource type is in progress, otherwise the unrestricted
+     * query. The allowed CRNs are queried in sorted pages, so the IN lists of the queries stay bounded and the result does not depend on hash
+     * ordering.
+     *
+     * @param resourceType   the type of the queried resources
+     * @param all            the unrestricted query
+     * @param byResourceCrns the query restricted to the given resource CRNs
+     * @return the result of the queries
+     */
+    public static <T> List<T> findAllowed(AuthorizationResourceType resourceType, Supplier<? extends Collection<T>> all,
+            Function<Collection<String>, ? extends Collection<T>> byResourceCrns) {
+        Optional<Set<String>> allowedResourceCrns = getAllowedResourceCrns(resourceType);
+        if (allowedResourceCrns.isEmpty()) {
+            return new ArrayList<>(all.get());
+        }
+        List<T> result = new ArrayList<>();
+        for (List<String> page : Iterables.partition(new TreeSet<>(allowedResourceCrns.get()), QUERY_PAGE_SIZE)) {
+            result.addAll(byResourceCrns.apply(page));
+        }
+        return result;
+    }
+}
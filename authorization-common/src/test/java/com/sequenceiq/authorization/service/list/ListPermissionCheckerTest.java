@@ -30,6 +30,7 @@ import com.google.common.collect.Maps;
 import com.sequenceiq.authorization.annotation.FilterListBasedOnPermissions;
 import com.sequenceiq.authorization.resource.AuthorizationFilterableResponseCollection;
 import com.sequenceiq.authorization.resource.AuthorizationResourceAction;
+import com.sequenceiq.authorization.resource.AuthorizationResourceType;
 import com.sequenceiq.authorization.resource.ResourceCrnAwareApiModel;
 import com.sequenceiq.authorization.service.CommonPermissionCheckingUtils;
 import com.sequenceiq.authorization.service.ResourceBasedCrnProvider;
@@ -87,6 +88,21 @@ public class ListPermissionCheckerTest {
         assertFalse(filteredResourceCrns.contains(RESOURCE_CRN3));
     }
 
+    @Test
+    public void testAllowedResourceCrnsAreAvailableForTheListQuery() {
+        when(commonPermissionCheckingUtils.proceed(any(), any(), anyLong())).thenAnswer(invocation ->
+                ThreadBasedAllowedResourceCrnProvider.<ResourceCrnAwareApiModel>findAllowed(AuthorizationResourceType.CREDENTIAL,
+                        List::of, crns -> crns.stream().map(crn -> (ResourceCrnAwareApiModel) () -> crn).collect(Collectors.toList())));
+
+        Object result = underTest.checkPermissions(getAnnotation(), USER_CRN, null, null, 0L);
+
+        List<String> resourceCrns = ((List<ResourceCrnAwareApiModel>) result).stream()
+                .map(ResourceCrnAwareApiModel::getResourceCrn)
+                .collect(Collectors.toList());
+        assertEquals(List.of(RESOURCE_CRN1, RESOURCE_CRN2), resourceCrns);
+        assertTrue(ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.CREDENTIAL).isEmpty());
+    }
+
     @Test
     public void testIncompatibleListFiltering() {
         when(commonPermissionCheckingUtils.proceed(any(), any(), anyLong())).thenReturn(List.of(RESOURCE_CRN1, RESOURCE_CRN2, RESOURCE_CRN3));
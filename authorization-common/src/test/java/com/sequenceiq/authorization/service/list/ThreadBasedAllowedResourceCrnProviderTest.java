@@ -0,0 +1,69 @@
+package com.sequenceiq.authorization.service.list;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.authorization.resource.AuthorizationResourceType;
+
+class ThreadBasedAllowedResourceCrnProviderTest {
+
+    @Test
+    void testUnrestrictedQueryWithoutListFilter() {
+        List<String> result = ThreadBasedAllowedResourceCrnProvider.findAllowed(AuthorizationResourceType.ENVIRONMENT, () -> List.of("crn1", "crn2"),
+                crns -> List.of());
+
+        assertEquals(List.of("crn1", "crn2"), result);
+    }
+
+    @Test
+    void testAllowedResourceCrnsAreQueriedInSortedPages() {
+        Set<String> allowed = IntStream.range(0, 2500).mapToObj(i -> String.format("crn%04d", i)).collect(Collectors.toSet());
+        List<Integer> pageSizes = new ArrayList<>();
+
+        List<String> result = ThreadBasedAllowedResourceCrnProvider.doWithAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT, allowed,
+                () -> ThreadBasedAllowedResourceCrnProvider.findAllowed(AuthorizationResourceType.ENVIRONMENT, List::of, (Collection<String> crns) -> {
+                    pageSizes.add(crns.size());
+                    return crns;
+                }));
+
+        assertEquals(List.of(1000, 1000, 500), pageSizes);
+        assertEquals(allowed.stream().sorted().collect(Collectors.toList()), result);
+        assertTrue(ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT).isEmpty());
+    }
+
+    @Test
+    void testNestedQueryOfAnotherResourceTypeIsNotRestricted() {
+        List<String> result = ThreadBasedAllowedResourceCrnProvider.doWithAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT, Set.of("env"),
+                () -> ThreadBasedAllowedResourceCrnProvider.findAllowed(AuthorizationResourceType.CREDENTIAL, () -> List.of("cred1", "cred2"),
+                        crns -> List.of()));
+
+        assertEquals(List.of("cred1", "cred2"), result);
+    }
+
+    @Test
+    void testAllowedResourceCrnsAreRestoredAfterNestedListFilter() {
+        Optional<Set<String>> afterNested = ThreadBasedAllowedResourceCrnProvider.doWithAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT,
+                Set.of("env"), () -> {
+                    ThreadBasedAllowedResourceCrnProvider.doWithAllowedResourceCrns(AuthorizationResourceType.CREDENTIAL, Set.of("cred"), () -> {
+                        assertEquals(Optional.of(Set.of("env")),
+                                ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT));
+                        return null;
+                    });
+                    assertTrue(ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.CREDENTIAL).isEmpty());
+                    return ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT);
+                });
+
+        assertEquals(Optional.of(Set.of("env")), afterNested);
+        assertTrue(ThreadBasedAllowedResourceCrnProvider.getAllowedResourceCrns(AuthorizationResourceType.ENVIRONMENT).isEmpty());
+    }
+}
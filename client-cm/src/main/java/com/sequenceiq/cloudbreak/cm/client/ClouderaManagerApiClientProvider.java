@@ -1,9 +1,12 @@
 package com.sequenceiq.cloudbreak.cm.client;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocketFactory;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.ssl.SSLContexts;
@@ -14,9 +17,11 @@ import org.springframework.stereotype.Component;
 
 import com.cloudera.api.swagger.client.ApiClient;
 import com.sequenceiq.cloudbreak.client.CertificateTrustManager;
+import com.sequenceiq.cloudbreak.client.GatewayClientCache;
 import com.sequenceiq.cloudbreak.client.HttpClientConfig;
 import com.sequenceiq.cloudbreak.client.KeyStoreUtil;
 import com.sequenceiq.cloudbreak.cm.client.tracing.CmOkHttpTracingInterceptor;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.util.HostUtil;
 
 @Component
@@ -41,9 +46,26 @@ public class ClouderaManagerApiClientProvider {
     @Value("${cb.cm.client.write.timeout.seconds}")
     private Integer writeTimeoutSeconds;
 
+    @Value("${cb.cm.client.ssl.cache.max.size:1000}")
+    private long sslCacheMaxSize;
+
+    @Value("${cb.cm.client.ssl.cache.idle.minutes:30}")
+    private long sslCacheIdleMinutes;
+
     @Inject
     private CmOkHttpTracingInterceptor cmOkHttpTracingInterceptor;
 
+    @Inject
+    private MetricService metricService;
+
+    private GatewayClientCache<SSLSocketFactory> sslSocketFactoryCache;
+
+    @PostConstruct
+    public void init() {
+        sslSocketFactoryCache = new GatewayClientCache<>("cm", sslCacheMaxSize, Duration.ofMinutes(sslCacheIdleMinutes), socketFactory -> {
+        }, metricService);
+    }
+
     public ApiClient getDefaultClient(Integer gatewayPort, HttpClientConfig clientConfig, String apiVersion) throws ClouderaManagerClientInitException {
         ApiClient client = getClouderaManagerClient(clientConfig, gatewayPort, "admin", "admin", apiVersion);
         client.getHttpClient().interceptors().add(cmOkHttpTracingInterceptor);
@@ -112,11 +134,7 @@ public class ClouderaManagerApiClientProvider {
         cmClient.setVerifyingSsl(true);
         try {
             if (isCmSslConfigValidClientConfigValid(clientConfig) && !clientConfig.isClusterProxyEnabled()) {
-                SSLContext sslContext = SSLContexts.custom()
-                        .loadTrustMaterial(KeyStoreUtil.createTrustStore(clientConfig.getServerCert()), null)
-                        .loadKeyMaterial(KeyStoreUtil.createKeyStore(clientConfig.getClientCert(), clientConfig.getClientKey()), "consul".toCharArray())
-                        .build();
-                cmClient.getHttpClient().setSslSocketFactory(sslContext.getSocketFactory());
+                cmClient.getHttpClient().setSslSocketFactory(getSslSocketFactory(clientConfig));
                 cmClient.getHttpClient().setHostnameVerifier(CertificateTrustManager.hostnameVerifier());
             }
             cmClient.getHttpClient().interceptors().add(cmOkHttpTracingInterceptor);
@@ -130,6 +148,21 @@ public class ClouderaManagerApiClientProvider {
         }
     }
 
+    /**
+     * The socket factory is shared by the clients of the same Cloudera Manager, so their OkHttp clients can reuse the pooled
+     * connections and TLS sessions of each other instead of doing a new handshake for every client.
+     */
+    private SSLSocketFactory getSslSocketFactory(HttpClientConfig clientConfig) throws Exception {
+        String fingerprint = GatewayClientCache.fingerprint(clientConfig.getServerCert(), clientConfig.getClientCert(), clientConfig.getClientKey());
+        return sslSocketFactoryCache.get(clientConfig.getApiAddress(), fingerprint, () -> {
+            SSLContext sslContext = SSLContexts.custom()
+                    .loadTrustMaterial(KeyStoreUtil.createTrustStore(clientConfig.getServerCert()), null)
+                    .loadKeyMaterial(KeyStoreUtil.createKeyStore(clientConfig.getClientCert(), clientConfig.getClientKey()), "consul".toCharArray())
+                    .build();
+            return sslContext.getSocketFactory();
+        });
+    }
+
     private boolean isCmSslConfigValidClientConfigValid(HttpClientConfig config) {
         return config.getClientCert() != null && config.getServerCert() != null && config.getClientKey() != null;
     }
@@ -0,0 +1,126 @@
+package com.sequenceiq.cloudbreak.cloud.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.sequenceiq.common.api.type.ResourceType;
+
+/**
+ * Case insensitive lookup of cloud resources by name, reference, instance id, type and group. It is built once per operation, so matching the
+ * resources of a large stack against its instances does not rescan the whole resource list for every instance or builder.
+ * The lookups keep the order of the resources the index was built from.
+ */
+public class CloudResourceIndex {
+
+    private final Map<ResourceType, List<CloudResource>> byType = new EnumMap<>(ResourceType.class);
+
+    private final Map<String, List<CloudResource>> byName = new HashMap<>();
+
+    private final Map<String, List<CloudResource>> byReference = new HashMap<>();
+
+    private final Map<String, List<CloudResource>> byGroup = new HashMap<>();
+
+    private final Map<String, List<CloudResource>> byInstanceId = new HashMap<>();
+
+    private final Map<CloudResource, Integer> positions = new IdentityHashMap<>();
+
+    private CloudResourceIndex(Iterable<CloudResource> resources) {
+        for (CloudResource resource : resources) {
+            positions.putIfAbsent(resource, positions.size());
+            if (resource.getType() != null) {
+                byType.computeIfAbsent(resource.getType(), k -> new ArrayList<>()).add(resource);
+            }
+            add(byName, resource.getName(), resource);
+            add(byReference, resource.getReference(), resource);
+            add(byGroup, resource.getGroup(), resource);
+            add(byInstanceId, resource.getInstanceId(), resource);
+        }
+    }
+
+    public static CloudResourceIndex of(Iterable<CloudResource> resources) {
+        return new CloudResourceIndex(resources);
+    }
+
+    public List<CloudResource> byType(ResourceType type) {
+        return byType.getOrDefault(type, Collections.emptyList());
+    }
+
+    public List<CloudResource> byName(String name) {
+        return get(byName, name);
+    }
+
+    public List<CloudResource> byReference(String reference) {
+        return get(byReference, reference);
+    }
+
+    public List<CloudResource> byGroup(String group) {
+        return get(byGroup, group);
+    }
+
+    public List<CloudResource> byInstanceId(String instanceId) {
+        return get(byInstanceId, instanceId);
+    }
+
+    /**
+     * @param instanceId the id of an instance
+     * @return the resources whose name or instance id is the given instance id
+     */
+    public List<CloudResource> byNameOrInstanceId(String instanceId) {
+        List<CloudResource> byNameMatches = byName(instanceId);
+        List<CloudResource> byInstanceIdMatches = byInstanceId(instanceId);
+        if (byInstanceIdMatches.isEmpty()) {
+            return byNameMatches;
+        }
+        Map<CloudResource, Boolean> matches = new IdentityHashMap<>();
+        byNameMatches.forEach(resource -> matches.put(resource, Boolean.TRUE));
+        byInstanceIdMatches.forEach(resource -> matches.put(resource, Boolean.TRUE));
+        List<CloudResource> result = new ArrayList<>(matches.keySet());
+        result.sort(Comparator.comparing(positions::get));
+        return result;
+    }
+
+    /**
+     * Selects the instances that have a resource of the given type, matched by the name or the reference of the resource.
+     *
+     * @param type      the type of the resources, for example the instance resource type of the platform
+     * @param instances the instances to select from
+     * @return the matching instances in their original order
+     */
+    public List<CloudInstance> instancesWithResource(ResourceType type, Collection<CloudInstance> instances) {
+        List<CloudInstance> result = new ArrayList<>();
+        for (CloudInstance instance : instances) {
+            String instanceId = instance.getInstanceId();
+            if (hasType(byName(instanceId), type) || hasType(byReference(instanceId), type)) {
+                result.add(instance);
+            }
+        }
+        return result;
+    }
+
+    private boolean hasType(List<CloudResource> resources, ResourceType type) {
+        for (CloudResource resource : resources) {
+            if (type == resource.getType()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void add(Map<String, List<CloudResource>> index, String key, CloudResource resource) {
+        if (key != null) {
+            index.computeIfAbsent(key.toLowerCase(Locale.ROOT), k -> new ArrayList<>()).add(resource);
+        }
+    }
+
+    private static List<CloudResource> get(Map<String, List<CloudResource>> index, String key) {
+        return key == null ? Collections.emptyList() : index.getOrDefault(key.toLowerCase(Locale.ROOT), Collections.emptyList());
+    }
+}
@@ -0,0 +1,66 @@
+package com.sequenceiq.cloudbreak.cloud.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.common.api.type.ResourceType;
+
+class CloudResourceIndexTest {
+
+    private final CloudResource disk1 = resource(ResourceType.GCP_DISK, "host-1", null, "master", null);
+
+    private final CloudResource instance1 = resource(ResourceType.GCP_INSTANCE, "Host-1", "ref-1", "master", null);
+
+    private final CloudResource attachedDisk1 = resource(ResourceType.GCP_ATTACHED_DISKSET, "disks-1", null, "master", "host-1");
+
+    private final CloudResource instance2 = resource(ResourceType.GCP_INSTANCE, "host-2", "REF-2", "worker", null);
+
+    private final CloudResourceIndex underTest = CloudResourceIndex.of(List.of(disk1, instance1, attachedDisk1, instance2));
+
+    @Test
+    void testLookupsAreCaseInsensitiveAndKeepTheOrder() {
+        assertThat(underTest.byName("HOST-1")).containsExactly(disk1, instance1);
+        assertThat(underTest.byReference("ref-2")).containsExactly(instance2);
+        assertThat(underTest.byGroup("Master")).containsExactly(disk1, instance1, attachedDisk1);
+        assertThat(underTest.byType(ResourceType.GCP_INSTANCE)).containsExactly(instance1, instance2);
+        assertThat(underTest.byInstanceId("host-1")).containsExactly(attachedDisk1);
+    }
+
+    @Test
+    void testMissingKeysReturnEmptyLists() {
+        assertThat(underTest.byName("host-3")).isEmpty();
+        assertThat(underTest.byName(null)).isEmpty();
+        assertThat(underTest.byType(ResourceType.GCP_NETWORK)).isEmpty();
+    }
+
+    @Test
+    void testByNameOrInstanceIdKeepsTheResourceOrder() {
+        assertThat(underTest.byNameOrInstanceId("host-1")).containsExactly(disk1, instance1, attachedDisk1);
+        assertThat(underTest.byNameOrInstanceId("host-2")).containsExactly(instance2);
+    }
+
+    @Test
+    void testInstancesWithResourceMatchByNameOrReference() {
+        CloudInstance byName = new CloudInstance("host-1", null, null);
+        CloudInstance byReference = new CloudInstance("ref-2", null, null);
+        CloudInstance withoutResource = new CloudInstance("host-3", null, null);
+
+        List<CloudInstance> result = underTest.instancesWithResource(ResourceType.GCP_INSTANCE, List.of(byName, byReference, withoutResource));
+
+        assertThat(result).containsExactly(byName, byReference);
+        assertThat(underTest.instancesWithResource(ResourceType.GCP_DISK, List.of(byReference))).isEmpty();
+    }
+
+    private CloudResource resource(ResourceType type, String name, String reference, String group, String instanceId) {
+        return CloudResource.builder()
+                .type(type)
+                .name(name)
+                .reference(reference)
+                .group(group)
+                .instanceId(instanceId)
+                .build();
+    }
+}
@@ -55,6 +55,7 @@ import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonKmsClient;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonRdsClient;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonS3Client;
 import com.sequenceiq.cloudbreak.cloud.aws.mapper.SdkClientExceptionMapper;
+import com.sequenceiq.cloudbreak.cloud.aws.scheduler.AwsThrottlingRequestHandler;
 import com.sequenceiq.cloudbreak.cloud.aws.tracing.AwsTracingRequestHandler;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AuthenticatedContextView;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
@@ -94,6 +95,9 @@ public class AwsClient {
     @Inject
     private SdkClientExceptionMapper sdkClientExceptionMapper;
 
+    @Inject
+    private AwsSdkClientPool clientPool;
+
     public AuthenticatedContext createAuthenticatedContext(CloudContext cloudContext, CloudCredential cloudCredential) {
         AuthenticatedContext authenticatedContext = new AuthenticatedContext(cloudContext, cloudCredential);
         try {
@@ -111,7 +115,8 @@ public class AwsClient {
     }
 
     public AmazonEc2Client createAccessWithMinimalRetries(AwsCredentialView awsCredential, String regionName) {
-        AmazonEC2 ec2Client = createAccessWithClientConfiguration(awsCredential, regionName, getClientConfigurationWithMinimalRetries());
+        AmazonEC2 ec2Client = clientPool.getClient("ec2-minimal-retries", awsCredential, regionName,
+                () -> createAccessWithClientConfiguration(awsCredential, regionName, getClientConfigurationWithMinimalRetries()));
         return new AmazonEc2Client(ec2Client, retry);
     }
 
@@ -124,7 +129,8 @@ public class AwsClient {
     }
 
     private AmazonEC2 createAccess(AwsCredentialView awsCredential, String regionName) {
-        return createAccessWithClientConfiguration(awsCredential, regionName, getDefaultClientConfiguration());
+        return clientPool.getClient("ec2", awsCredential, regionName,
+                () -> createAccessWithClientConfiguration(awsCredential, regionName, getDefaultClientConfiguration()));
     }
 
     @VisibleForTesting
@@ -132,17 +138,18 @@ public class AwsClient {
         return proxy(AmazonEC2Client.builder()
                 .withCredentials(getCredentialProvider(awsCredential))
                 .withClientConfiguration(clientConfiguration)
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
+                .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
                 .withRegion(regionName)
                 .build(), awsCredential, regionName);
     }
 
     public AmazonCloudWatchClient createCloudWatchClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonCloudWatch client = proxy(com.amazonaws.services.cloudwatch.AmazonCloudWatchClient.builder()
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withRegion(regionName)
-                .build(), awsCredential, regionName);
+        AmazonCloudWatch client = clientPool.getClient("cloudwatch", awsCredential, regionName,
+                () -> proxy(com.amazonaws.services.cloudwatch.AmazonCloudWatchClient.builder()
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .withRegion(regionName)
+                        .build(), awsCredential, regionName));
         return new AmazonCloudWatchClient(client);
     }
 
@@ -152,11 +159,12 @@ public class AwsClient {
     }
 
     public AmazonSecurityTokenServiceClient createSecurityTokenService(AwsCredentialView awsCredential, String region) {
-        AWSSecurityTokenService client = proxy(com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient.builder()
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withRegion(region)
-                .build(), awsCredential, region);
+        AWSSecurityTokenService client = clientPool.getClient("sts", awsCredential, region,
+                () -> proxy(com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient.builder()
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, region))
+                        .withRegion(region)
+                        .build(), awsCredential, region));
         return new AmazonSecurityTokenServiceClient(client);
     }
 
@@ -169,37 +177,41 @@ public class AwsClient {
         }
 
         String region = awsDefaultZoneProvider.getDefaultZone(awsCredential);
-        AWSSecurityTokenService client = proxy(com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient.builder()
-                .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withRegion(region)
-                .build(), awsCredential, region);
+        AWSSecurityTokenService client = clientPool.getClient("cdp-sts", awsCredential, region,
+                () -> proxy(com.amazonaws.services.securitytoken.AWSSecurityTokenServiceClient.builder()
+                        .withCredentials(DefaultAWSCredentialsProviderChain.getInstance())
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, region))
+                        .withRegion(region)
+                        .build(), awsCredential, region));
         return new AmazonSecurityTokenServiceClient(client);
     }
 
     public AmazonIdentityManagementClient createAmazonIdentityManagement(AwsCredentialView awsCredential) {
         String region = awsDefaultZoneProvider.getDefaultZone(awsCredential);
-        AmazonIdentityManagement client = proxy(AmazonIdentityManagementClientBuilder.standard()
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withRegion(region)
-                .withClientConfiguration(getDefaultClientConfiguration())
-                .withCredentials(getCredentialProvider(awsCredential))
-                .build(), awsCredential, region);
+        AmazonIdentityManagement client = clientPool.getClient("iam", awsCredential, region,
+                () -> proxy(AmazonIdentityManagementClientBuilder.standard()
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, region))
+                        .withRegion(region)
+                        .withClientConfiguration(getDefaultClientConfiguration())
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .build(), awsCredential, region));
         return new AmazonIdentityManagementClient(client);
     }
 
     public AmazonKmsClient createAWSKMS(AwsCredentialView awsCredential, String regionName) {
-        AWSKMS client = proxy(AWSKMSClientBuilder.standard()
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(regionName)
-                .build(), awsCredential, regionName);
+        AWSKMS client = clientPool.getClient("kms", awsCredential, regionName,
+                () -> proxy(AWSKMSClientBuilder.standard()
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(regionName)
+                        .build(), awsCredential, regionName));
         return new AmazonKmsClient(client);
     }
 
     public AmazonCloudFormationClient createCloudFormationClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonCloudFormation cloudFormationClient = createCloudFormation(awsCredential, regionName);
-        return new AmazonCloudFormationClient(proxy(cloudFormationClient, awsCredential, regionName), retry);
+        AmazonCloudFormation cloudFormationClient = clientPool.getClient("cloudformation", awsCredential, regionName,
+                () -> proxy(createCloudFormation(awsCredential, regionName), awsCredential, regionName));
+        return new AmazonCloudFormationClient(cloudFormationClient, retry);
     }
 
     @VisibleForTesting
@@ -207,71 +219,81 @@ public class AwsClient {
         return com.amazonaws.services.cloudformation.AmazonCloudFormationClient.builder()
                 .withCredentials(getCredentialProvider(awsCredential))
                 .withRegion(regionName)
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
+                .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
                 .withClientConfiguration(getDefaultClientConfiguration())
                 .build();
     }
 
     public AmazonElasticLoadBalancingClient createElasticLoadBalancingClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonElasticLoadBalancing client = proxy(com.amazonaws.services.elasticloadbalancingv2.AmazonElasticLoadBalancingClient.builder()
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(regionName)
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withClientConfiguration(getDefaultClientConfiguration())
-                .build(), awsCredential, regionName);
+        AmazonElasticLoadBalancing client = clientPool.getClient("elb", awsCredential, regionName,
+                () -> proxy(com.amazonaws.services.elasticloadbalancingv2.AmazonElasticLoadBalancingClient.builder()
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(regionName)
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .withClientConfiguration(getDefaultClientConfiguration())
+                        .build(), awsCredential, regionName));
         return new AmazonElasticLoadBalancingClient(client);
     }
 
     public AmazonEfsClient createElasticFileSystemClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonElasticFileSystem client = proxy(com.amazonaws.services.elasticfilesystem.AmazonElasticFileSystemClient.builder()
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(regionName)
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .build(), awsCredential, regionName);
+        AmazonElasticFileSystem client = clientPool.getClient("efs", awsCredential, regionName,
+                () -> proxy(com.amazonaws.services.elasticfilesystem.AmazonElasticFileSystemClient.builder()
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(regionName)
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .build(), awsCredential, regionName));
         return new AmazonEfsClient(client, retry);
     }
 
     public AmazonAutoScalingClient createAutoScalingClient(AwsCredentialView awsCredential, String regionName) {
-        AmazonAutoScaling client = proxy(com.amazonaws.services.autoscaling.AmazonAutoScalingClient.builder()
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(regionName)
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withClientConfiguration(getDefaultClientConfiguration())
-                .build(), awsCredential, regionName);
+        AmazonAutoScaling client = clientPool.getClient("autoscaling", awsCredential, regionName,
+                () -> proxy(com.amazonaws.services.autoscaling.AmazonAutoScalingClient.builder()
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(regionName)
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .withClientConfiguration(getDefaultClientConfiguration())
+                        .build(), awsCredential, regionName));
         return new AmazonAutoScalingClient(client, retry);
     }
 
     public AmazonS3Client createS3Client(AwsCredentialView awsCredential) {
         String regionName = awsDefaultZoneProvider.getDefaultZone(awsCredential);
-        AmazonS3 client = proxy(AmazonS3ClientBuilder.standard()
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(regionName)
-                .withForceGlobalBucketAccessEnabled(Boolean.TRUE)
-                .build(), awsCredential, regionName);
+        AmazonS3 client = clientPool.getClient("s3", awsCredential, regionName,
+                () -> proxy(AmazonS3ClientBuilder.standard()
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, regionName))
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(regionName)
+                        .withForceGlobalBucketAccessEnabled(Boolean.TRUE)
+                        .build(), awsCredential, regionName));
         return new AmazonS3Client(client);
     }
 
     public AmazonDynamoDBClient createDynamoDbClient(AwsCredentialView awsCredential, String region) {
-        final AmazonDynamoDB client = proxy(AmazonDynamoDBClientBuilder.standard()
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withClientConfiguration(getDynamoDbClientConfiguration())
-                .withCredentials(getCredentialProvider(awsCredential))
-                .withRegion(region)
-                .build(), awsCredential, region);
+        final AmazonDynamoDB client = clientPool.getClient("dynamodb", awsCredential, region,
+                () -> proxy(AmazonDynamoDBClientBuilder.standard()
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredential, region))
+                        .withClientConfiguration(getDynamoDbClientConfiguration())
+                        .withCredentials(getCredentialProvider(awsCredential))
+                        .withRegion(region)
+                        .build(), awsCredential, region));
         return new AmazonDynamoDBClient(client);
     }
 
     public AmazonRdsClient createRdsClient(AwsCredentialView awsCredentialView, String region) {
-        final AmazonRDS client = proxy(AmazonRDSClientBuilder.standard()
-                .withRequestHandlers(new AwsTracingRequestHandler(tracer))
-                .withCredentials(getCredentialProvider(awsCredentialView))
-                .withClientConfiguration(getDefaultClientConfiguration())
-                .withRegion(region)
-                .build(), awsCredentialView, region);
+        final AmazonRDS client = clientPool.getClient("rds", awsCredentialView, region,
+                () -> proxy(AmazonRDSClientBuilder.standard()
+                        .withRequestHandlers(new AwsTracingRequestHandler(tracer), throttlingRequestHandler(awsCredentialView, region))
+                        .withCredentials(getCredentialProvider(awsCredentialView))
+                        .withClientConfiguration(getDefaultClientConfiguration())
+                        .withRegion(region)
+                        .build(), awsCredentialView, region));
         return new AmazonRdsClient(client);
     }
 
+    private AwsThrottlingRequestHandler throttlingRequestHandler(AwsCredentialView awsCredential, String regionName) {
+        return new AwsThrottlingRequestHandler(clientPool.getThrottlingState(awsCredential, regionName));
+    }
+
     private ClientConfiguration getDefaultClientConfiguration() {
         return new ClientConfiguration()
                 .withThrottledRetries(true)
@@ -368,8 +390,8 @@ public class AwsClient {
         return new BasicAWSCredentials(accessKey, secretKey);
     }
 
-    private AwsSessionCredentialProvider createAwsSessionCredentialProvider(AwsCredentialView awsCredential) {
-        return new AwsSessionCredentialProvider(awsCredential, Objects.requireNonNull(credentialClient));
+    private AWSCredentialsProvider createAwsSessionCredentialProvider(AwsCredentialView awsCredential) {
+        return clientPool.getSessionCredentialProvider(awsCredential, Objects.requireNonNull(credentialClient));
     }
 
     private <T> T proxy(T client, AwsCredentialView awsCredentialView, String region) {
@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.cloud.aws;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum AwsClientPoolMetricType implements Metric {
+    AWS_CLIENT_POOL_LOOKUP("aws.client.pool.lookup"),
+    AWS_CLIENT_POOL_SIZE("aws.client.pool.size"),
+    AWS_STS_ASSUME_ROLE("aws.sts.assume.role");
+
+    private final String metricName;
+
+    AwsClientPoolMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
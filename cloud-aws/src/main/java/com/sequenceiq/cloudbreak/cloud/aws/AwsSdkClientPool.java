@@ -0,0 +1,142 @@
+package com.sequenceiq.cloudbreak.cloud.aws;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.cloud.aws.scheduler.AwsThrottlingState;
+import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+/**
+ * Keeps the SDK clients built by {@link AwsClient} by client kind, credential and region, so the clients reuse their connection pools and TLS
+ * sessions instead of building new ones for almost every call. The credentials are only kept as a fingerprint in the keys. Clients that were
+ * not asked for during the idle time are dropped; they are not shut down, as callers may still hold them.
+ */
+@Component
+public class AwsSdkClientPool {
+
+    @Value("${cb.aws.client.pool.max.size:500}")
+    private long maxSize;
+
+    @Value("${cb.aws.client.pool.idle.minutes:30}")
+    private long idleMinutes;
+
+    @Value("${cb.aws.session.credential.refresh.ahead.minutes:5}")
+    private long sessionRefreshAheadMinutes;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<ClientKey, Object> clients;
+
+    private Cache<String, AWSCredentialsProvider> sessionCredentialProviders;
+
+    private Cache<String, AwsThrottlingState> throttlingStates;
+
+    @PostConstruct
+    public void init() {
+        clients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+        sessionCredentialProviders = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+        throttlingStates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+        metricService.gaugeMapSize(AwsClientPoolMetricType.AWS_CLIENT_POOL_SIZE, clients.asMap());
+    }
+
+    /**
+     * Returns the pooled client of the kind for the credential and region, or builds and pools one.
+     *
+     * @param kind          the kind of the client, clients built with different configurations must use different kinds
+     * @param awsCredential the credential of the client
+     * @param region        the region of the client
+     * @param factory       builds the client
+     * @return the pooled client
+     */
+    public <T> T getClient(String kind, AwsCredentialView awsCredential, String region, Supplier<T> factory) {
+        boolean[] created = new boolean[1];
+        Object client = clients.get(new ClientKey(kind, fingerprint(awsCredential), region), key -> {
+            created[0] = true;
+            return factory.get();
+        });
+        metricService.incrementMetricCounter(AwsClientPoolMetricType.AWS_CLIENT_POOL_LOOKUP, "result", created[0] ? "miss" : "hit");
+        return (T) client;
+    }
+
+    /**
+     * Returns the assumed role session provider shared by the pooled clients of the credential.
+     */
+    public AWSCredentialsProvider getSessionCredentialProvider(AwsCredentialView awsCredential, AwsSessionCredentialClient credentialClient) {
+        return sessionCredentialProviders.get(fingerprint(awsCredential),
+                key -> new AwsSessionCredentialProvider(awsCredential, credentialClient, sessionRefreshAheadMinutes));
+    }
+
+    /**
+     * Returns the throttling state shared by the pooled clients of the credential in the region.
+     */
+    public AwsThrottlingState getThrottlingState(AwsCredentialView awsCredential, String region) {
+        return throttlingStates.get(fingerprint(awsCredential) + ':' + region, key -> new AwsThrottlingState());
+    }
+
+    private String fingerprint(AwsCredentialView awsCredential) {
+        return Hashing.sha256().newHasher()
+                .putString(nullToEmpty(awsCredential.getRoleArn()), StandardCharsets.UTF_8).putChar('\0')
+                .putString(nullToEmpty(awsCredential.getExternalId()), StandardCharsets.UTF_8).putChar('\0')
+                .putString(nullToEmpty(awsCredential.getAccessKey()), StandardCharsets.UTF_8).putChar('\0')
+                .putString(nullToEmpty(awsCredential.getSecretKey()), StandardCharsets.UTF_8)
+                .hash().toString();
+    }
+
+    private static class ClientKey {
+
+        private final String kind;
+
+        private final String credentialFingerprint;
+
+        private final String region;
+
+        ClientKey(String kind, String credentialFingerprint, String region) {
+            this.kind = kind;
+            this.credentialFingerprint = credentialFingerprint;
+            this.region = region;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return Objects.equals(kind, that.kind) && Objects.equals(credentialFingerprint, that.credentialFingerprint)
+                    && Objects.equals(region, that.region);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, credentialFingerprint, region);
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.sequenceiq.cloudbreak.cloud.aws.cache.AwsCachingConfig;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonSecurityTokenServiceClient;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 
 @Component
 public class AwsSessionCredentialClient {
@@ -37,6 +38,9 @@ public class AwsSessionCredentialClient {
     @Inject
     private AwsClient awsClient;
 
+    @Inject
+    private MetricService metricService;
+
     /**
      * AWS clients should only be created by {@link AwsClient}, but it needs {@link AwsSessionCredentialClient} to create them,
      * so this {@link PostConstruct} setter is used to resolve the circular dependency issue
@@ -73,6 +77,7 @@ public class AwsSessionCredentialClient {
 
     private AwsSessionCredentials getAwsSessionCredentialsAndAssumeRole(AwsCredentialView awsCredential, AssumeRoleRequest assumeRoleRequest) {
         try {
+            metricService.incrementMetricCounter(AwsClientPoolMetricType.AWS_STS_ASSUME_ROLE);
             AssumeRoleResult result = awsSecurityTokenServiceClient(awsCredential).assumeRole(assumeRoleRequest);
             Credentials credentialsResponse = result.getCredentials();
 
@@ -1,9 +1,8 @@
 package com.sequenceiq.cloudbreak.cloud.aws;
 
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
-import org.joda.time.DateTime;
-import org.joda.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -11,6 +10,10 @@ import com.amazonaws.auth.AWSCredentials;
 import com.amazonaws.auth.AWSCredentialsProvider;
 import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
 
+/**
+ * Keeps the assumed role session of a credential until it gets close to its expiration. The pooled clients of a credential share one provider,
+ * so the role is assumed once per session instead of once per client, and the session is renewed before the clients could use an expired one.
+ */
 public class AwsSessionCredentialProvider implements AWSCredentialsProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AwsSessionCredentialProvider.class);
@@ -21,46 +24,56 @@ public class AwsSessionCredentialProvider implements AWSCredentialsProvider {
 
     private final AwsSessionCredentialClient awsSessionCredentialClient;
 
-    private final boolean expirationTimeCheck;
+    private final long refreshAheadMillis;
 
-    private final Integer forceTokenRefreshTimeInMin;
+    private volatile AwsSessionCredentials sessionCredentials;
 
     public AwsSessionCredentialProvider(AwsCredentialView awsCredentialView,
             AwsSessionCredentialClient awsSessionCredentialClient) {
-        this(awsCredentialView, awsSessionCredentialClient, false, FORCE_TOKEN_REFRESH_TIME_IN_MIN_DEFAULT);
+        this(awsCredentialView, awsSessionCredentialClient, FORCE_TOKEN_REFRESH_TIME_IN_MIN_DEFAULT);
     }
 
     public AwsSessionCredentialProvider(AwsCredentialView awsCredentialView,
-            AwsSessionCredentialClient awsSessionCredentialClient,
-            boolean expirationTimeCheck, Integer forceTokenRefreshTimeInMin) {
+            AwsSessionCredentialClient awsSessionCredentialClient, long forceTokenRefreshTimeInMin) {
         this.awsCredentialView = awsCredentialView;
         this.awsSessionCredentialClient = awsSessionCredentialClient;
-        this.expirationTimeCheck = expirationTimeCheck;
-        this.forceTokenRefreshTimeInMin = forceTokenRefreshTimeInMin;
+        this.refreshAheadMillis = TimeUnit.MINUTES.toMillis(forceTokenRefreshTimeInMin);
     }
 
     @Override
     public AWSCredentials getCredentials() {
-        AwsSessionCredentials sessionCredentials = awsSessionCredentialClient.retrieveCachedSessionCredentials(awsCredentialView);
-        sessionCredentials = checkExpirationTime(sessionCredentials);
-        return sessionCredentials;
-    }
-
-    private AwsSessionCredentials checkExpirationTime(AwsSessionCredentials sessionCredentials) {
-        final Date expirationTime = sessionCredentials.getExpiration();
-        if (expirationTimeCheck && expirationTime != null) {
-            DateTime expirationDateTime = new DateTime(expirationTime);
-            DateTime nowDateTime = new DateTime(new Date());
-            if (expirationDateTime.isAfter(nowDateTime.toDate().getTime()) ||
-                    new Duration(expirationDateTime, nowDateTime).getStandardMinutes() < forceTokenRefreshTimeInMin) {
-                LOGGER.debug("Force retrieving session credentials because of expiration time is too close.");
-                sessionCredentials = awsSessionCredentialClient.retrieveSessionCredentials(awsCredentialView);
+        AwsSessionCredentials current = sessionCredentials;
+        if (isRefreshNeeded(current)) {
+            synchronized (this) {
+                current = sessionCredentials;
+                if (isRefreshNeeded(current)) {
+                    current = retrieveSessionCredentials();
+                    sessionCredentials = current;
+                }
             }
         }
-        return sessionCredentials;
+        return current;
     }
 
     @Override
     public void refresh() {
+        sessionCredentials = null;
+    }
+
+    private AwsSessionCredentials retrieveSessionCredentials() {
+        AwsSessionCredentials retrieved = awsSessionCredentialClient.retrieveCachedSessionCredentials(awsCredentialView);
+        if (isRefreshNeeded(retrieved)) {
+            LOGGER.debug("Force retrieving session credentials because of expiration time is too close.");
+            retrieved = awsSessionCredentialClient.retrieveSessionCredentials(awsCredentialView);
+        }
+        return retrieved;
+    }
+
+    private boolean isRefreshNeeded(AwsSessionCredentials current) {
+        if (current == null) {
+            return true;
+        }
+        Date expiration = current.getExpiration();
+        return expiration != null && expiration.getTime() - System.currentTimeMillis() < refreshAheadMillis;
     }
 }
@@ -0,0 +1,37 @@
+package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.SdkBaseException;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.handlers.HandlerContextKey;
+import com.amazonaws.handlers.RequestHandler2;
+import com.amazonaws.retry.RetryUtils;
+
+/**
+ * Records the throttled attempts of a client in the throttling state of its credential and region, and attaches the state to the requests,
+ * so the {@link BackoffDelayStrategy} of a waiter sending them slows down as well.
+ */
+public class AwsThrottlingRequestHandler extends RequestHandler2 {
+
+    public static final HandlerContextKey<AwsThrottlingState> THROTTLING_STATE = new HandlerContextKey<>("throttlingState");
+
+    private final AwsThrottlingState throttlingState;
+
+    public AwsThrottlingRequestHandler(AwsThrottlingState throttlingState) {
+        this.throttlingState = throttlingState;
+    }
+
+    @Override
+    public AmazonWebServiceRequest beforeExecution(AmazonWebServiceRequest request) {
+        request.addHandlerContext(THROTTLING_STATE, throttlingState);
+        return request;
+    }
+
+    @Override
+    public void afterAttempt(HandlerAfterAttemptContext context) {
+        Exception exception = context.getException();
+        if (exception instanceof SdkBaseException && RetryUtils.isThrottlingException((SdkBaseException) exception)) {
+            throttlingState.recordThrottling();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * The throttling seen by the clients of one credential and region. Every throttled call doubles the slowdown of the waiters polling through
+ * these clients, up to a limit; the slowdown is lifted when no call was throttled for a while.
+ */
+public class AwsThrottlingState {
+
+    private static final int MAX_LEVEL = 3;
+
+    private static final long COOL_DOWN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+    private final LongSupplier clock;
+
+    private int level;
+
+    private long lastThrottledMillis;
+
+    public AwsThrottlingState() {
+        this(System::currentTimeMillis);
+    }
+
+    AwsThrottlingState(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public synchronized void recordThrottling() {
+        level = Math.min(level + 1, MAX_LEVEL);
+        lastThrottledMillis = clock.getAsLong();
+    }
+
+    /**
+     * @return the multiplier of the polling delays, 1 when the clients were not throttled recently
+     */
+    public synchronized int getSlowdownFactor() {
+        if (level > 0 && clock.getAsLong() - lastThrottledMillis > COOL_DOWN_MILLIS) {
+            level = 0;
+        }
+        return 1 << level;
+    }
+}
@@ -1,24 +1,54 @@
 package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
 
-import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 import com.amazonaws.waiters.PollingStrategy;
 import com.amazonaws.waiters.PollingStrategyContext;
 
+/**
+ * Polls quickly first, then doubles the delay up to the maximum. Every delay is spread by a random jitter, so waiters started together do not
+ * poll together. When the clients of the polled credential and region were throttled recently, the delay is multiplied by the slowdown of
+ * their {@link AwsThrottlingState}.
+ */
 public class BackoffDelayStrategy implements PollingStrategy.DelayStrategy {
-    private static final int POLLING_INTERVAL = 5;
 
-    private static final int MAX_POLLING_INTERVAL = 30;
+    private static final long INITIAL_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(2);
 
-    private static final Random RANDOM = ThreadLocalRandom.current();
+    private static final long MAX_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(30);
 
-    private static final int THOUSAND = 1000;
+    private static final int MAX_DOUBLINGS = 30;
+
+    private static final double JITTER = 0.2;
+
+    private final long initialDelayMillis;
+
+    private final long maxDelayMillis;
+
+    public BackoffDelayStrategy() {
+        this(INITIAL_DELAY_MILLIS, MAX_DELAY_MILLIS);
+    }
+
+    BackoffDelayStrategy(long initialDelayMillis, long maxDelayMillis) {
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
 
     @Override
     public void delayBeforeNextRetry(PollingStrategyContext pollingStrategyContext) throws InterruptedException {
-        int requestAttempted = pollingStrategyContext.getRetriesAttempted();
-        Double secondToWait = Math.min(POLLING_INTERVAL * Math.pow(2, requestAttempted) + RANDOM.nextInt(POLLING_INTERVAL), MAX_POLLING_INTERVAL);
-        Thread.sleep(secondToWait.longValue() * THOUSAND);
+        Thread.sleep(getDelayInMillis(pollingStrategyContext));
+    }
+
+    long getDelayInMillis(PollingStrategyContext pollingStrategyContext) {
+        int doublings = Math.min(pollingStrategyContext.getRetriesAttempted(), MAX_DOUBLINGS);
+        long delay = Math.min(initialDelayMillis << doublings, maxDelayMillis);
+        long jittered = Math.round(delay * (1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER)));
+        return jittered * getSlowdownFactor(pollingStrategyContext);
+    }
+
+    private int getSlowdownFactor(PollingStrategyContext pollingStrategyContext) {
+        AwsThrottlingState throttlingState = pollingStrategyContext.getOriginalRequest() == null ? null
+                : pollingStrategyContext.getOriginalRequest().getHandlerContext(AwsThrottlingRequestHandler.THROTTLING_STATE);
+        return throttlingState == null ? 1 : throttlingState.getSlowdownFactor();
     }
 }
@@ -2,9 +2,16 @@ package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
 
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.amazonaws.services.autoscaling.model.Activity;
@@ -14,18 +21,19 @@ import com.amazonaws.services.autoscaling.model.DescribeScalingActivitiesRequest
 import com.amazonaws.services.autoscaling.model.DescribeScalingActivitiesResult;
 import com.amazonaws.services.rds.model.DescribeDBInstancesRequest;
 import com.amazonaws.services.rds.model.DescribeDBInstancesResult;
-import com.amazonaws.waiters.FixedDelayStrategy;
 import com.amazonaws.waiters.MaxAttemptsRetryStrategy;
 import com.amazonaws.waiters.PollingStrategy;
 import com.amazonaws.waiters.Waiter;
 import com.amazonaws.waiters.WaiterAcceptor;
 import com.amazonaws.waiters.WaiterBuilder;
-import com.amazonaws.waiters.WaiterExecutorServiceFactory;
 import com.amazonaws.waiters.WaiterState;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonAutoScalingClient;
 import com.sequenceiq.cloudbreak.cloud.aws.client.AmazonRdsClient;
 import com.sequenceiq.cloudbreak.cloud.aws.scheduler.acceptor.DescribeDbInstanceForModifyFailureAcceptor;
 import com.sequenceiq.cloudbreak.cloud.aws.scheduler.acceptor.DescribeDbInstanceForModifySuccessAcceptor;
+import com.sequenceiq.cloudbreak.cloud.aws.scheduler.acceptor.ThrottlingRetryAcceptor;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
 
 @Component
 public class CustomAmazonWaiterProvider {
@@ -36,7 +44,11 @@ public class CustomAmazonWaiterProvider {
 
     private static final int ACTIVITIES_DEFAULT_MAX_ATTEMPTS = 120;
 
-    private static final int DEFAULT_DELAY_IN_SECONDS = 30;
+    @Value("${cb.aws.waiter.threads:10}")
+    private int waiterThreads;
+
+    @Value("${cb.aws.waiter.queue.size:1000}")
+    private int waiterQueueSize;
 
     @Inject
     private DescribeDbInstanceForModifySuccessAcceptor describeDbInstanceForModifySuccessAcceptor;
@@ -44,6 +56,23 @@ public class CustomAmazonWaiterProvider {
     @Inject
     private DescribeDbInstanceForModifyFailureAcceptor describeDbInstanceForModifyFailureAcceptor;
 
+    private ExecutorService waiterExecutor;
+
+    /**
+     * The waiters share one executor for their asynchronous runs, building them does not start a new thread pool every time.
+     */
+    @PostConstruct
+    public void init() {
+        waiterExecutor = new MDCCleanerThreadPoolExecutor(waiterThreads, waiterThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(waiterQueueSize), new ThreadFactoryBuilder().setNameFormat("aws-waiter-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        waiterExecutor.shutdownNow();
+    }
+
     public Waiter<DescribeAutoScalingGroupsRequest> getAutoscalingInstancesInServiceWaiter(AmazonAutoScalingClient asClient, Integer requiredCount) {
         return new WaiterBuilder<DescribeAutoScalingGroupsRequest, DescribeAutoScalingGroupsResult>()
                 .withSdkFunction(asClient::describeAutoScalingGroups)
@@ -58,10 +87,9 @@ public class CustomAmazonWaiterProvider {
                     public WaiterState getState() {
                         return WaiterState.SUCCESS;
                     }
-                })
-                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS),
-                        new FixedDelayStrategy(DEFAULT_DELAY_IN_SECONDS)))
-                .withExecutorService(WaiterExecutorServiceFactory.buildExecutorServiceForWaiter("AmazonRDSWaiters")).build();
+                }, new ThrottlingRetryAcceptor<>())
+                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS), new BackoffDelayStrategy()))
+                .withExecutorService(waiterExecutor).build();
     }
 
     public Waiter<DescribeScalingActivitiesRequest> getAutoscalingActivitiesWaiter(AmazonAutoScalingClient asClient, Date timeBeforeASUpdate) {
@@ -81,10 +109,9 @@ public class CustomAmazonWaiterProvider {
                     public WaiterState getState() {
                         return WaiterState.SUCCESS;
                     }
-                })
-                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(ACTIVITIES_DEFAULT_MAX_ATTEMPTS),
-                        new FixedDelayStrategy(DEFAULT_DELAY_IN_SECONDS)))
-                .withExecutorService(WaiterExecutorServiceFactory.buildExecutorServiceForWaiter("AmazonRDSWaiters")).build();
+                }, new ThrottlingRetryAcceptor<>())
+                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(ACTIVITIES_DEFAULT_MAX_ATTEMPTS), new BackoffDelayStrategy()))
+                .withExecutorService(waiterExecutor).build();
     }
 
     public Waiter<DescribeDBInstancesRequest> getDbInstanceStopWaiter(AmazonRdsClient rdsClient) {
@@ -115,18 +142,16 @@ public class CustomAmazonWaiterProvider {
                     public WaiterState getState() {
                         return WaiterState.FAILURE;
                     }
-                })
-                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS),
-                        new FixedDelayStrategy(DEFAULT_DELAY_IN_SECONDS)))
-                .withExecutorService(WaiterExecutorServiceFactory.buildExecutorServiceForWaiter("AmazonRDSWaiters")).build();
+                }, new ThrottlingRetryAcceptor<>())
+                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS), new BackoffDelayStrategy()))
+                .withExecutorService(waiterExecutor).build();
     }
 
     public Waiter<DescribeDBInstancesRequest> getDbInstanceModifyWaiter(AmazonRdsClient rdsClient) {
         return new WaiterBuilder<DescribeDBInstancesRequest, DescribeDBInstancesResult>()
                 .withSdkFunction(rdsClient::describeDbInstances)
-                .withAcceptors(describeDbInstanceForModifySuccessAcceptor, describeDbInstanceForModifyFailureAcceptor)
-                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS),
-                        new FixedDelayStrategy(DEFAULT_DELAY_IN_SECONDS)))
-                .withExecutorService(WaiterExecutorServiceFactory.buildExecutorServiceForWaiter("AmazonRDSWaiters")).build();
+                .withAcceptors(describeDbInstanceForModifySuccessAcceptor, describeDbInstanceForModifyFailureAcceptor, new ThrottlingRetryAcceptor<>())
+                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(DEFAULT_MAX_ATTEMPTS), new BackoffDelayStrategy()))
+                .withExecutorService(waiterExecutor).build();
     }
 }
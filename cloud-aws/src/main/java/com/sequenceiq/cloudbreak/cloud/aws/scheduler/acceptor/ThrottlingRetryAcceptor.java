@@ -0,0 +1,27 @@
+package com.sequenceiq.cloudbreak.cloud.aws.scheduler.acceptor;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.retry.RetryUtils;
+import com.amazonaws.waiters.WaiterAcceptor;
+import com.amazonaws.waiters.WaiterState;
+
+/**
+ * Keeps the waiter polling when a poll was throttled even after the retries of the client, instead of failing the wait.
+ */
+public class ThrottlingRetryAcceptor<T> extends WaiterAcceptor<T> {
+
+    @Override
+    public boolean matches(T output) {
+        return false;
+    }
+
+    @Override
+    public boolean matches(AmazonServiceException exception) {
+        return RetryUtils.isThrottlingException(exception);
+    }
+
+    @Override
+    public WaiterState getState() {
+        return WaiterState.RETRY;
+    }
+}
@@ -37,6 +37,7 @@ import com.sequenceiq.cloudbreak.cloud.event.credential.CredentialVerificationEx
 import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.RetryService;
 
 import io.opentracing.Tracer;
@@ -65,6 +66,9 @@ public class AwsAuthenticatorTest {
     @MockBean
     private SdkClientExceptionMapper sdkClientExceptionMapper;
 
+    @MockBean
+    private MetricService metricService;
+
     @BeforeEach
     public void awsClientSetup() {
         doReturn(amazonEC2Client).when(awsClient).createEc2Client(any(AwsCredentialView.class));
@@ -161,6 +165,7 @@ public class AwsAuthenticatorTest {
     @Import({AwsAuthenticator.class,
             AwsClient.class,
             AwsSessionCredentialClient.class,
+            AwsSdkClientPool.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
             RetryService.class
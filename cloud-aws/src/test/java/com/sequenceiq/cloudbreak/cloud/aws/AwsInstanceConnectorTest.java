@@ -68,6 +68,7 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.RetryService;
 
 import io.opentracing.Tracer;
@@ -110,6 +111,9 @@ public class AwsInstanceConnectorTest {
     @MockBean
     private SdkClientExceptionMapper sdkClientExceptionMapper;
 
+    @MockBean
+    private MetricService metricService;
+
     private AuthenticatedContext authenticatedContext;
 
     private List<CloudInstance> inputList;
@@ -462,6 +466,7 @@ public class AwsInstanceConnectorTest {
             AwsClient.class,
             PollerUtil.class,
             AwsSessionCredentialClient.class,
+            AwsSdkClientPool.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
             RetryService.class
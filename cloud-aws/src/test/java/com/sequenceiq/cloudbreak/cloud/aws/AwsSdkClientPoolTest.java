@@ -0,0 +1,114 @@
+package com.sequenceiq.cloudbreak.cloud.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.amazonaws.auth.AWSCredentialsProvider;
+import com.sequenceiq.cloudbreak.cloud.aws.view.AwsCredentialView;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+@ExtendWith(MockitoExtension.class)
+class AwsSdkClientPoolTest {
+
+    private static final String REGION = "eu-west-1";
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private AwsSessionCredentialClient credentialClient;
+
+    @InjectMocks
+    private AwsSdkClientPool underTest;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "maxSize", 100L);
+        ReflectionTestUtils.setField(underTest, "idleMinutes", 30L);
+        ReflectionTestUtils.setField(underTest, "sessionRefreshAheadMinutes", 5L);
+        underTest.init();
+    }
+
+    @Test
+    void testClientIsBuiltOncePerKindCredentialAndRegion() {
+        AtomicInteger built = new AtomicInteger();
+        AwsCredentialView credential = keyBased("access", "secret");
+
+        Object first = underTest.getClient("ec2", credential, REGION, () -> new Object[]{built.incrementAndGet()});
+        Object second = underTest.getClient("ec2", keyBased("access", "secret"), REGION, () -> new Object[]{built.incrementAndGet()});
+
+        assertSame(first, second);
+        assertEquals(1, built.get());
+        verify(metricService, times(1)).incrementMetricCounter(AwsClientPoolMetricType.AWS_CLIENT_POOL_LOOKUP, "result", "miss");
+        verify(metricService, times(1)).incrementMetricCounter(AwsClientPoolMetricType.AWS_CLIENT_POOL_LOOKUP, "result", "hit");
+    }
+
+    @Test
+    void testClientsAreSeparatedByKindCredentialAndRegion() {
+        AwsCredentialView credential = keyBased("access", "secret");
+        Object client = underTest.getClient("ec2", credential, REGION, Object::new);
+
+        assertNotSame(client, underTest.getClient("ec2-minimal-retries", credential, REGION, Object::new));
+        assertNotSame(client, underTest.getClient("ec2", credential, "us-west-2", Object::new));
+        assertNotSame(client, underTest.getClient("ec2", keyBased("access", "other-secret"), REGION, Object::new));
+        assertNotSame(client, underTest.getClient("ec2", roleBased("arn:aws:iam::123:role/cb"), REGION, Object::new));
+    }
+
+    @Test
+    void testSessionIsSharedAndKeptUntilCloseToExpiration() {
+        AwsCredentialView credential = roleBased("arn:aws:iam::123:role/cb");
+        when(credentialClient.retrieveCachedSessionCredentials(any())).thenReturn(session(TimeUnit.HOURS.toMillis(1)));
+
+        AWSCredentialsProvider provider = underTest.getSessionCredentialProvider(credential, credentialClient);
+        provider.getCredentials();
+        underTest.getSessionCredentialProvider(roleBased("arn:aws:iam::123:role/cb"), credentialClient).getCredentials();
+
+        assertSame(provider, underTest.getSessionCredentialProvider(credential, credentialClient));
+        verify(credentialClient, times(1)).retrieveCachedSessionCredentials(any());
+    }
+
+    @Test
+    void testSessionIsRenewedBeforeItExpires() {
+        AwsCredentialView credential = roleBased("arn:aws:iam::123:role/cb");
+        when(credentialClient.retrieveCachedSessionCredentials(any())).thenReturn(session(TimeUnit.MINUTES.toMillis(1)));
+        AwsSessionCredentials renewed = session(TimeUnit.HOURS.toMillis(1));
+        when(credentialClient.retrieveSessionCredentials(any())).thenReturn(renewed);
+
+        AWSCredentialsProvider provider = underTest.getSessionCredentialProvider(credential, credentialClient);
+
+        assertSame(renewed, provider.getCredentials());
+        assertSame(renewed, provider.getCredentials());
+        verify(credentialClient, times(1)).retrieveSessionCredentials(any());
+    }
+
+    private AwsSessionCredentials session(long expiresInMillis) {
+        return new AwsSessionCredentials("access", "secret", "token", new Date(System.currentTimeMillis() + expiresInMillis));
+    }
+
+    private AwsCredentialView keyBased(String accessKey, String secretKey) {
+        return new AwsCredentialView(new CloudCredential("id", "name", Map.of("accessKey", accessKey, "secretKey", secretKey), false));
+    }
+
+    private AwsCredentialView roleBased(String roleArn) {
+        return new AwsCredentialView(new CloudCredential("id", "name", Map.of("roleArn", roleArn), false));
+    }
+}
@@ -48,6 +48,7 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
 import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
 import com.sequenceiq.cloudbreak.cloud.model.Location;
 import com.sequenceiq.cloudbreak.cloud.model.Region;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.service.CloudbreakResourceReaderService;
 import com.sequenceiq.cloudbreak.service.Retry;
 import com.sequenceiq.cloudbreak.service.RetryService;
@@ -90,6 +91,9 @@ public class AwsValidatorsTest {
     @MockBean
     private AwsEncodedAuthorizationFailureMessageDecoder awsEncodedAuthorizationFailureMessageDecoder;
 
+    @MockBean
+    private MetricService metricService;
+
     private AuthenticatedContext authenticatedContext;
 
     @BeforeEach
@@ -218,6 +222,7 @@ public class AwsValidatorsTest {
             AwsAuthenticator.class,
             AwsClient.class,
             AwsSessionCredentialClient.class,
+            AwsSdkClientPool.class,
             AwsDefaultZoneProvider.class,
             AwsEnvironmentVariableChecker.class,
             RetryService.class,
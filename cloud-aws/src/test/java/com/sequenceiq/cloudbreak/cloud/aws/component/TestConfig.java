@@ -30,6 +30,7 @@ import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
 import com.sequenceiq.cloudbreak.cloud.template.GroupResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.template.NetworkResourceBuilder;
 import com.sequenceiq.cloudbreak.cloud.transform.CloudResourceHelper;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerScheduledExecutor;
 import com.sequenceiq.cloudbreak.service.Retry;
 import com.sequenceiq.cloudbreak.tag.CostTagging;
@@ -78,6 +79,9 @@ public class TestConfig {
     @MockBean
     private FreeMarkerTemplateUtils freeMarkerTemplateUtils;
 
+    @MockBean
+    private MetricService metricService;
+
     @Bean
     public freemarker.template.Configuration configurationProvider() throws IOException, TemplateException {
         FreeMarkerConfigurationFactoryBean factoryBean = new FreeMarkerConfigurationFactoryBean();
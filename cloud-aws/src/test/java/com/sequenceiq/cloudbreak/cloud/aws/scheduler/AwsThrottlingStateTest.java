@@ -0,0 +1,40 @@
+package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class AwsThrottlingStateTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AwsThrottlingState underTest = new AwsThrottlingState(now::get);
+
+    @Test
+    void testNoSlowdownWithoutThrottling() {
+        assertEquals(1, underTest.getSlowdownFactor());
+    }
+
+    @Test
+    void testSlowdownDoublesPerThrottlingUpToTheLimit() {
+        underTest.recordThrottling();
+        assertEquals(2, underTest.getSlowdownFactor());
+        underTest.recordThrottling();
+        assertEquals(4, underTest.getSlowdownFactor());
+        underTest.recordThrottling();
+        underTest.recordThrottling();
+        assertEquals(8, underTest.getSlowdownFactor());
+    }
+
+    @Test
+    void testSlowdownIsLiftedAfterTheCoolDown() {
+        underTest.recordThrottling();
+        now.addAndGet(TimeUnit.MINUTES.toMillis(1));
+        assertEquals(2, underTest.getSlowdownFactor());
+        now.addAndGet(TimeUnit.MINUTES.toMillis(2));
+        assertEquals(1, underTest.getSlowdownFactor());
+    }
+}
@@ -0,0 +1,136 @@
+package com.sequenceiq.cloudbreak.cloud.aws.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.handlers.HandlerAfterAttemptContext;
+import com.amazonaws.services.cloudformation.model.DescribeStacksRequest;
+import com.amazonaws.services.cloudformation.model.DescribeStacksResult;
+import com.amazonaws.services.cloudformation.model.Stack;
+import com.amazonaws.services.cloudformation.model.StackStatus;
+import com.amazonaws.waiters.MaxAttemptsRetryStrategy;
+import com.amazonaws.waiters.PollingStrategy;
+import com.amazonaws.waiters.PollingStrategyContext;
+import com.amazonaws.waiters.Waiter;
+import com.amazonaws.waiters.WaiterAcceptor;
+import com.amazonaws.waiters.WaiterBuilder;
+import com.amazonaws.waiters.WaiterParameters;
+import com.amazonaws.waiters.WaiterState;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sequenceiq.cloudbreak.cloud.aws.scheduler.acceptor.ThrottlingRetryAcceptor;
+
+class BackoffDelayStrategyTest {
+
+    private static final String THROTTLED = "throttled";
+
+    private final BackoffDelayStrategy underTest = new BackoffDelayStrategy(1000L, 8000L);
+
+    @Test
+    void testDelayDoublesUpToTheMaximumWithJitter() {
+        assertBetween(800L, 1200L, underTest.getDelayInMillis(context(new DescribeStacksRequest(), 0)));
+        assertBetween(1600L, 2400L, underTest.getDelayInMillis(context(new DescribeStacksRequest(), 1)));
+        assertBetween(6400L, 9600L, underTest.getDelayInMillis(context(new DescribeStacksRequest(), 3)));
+        assertBetween(6400L, 9600L, underTest.getDelayInMillis(context(new DescribeStacksRequest(), 100)));
+    }
+
+    @Test
+    void testDelayIsMultipliedWhenTheClientsOfTheRequestWereThrottled() {
+        AwsThrottlingState throttlingState = new AwsThrottlingState();
+        throttlingState.recordThrottling();
+        throttlingState.recordThrottling();
+        DescribeStacksRequest request = new DescribeStacksRequest();
+        new AwsThrottlingRequestHandler(throttlingState).beforeExecution(request);
+
+        assertBetween(3200L, 4800L, underTest.getDelayInMillis(context(request, 0)));
+    }
+
+    @Test
+    void testWaiterKeepsPollingThroughThrottlingAndSlowsDownTheOtherWaitersOfTheState() throws Exception {
+        AwsThrottlingState throttlingState = new AwsThrottlingState();
+        FakeCloudFormation cloudFormation = new FakeCloudFormation(new AwsThrottlingRequestHandler(throttlingState),
+                List.of(THROTTLED, StackStatus.CREATE_IN_PROGRESS.toString(), THROTTLED, StackStatus.CREATE_COMPLETE.toString()));
+        Waiter<DescribeStacksRequest> waiter = new WaiterBuilder<DescribeStacksRequest, DescribeStacksResult>()
+                .withSdkFunction(cloudFormation::describeStacks)
+                .withAcceptors(new StackCreateCompleteAcceptor(), new ThrottlingRetryAcceptor<>())
+                .withDefaultPollingStrategy(new PollingStrategy(new MaxAttemptsRetryStrategy(10), new BackoffDelayStrategy(1L, 4L)))
+                .withExecutorService(MoreExecutors.newDirectExecutorService())
+                .build();
+
+        waiter.run(new WaiterParameters<>(new DescribeStacksRequest().withStackName("stack")));
+
+        assertEquals(4, cloudFormation.getPolls());
+        assertEquals(4, throttlingState.getSlowdownFactor());
+        DescribeStacksRequest otherRequest = new DescribeStacksRequest();
+        new AwsThrottlingRequestHandler(throttlingState).beforeExecution(otherRequest);
+        assertBetween(3200L, 4800L, underTest.getDelayInMillis(context(otherRequest, 0)));
+    }
+
+    private PollingStrategyContext context(DescribeStacksRequest request, int retriesAttempted) {
+        PollingStrategyContext context = mock(PollingStrategyContext.class);
+        when(context.getOriginalRequest()).thenReturn(request);
+        when(context.getRetriesAttempted()).thenReturn(retriesAttempted);
+        return context;
+    }
+
+    private void assertBetween(long min, long max, long actual) {
+        assertTrue(actual >= min && actual <= max, String.format("%d is not between %d and %d", actual, min, max));
+    }
+
+    private static class StackCreateCompleteAcceptor extends WaiterAcceptor<DescribeStacksResult> {
+
+        @Override
+        public boolean matches(DescribeStacksResult result) {
+            return StackStatus.CREATE_COMPLETE.toString().equals(result.getStacks().get(0).getStackStatus());
+        }
+
+        @Override
+        public WaiterState getState() {
+            return WaiterState.SUCCESS;
+        }
+    }
+
+    /**
+     * Walks through the given stack statuses, one per poll, and answers the polls marked as throttled with a throttling error. The requests and
+     * their outcomes go through the request handler like in a real client.
+     */
+    private static class FakeCloudFormation {
+
+        private final AwsThrottlingRequestHandler requestHandler;
+
+        private final Deque<String> statuses;
+
+        private int polls;
+
+        FakeCloudFormation(AwsThrottlingRequestHandler requestHandler, List<String> statuses) {
+            this.requestHandler = requestHandler;
+            this.statuses = new ArrayDeque<>(statuses);
+        }
+
+        DescribeStacksResult describeStacks(DescribeStacksRequest request) {
+            requestHandler.beforeExecution(request);
+            polls++;
+            String status = statuses.size() > 1 ? statuses.poll() : statuses.peek();
+            if (THROTTLED.equals(status)) {
+                AmazonServiceException throttled = new AmazonServiceException("Rate exceeded");
+                throttled.setErrorCode("Throttling");
+                throttled.setStatusCode(400);
+                requestHandler.afterAttempt(HandlerAfterAttemptContext.builder().withException(throttled).build());
+                throw throttled;
+            }
+            return new DescribeStacksResult().withStacks(new Stack().withStackName(request.getStackName()).withStackStatus(status));
+        }
+
+        int getPolls() {
+            return polls;
+        }
+    }
+}
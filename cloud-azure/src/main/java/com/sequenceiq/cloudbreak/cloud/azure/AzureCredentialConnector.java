@@ -21,6 +21,7 @@ import com.sequenceiq.cloudbreak.cloud.response.CredentialPrerequisitesResponse;
 import com.sequenceiq.cloudbreak.cloud.CredentialConnector;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AuthenticationContextProvider;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
+import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClientService;
 import com.sequenceiq.cloudbreak.cloud.azure.client.CBRefreshTokenClientProvider;
 import com.sequenceiq.cloudbreak.cloud.azure.client.CbDelegatedTokenCredentials;
 import com.sequenceiq.cloudbreak.cloud.azure.view.AzureCredentialView;
@@ -56,6 +57,9 @@ public class AzureCredentialConnector implements CredentialConnector {
     @Inject
     private AzureExceptionExtractor exceptionExtractor;
 
+    @Inject
+    private AzureClientService azureClientService;
+
     @Override
     public CloudCredentialStatus verify(AuthenticatedContext authenticatedContext, CredentialVerificationContext credentialVerificationContext) {
         CloudCredential cloudCredential = authenticatedContext.getCloudCredential();
@@ -76,6 +80,7 @@ public class AzureCredentialConnector implements CredentialConnector {
         } catch (RuntimeException e) {
             String exceptionMessage = e.getMessage();
             LOGGER.warn(exceptionMessage, e);
+            azureClientService.evictClient(cloudCredential);
             String errorMessage = Objects.requireNonNullElse(exceptionExtractor.extractErrorMessage(e),
                     String.format("Could not verify the credential on Azure. Original message: %s", exceptionMessage));
             return new CloudCredentialStatus(cloudCredential, CredentialStatus.FAILED, e, errorMessage);
@@ -5,15 +5,19 @@ import static com.sequenceiq.cloudbreak.cloud.model.CloudInstance.INSTANCE_NAME;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Component;
@@ -24,7 +28,6 @@ import com.microsoft.azure.CloudException;
 import com.microsoft.azure.PagedList;
 import com.microsoft.azure.management.compute.PowerState;
 import com.microsoft.azure.management.compute.VirtualMachine;
-import com.microsoft.azure.management.resources.fluentcore.arm.models.HasName;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
 import com.sequenceiq.cloudbreak.cloud.azure.status.AzureInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
@@ -33,6 +36,7 @@ import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 
 import rx.Completable;
+import rx.Observable;
 import rx.schedulers.Schedulers;
 
 @Component
@@ -43,15 +47,29 @@ public class AzureVirtualMachineService {
     @Inject
     private AzureResourceGroupMetadataProvider azureResourceGroupMetadataProvider;
 
+    @Value("${cb.azure.instance.view.refresh.concurrency:20}")
+    private int instanceViewRefreshConcurrency;
+
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
     public Map<String, VirtualMachine> getVirtualMachinesByName(AzureClient azureClient, String resourceGroup, Collection<String> privateInstanceIds) {
         LOGGER.debug("Starting to retrieve vm metadata from Azure for {} for ids: {}", resourceGroup, privateInstanceIds);
         PagedList<VirtualMachine> virtualMachines = azureClient.getVirtualMachines(resourceGroup);
-        while (hasMissingVm(virtualMachines, privateInstanceIds) && virtualMachines.hasNextPage()) {
-            virtualMachines.loadNextPage();
+        Set<String> requestedNames = new HashSet<>(privateInstanceIds);
+        Set<String> fetchedNames = new HashSet<>();
+        Map<String, VirtualMachine> virtualMachinesByName = new HashMap<>();
+        Iterator<VirtualMachine> virtualMachineIterator = virtualMachines.iterator();
+        while (virtualMachinesByName.size() < requestedNames.size() && virtualMachineIterator.hasNext()) {
+            VirtualMachine virtualMachine = virtualMachineIterator.next();
+            fetchedNames.add(virtualMachine.name());
+            if (requestedNames.contains(virtualMachine.name())) {
+                virtualMachinesByName.put(virtualMachine.name(), virtualMachine);
+            }
+        }
+        if (virtualMachinesByName.size() < requestedNames.size()) {
+            LOGGER.warn("Failed to retrieve all host from Azure. Only {} found from the {}. Fetched VM id-s ({}) do not contain one of the following id-s: {}",
+                    virtualMachinesByName.size(), requestedNames.size(), fetchedNames, requestedNames);
         }
-        validateResponse(virtualMachines, privateInstanceIds);
-        return collectVirtualMachinesByName(privateInstanceIds, virtualMachines);
+        return virtualMachinesByName;
     }
 
     @Retryable(backoff = @Backoff(delay = 1000, multiplier = 2, maxDelay = 10000), maxAttempts = 5)
@@ -81,31 +99,7 @@ public class AzureVirtualMachineService {
         for (VirtualMachine virtualMachine : virtualMachines.values()) {
             refreshInstanceViewCompletables.add(Completable.fromObservable(virtualMachine.refreshInstanceViewAsync()).subscribeOn(Schedulers.io()));
         }
-        Completable.merge(refreshInstanceViewCompletables).await();
-    }
-
-    private boolean hasMissingVm(PagedList<VirtualMachine> virtualMachines, Collection<String> privateInstanceIds) {
-        Set<String> virtualMachineNames = virtualMachines
-                .stream()
-                .map(VirtualMachine::name)
-                .collect(Collectors.toSet());
-        boolean hasMissingVm = !virtualMachineNames.containsAll(privateInstanceIds);
-        if (hasMissingVm) {
-            LOGGER.info("Fetched VM id-s ({}) do not contain one of the following id-s: {}", virtualMachineNames, privateInstanceIds);
-        }
-        return hasMissingVm;
-    }
-
-    private Map<String, VirtualMachine> collectVirtualMachinesByName(Collection<String> privateInstanceIds, PagedList<VirtualMachine> virtualMachines) {
-        return virtualMachines.stream()
-                .filter(virtualMachine -> privateInstanceIds.contains(virtualMachine.name()))
-                .collect(Collectors.toMap(HasName::name, vm -> vm));
-    }
-
-    private void validateResponse(PagedList<VirtualMachine> virtualMachines, Collection<String> privateInstanceIds) {
-        if (hasMissingVm(virtualMachines, privateInstanceIds)) {
-            LOGGER.warn("Failed to retrieve all host from Azure. Only {} found from the {}.", virtualMachines.size(), privateInstanceIds.size());
-        }
+        Completable.merge(Observable.from(refreshInstanceViewCompletables), instanceViewRefreshConcurrency).await();
     }
 
     private Map<String, VirtualMachine> getVmsFromAzureAndFillStatusesIfResourceGroupRemoved(AuthenticatedContext ac, List<CloudInstance> cloudInstances,
@@ -126,15 +120,20 @@ public class AzureVirtualMachineService {
                         resourceGroupInstanceIdsMap.getKey(), resourceGroupInstanceIdsMap.getValue()));
             } catch (CloudException e) {
                 LOGGER.debug("Exception occurred during the list of Virtual Machines by resource group", e);
+                Map<String, CloudInstance> cloudInstancesByInstanceId = cloudInstances.stream()
+                        .filter(cloudInstance -> cloudInstance.getInstanceId() != null)
+                        .collect(Collectors.toMap(CloudInstance::getInstanceId, Function.identity(), (first, second) -> first));
                 for (String instance : resourceGroupInstanceIdsMap.getValue()) {
-                    cloudInstances.stream().filter(cloudInstance -> instance.equals(cloudInstance.getInstanceId())).findFirst().ifPresent(cloudInstance -> {
-                        if (e.body() != null && "ResourceNotFound".equals(e.body().code())) {
-                            statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
-                        } else {
-                            String msg = String.format("Failed to get VM's state from Azure: %s", e.toString());
-                            statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.UNKNOWN, msg));
-                        }
-                    });
+                    CloudInstance cloudInstance = cloudInstancesByInstanceId.get(instance);
+                    if (cloudInstance == null) {
+                        continue;
+                    }
+                    if (e.body() != null && "ResourceNotFound".equals(e.body().code())) {
+                        statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
+                    } else {
+                        String msg = String.format("Failed to get VM's state from Azure: %s", e.toString());
+                        statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.UNKNOWN, msg));
+                    }
                 }
             }
         }
@@ -143,21 +142,21 @@ public class AzureVirtualMachineService {
 
     private void fillVmStatuses(List<CloudInstance> cloudInstances, List<CloudVmInstanceStatus> statuses, Map<String, VirtualMachine> virtualMachines) {
         LOGGER.info("Fill vm statuses from returned virtualmachines from azure: {}", virtualMachines.keySet());
+        Map<String, CloudVmInstanceStatus> requestedStatusesByInstanceId = statuses.stream()
+                .filter(cvis -> cvis.getCloudInstance().getInstanceId() != null)
+                .collect(Collectors.toMap(cvis -> cvis.getCloudInstance().getInstanceId(), Function.identity(), (first, second) -> first));
         for (CloudInstance cloudInstance : cloudInstances) {
-            virtualMachines.values().stream()
-                    .filter(virtualMachine -> virtualMachine.name().equals(cloudInstance.getInstanceId()))
-                    .findFirst()
-                    .ifPresentOrElse(virtualMachine -> {
-                        PowerState virtualMachinePowerState = virtualMachine.powerState();
-                        String computerName = virtualMachine.computerName();
-                        cloudInstance.putParameter(INSTANCE_NAME, computerName);
-                        statuses.add(new CloudVmInstanceStatus(cloudInstance, AzureInstanceStatus.get(virtualMachinePowerState)));
-                    }, () -> statuses.stream()
-                            .filter(cvis -> cvis.getCloudInstance().getInstanceId() != null
-                                    && cvis.getCloudInstance().getInstanceId().equals(cloudInstance.getInstanceId()))
-                            .findAny()
-                            .ifPresentOrElse(cloudInstanceWithStatus -> logTheStatusOfTheCloudInstance(cloudInstanceWithStatus),
-                                    () -> statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED))));
+            VirtualMachine virtualMachine = cloudInstance.getInstanceId() == null ? null : virtualMachines.get(cloudInstance.getInstanceId());
+            if (virtualMachine != null) {
+                PowerState virtualMachinePowerState = virtualMachine.powerState();
+                String computerName = virtualMachine.computerName();
+                cloudInstance.putParameter(INSTANCE_NAME, computerName);
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, AzureInstanceStatus.get(virtualMachinePowerState)));
+            } else if (requestedStatusesByInstanceId.containsKey(cloudInstance.getInstanceId())) {
+                logTheStatusOfTheCloudInstance(requestedStatusesByInstanceId.get(cloudInstance.getInstanceId()));
+            } else {
+                statuses.add(new CloudVmInstanceStatus(cloudInstance, InstanceStatus.TERMINATED));
+            }
         }
     }
 
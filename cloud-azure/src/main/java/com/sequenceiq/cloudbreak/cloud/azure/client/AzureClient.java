@@ -107,11 +107,20 @@ public class AzureClient {
 
     private final AzureAuthExceptionHandler azureAuthExceptionHandler;
 
+    private final Runnable authenticationFailureListener;
+
     public AzureClient(AzureClientCredentials azureClientCredentials, AzureAuthExceptionHandler azureAuthExceptionHandler) {
+        this(azureClientCredentials, azureAuthExceptionHandler, () -> {
+        });
+    }
+
+    public AzureClient(AzureClientCredentials azureClientCredentials, AzureAuthExceptionHandler azureAuthExceptionHandler,
+            Runnable authenticationFailureListener) {
         this.azureClientCredentials = azureClientCredentials;
         azure = azureClientCredentials.getAzure();
         privatednsManager = azureClientCredentials.getPrivateDnsManager();
         this.azureAuthExceptionHandler = azureAuthExceptionHandler;
+        this.authenticationFailureListener = authenticationFailureListener;
     }
 
     public Azure getAzure() {
@@ -360,7 +369,7 @@ public class AzureClient {
 
     public VirtualMachineCustomImage findImage(String resourceGroup, String imageName) {
         LOGGER.debug("Searching custom image {} in resource group {}", imageName, resourceGroup);
-        return azureAuthExceptionHandler.handleAuthException(() -> azure
+        return handleAuthException(() -> azure
                 .virtualMachineCustomImages()
                 .getByResourceGroup(resourceGroup, imageName));
     }
@@ -827,11 +836,21 @@ public class AzureClient {
     }
 
     private <T> T handleAuthException(Supplier<T> function) {
-        return azureAuthExceptionHandler.handleAuthException(function);
+        try {
+            return azureAuthExceptionHandler.handleAuthException(function);
+        } catch (ProviderAuthenticationFailedException e) {
+            authenticationFailureListener.run();
+            throw e;
+        }
     }
 
     private void handleAuthException(Runnable function) {
-        azureAuthExceptionHandler.handleAuthException(function);
+        try {
+            azureAuthExceptionHandler.handleAuthException(function);
+        } catch (ProviderAuthenticationFailedException e) {
+            authenticationFailureListener.run();
+            throw e;
+        }
     }
 
     public Completable deleteGenericResourceByIdAsync(String databaseServerId) {
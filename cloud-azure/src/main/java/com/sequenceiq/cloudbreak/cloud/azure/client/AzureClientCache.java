@@ -0,0 +1,136 @@
+package com.sequenceiq.cloudbreak.cloud.azure.client;
+
+import static com.google.common.base.Strings.nullToEmpty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.cloud.azure.view.AzureCredentialView;
+
+import okhttp3.ConnectionPool;
+
+/**
+ * Keeps the authenticated {@link AzureClient}s by credential and subscription, so the token acquisition and the client setup is not repeated for
+ * every authenticated context. The tokens of a kept client are refreshed by its credentials when they expire. The secrets are only kept as a
+ * fingerprint in the keys, so an updated credential gets a new client and the clients of its previous version are dropped. A client is also
+ * dropped when it fails to authenticate, and when it was not asked for during the idle time. Every client uses the same connection pool.
+ */
+@Component
+public class AzureClientCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AzureClientCache.class);
+
+    @Value("${cb.azure.client.cache.max.size:500}")
+    private long maxSize;
+
+    @Value("${cb.azure.client.cache.idle.minutes:30}")
+    private long idleMinutes;
+
+    private Cache<ClientKey, AzureClient> clients;
+
+    private ConnectionPool connectionPool;
+
+    @PostConstruct
+    public void init() {
+        clients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleMinutes, TimeUnit.MINUTES)
+                .build();
+        connectionPool = new ConnectionPool();
+    }
+
+    /**
+     * Returns the kept client of the credential, or builds and keeps one.
+     *
+     * @param credentialView the credential of the client
+     * @param factory        builds the client, the given listener has to be called when the client fails to authenticate
+     * @return the kept client
+     */
+    public AzureClient getClient(AzureCredentialView credentialView, Function<Runnable, AzureClient> factory) {
+        ClientKey clientKey = new ClientKey(nullToEmpty(credentialView.getCredentialCrn()), credentialView.getSubscriptionId(), fingerprint(credentialView));
+        boolean[] created = new boolean[1];
+        AzureClient client = clients.get(clientKey, key -> {
+            created[0] = true;
+            LOGGER.debug("Creating Azure client for credential {}", credentialView.getName());
+            return factory.apply(() -> dropFailedClient(key));
+        });
+        if (created[0]) {
+            clients.asMap().keySet().removeIf(other -> other.isPreviousVersionOf(clientKey));
+        }
+        return client;
+    }
+
+    /**
+     * Drops every kept client of the credential.
+     */
+    public void evict(AzureCredentialView credentialView) {
+        String credentialId = nullToEmpty(credentialView.getCredentialCrn());
+        clients.asMap().keySet().removeIf(key -> key.credentialId.equals(credentialId));
+    }
+
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    private void dropFailedClient(ClientKey key) {
+        LOGGER.info("Dropping the Azure client of credential {} as it failed to authenticate", key.credentialId);
+        clients.invalidate(key);
+    }
+
+    private String fingerprint(AzureCredentialView credentialView) {
+        return Hashing.sha256().newHasher()
+                .putString(nullToEmpty(credentialView.getTenantId()), StandardCharsets.UTF_8).putChar('\0')
+                .putString(nullToEmpty(credentialView.getAccessKey()), StandardCharsets.UTF_8).putChar('\0')
+                .putString(nullToEmpty(credentialView.getSecretKey()), StandardCharsets.UTF_8)
+                .hash().toString();
+    }
+
+    private static class ClientKey {
+
+        private final String credentialId;
+
+        private final String subscriptionId;
+
+        private final String credentialFingerprint;
+
+        ClientKey(String credentialId, String subscriptionId, String credentialFingerprint) {
+            this.credentialId = credentialId;
+            this.subscriptionId = subscriptionId;
+            this.credentialFingerprint = credentialFingerprint;
+        }
+
+        boolean isPreviousVersionOf(ClientKey other) {
+            return !credentialId.isEmpty() && credentialId.equals(other.credentialId) && !equals(other);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClientKey that = (ClientKey) o;
+            return Objects.equals(credentialId, that.credentialId) && Objects.equals(subscriptionId, that.subscriptionId)
+                    && Objects.equals(credentialFingerprint, that.credentialFingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(credentialId, subscriptionId, credentialFingerprint);
+        }
+    }
+}
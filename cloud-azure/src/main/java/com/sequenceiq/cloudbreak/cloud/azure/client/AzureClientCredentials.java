@@ -18,6 +18,7 @@ import com.sequenceiq.cloudbreak.cloud.azure.tracing.AzureOkHttp3TracingIntercep
 import com.sequenceiq.cloudbreak.cloud.azure.view.AzureCredentialView;
 import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 
+import okhttp3.ConnectionPool;
 import okhttp3.JavaNetAuthenticator;
 
 public class AzureClientCredentials {
@@ -36,13 +37,16 @@ public class AzureClientCredentials {
 
     private final AzureOkHttp3TracingInterceptor tracingInterceptor;
 
+    private final ConnectionPool connectionPool;
+
     public AzureClientCredentials(AzureCredentialView credentialView, LogLevel logLevel, CBRefreshTokenClientProvider cbRefreshTokenClientProvider,
-            AuthenticationContextProvider authenticationContextProvider, AzureOkHttp3TracingInterceptor tracingInterceptor) {
+            AuthenticationContextProvider authenticationContextProvider, AzureOkHttp3TracingInterceptor tracingInterceptor, ConnectionPool connectionPool) {
         this.authenticationContextProvider = authenticationContextProvider;
         this.cbRefreshTokenClientProvider = cbRefreshTokenClientProvider;
         this.credentialView = credentialView;
         this.logLevel = logLevel;
         this.tracingInterceptor = tracingInterceptor;
+        this.connectionPool = connectionPool;
         azureClientCredentials = getAzureCredentials();
     }
 
@@ -51,13 +55,17 @@ public class AzureClientCredentials {
                 .configure()
                 .withInterceptor(tracingInterceptor)
                 .withProxyAuthenticator(new JavaNetAuthenticator())
+                .withConnectionPool(connectionPool)
                 .withLogLevel(logLevel)
                 .authenticate(azureClientCredentials)
                 .withSubscription(credentialView.getSubscriptionId());
     }
 
     public privatednsManager getPrivateDnsManager() {
-        return privatednsManager.authenticate(azureClientCredentials, credentialView.getSubscriptionId());
+        return privatednsManager
+                .configure()
+                .withConnectionPool(connectionPool)
+                .authenticate(azureClientCredentials, credentialView.getSubscriptionId());
     }
 
     private AzureTokenCredentials getAzureCredentials() {
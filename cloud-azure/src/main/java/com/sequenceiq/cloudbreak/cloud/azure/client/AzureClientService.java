@@ -31,6 +31,9 @@ public class AzureClientService {
     @Inject
     private AzureAuthExceptionHandler azureAuthExceptionHandler;
 
+    @Inject
+    private AzureClientCache azureClientCache;
+
     public AuthenticatedContext createAuthenticatedContext(CloudContext cloudContext, CloudCredential cloudCredential) {
         AuthenticatedContext authenticatedContext = new AuthenticatedContext(cloudContext, cloudCredential);
         AzureClient azureClient = getClient(cloudCredential);
@@ -40,8 +43,21 @@ public class AzureClientService {
 
     public AzureClient getClient(CloudCredential cloudCredential) {
         AzureCredentialView azureCredentialView = new AzureCredentialView(cloudCredential);
+        if (azureCredentialView.codeGrantFlow()) {
+            return createClient(azureCredentialView, () -> {
+            });
+        }
+        return azureClientCache.getClient(azureCredentialView, authenticationFailureListener -> createClient(azureCredentialView,
+                authenticationFailureListener));
+    }
+
+    public void evictClient(CloudCredential cloudCredential) {
+        azureClientCache.evict(new AzureCredentialView(cloudCredential));
+    }
+
+    private AzureClient createClient(AzureCredentialView azureCredentialView, Runnable authenticationFailureListener) {
         AzureClientCredentials azureClientCredentials = new AzureClientCredentials(azureCredentialView, logLevel, cbRefreshTokenClientProvider,
-                authenticationContextProvider, tracingInterceptor);
-        return new AzureClient(azureClientCredentials, azureAuthExceptionHandler);
+                authenticationContextProvider, tracingInterceptor, azureClientCache.getConnectionPool());
+        return new AzureClient(azureClientCredentials, azureAuthExceptionHandler, authenticationFailureListener);
     }
 }
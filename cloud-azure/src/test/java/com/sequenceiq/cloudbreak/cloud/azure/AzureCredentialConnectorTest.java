@@ -23,6 +23,7 @@ import org.mockito.MockitoAnnotations;
 
 import com.google.common.collect.Maps;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AuthenticationContextProvider;
+import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClientService;
 import com.sequenceiq.cloudbreak.cloud.azure.client.CBRefreshTokenClientProvider;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.credential.CredentialNotifier;
@@ -72,6 +73,9 @@ public class AzureCredentialConnectorTest {
     @Mock
     private CredentialSender credentialSender;
 
+    @Mock
+    private AzureClientService azureClientService;
+
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
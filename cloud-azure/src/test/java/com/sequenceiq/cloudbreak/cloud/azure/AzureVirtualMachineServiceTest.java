@@ -1,9 +1,12 @@
 package com.sequenceiq.cloudbreak.cloud.azure;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -12,12 +15,23 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.microsoft.azure.Page;
 import com.microsoft.azure.PagedList;
+import com.microsoft.azure.management.compute.PowerState;
 import com.microsoft.azure.management.compute.VirtualMachine;
+import com.microsoft.azure.management.compute.VirtualMachineInstanceView;
 import com.microsoft.rest.RestException;
 import com.sequenceiq.cloudbreak.cloud.azure.client.AzureClient;
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.InstanceTemplate;
+
+import rx.Observable;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AzureVirtualMachineServiceTest {
@@ -36,6 +50,9 @@ public class AzureVirtualMachineServiceTest {
     @Mock
     private AzureClient azureClient;
 
+    @Mock
+    private AzureResourceGroupMetadataProvider azureResourceGroupMetadataProvider;
+
     @Test
     public void testGetVirtualMachinesByIdShouldReturnTheVirtualMachines() {
         Set<String> privateInstanceIds = createPrivateInstanceIds();
@@ -63,6 +80,43 @@ public class AzureVirtualMachineServiceTest {
         assertEquals(1, actual.size());
     }
 
+    @Test
+    public void testGetVmsFromAzureAndFillStatusesShouldMatchTheVirtualMachinesByName() {
+        ReflectionTestUtils.setField(underTest, "instanceViewRefreshConcurrency", 2);
+        AuthenticatedContext ac = mock(AuthenticatedContext.class);
+        when(ac.getParameter(AzureClient.class)).thenReturn(azureClient);
+        when(ac.getCloudContext()).thenReturn(mock(CloudContext.class));
+        when(azureResourceGroupMetadataProvider.getResourceGroupName(any(CloudContext.class), any(CloudInstance.class))).thenReturn(RESOURCE_GROUP);
+        PagedList<VirtualMachine> virtualMachines = createPagedList();
+        withPowerState(virtualMachines.get(0), PowerState.RUNNING);
+        withPowerState(virtualMachines.get(1), PowerState.DEALLOCATED);
+        when(azureClient.getVirtualMachines(RESOURCE_GROUP)).thenReturn(virtualMachines);
+        CloudInstance running = createCloudInstance(INSTANCE_1);
+        CloudInstance stopped = createCloudInstance(INSTANCE_2);
+        CloudInstance missing = createCloudInstance("instance-4");
+        List<CloudVmInstanceStatus> statuses = new ArrayList<>();
+
+        Map<String, VirtualMachine> actual = underTest.getVmsFromAzureAndFillStatuses(ac, List.of(running, stopped, missing), statuses);
+
+        assertEquals(Set.of(INSTANCE_1, INSTANCE_2), actual.keySet());
+        assertEquals(3, statuses.size());
+        assertEquals(InstanceStatus.STARTED, statuses.get(0).getStatus());
+        assertEquals(InstanceStatus.STOPPED, statuses.get(1).getStatus());
+        assertEquals(InstanceStatus.TERMINATED, statuses.get(2).getStatus());
+        assertEquals(INSTANCE_1 + "-computer", running.getStringParameter(CloudInstance.INSTANCE_NAME));
+    }
+
+    private void withPowerState(VirtualMachine virtualMachine, PowerState powerState) {
+        String computerName = virtualMachine.name() + "-computer";
+        when(virtualMachine.refreshInstanceViewAsync()).thenReturn(Observable.just(mock(VirtualMachineInstanceView.class)));
+        when(virtualMachine.powerState()).thenReturn(powerState);
+        when(virtualMachine.computerName()).thenReturn(computerName);
+    }
+
+    private CloudInstance createCloudInstance(String instanceId) {
+        return new CloudInstance(instanceId, mock(InstanceTemplate.class), null);
+    }
+
     private PagedList<VirtualMachine> createPagedList() {
         PagedList<VirtualMachine> pagedList = new PagedList<>() {
             @Override
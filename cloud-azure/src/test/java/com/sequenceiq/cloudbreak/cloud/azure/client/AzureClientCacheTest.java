@@ -0,0 +1,93 @@
+package com.sequenceiq.cloudbreak.cloud.azure.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.azure.view.AzureCredentialView;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+
+class AzureClientCacheTest {
+
+    private static final String CREDENTIAL_CRN = "crn:credential";
+
+    private static final String SUBSCRIPTION_ID = "subscription";
+
+    private final AzureClientCache underTest = new AzureClientCache();
+
+    private final AtomicInteger createdClients = new AtomicInteger();
+
+    private final AtomicReference<Runnable> lastAuthenticationFailureListener = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "maxSize", 10L);
+        ReflectionTestUtils.setField(underTest, "idleMinutes", 10L);
+        underTest.init();
+    }
+
+    @Test
+    void testClientIsReusedForTheSameCredential() {
+        AzureClient first = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+        AzureClient second = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+
+        assertSame(first, second);
+        assertEquals(1, createdClients.get());
+    }
+
+    @Test
+    void testUpdatedCredentialGetsNewClientAndThePreviousOneIsDropped() {
+        AzureClient original = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+        AzureClient updated = getClient(credentialView(CREDENTIAL_CRN, "new-secret"));
+        AzureClient originalAgain = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+
+        assertNotSame(original, updated);
+        assertNotSame(original, originalAgain);
+        assertEquals(3, createdClients.get());
+    }
+
+    @Test
+    void testClientIsDroppedWhenItFailsToAuthenticate() {
+        AzureClient first = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+        lastAuthenticationFailureListener.get().run();
+        AzureClient second = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+
+        assertNotSame(first, second);
+        assertEquals(2, createdClients.get());
+    }
+
+    @Test
+    void testEvictDropsTheClientsOfTheCredentialOnly() {
+        AzureClient first = getClient(credentialView(CREDENTIAL_CRN, "secret"));
+        AzureClient other = getClient(credentialView("crn:other", "secret"));
+
+        underTest.evict(credentialView(CREDENTIAL_CRN, "secret"));
+
+        assertNotSame(first, getClient(credentialView(CREDENTIAL_CRN, "secret")));
+        assertSame(other, getClient(credentialView("crn:other", "secret")));
+        assertEquals(3, createdClients.get());
+    }
+
+    private AzureClient getClient(AzureCredentialView credentialView) {
+        return underTest.getClient(credentialView, authenticationFailureListener -> {
+            createdClients.incrementAndGet();
+            lastAuthenticationFailureListener.set(authenticationFailureListener);
+            return mock(AzureClient.class);
+        });
+    }
+
+    private AzureCredentialView credentialView(String crn, String secretKey) {
+        Map<String, Object> parameters = Map.of("subscriptionId", SUBSCRIPTION_ID, "tenantId", "tenant",
+                AzureCredentialView.APP_BASED, Map.of("accessKey", "access", "secretKey", secretKey));
+        return new AzureCredentialView(new CloudCredential(crn, "credential", Map.of(AzureCredentialView.PROVIDER_KEY, parameters), false));
+    }
+}
@@ -30,6 +30,8 @@ import com.sequenceiq.cloudbreak.cloud.azure.tracing.AzureOkHttp3TracingIntercep
 import com.sequenceiq.cloudbreak.cloud.azure.view.AzureCredentialView;
 import com.sequenceiq.cloudbreak.cloud.exception.CloudConnectorException;
 
+import okhttp3.ConnectionPool;
+
 public class AzureClientCredentialsTest {
 
     private static final String TENANT_ID = "1";
@@ -66,6 +68,8 @@ public class AzureClientCredentialsTest {
     @Mock
     private AzureOkHttp3TracingInterceptor tracingInterceptor;
 
+    private final ConnectionPool connectionPool = new ConnectionPool();
+
     private AuthenticationResult authenticationResult;
 
     @Before
@@ -86,7 +90,7 @@ public class AzureClientCredentialsTest {
         when(credentialView.codeGrantFlow()).thenReturn(false);
 
         Optional<String> result = new AzureClientCredentials(credentialView, LOG_LEVEL,
-                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor)
+                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor, connectionPool)
                 .getRefreshToken();
 
         assertFalse(result.isPresent());
@@ -105,7 +109,7 @@ public class AzureClientCredentialsTest {
         when(cbRefreshTokenClient.refreshToken(anyString(), anyString(), anyString(), anyString(), anyString(), anyBoolean())).thenReturn(authenticationResult);
 
         Optional<String> result = new AzureClientCredentials(credentialView, LOG_LEVEL,
-                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor)
+                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor, connectionPool)
                 .getRefreshToken();
 
         assertTrue(result.isPresent());
@@ -128,7 +132,7 @@ public class AzureClientCredentialsTest {
         when(credentialView.getAuthorizationCode()).thenReturn("someAuthCode");
 
         Optional<String> result = new AzureClientCredentials(credentialView, LOG_LEVEL,
-                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor)
+                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor, connectionPool)
                 .getRefreshToken();
 
         assertFalse(result.isPresent());
@@ -154,7 +158,7 @@ public class AzureClientCredentialsTest {
         thrown.expect(CloudConnectorException.class);
         thrown.expectMessage(String.format("New token couldn't be obtain with refresh token for credential: %s", CREDENTIAL_NAME));
 
-        new AzureClientCredentials(credentialView, LOG_LEVEL, cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor);
+        new AzureClientCredentials(credentialView, LOG_LEVEL, cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor, connectionPool);
 
         verify(credentialView, times(1)).getTenantId();
         verify(credentialView, times(1)).getAccessKey();
@@ -175,7 +179,7 @@ public class AzureClientCredentialsTest {
         when(cbRefreshTokenClient.refreshToken(anyString(), anyString(), anyString(), anyString(), anyString(), anyBoolean())).thenReturn(authenticationResult);
 
         Azure result = new AzureClientCredentials(credentialView, LOG_LEVEL,
-                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor).getAzure();
+                cbRefreshTokenClientProvider, authenticationContextProvider, tracingInterceptor, connectionPool).getAzure();
 
         assertNotNull(result);
         assertEquals(SUBSCRIPTION_ID, result.subscriptionId());
@@ -0,0 +1,31 @@
+package com.sequenceiq.cloudbreak.polling;
+
+public class AttemptResult<R> {
+
+    private static final AttemptResult<?> POLL_AGAIN = new AttemptResult<>(false, null);
+
+    private final boolean finished;
+
+    private final R result;
+
+    private AttemptResult(boolean finished, R result) {
+        this.finished = finished;
+        this.result = result;
+    }
+
+    public static <R> AttemptResult<R> finishWith(R result) {
+        return new AttemptResult<>(true, result);
+    }
+
+    public static <R> AttemptResult<R> pollAgain() {
+        return (AttemptResult<R>) POLL_AGAIN;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public R getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sequenceiq.cloudbreak.polling;
+
+/**
+ * One status check of a poll run by the {@link PollingEngine}.
+ *
+ * @param <R> type of the result of the poll
+ */
+@FunctionalInterface
+public interface PollingAttempt<R> {
+
+    /**
+     * @return {@link AttemptResult#finishWith(Object)} to finish the poll, or {@link AttemptResult#pollAgain()} to check again later
+     * @throws Exception to fail the poll with the exception
+     */
+    AttemptResult<R> attempt() throws Exception;
+}
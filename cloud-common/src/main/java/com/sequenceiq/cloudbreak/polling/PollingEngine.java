@@ -0,0 +1,258 @@
+package com.sequenceiq.cloudbreak.polling;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerScheduledExecutor;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+
+/**
+ * Runs polls as short scheduled attempts instead of a sleeping thread per poll, so many concurrent waits need only a handful of threads.
+ * The scheduler threads only wait for the interval of the polls, the attempts themselves run on a separate pool of workers, so a slow
+ * status check does not delay the attempts of other polls beyond the worker pool. Callers that wait for the result anyway should use
+ * {@link #pollOnCallerThread(String, PollingAttempt, long, Function)}, which runs the attempts on the calling thread and does not take a
+ * worker. The interval between attempts is jittered so polls started together do not hit the same endpoint at the same time, and it can
+ * grow up to a maximum for long waits. Attempts, wall time and failures are reported per task type.
+ * <p>
+ * The attempts of an asynchronous poll run with the MDC context, the user CRN and the active tracing span of the thread that started the
+ * poll. Other thread-bound state of that thread, for example a transaction or a request scope, is not available to them.
+ */
+@Component
+public class PollingEngine {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PollingEngine.class);
+
+    private static final int BACKOFF_MULTIPLIER = 2;
+
+    @Value("${cb.polling.engine.threads:2}")
+    private int threads;
+
+    @Value("${cb.polling.engine.worker.threads:32}")
+    private int workerThreads;
+
+    @Value("${cb.polling.engine.jitter:0.1}")
+    private double jitter;
+
+    @Inject
+    private MetricService metricService;
+
+    @Inject
+    private Tracer tracer;
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void init() {
+        scheduler = new MDCCleanerScheduledExecutor(threads, new ThreadFactoryBuilder().setNameFormat("polling-engine-%d").setDaemon(true).build());
+        workers = new MDCCleanerThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("polling-worker-%d").setDaemon(true).build(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Starts a poll with a fixed interval. The first attempt runs right away.
+     *
+     * @param taskType  reported in the metrics, usually the simple name of the polling task
+     * @param attempt   one status check of the poll
+     * @param interval  milliseconds between the attempts
+     * @param outcomeOf reported in the metrics as the outcome of the finished poll
+     * @return completes with the result of the poll, or exceptionally with the exception thrown by an attempt
+     */
+    public <R> CompletableFuture<R> poll(String taskType, PollingAttempt<R> attempt, long interval, Function<R, String> outcomeOf) {
+        return poll(taskType, attempt, interval, interval, outcomeOf);
+    }
+
+    /**
+     * Starts a poll whose interval doubles after every unfinished attempt up to the maximum interval. The first attempt runs right away.
+     * Cancelling the returned future stops the poll.
+     */
+    public <R> CompletableFuture<R> poll(String taskType, PollingAttempt<R> attempt, long interval, long maxInterval, Function<R, String> outcomeOf) {
+        Poll<R> poll = new Poll<>(taskType, attempt, interval, Math.max(interval, maxInterval), outcomeOf);
+        poll.schedule(0L);
+        return poll.result;
+    }
+
+    /**
+     * Polls with a fixed interval on the calling thread, which sleeps between the attempts. The first attempt runs right away.
+     *
+     * @return the result of the poll
+     * @throws Exception            the exception thrown by an attempt
+     * @throws InterruptedException if the calling thread is interrupted while it waits for the next attempt
+     */
+    public <R> R pollOnCallerThread(String taskType, PollingAttempt<R> attempt, long interval, Function<R, String> outcomeOf) throws Exception {
+        Poll<R> poll = new Poll<>(taskType, attempt, interval, interval, outcomeOf);
+        try {
+            while (!poll.runAttempt()) {
+                Thread.sleep(poll.nextDelay());
+            }
+        } catch (InterruptedException e) {
+            LOGGER.debug("Poll of {} was interrupted", taskType);
+            poll.finish("interrupted");
+            throw e;
+        }
+        try {
+            return poll.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw (Exception) e.getCause();
+        }
+    }
+
+    private long jittered(long interval) {
+        long spread = Math.round(interval * jitter);
+        return spread > 0 ? interval + ThreadLocalRandom.current().nextLong(-spread, spread + 1) : interval;
+    }
+
+    private class Poll<R> implements Runnable {
+
+        private final String taskType;
+
+        private final PollingAttempt<R> attempt;
+
+        private final long maxInterval;
+
+        private final Function<R, String> outcomeOf;
+
+        private final Map<String, String> mdcContext = MDC.getCopyOfContextMap();
+
+        private final String userCrn = ThreadBasedUserCrnProvider.getUserCrn();
+
+        private final Span span = tracer.activeSpan();
+
+        private final long startedAt = System.nanoTime();
+
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        private long nextInterval;
+
+        private int attempts;
+
+        Poll(String taskType, PollingAttempt<R> attempt, long interval, long maxInterval, Function<R, String> outcomeOf) {
+            this.taskType = taskType;
+            this.attempt = attempt;
+            this.nextInterval = interval;
+            this.maxInterval = maxInterval;
+            this.outcomeOf = outcomeOf;
+        }
+
+        void schedule(long delay) {
+            if (delay <= 0L) {
+                submit();
+                return;
+            }
+            try {
+                scheduler.schedule(this::submit, delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                reject(e);
+            }
+        }
+
+        private void submit() {
+            try {
+                workers.execute(this);
+            } catch (RejectedExecutionException e) {
+                reject(e);
+            }
+        }
+
+        private void reject(RejectedExecutionException e) {
+            LOGGER.warn("Polling engine rejected the next attempt of {}", taskType, e);
+            finish("rejected");
+            result.completeExceptionally(e);
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                LOGGER.debug("Poll of {} was cancelled after {} attempts", taskType, attempts);
+                return;
+            }
+            if (mdcContext != null) {
+                MDC.setContextMap(mdcContext);
+            }
+            try (Scope ignored = span == null ? null : tracer.activateSpan(span)) {
+                if (userCrn != null) {
+                    ThreadBasedUserCrnProvider.doAs(userCrn, this::runAttemptAndReschedule);
+                } else {
+                    runAttemptAndReschedule();
+                }
+            }
+        }
+
+        private void runAttemptAndReschedule() {
+            if (!runAttempt()) {
+                schedule(nextDelay());
+            }
+        }
+
+        /**
+         * @return true if the poll finished, its result is completed then
+         */
+        private boolean runAttempt() {
+            attempts++;
+            metricService.incrementMetricCounter(PollingMetricType.POLLING_ATTEMPT, "task", taskType);
+            try {
+                AttemptResult<R> attemptResult = attempt.attempt();
+                if (attemptResult.isFinished()) {
+                    finish(outcomeOf.apply(attemptResult.getResult()));
+                    result.complete(attemptResult.getResult());
+                    return true;
+                }
+                return false;
+            } catch (Exception | Error e) {
+                LOGGER.debug("Poll of {} failed after {} attempts", taskType, attempts, e);
+                metricService.incrementMetricCounter(PollingMetricType.POLLING_FAILED, "task", taskType);
+                finish("error");
+                result.completeExceptionally(e);
+                return true;
+            }
+        }
+
+        private long nextDelay() {
+            long delay = jittered(nextInterval);
+            nextInterval = Math.min(nextInterval * BACKOFF_MULTIPLIER, maxInterval);
+            return delay;
+        }
+
+        private void finish(String outcome) {
+            metricService.recordTimerMetric(PollingMetricType.POLLING_DURATION, Duration.ofNanos(System.nanoTime() - startedAt),
+                    "task", taskType, "outcome", outcome);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.polling;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum PollingMetricType implements Metric {
+    POLLING_ATTEMPT("polling.attempt"),
+    POLLING_DURATION("polling.duration"),
+    POLLING_FAILED("polling.failed");
+
+    private final String metricName;
+
+    PollingMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
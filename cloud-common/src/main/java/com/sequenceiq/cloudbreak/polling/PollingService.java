@@ -1,5 +1,9 @@
 package com.sequenceiq.cloudbreak.polling;
 
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
@@ -11,6 +15,9 @@ public class PollingService<T> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PollingService.class);
 
+    @Inject
+    private PollingEngine pollingEngine;
+
     /**
      * Executes a {@link StatusCheckerTask} until it signals success, or the
      * maximum attempts are reached. A {@link StatusCheckerTask} has no
@@ -18,7 +25,7 @@ public class PollingService<T> {
      * return if the task succeeded or not. If maxAttempts is lower than 0,
      * there will be no timeout.
      *
-     * @param interval    sleeps this many milliseconds between status checking attempts
+     * @param interval    waits this many milliseconds between status checking attempts, the calling thread is blocked meanwhile
      * @param maxAttempts signals how many times will the status check be executed before timeout
      */
     public Pair<PollingResult, Exception> pollWithTimeout(StatusCheckerTask<T> statusCheckerTask, T t, long interval,
@@ -33,14 +40,90 @@ public class PollingService<T> {
 
     public Pair<PollingResult, Exception> pollWithTimeout(StatusCheckerTask<T> statusCheckerTask, T t, long interval, TimeoutChecker timeoutChecker,
             int maxConsecutiveFailures) {
-        boolean success = false;
-        boolean timeout = false;
-        int attempts = 0;
-        int consecutiveFailures = 0;
-        Exception actual = null;
-        boolean exit = statusCheckerTask.exitPolling(t);
-        while (!timeout && !exit) {
+        if (statusCheckerTask.exitPolling(t)) {
+            LOGGER.debug("Poller exiting.");
+            return new ImmutablePair<>(PollingResult.EXIT, null);
+        }
+        StatusCheckerAttempt<T> attempt = new StatusCheckerAttempt<>(statusCheckerTask, t, timeoutChecker, maxConsecutiveFailures);
+        try {
+            return pollingEngine.pollOnCallerThread(taskType(statusCheckerTask), attempt, interval, result -> result.getLeft().name().toLowerCase());
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted exception occurred during polling.", e);
+            Thread.currentThread().interrupt();
+            return new ImmutablePair<>(PollingResult.EXIT, e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Same as {@link #pollWithTimeout(StatusCheckerTask, Object, long, TimeoutChecker, int)}, but the status checks run on the
+     * workers of the {@link PollingEngine} and the caller's thread is not blocked. Exceptions thrown by the handlers of the task complete
+     * the returned future exceptionally. The task only gets the context of the caller's thread that the {@link PollingEngine} propagates.
+     */
+    public CompletableFuture<Pair<PollingResult, Exception>> pollAsync(StatusCheckerTask<T> statusCheckerTask, T t, long interval,
+            TimeoutChecker timeoutChecker, int maxConsecutiveFailures) {
+        if (statusCheckerTask.exitPolling(t)) {
+            LOGGER.debug("Poller exiting.");
+            return CompletableFuture.completedFuture(new ImmutablePair<>(PollingResult.EXIT, null));
+        }
+        StatusCheckerAttempt<T> attempt = new StatusCheckerAttempt<>(statusCheckerTask, t, timeoutChecker, maxConsecutiveFailures);
+        return pollingEngine.poll(taskType(statusCheckerTask), attempt, interval, result -> result.getLeft().name().toLowerCase());
+    }
+
+    public PollingResult pollWithAbsoluteTimeoutSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, long maximumWaitTimeInSeconds) {
+        return pollWithAbsoluteTimeout(statusCheckerTask, t, interval, maximumWaitTimeInSeconds, 1).getLeft();
+    }
+
+    public PollingResult pollWithAttemptSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts) {
+        return pollWithTimeout(statusCheckerTask, t, interval, maxAttempts, 1).getLeft();
+    }
+
+    private String taskType(StatusCheckerTask<T> statusCheckerTask) {
+        String taskType = statusCheckerTask.getClass().getSimpleName();
+        return taskType.isEmpty() ? statusCheckerTask.getClass().getName() : taskType;
+    }
+
+    private static class StatusCheckerAttempt<T> implements PollingAttempt<Pair<PollingResult, Exception>> {
+
+        private final StatusCheckerTask<T> statusCheckerTask;
+
+        private final T t;
+
+        private final TimeoutChecker timeoutChecker;
+
+        private final int maxConsecutiveFailures;
+
+        private int attempts;
+
+        private int consecutiveFailures;
+
+        private Exception actual;
+
+        StatusCheckerAttempt(StatusCheckerTask<T> statusCheckerTask, T t, TimeoutChecker timeoutChecker, int maxConsecutiveFailures) {
+            this.statusCheckerTask = statusCheckerTask;
+            this.t = t;
+            this.timeoutChecker = timeoutChecker;
+            this.maxConsecutiveFailures = maxConsecutiveFailures;
+        }
+
+        @Override
+        public AttemptResult<Pair<PollingResult, Exception>> attempt() {
+            if (attempts > 0) {
+                if (timeoutChecker.checkTimeout()) {
+                    LOGGER.debug("Poller timeout.");
+                    statusCheckerTask.handleTimeout(t);
+                    return AttemptResult.finishWith(new ImmutablePair<>(PollingResult.TIMEOUT, actual));
+                } else if (statusCheckerTask.exitPolling(t)) {
+                    LOGGER.debug("Poller exiting.");
+                    return AttemptResult.finishWith(new ImmutablePair<>(PollingResult.EXIT, actual));
+                }
+            }
             LOGGER.debug("Polling attempt {}.", attempts);
+            attempts++;
+            boolean success = false;
             try {
                 success = statusCheckerTask.checkStatus(t);
                 consecutiveFailures = 0;
@@ -53,41 +136,14 @@ public class PollingService<T> {
             if (consecutiveFailures >= maxConsecutiveFailures) {
                 LOGGER.debug("Polling failure reached the limit which was {}, poller will drop the last exception.", maxConsecutiveFailures);
                 statusCheckerTask.handleException(actual);
-                return new ImmutablePair<>(PollingResult.FAILURE, actual);
+                return AttemptResult.finishWith(new ImmutablePair<>(PollingResult.FAILURE, actual));
             } else if (success) {
                 LOGGER.debug(statusCheckerTask.successMessage(t));
                 LOGGER.debug("Set the number of consecutive failures to 0, since we received a positve answer. Original number of consecutiveFailures: {}",
                         consecutiveFailures);
-                return new ImmutablePair<>(PollingResult.SUCCESS, actual);
+                return AttemptResult.finishWith(new ImmutablePair<>(PollingResult.SUCCESS, actual));
             }
-            sleep(interval);
-            attempts++;
-            timeout = timeoutChecker.checkTimeout();
-            exit = statusCheckerTask.exitPolling(t);
-        }
-        if (timeout) {
-            LOGGER.debug("Poller timeout.");
-            statusCheckerTask.handleTimeout(t);
-            return new ImmutablePair<>(PollingResult.TIMEOUT, actual);
-        }
-        LOGGER.debug("Poller exiting.");
-        return new ImmutablePair<>(PollingResult.EXIT, actual);
-    }
-
-    public PollingResult pollWithAbsoluteTimeoutSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, long maximumWaitTimeInSeconds) {
-        return pollWithAbsoluteTimeout(statusCheckerTask, t, interval, maximumWaitTimeInSeconds, 1).getLeft();
-    }
-
-    public PollingResult pollWithAttemptSingleFailure(StatusCheckerTask<T> statusCheckerTask, T t, int interval, int maxAttempts) {
-        return pollWithTimeout(statusCheckerTask, t, interval, maxAttempts, 1).getLeft();
-    }
-
-    private void sleep(long duration) {
-        try {
-            Thread.sleep(duration);
-        } catch (InterruptedException e) {
-            LOGGER.error("Interrupted exception occurred during polling.", e);
-            Thread.currentThread().interrupt();
+            return AttemptResult.pollAgain();
         }
     }
-}
\ No newline at end of file
+}
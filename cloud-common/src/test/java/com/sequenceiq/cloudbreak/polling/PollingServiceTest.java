@@ -0,0 +1,226 @@
+package com.sequenceiq.cloudbreak.polling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PollingServiceTest {
+
+    private static final String POLLER_OBJECT = "pollerObject";
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private StatusCheckerTask<String> statusCheckerTask;
+
+    @Mock
+    private Tracer tracer;
+
+    private final PollingEngine pollingEngine = new PollingEngine();
+
+    private final PollingService<String> underTest = new PollingService<>();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(pollingEngine, "threads", 1);
+        ReflectionTestUtils.setField(pollingEngine, "workerThreads", 2);
+        ReflectionTestUtils.setField(pollingEngine, "jitter", 0.1);
+        ReflectionTestUtils.setField(pollingEngine, "metricService", metricService);
+        ReflectionTestUtils.setField(pollingEngine, "tracer", tracer);
+        pollingEngine.init();
+        ReflectionTestUtils.setField(underTest, "pollingEngine", pollingEngine);
+    }
+
+    @After
+    public void tearDown() {
+        pollingEngine.shutdown();
+    }
+
+    @Test
+    public void testSuccessAfterSomeAttempts() {
+        when(statusCheckerTask.checkStatus(POLLER_OBJECT)).thenReturn(false, false, true);
+
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 10, 1);
+
+        assertEquals(PollingResult.SUCCESS, result.getLeft());
+        assertNull(result.getRight());
+        verify(statusCheckerTask, times(3)).checkStatus(POLLER_OBJECT);
+        verify(metricService, times(3)).incrementMetricCounter(eq(PollingMetricType.POLLING_ATTEMPT), eq("task"), anyString());
+        verify(metricService).recordTimerMetric(eq(PollingMetricType.POLLING_DURATION), any(Duration.class), eq("task"), anyString(),
+                eq("outcome"), eq("success"));
+    }
+
+    @Test
+    public void testTimeoutIsHandledAfterTheMaxAttempts() {
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 3, 1);
+
+        assertEquals(PollingResult.TIMEOUT, result.getLeft());
+        verify(statusCheckerTask, times(3)).checkStatus(POLLER_OBJECT);
+        verify(statusCheckerTask).handleTimeout(POLLER_OBJECT);
+    }
+
+    @Test
+    public void testExitBeforeTheFirstAttempt() {
+        when(statusCheckerTask.exitPolling(POLLER_OBJECT)).thenReturn(true);
+
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 3, 1);
+
+        assertEquals(PollingResult.EXIT, result.getLeft());
+        verify(statusCheckerTask, times(0)).checkStatus(POLLER_OBJECT);
+    }
+
+    @Test
+    public void testFailureAfterConsecutiveExceptions() {
+        IllegalStateException exception = new IllegalStateException("unavailable");
+        when(statusCheckerTask.checkStatus(POLLER_OBJECT)).thenThrow(exception);
+
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 10, 2);
+
+        assertEquals(PollingResult.FAILURE, result.getLeft());
+        assertSame(exception, result.getRight());
+        verify(statusCheckerTask, times(2)).checkStatus(POLLER_OBJECT);
+        verify(statusCheckerTask).handleException(exception);
+    }
+
+    @Test
+    public void testExceptionOfTheTimeoutHandlerIsThrownToTheCaller() {
+        IllegalStateException exception = new IllegalStateException("timed out");
+        doThrow(exception).when(statusCheckerTask).handleTimeout(POLLER_OBJECT);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 2, 1));
+
+        assertSame(exception, thrown);
+    }
+
+    @Test
+    public void testManyConcurrentPollsShareTheEngineThreads() {
+        int polls = 200;
+        List<CompletableFuture<Pair<PollingResult, Exception>>> futures = new ArrayList<>();
+        for (int i = 0; i < polls; i++) {
+            AtomicInteger checks = new AtomicInteger();
+            futures.add(underTest.pollAsync(new SuccessAfterChecks(checks, 3), POLLER_OBJECT, 5, new AttemptBasedTimeoutChecker(10), 1));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).orTimeout(1, TimeUnit.MINUTES).join();
+
+        assertTrue(futures.stream().allMatch(future -> PollingResult.SUCCESS == future.join().getLeft()));
+    }
+
+    @Test
+    public void testSlowStatusCheckDoesNotHoldBackTheOtherPolls() throws Exception {
+        CountDownLatch slowCheckReleased = new CountDownLatch(1);
+        StatusCheckerTask<String> slowTask = new SuccessAfterChecks(new AtomicInteger(), 1) {
+            @Override
+            public boolean checkStatus(String s) {
+                try {
+                    return slowCheckReleased.await(1, TimeUnit.MINUTES);
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        CompletableFuture<Pair<PollingResult, Exception>> slowPoll = underTest.pollAsync(slowTask, POLLER_OBJECT, 5, new AttemptBasedTimeoutChecker(10), 1);
+
+        Pair<PollingResult, Exception> result = underTest.pollAsync(new SuccessAfterChecks(new AtomicInteger(), 3), POLLER_OBJECT, 5,
+                new AttemptBasedTimeoutChecker(10), 1).get(1, TimeUnit.MINUTES);
+
+        assertEquals(PollingResult.SUCCESS, result.getLeft());
+        assertFalse(slowPoll.isDone());
+        slowCheckReleased.countDown();
+        assertEquals(PollingResult.SUCCESS, slowPoll.get(1, TimeUnit.MINUTES).getLeft());
+    }
+
+    @Test
+    public void testBlockingPollChecksOnTheCallerThread() {
+        List<Thread> checkingThreads = new ArrayList<>();
+        when(statusCheckerTask.checkStatus(POLLER_OBJECT)).thenAnswer(invocation -> {
+            checkingThreads.add(Thread.currentThread());
+            return checkingThreads.size() == 2;
+        });
+
+        Pair<PollingResult, Exception> result = underTest.pollWithTimeout(statusCheckerTask, POLLER_OBJECT, 1, 10, 1);
+
+        assertEquals(PollingResult.SUCCESS, result.getLeft());
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), checkingThreads);
+    }
+
+    @Test
+    public void testAsyncPollChecksWithTheActiveSpanOfTheCaller() {
+        Span span = mock(Span.class);
+        when(tracer.activeSpan()).thenReturn(span);
+
+        Pair<PollingResult, Exception> result = underTest.pollAsync(new SuccessAfterChecks(new AtomicInteger(), 2), POLLER_OBJECT, 1,
+                new AttemptBasedTimeoutChecker(10), 1).orTimeout(1, TimeUnit.MINUTES).join();
+
+        assertEquals(PollingResult.SUCCESS, result.getLeft());
+        verify(tracer, atLeastOnce()).activateSpan(span);
+    }
+
+    private static class SuccessAfterChecks extends SimpleStatusCheckerTask<String> {
+
+        private final AtomicInteger checks;
+
+        private final int successfulCheck;
+
+        SuccessAfterChecks(AtomicInteger checks, int successfulCheck) {
+            this.checks = checks;
+            this.successfulCheck = successfulCheck;
+        }
+
+        @Override
+        public boolean checkStatus(String s) {
+            return checks.incrementAndGet() >= successfulCheck;
+        }
+
+        @Override
+        public void handleTimeout(String s) {
+        }
+
+        @Override
+        public String successMessage(String s) {
+            return "done";
+        }
+
+        @Override
+        public boolean exitPolling(String s) {
+            return false;
+        }
+    }
+}
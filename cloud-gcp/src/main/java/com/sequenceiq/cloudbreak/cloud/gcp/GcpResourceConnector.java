@@ -18,6 +18,7 @@ import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.exception.TemplatingNotSupportedException;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceIndex;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
 import com.sequenceiq.cloudbreak.cloud.model.Group;
@@ -108,13 +109,9 @@ public class GcpResourceConnector extends AbstractResourceConnector {
     @Override
     protected Collection<CloudResource> getDeletableResources(Iterable<CloudResource> resources, Iterable<CloudInstance> instances) {
         Collection<CloudResource> result = new ArrayList<>();
+        CloudResourceIndex resourceIndex = CloudResourceIndex.of(resources);
         for (CloudInstance instance : instances) {
-            String instanceId = instance.getInstanceId();
-            for (CloudResource resource : resources) {
-                if (instanceId.equalsIgnoreCase(resource.getName()) || instanceId.equalsIgnoreCase(resource.getInstanceId())) {
-                    result.add(resource);
-                }
-            }
+            result.addAll(resourceIndex.byNameOrInstanceId(instance.getInstanceId()));
         }
         return result;
     }
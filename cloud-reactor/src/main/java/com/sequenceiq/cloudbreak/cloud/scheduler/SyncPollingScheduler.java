@@ -1,16 +1,18 @@
 package com.sequenceiq.cloudbreak.cloud.scheduler;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.inject.Inject;
+
 import org.springframework.stereotype.Component;
 
-import com.dyngr.Polling;
-import com.dyngr.core.AttemptResults;
-import com.dyngr.exception.PollerStoppedException;
-import com.dyngr.exception.UserBreakException;
 import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.polling.AttemptResult;
+import com.sequenceiq.cloudbreak.polling.PollingAttempt;
+import com.sequenceiq.cloudbreak.polling.PollingEngine;
 
 @Component
 public class SyncPollingScheduler<T> {
@@ -21,40 +23,59 @@ public class SyncPollingScheduler<T> {
 
     public static final int FAILURE_TOLERANT_ATTEMPT = 3;
 
+    @Inject
+    private PollingEngine pollingEngine;
+
     public T schedule(PollTask<T> task) throws Exception {
         return schedule(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
     }
 
+    /**
+     * Polls the task on the caller's thread, which is blocked until the task completes.
+     */
     public T schedule(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) throws Exception {
-        AtomicInteger actualFailureTolerant = new AtomicInteger(0);
+        return pollingEngine.pollOnCallerThread(task.getClass().getSimpleName(), attempt(task, interval, maxAttempt, maxFailureTolerant), interval,
+                result -> "completed");
+    }
 
-        try {
-            return Polling.stopAfterAttempt(maxAttempt)
-                    .waitPeriodly(interval, TimeUnit.MILLISECONDS)
-                    .stopIfException(true)
-                    .run(() -> {
-                        if (task.cancelled()) {
-                            return AttemptResults.breakFor(new CancellationException("Task was cancelled."));
-                        }
-                        try {
-                            T callResult = task.call();
-                            if (task.completed(callResult)) {
-                                return AttemptResults.finishWith(callResult);
-                            }
-                        } catch (Exception ex) {
-                            int currentTolerant = actualFailureTolerant.incrementAndGet();
-                            if (currentTolerant >= maxFailureTolerant) {
-                                return AttemptResults.breakFor(ex);
-                            }
-                        }
-                        return AttemptResults.justContinue();
-                    });
-        } catch (PollerStoppedException e) {
-            int duration = interval * maxAttempt;
-            throw new TimeoutException(String.format("Task (%s) did not finish within %d seconds",
-                    task.getClass().getSimpleName(), TimeUnit.MILLISECONDS.toSeconds(duration)));
-        } catch (UserBreakException e) {
-            throw (Exception) e.getCause();
-        }
+    public CompletableFuture<T> scheduleAsync(PollTask<T> task) {
+        return scheduleAsync(task, POLLING_INTERVAL, MAX_POLLING_ATTEMPT, FAILURE_TOLERANT_ATTEMPT);
+    }
+
+    /**
+     * Polls the task on the {@link PollingEngine} without blocking the caller's thread. The returned future completes exceptionally
+     * with a {@link CancellationException} if the task was cancelled, with a {@link TimeoutException} if the task did not complete
+     * within the maximum attempts, or with the exception of the task once it failed the tolerated number of times.
+     */
+    public CompletableFuture<T> scheduleAsync(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+        return pollingEngine.poll(task.getClass().getSimpleName(), attempt(task, interval, maxAttempt, maxFailureTolerant), interval,
+                result -> "completed");
+    }
+
+    private PollingAttempt<T> attempt(PollTask<T> task, int interval, int maxAttempt, int maxFailureTolerant) {
+        AtomicInteger attempts = new AtomicInteger(0);
+        AtomicInteger actualFailureTolerant = new AtomicInteger(0);
+        return () -> {
+            if (task.cancelled()) {
+                throw new CancellationException("Task was cancelled.");
+            }
+            try {
+                T callResult = task.call();
+                if (task.completed(callResult)) {
+                    return AttemptResult.finishWith(callResult);
+                }
+            } catch (Exception ex) {
+                int currentTolerant = actualFailureTolerant.incrementAndGet();
+                if (currentTolerant >= maxFailureTolerant) {
+                    throw ex;
+                }
+            }
+            if (attempts.incrementAndGet() >= maxAttempt) {
+                int duration = interval * maxAttempt;
+                throw new TimeoutException(String.format("Task (%s) did not finish within %d seconds",
+                        task.getClass().getSimpleName(), TimeUnit.MILLISECONDS.toSeconds(duration)));
+            }
+            return AttemptResult.pollAgain();
+        };
     }
 }
@@ -14,6 +14,7 @@ import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceIndex;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
 import com.sequenceiq.cloudbreak.cloud.model.DatabaseStack;
@@ -269,13 +270,9 @@ public abstract class AbstractResourceConnector implements ResourceConnector<Lis
 
     protected Collection<CloudResource> getDeletableResources(Iterable<CloudResource> resources, Iterable<CloudInstance> instances) {
         Collection<CloudResource> result = new ArrayList<>();
+        CloudResourceIndex resourceIndex = CloudResourceIndex.of(resources);
         for (CloudInstance instance : instances) {
-            String instanceId = instance.getInstanceId();
-            for (CloudResource resource : resources) {
-                if (instanceId.equalsIgnoreCase(resource.getName())) {
-                    result.add(resource);
-                }
-            }
+            result.addAll(resourceIndex.byName(instance.getInstanceId()));
         }
         return result;
     }
@@ -11,9 +11,12 @@ import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -25,11 +28,13 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
 import com.google.common.primitives.Ints;
 import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
 import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceIndex;
 import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
@@ -103,14 +108,14 @@ public class ComputeResourceService {
         Collection<Future<ResourceRequestResult<List<CloudResourceStatus>>>> futures = new ArrayList<>();
         Platform platform = auth.getCloudContext().getPlatform();
         List<ComputeResourceBuilder<ResourceBuilderContext>> builders = resourceBuilders.compute(platform);
+        CloudResourceIndex resourceIndex = CloudResourceIndex.of(resources);
         int numberOfBuilders = builders.size();
         for (int i = numberOfBuilders - 1; i >= 0; i--) {
             ComputeResourceBuilder<?> builder = builders.get(i);
-            List<CloudResource> resourceList = getResources(builder.resourceType(), resources);
+            List<CloudResource> resourceList = resourceIndex.byType(builder.resourceType());
             for (CloudResource cloudResource : resourceList) {
                 ResourceDeleteThread thread = createThread(ResourceDeleteThread.NAME, context, auth, cloudResource, builder, cancellable);
-                Future<ResourceRequestResult<List<CloudResourceStatus>>> future = resourceBuilderExecutor.submit(thread);
-                futures.add(future);
+                futures.add(thread.callAsync(resourceBuilderExecutor));
                 if (isRequestFull(futures.size(), context)) {
                     results.addAll(flatList(waitForRequests(futures).get(FutureResult.SUCCESS)));
                 }
@@ -139,16 +144,14 @@ public class ComputeResourceService {
         if (!context.isBuild()) {
             Collections.reverse(builders);
         }
+        CloudResourceIndex resourceIndex = CloudResourceIndex.of(resources);
 
         for (ComputeResourceBuilder<?> builder : builders) {
-            List<CloudResource> resourceList = getResources(builder.resourceType(), resources);
-            List<CloudInstance> allInstances = getCloudInstances(resourceList, instances);
+            List<CloudInstance> allInstances = resourceIndex.instancesWithResource(builder.resourceType(), instances);
 
             if (!allInstances.isEmpty()) {
                 LOGGER.debug("Split {} instances to {} chunks to execute the stop/start operation parallel", allInstances.size(), stopStartBatchSize);
-                AtomicInteger counter = new AtomicInteger();
-                Collection<List<CloudInstance>> instancesChunks = allInstances.stream()
-                        .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / stopStartBatchSize)).values();
+                List<List<CloudInstance>> instancesChunks = Lists.partition(allInstances, stopStartBatchSize);
 
                 Collection<Future<ResourceRequestResult<List<CloudVmInstanceStatus>>>> futures = new ArrayList<>();
                 for (List<CloudInstance> instancesChunk : instancesChunks) {
@@ -213,32 +216,10 @@ public class ComputeResourceService {
         return (runningRequests * numberOfBuilders) % context.getParallelResourceRequest() == 0;
     }
 
-    private List<CloudResource> getResources(ResourceType resourceType, Iterable<CloudResource> resources) {
-        List<CloudResource> selected = new ArrayList<>();
-        for (CloudResource resource : resources) {
-            if (resourceType == resource.getType()) {
-                selected.add(resource);
-            }
-        }
-        return selected;
-    }
-
     private <T> T createThread(String name, Object... args) {
         return (T) applicationContext.getBean(name, args);
     }
 
-    private List<CloudInstance> getCloudInstances(List<CloudResource> cloudResource, List<CloudInstance> instances) {
-        List<CloudInstance> result = new ArrayList<>();
-        for (CloudResource resource : cloudResource) {
-            for (CloudInstance instance : instances) {
-                if (instance.getInstanceId().equalsIgnoreCase(resource.getName()) || instance.getInstanceId().equalsIgnoreCase(resource.getReference())) {
-                    result.add(instance);
-                }
-            }
-        }
-        return result;
-    }
-
     private List<CloudResourceStatus> flatList(Iterable<List<CloudResourceStatus>> lists) {
         List<CloudResourceStatus> result = new ArrayList<>();
         for (List<CloudResourceStatus> list : lists) {
@@ -269,26 +250,11 @@ public class ComputeResourceService {
         public List<CloudResourceStatus> buildResources(CloudStack cloudStack, Iterable<Group> groups,
                 Boolean upscale, AdjustmentType adjustmentType, Long threshold) {
             List<CloudResourceStatus> results = new ArrayList<>();
-            Collection<Future<ResourceRequestResult<List<CloudResourceStatus>>>> futures = new ArrayList<>();
             for (Group group : getOrderedCopy(groups)) {
                 List<CloudInstance> instances = group.getInstances();
 
-                LOGGER.debug("Split the instances to {} chunks to execute the operation in parallel", createBatchSize);
-                AtomicInteger counter = new AtomicInteger();
-                Collection<List<CloudInstance>> instancesChunks = instances.stream()
-                        .collect(Collectors.groupingBy(it -> counter.getAndIncrement() / createBatchSize)).values();
-
-                for (List<CloudInstance> instancesChunk : instancesChunks) {
-                    LOGGER.debug("Submit the create operation thread with {} instances", instancesChunk.size());
-                    ResourceCreateThread thread = createThread(ResourceCreateThread.NAME, instancesChunk, group, ctx, auth, cloudStack);
-                    Future<ResourceRequestResult<List<CloudResourceStatus>>> future = resourceBuilderExecutor.submit(thread);
-                    futures.add(future);
-                }
-
-                if (!futures.isEmpty()) {
-                    LOGGER.debug("Wait for all {} creation threads to finish", futures.size());
-                    List<List<CloudResourceStatus>> cloudResourceStatusChunks = waitForRequests(futures).get(FutureResult.SUCCESS);
-                    List<CloudResourceStatus> resourceStatuses = waitForResourceCreations(cloudResourceStatusChunks);
+                if (!instances.isEmpty()) {
+                    List<CloudResourceStatus> resourceStatuses = buildInstances(cloudStack, group, instances);
                     List<CloudResourceStatus> failedResources = filterResourceStatuses(resourceStatuses, ResourceStatus.FAILED);
                     CloudFailureContext cloudFailureContext = new CloudFailureContext(auth, new ScaleContext(upscale, adjustmentType, threshold), ctx);
                     cloudFailureHandler.rollbackIfNecessary(cloudFailureContext, failedResources, resourceStatuses, group, resourceBuilders,
@@ -300,48 +266,106 @@ public class ComputeResourceService {
             return results;
         }
 
-        private List<CloudResourceStatus> waitForResourceCreations(List<List<CloudResourceStatus>> cloudResourceStatusChunks) {
-            List<CloudResourceStatus> result = new ArrayList<>();
-            for (List<CloudResourceStatus> cloudResourceStatuses : cloudResourceStatusChunks) {
-                List<CloudResourceStatus> instanceResourceStatuses = cloudResourceStatuses.stream()
-                        .filter(crs -> ResourceType.isInstanceResource(crs.getCloudResource().getType()))
-                        .filter(crs -> ResourceStatus.IN_PROGRESS.equals(crs.getStatus())).collect(Collectors.toList());
-                if (!instanceResourceStatuses.isEmpty()) {
-                    LOGGER.debug("Poll {} instance's state whether they have reached the created state", instanceResourceStatuses.size());
-                    CloudResource resourceProbe = instanceResourceStatuses.get(0).getCloudResource();
-                    Optional<ComputeResourceBuilder<ResourceBuilderContext>> builderOpt = determineComputeResourceBuilder(resourceProbe);
-                    if (builderOpt.isEmpty()) {
-                        LOGGER.debug("No resource builder found for type {}", resourceProbe.getType());
-                        continue;
-                    }
-                    ComputeResourceBuilder<ResourceBuilderContext> builder = builderOpt.get();
-                    LOGGER.debug("Determined resource builder for instances: {}", builder.resourceType());
-                    for (CloudResourceStatus instanceResourceStatus : instanceResourceStatuses) {
-                        PollGroup pollGroup = InMemoryStateStore.getStack(auth.getCloudContext().getId());
-                        if (pollGroup == null || CANCELLED.equals(pollGroup)) {
-                            throw new CancellationException(format("Building of %s has been cancelled", instanceResourceStatus));
-                        }
-                        CloudResource instance = instanceResourceStatus.getCloudResource();
-                        PollTask<List<CloudResourceStatus>> pollTask = resourcePollTaskFactory
-                                .newPollResourceTask(builder, auth, List.of(instance), ctx, true);
-                        try {
-                            List<CloudResourceStatus> statuses = syncPollingScheduler.schedule(pollTask);
-                            instanceResourceStatus.setStatus(statuses.get(0).getStatus());
-                        } catch (Exception e) {
-                            LOGGER.debug("Failure during polling the instance status of {}", instanceResourceStatus, e);
-                            cloudResourceStatuses.stream().filter(crs -> crs.getPrivateId().equals(instanceResourceStatus.getPrivateId())).forEach(crs -> {
-                                crs.setStatus(ResourceStatus.FAILED);
-                                crs.setStatusReason(e.getMessage());
-                            });
+        /**
+         * Builds the instances of the group with at most as many instances in flight as the number of create batches. Every instance is
+         * built and polled on its own, and the next instance starts as soon as a previous one is done, so a slow instance does not hold
+         * back the rest of its batch. Only the creation runs on the resource builder executor, the instances are polled by the polling
+         * scheduler without occupying a builder thread, so the builder threads are never waiting for each other.
+         */
+        private List<CloudResourceStatus> buildInstances(CloudStack cloudStack, Group group, List<CloudInstance> instances) {
+            int window = (instances.size() + createBatchSize - 1) / createBatchSize;
+            LOGGER.debug("Create {} instances of group {} with at most {} in parallel", instances.size(), group.getName(), window);
+            Queue<CloudInstance> pending = new ConcurrentLinkedQueue<>(instances);
+            Queue<CloudResourceStatus> resourceStatuses = new ConcurrentLinkedQueue<>();
+            CompletableFuture<?>[] lanes = new CompletableFuture<?>[window];
+            for (int i = 0; i < window; i++) {
+                lanes[i] = buildNextInstance(cloudStack, group, pending, resourceStatuses);
+            }
+            try {
+                CompletableFuture.allOf(lanes).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof CancellationException) {
+                    throw (CancellationException) e.getCause();
+                }
+                LOGGER.error("Failed to execute the request", e);
+            }
+            LOGGER.debug("{} instances of group {} have finished, continue with next group", instances.size(), group.getName());
+            return new ArrayList<>(resourceStatuses);
+        }
+
+        private CompletableFuture<Void> buildNextInstance(CloudStack cloudStack, Group group, Queue<CloudInstance> pending,
+                Collection<CloudResourceStatus> resourceStatuses) {
+            CloudInstance instance = pending.poll();
+            if (instance == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return buildInstance(cloudStack, group, instance)
+                    .handle((statuses, e) -> {
+                        if (e == null) {
+                            resourceStatuses.addAll(statuses);
+                        } else if (e.getCause() instanceof CancellationException) {
+                            pending.clear();
+                            throw (CancellationException) e.getCause();
+                        } else {
+                            LOGGER.error("Failed to build instance {}", instance.getInstanceId(), e);
                         }
-                    }
-                    result.addAll(cloudResourceStatuses);
+                        return null;
+                    })
+                    .thenCompose(ignored -> buildNextInstance(cloudStack, group, pending, resourceStatuses));
+        }
+
+        private CompletableFuture<List<CloudResourceStatus>> buildInstance(CloudStack cloudStack, Group group, CloudInstance instance) {
+            return CompletableFuture.supplyAsync(() -> {
+                ResourceCreateThread thread = createThread(ResourceCreateThread.NAME, List.of(instance), group, ctx, auth, cloudStack);
+                return thread.call().getResult();
+            }, resourceBuilderExecutor).thenCompose(this::waitForResourceCreation);
+        }
+
+        private CompletableFuture<List<CloudResourceStatus>> waitForResourceCreation(List<CloudResourceStatus> cloudResourceStatuses) {
+            List<CloudResourceStatus> instanceResourceStatuses = cloudResourceStatuses.stream()
+                    .filter(crs -> ResourceType.isInstanceResource(crs.getCloudResource().getType()))
+                    .filter(crs -> ResourceStatus.IN_PROGRESS.equals(crs.getStatus())).collect(Collectors.toList());
+            if (instanceResourceStatuses.isEmpty()) {
+                LOGGER.debug("No instances to poll");
+                return CompletableFuture.completedFuture(cloudResourceStatuses);
+            }
+            LOGGER.debug("Poll {} instance's state whether they have reached the created state", instanceResourceStatuses.size());
+            CloudResource resourceProbe = instanceResourceStatuses.get(0).getCloudResource();
+            Optional<ComputeResourceBuilder<ResourceBuilderContext>> builderOpt = determineComputeResourceBuilder(resourceProbe);
+            if (builderOpt.isEmpty()) {
+                LOGGER.debug("No resource builder found for type {}", resourceProbe.getType());
+                return CompletableFuture.completedFuture(List.of());
+            }
+            ComputeResourceBuilder<ResourceBuilderContext> builder = builderOpt.get();
+            LOGGER.debug("Determined resource builder for instances: {}", builder.resourceType());
+            CompletableFuture<?>[] polls = new CompletableFuture<?>[instanceResourceStatuses.size()];
+            for (int i = 0; i < polls.length; i++) {
+                polls[i] = pollResourceCreation(builder, instanceResourceStatuses.get(i), cloudResourceStatuses);
+            }
+            return CompletableFuture.allOf(polls).thenApply(ignored -> cloudResourceStatuses);
+        }
+
+        private CompletableFuture<Void> pollResourceCreation(ComputeResourceBuilder<ResourceBuilderContext> builder,
+                CloudResourceStatus instanceResourceStatus, List<CloudResourceStatus> cloudResourceStatuses) {
+            PollGroup pollGroup = InMemoryStateStore.getStack(auth.getCloudContext().getId());
+            if (pollGroup == null || CANCELLED.equals(pollGroup)) {
+                throw new CancellationException(format("Building of %s has been cancelled", instanceResourceStatus));
+            }
+            CloudResource instance = instanceResourceStatus.getCloudResource();
+            PollTask<List<CloudResourceStatus>> pollTask = resourcePollTaskFactory.newPollResourceTask(builder, auth, List.of(instance), ctx, true);
+            return syncPollingScheduler.scheduleAsync(pollTask).handle((statuses, e) -> {
+                if (e == null) {
+                    instanceResourceStatus.setStatus(statuses.get(0).getStatus());
                 } else {
-                    result.addAll(cloudResourceStatuses);
-                    LOGGER.debug("No instances to poll");
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    LOGGER.debug("Failure during polling the instance status of {}", instanceResourceStatus, cause);
+                    cloudResourceStatuses.stream().filter(crs -> crs.getPrivateId().equals(instanceResourceStatus.getPrivateId())).forEach(crs -> {
+                        crs.setStatus(ResourceStatus.FAILED);
+                        crs.setStatusReason(cause.getMessage());
+                    });
                 }
-            }
-            return result;
+                return null;
+            });
         }
 
         private List<CloudResourceStatus> filterResourceStatuses(List<CloudResourceStatus> cloudResourceStatuses, ResourceStatus resourceStatus) {
@@ -3,6 +3,11 @@ package com.sequenceiq.cloudbreak.cloud.template.compute;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 import javax.inject.Inject;
 
@@ -60,6 +65,21 @@ public class ResourceDeleteThread implements Callable<ResourceRequestResult<List
 
     @Override
     public ResourceRequestResult<List<CloudResourceStatus>> call() throws Exception {
+        try {
+            return callAsync(Runnable::run).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Deletes the resource on the executor and polls the deletion without occupying a thread of the executor meanwhile.
+     */
+    public CompletableFuture<ResourceRequestResult<List<CloudResourceStatus>>> callAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> delete(executor), executor).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<ResourceRequestResult<List<CloudResourceStatus>>> delete(Executor executor) {
         LOGGER.debug("Deleting compute resource {}", resource);
         if (resource.getStatus().resourceExists()) {
             CloudResource deletedResource;
@@ -68,19 +88,22 @@ public class ResourceDeleteThread implements Callable<ResourceRequestResult<List
             } catch (PreserveResourceException ignored) {
                 LOGGER.debug("Preserve resource for later use.");
                 CloudResourceStatus status = new CloudResourceStatus(resource, ResourceStatus.CREATED);
-                return new ResourceRequestResult<>(FutureResult.SUCCESS, Collections.singletonList(status));
+                return CompletableFuture.completedFuture(new ResourceRequestResult<>(FutureResult.SUCCESS, Collections.singletonList(status)));
+            } catch (Exception e) {
+                throw new CompletionException(e);
             }
             if (deletedResource != null) {
                 PollTask<List<CloudResourceStatus>> task = resourcePollTaskFactory
                         .newPollResourceTask(builder, auth, Collections.singletonList(deletedResource), context, cancellable);
-                List<CloudResourceStatus> pollerResult = syncPollingScheduler.schedule(task);
-                deleteResource();
-                return new ResourceRequestResult<>(FutureResult.SUCCESS, pollerResult);
+                return syncPollingScheduler.scheduleAsync(task).thenApplyAsync(pollerResult -> {
+                    deleteResource();
+                    return new ResourceRequestResult<>(FutureResult.SUCCESS, pollerResult);
+                }, executor);
             }
         }
         deleteResource();
         CloudResourceStatus status = new CloudResourceStatus(resource, ResourceStatus.DELETED);
-        return new ResourceRequestResult<>(FutureResult.SUCCESS, Collections.singletonList(status));
+        return CompletableFuture.completedFuture(new ResourceRequestResult<>(FutureResult.SUCCESS, Collections.singletonList(status)));
     }
 
     private void deleteResource() {
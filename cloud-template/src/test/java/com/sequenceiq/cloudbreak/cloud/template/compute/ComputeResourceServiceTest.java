@@ -0,0 +1,259 @@
+package com.sequenceiq.cloudbreak.cloud.template.compute;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.cloud.context.AuthenticatedContext;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResource;
+import com.sequenceiq.cloudbreak.cloud.model.CloudResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.model.CloudStack;
+import com.sequenceiq.cloudbreak.cloud.model.Group;
+import com.sequenceiq.cloudbreak.cloud.model.Platform;
+import com.sequenceiq.cloudbreak.cloud.model.ResourceStatus;
+import com.sequenceiq.cloudbreak.cloud.scheduler.CancellationException;
+import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
+import com.sequenceiq.cloudbreak.cloud.scheduler.SyncPollingScheduler;
+import com.sequenceiq.cloudbreak.cloud.store.InMemoryStateStore;
+import com.sequenceiq.cloudbreak.cloud.task.PollTask;
+import com.sequenceiq.cloudbreak.cloud.template.ComputeResourceBuilder;
+import com.sequenceiq.cloudbreak.cloud.template.context.ResourceBuilderContext;
+import com.sequenceiq.cloudbreak.cloud.template.init.ResourceBuilders;
+import com.sequenceiq.cloudbreak.cloud.template.task.ResourcePollTaskFactory;
+import com.sequenceiq.common.api.type.AdjustmentType;
+import com.sequenceiq.common.api.type.CommonStatus;
+import com.sequenceiq.common.api.type.ResourceType;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ComputeResourceServiceTest {
+
+    private static final Long STACK_ID = 1L;
+
+    private static final Platform PLATFORM = Platform.platform("GCP");
+
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    @Mock
+    private ApplicationContext applicationContext;
+
+    @Mock
+    private ResourceBuilders resourceBuilders;
+
+    @Mock
+    private CloudFailureHandler cloudFailureHandler;
+
+    @Mock
+    private SyncPollingScheduler<List<CloudResourceStatus>> syncPollingScheduler;
+
+    @Mock
+    private ResourcePollTaskFactory resourcePollTaskFactory;
+
+    @Mock
+    private ComputeResourceBuilder<ResourceBuilderContext> instanceBuilder;
+
+    @Mock
+    private AuthenticatedContext auth;
+
+    @Mock
+    private CloudContext cloudContext;
+
+    @Mock
+    private ResourceBuilderContext context;
+
+    @Mock
+    private CloudStack cloudStack;
+
+    @InjectMocks
+    private ComputeResourceService underTest;
+
+    private final Map<String, CompletableFuture<List<CloudResourceStatus>>> polls = new ConcurrentHashMap<>();
+
+    private final Map<PollTask<?>, String> polledResources = new ConcurrentHashMap<>();
+
+    private ExecutorService builderThread;
+
+    private ExecutorService caller;
+
+    @BeforeEach
+    void setUp() {
+        builderThread = Executors.newSingleThreadExecutor();
+        caller = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(underTest, "resourceBuilderExecutor", new TaskExecutorAdapter(builderThread));
+        ReflectionTestUtils.setField(underTest, "syncPollingScheduler", syncPollingScheduler);
+        ReflectionTestUtils.setField(underTest, "createBatchSize", 2);
+        InMemoryStateStore.putStack(STACK_ID, PollGroup.POLLABLE);
+        when(auth.getCloudContext()).thenReturn(cloudContext);
+        when(cloudContext.getId()).thenReturn(STACK_ID);
+        when(cloudContext.getPlatform()).thenReturn(PLATFORM);
+        when(instanceBuilder.resourceType()).thenReturn(ResourceType.GCP_INSTANCE);
+        when(resourceBuilders.compute(PLATFORM)).thenReturn(List.of(instanceBuilder));
+        when(applicationContext.getBean(eq(ResourceCreateThread.NAME), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            CloudInstance instance = ((List<CloudInstance>) invocation.getArgument(1)).get(0);
+            return createThread(new ResourceRequestResult<>(FutureResult.SUCCESS, List.of(inProgress(instance.getInstanceId()))));
+        });
+        when(resourcePollTaskFactory.newPollResourceTask(eq(instanceBuilder), eq(auth), anyList(), eq(context), anyBoolean())).thenAnswer(invocation -> {
+            CloudResource resource = ((List<CloudResource>) invocation.getArgument(2)).get(0);
+            PollTask<List<CloudResourceStatus>> pollTask = mock(PollTask.class);
+            polledResources.put(pollTask, resource.getName());
+            return pollTask;
+        });
+        when(syncPollingScheduler.scheduleAsync(any(PollTask.class)))
+                .thenAnswer(invocation -> polls.computeIfAbsent(polledResources.get(invocation.getArgument(0)), name -> new CompletableFuture<>()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        InMemoryStateStore.deleteStack(STACK_ID);
+        builderThread.shutdownNow();
+        caller.shutdownNow();
+    }
+
+    @Test
+    void testInstancesAreBuiltInAWindowWhileTheOthersArePolled() throws Exception {
+        Group group = group(4);
+
+        Future<List<CloudResourceStatus>> result = caller.submit(() -> launch(group));
+
+        awaitPolls(2);
+        Thread.sleep(100L);
+        assertEquals(2, polls.size(), "Only two instances should be in flight");
+        complete("instance-0", ResourceStatus.CREATED);
+        awaitPolls(3);
+        complete("instance-1", ResourceStatus.CREATED);
+        awaitPolls(4);
+        complete("instance-2", ResourceStatus.CREATED);
+        complete("instance-3", ResourceStatus.CREATED);
+
+        List<CloudResourceStatus> statuses = result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(List.of("instance-0", "instance-1", "instance-2", "instance-3"),
+                statuses.stream().map(status -> status.getCloudResource().getName()).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testFailedPollMarksTheInstanceFailedAndRollsBack() throws Exception {
+        Group group = group(2);
+
+        Future<List<CloudResourceStatus>> result = caller.submit(() -> launch(group));
+
+        awaitPolls(1);
+        complete("instance-0", ResourceStatus.CREATED);
+        awaitPolls(2);
+        polls.get("instance-1").completeExceptionally(new IllegalStateException("instance did not start"));
+
+        List<CloudResourceStatus> statuses = result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(1, statuses.size());
+        assertEquals("instance-0", statuses.get(0).getCloudResource().getName());
+        ArgumentCaptor<List<CloudResourceStatus>> failures = ArgumentCaptor.forClass(List.class);
+        verify(cloudFailureHandler).rollbackIfNecessary(any(), failures.capture(), anyList(), eq(group), eq(resourceBuilders), anyInt());
+        assertEquals(1, failures.getValue().size());
+        assertEquals("instance-1", failures.getValue().get(0).getCloudResource().getName());
+        assertEquals("instance did not start", failures.getValue().get(0).getStatusReason());
+    }
+
+    @Test
+    void testFailedCreationDoesNotStopTheOtherInstances() throws Exception {
+        Group group = group(3);
+        when(applicationContext.getBean(eq(ResourceCreateThread.NAME), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            CloudInstance instance = ((List<CloudInstance>) invocation.getArgument(1)).get(0);
+            if ("instance-0".equals(instance.getInstanceId())) {
+                return mock(ResourceCreateThread.class, call -> {
+                    throw new IllegalStateException("quota exceeded");
+                });
+            }
+            return createThread(new ResourceRequestResult<>(FutureResult.SUCCESS, List.of(inProgress(instance.getInstanceId()))));
+        });
+
+        Future<List<CloudResourceStatus>> result = caller.submit(() -> launch(group));
+
+        awaitPolls(2);
+        complete("instance-1", ResourceStatus.CREATED);
+        complete("instance-2", ResourceStatus.CREATED);
+
+        List<CloudResourceStatus> statuses = result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertEquals(List.of("instance-1", "instance-2"),
+                statuses.stream().map(status -> status.getCloudResource().getName()).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testCancelledBuildIsStopped() {
+        InMemoryStateStore.putStack(STACK_ID, PollGroup.CANCELLED);
+
+        assertThrows(CancellationException.class, () -> launch(group(2)));
+        assertTrue(polls.isEmpty());
+    }
+
+    private List<CloudResourceStatus> launch(Group group) {
+        return underTest.buildResourcesForUpscale(context, auth, cloudStack, List.of(group), AdjustmentType.BEST_EFFORT, 0L);
+    }
+
+    private Group group(int size) {
+        List<CloudInstance> instances = IntStream.range(0, size).mapToObj(i -> {
+            CloudInstance instance = mock(CloudInstance.class);
+            when(instance.getInstanceId()).thenReturn("instance-" + i);
+            return instance;
+        }).collect(Collectors.toCollection(ArrayList::new));
+        Group group = mock(Group.class);
+        when(group.getName()).thenReturn("worker");
+        when(group.getInstances()).thenReturn(instances);
+        when(group.getInstancesSize()).thenReturn(size);
+        return group;
+    }
+
+    private ResourceCreateThread createThread(ResourceRequestResult<List<CloudResourceStatus>> result) {
+        return mock(ResourceCreateThread.class, call -> result);
+    }
+
+    private CloudResourceStatus inProgress(String name) {
+        CloudResource resource = CloudResource.builder().type(ResourceType.GCP_INSTANCE).status(CommonStatus.REQUESTED).name(name).build();
+        return new CloudResourceStatus(resource, ResourceStatus.IN_PROGRESS, (long) name.hashCode());
+    }
+
+    private void complete(String name, ResourceStatus status) {
+        polls.get(name).complete(List.of(new CloudResourceStatus(mock(CloudResource.class), status)));
+    }
+
+    private void awaitPolls(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (polls.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertEquals(count, polls.size());
+    }
+}
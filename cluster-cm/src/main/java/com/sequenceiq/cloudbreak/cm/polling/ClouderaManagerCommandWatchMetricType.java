@@ -0,0 +1,18 @@
+package com.sequenceiq.cloudbreak.cm.polling;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum ClouderaManagerCommandWatchMetricType implements Metric {
+    CM_COMMAND_READ("cm.command.read");
+
+    private final String metricName;
+
+    ClouderaManagerCommandWatchMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
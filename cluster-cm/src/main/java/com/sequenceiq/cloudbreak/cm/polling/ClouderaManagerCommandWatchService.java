@@ -0,0 +1,118 @@
+package com.sequenceiq.cloudbreak.cm.polling;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.cloudera.api.swagger.CommandsResourceApi;
+import com.cloudera.api.swagger.client.ApiClient;
+import com.cloudera.api.swagger.client.ApiException;
+import com.cloudera.api.swagger.model.ApiCommand;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+/**
+ * Shares the command reads of the pollers waiting for the same Cloudera Manager command. Cloudera Manager has no bulk command read, so
+ * the reads are collapsed per server and command instead: a poller arriving while a read is in progress waits for its result, the
+ * snapshot of an active command is reused for a short time, and the snapshot of a finished command, which does not change any more,
+ * is kept until it expires. Pollers of command lists therefore do not read the already finished commands again in every round.
+ */
+@Service
+public class ClouderaManagerCommandWatchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClouderaManagerCommandWatchService.class);
+
+    @Value("${cb.cm.command.watch.active.ttl.ms:2000}")
+    private long activeTtlMs;
+
+    @Value("${cb.cm.command.watch.finished.ttl.seconds:60}")
+    private long finishedTtlSeconds;
+
+    @Value("${cb.cm.command.watch.max.size:10000}")
+    private long maxSize;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<String, Snapshot> snapshots;
+
+    @PostConstruct
+    public void init() {
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(finishedTtlSeconds))
+                .build();
+    }
+
+    public ApiCommand readCommand(ApiClient apiClient, CommandsResourceApi commandsResourceApi, BigDecimal commandId) throws ApiException {
+        String key = apiClient.getBasePath() + '#' + commandId;
+        long now = System.nanoTime();
+        Snapshot candidate = new Snapshot(now);
+        Snapshot snapshot = snapshots.asMap().compute(key,
+                (k, current) -> current != null && current.isReusable(now, TimeUnit.MILLISECONDS.toNanos(activeTtlMs)) ? current : candidate);
+        if (snapshot == candidate) {
+            metricService.incrementMetricCounter(ClouderaManagerCommandWatchMetricType.CM_COMMAND_READ, "source", "api");
+            read(commandsResourceApi, commandId, key, candidate);
+        } else {
+            LOGGER.debug("Reusing the snapshot of command [{}] on {}", commandId, apiClient.getBasePath());
+            metricService.incrementMetricCounter(ClouderaManagerCommandWatchMetricType.CM_COMMAND_READ, "source", "shared");
+        }
+        try {
+            return snapshot.getCommand().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException) {
+                throw (ApiException) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    public void invalidate(ApiClient apiClient, BigDecimal commandId) {
+        snapshots.invalidate(apiClient.getBasePath() + '#' + commandId);
+    }
+
+    private void read(CommandsResourceApi commandsResourceApi, BigDecimal commandId, String key, Snapshot snapshot) {
+        try {
+            snapshot.getCommand().complete(commandsResourceApi.readCommand(commandId));
+        } catch (ApiException | RuntimeException e) {
+            snapshots.asMap().remove(key, snapshot);
+            snapshot.getCommand().completeExceptionally(e);
+        }
+    }
+
+    private static class Snapshot {
+
+        private final long readAt;
+
+        private final CompletableFuture<ApiCommand> command = new CompletableFuture<>();
+
+        Snapshot(long readAt) {
+            this.readAt = readAt;
+        }
+
+        CompletableFuture<ApiCommand> getCommand() {
+            return command;
+        }
+
+        boolean isReusable(long now, long activeTtlNanos) {
+            if (!command.isDone()) {
+                return true;
+            } else if (command.isCompletedExceptionally()) {
+                return false;
+            }
+            ApiCommand apiCommand = command.join();
+            return Boolean.FALSE.equals(apiCommand.getActive()) || now - readAt < activeTtlNanos;
+        }
+    }
+}
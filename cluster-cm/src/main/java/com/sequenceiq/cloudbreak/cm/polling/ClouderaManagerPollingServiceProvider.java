@@ -77,6 +77,9 @@ public class ClouderaManagerPollingServiceProvider {
     @Inject
     private CloudbreakEventService cloudbreakEventService;
 
+    @Inject
+    private ClouderaManagerCommandWatchService clouderaManagerCommandWatchService;
+
     public PollingResult startPollingCmStartup(Stack stack, ApiClient apiClient) {
         LOGGER.debug("Waiting for Cloudera Manager startup. [Server address: {}]", stack.getClusterManagerIp());
         return pollCommandWithTimeListener(stack, apiClient, null, POLL_FOR_ONE_HOUR,
@@ -247,6 +250,7 @@ public class ClouderaManagerPollingServiceProvider {
     private PollingResult pollCommandListWithTimeListener(Stack stack, ApiClient apiClient, List<BigDecimal> commandIds, long maximumWaitTimeInSeconds,
             AbstractClouderaManagerCommandListCheckerTask<ClouderaManagerCommandListPollerObject> listenerTask) {
         ClouderaManagerCommandListPollerObject clouderaManagerCommandPollerObject = new ClouderaManagerCommandListPollerObject(stack, apiClient, commandIds);
+        listenerTask.setCommandWatchService(clouderaManagerCommandWatchService);
         return clouderaManagerCommandListPollerObjectPollingService.pollWithAbsoluteTimeoutSingleFailure(
                 listenerTask,
                 clouderaManagerCommandPollerObject,
@@ -257,6 +261,7 @@ public class ClouderaManagerPollingServiceProvider {
     private PollingResult pollCommandWithTimeListener(Stack stack, ApiClient apiClient, BigDecimal commandId, long maximumWaitTimeInSeconds,
             AbstractClouderaManagerCommandCheckerTask<ClouderaManagerCommandPollerObject> listenerTask) {
         ClouderaManagerCommandPollerObject clouderaManagerCommandPollerObject = new ClouderaManagerCommandPollerObject(stack, apiClient, commandId);
+        listenerTask.setCommandWatchService(clouderaManagerCommandWatchService);
         return clouderaManagerCommandPollerObjectPollingService.pollWithAbsoluteTimeoutSingleFailure(
                 listenerTask,
                 clouderaManagerCommandPollerObject,
@@ -267,6 +272,7 @@ public class ClouderaManagerPollingServiceProvider {
     private PollingResult pollCommandWithAttemptListener(Stack stack, ApiClient apiClient, BigDecimal commandId, int numAttempts,
             AbstractClouderaManagerCommandCheckerTask<ClouderaManagerCommandPollerObject> listenerTask) {
         ClouderaManagerCommandPollerObject clouderaManagerCommandPollerObject = new ClouderaManagerCommandPollerObject(stack, apiClient, commandId);
+        listenerTask.setCommandWatchService(clouderaManagerCommandWatchService);
         return clouderaManagerCommandPollerObjectPollingService.pollWithAttemptSingleFailure(
                 listenerTask,
                 clouderaManagerCommandPollerObject,
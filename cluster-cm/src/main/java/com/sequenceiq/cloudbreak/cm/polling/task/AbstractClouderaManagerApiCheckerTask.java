@@ -1,6 +1,7 @@
 package com.sequenceiq.cloudbreak.cm.polling.task;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.net.ConnectException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
@@ -13,9 +14,11 @@ import org.springframework.http.HttpStatus;
 import com.cloudera.api.swagger.CommandsResourceApi;
 import com.cloudera.api.swagger.client.ApiClient;
 import com.cloudera.api.swagger.client.ApiException;
+import com.cloudera.api.swagger.model.ApiCommand;
 import com.sequenceiq.cloudbreak.cluster.service.ClusterBasedStatusCheckerTask;
 import com.sequenceiq.cloudbreak.cm.ClouderaManagerOperationFailedException;
 import com.sequenceiq.cloudbreak.cm.client.ClouderaManagerApiPojoFactory;
+import com.sequenceiq.cloudbreak.cm.polling.ClouderaManagerCommandWatchService;
 import com.sequenceiq.cloudbreak.cm.polling.ClouderaManagerPollerObject;
 import com.sequenceiq.cloudbreak.domain.stack.Stack;
 import com.sequenceiq.cloudbreak.event.ResourceEvent;
@@ -35,6 +38,8 @@ public abstract class AbstractClouderaManagerApiCheckerTask<T extends ClouderaMa
     private int toleratedErrorCounter = 0;
 
     private boolean connectExceptionOccurred = false;
+
+    private ClouderaManagerCommandWatchService commandWatchService;
     //CHECKSTYLE:ON
 
     protected AbstractClouderaManagerApiCheckerTask(ClouderaManagerApiPojoFactory clouderaManagerApiPojoFactory,
@@ -54,6 +59,17 @@ public abstract class AbstractClouderaManagerApiCheckerTask<T extends ClouderaMa
         }
     }
 
+    public void setCommandWatchService(ClouderaManagerCommandWatchService commandWatchService) {
+        this.commandWatchService = commandWatchService;
+    }
+
+    protected ApiCommand readCommand(T pollerObject, CommandsResourceApi commandsResourceApi, BigDecimal commandId) throws ApiException {
+        if (commandWatchService != null) {
+            return commandWatchService.readCommand(pollerObject.getApiClient(), commandsResourceApi, commandId);
+        }
+        return commandsResourceApi.readCommand(commandId);
+    }
+
     private boolean handleApiException(T pollerObject, ApiException e) {
         if (e.getCode() == HttpStatus.BAD_GATEWAY.value()) {
             LOGGER.debug("Cloudera Manager is not (yet) available.", e);
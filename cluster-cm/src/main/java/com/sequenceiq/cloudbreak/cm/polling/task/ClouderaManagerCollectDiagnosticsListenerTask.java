@@ -31,7 +31,7 @@ public class ClouderaManagerCollectDiagnosticsListenerTask extends AbstractCloud
     @Override
     protected boolean doStatusCheck(ClouderaManagerCommandPollerObject pollerObject, CommandsResourceApi commandsResourceApi) throws ApiException {
         commandsResourceApi = clouderaManagerApiPojoFactory.getCommandsResourceApi(pollerObject.getApiClient());
-        ApiCommand apiCommand = commandsResourceApi.readCommand(pollerObject.getId());
+        ApiCommand apiCommand = readCommand(pollerObject, commandsResourceApi, pollerObject.getId());
         if (apiCommand.getActive()) {
             LOGGER.debug("Command [" + getCommandName() + "] with id [" + pollerObject.getId() + "] is active, so it hasn't finished yet");
             return false;
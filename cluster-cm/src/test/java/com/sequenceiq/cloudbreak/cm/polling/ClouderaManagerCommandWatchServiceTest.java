@@ -0,0 +1,105 @@
+package com.sequenceiq.cloudbreak.cm.polling;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cloudera.api.swagger.CommandsResourceApi;
+import com.cloudera.api.swagger.client.ApiClient;
+import com.cloudera.api.swagger.client.ApiException;
+import com.cloudera.api.swagger.model.ApiCommand;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClouderaManagerCommandWatchServiceTest {
+
+    private static final BigDecimal COMMAND_ID = BigDecimal.ONE;
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private ApiClient apiClient;
+
+    @Mock
+    private CommandsResourceApi commandsResourceApi;
+
+    @InjectMocks
+    private ClouderaManagerCommandWatchService underTest;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "activeTtlMs", 60000L);
+        ReflectionTestUtils.setField(underTest, "finishedTtlSeconds", 60L);
+        ReflectionTestUtils.setField(underTest, "maxSize", 100L);
+        underTest.init();
+        when(apiClient.getBasePath()).thenReturn("https://cm:7183/api/v31");
+    }
+
+    @Test
+    public void testFinishedCommandIsReadOnce() throws ApiException {
+        ApiCommand finished = command(false);
+        when(commandsResourceApi.readCommand(COMMAND_ID)).thenReturn(finished);
+
+        assertSame(finished, underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID));
+        assertSame(finished, underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID));
+
+        verify(commandsResourceApi, times(1)).readCommand(COMMAND_ID);
+        verify(metricService).incrementMetricCounter(ClouderaManagerCommandWatchMetricType.CM_COMMAND_READ, "source", "shared");
+    }
+
+    @Test
+    public void testActiveCommandIsReadAgainAfterTheTtl() throws ApiException {
+        ReflectionTestUtils.setField(underTest, "activeTtlMs", 0L);
+        when(commandsResourceApi.readCommand(COMMAND_ID)).thenReturn(command(true), command(false));
+
+        underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID);
+        ApiCommand result = underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID);
+
+        assertSame(Boolean.FALSE, result.getActive());
+        verify(commandsResourceApi, times(2)).readCommand(COMMAND_ID);
+    }
+
+    @Test
+    public void testFailedReadIsNotShared() throws ApiException {
+        ApiException apiException = new ApiException(500, "Internal server error");
+        ApiCommand finished = command(false);
+        when(commandsResourceApi.readCommand(COMMAND_ID)).thenThrow(apiException).thenReturn(finished);
+
+        ApiException thrown = assertThrows(ApiException.class, () -> underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID));
+
+        assertSame(apiException, thrown);
+        assertSame(finished, underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID));
+    }
+
+    @Test
+    public void testInvalidateForcesANewRead() throws ApiException {
+        when(commandsResourceApi.readCommand(COMMAND_ID)).thenReturn(command(false));
+
+        underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID);
+        underTest.invalidate(apiClient, COMMAND_ID);
+        underTest.readCommand(apiClient, commandsResourceApi, COMMAND_ID);
+
+        verify(commandsResourceApi, times(2)).readCommand(COMMAND_ID);
+    }
+
+    private ApiCommand command(boolean active) {
+        ApiCommand apiCommand = new ApiCommand();
+        apiCommand.setId(COMMAND_ID);
+        apiCommand.setActive(active);
+        apiCommand.setSuccess(!active);
+        return apiCommand;
+    }
+}
@@ -35,7 +35,7 @@ public class ThreadBasedUserCrnProvider {
     public static String getAccountId() {
         String userCrn = getUserCrn();
         if (userCrn != null) {
-            return Optional.ofNullable(Crn.fromString(userCrn)).orElseThrow(() -> new IllegalStateException("Unable to obtain crn!")).getAccountId();
+            return Optional.ofNullable(Crn.accountIdOf(userCrn)).orElseThrow(() -> new IllegalStateException("Unable to obtain crn!"));
         } else {
             throw new IllegalStateException("Crn is not set!");
         }
@@ -4,11 +4,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.util.Arrays;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableMap;
 
@@ -30,8 +30,9 @@ import com.google.common.collect.ImmutableMap;
  */
 public class Crn {
 
-    private static final Pattern CRN_PATTERN =
-            Pattern.compile("^crn:(\\w+):(\\w+):(\\S+):(\\S+):(\\w+):(\\S+)$");
+    private static final int INTERN_POOL_SIZE = 10000;
+
+    private static final Cache<String, Crn> INTERN_POOL = Caffeine.newBuilder().maximumSize(INTERN_POOL_SIZE).build();
 
     private static final boolean ADMIN_SERVICE = true;
 
@@ -383,6 +384,8 @@ public class Crn {
 
     private final String resource;
 
+    private String stringValue;
+
     /**
      * Constructor. Also see the Builder below.
      *
@@ -478,8 +481,13 @@ public class Crn {
 
     @Override
     public String toString() {
-        return String.format("crn:%s:%s:%s:%s:%s:%s",
-                partition, service, region, accountId, resourceType, resource);
+        String result = stringValue;
+        if (result == null) {
+            result = String.format("crn:%s:%s:%s:%s:%s:%s",
+                    partition, service, region, accountId, resourceType, resource);
+            stringValue = result;
+        }
+        return result;
     }
 
     /**
@@ -492,27 +500,10 @@ public class Crn {
      * @throws NullPointerException if the input string is null
      * @throws CrnParseException    if the input string matches the CRN pattern but cannot be parsed
      */
-    //CHECKSTYLE:OFF: checkstyle:magicnumber
     @Nullable
     public static Crn fromString(String input) {
-        checkNotNull(input);
-        Matcher matcher = CRN_PATTERN.matcher(input);
-        if (!matcher.matches()) {
-            return null;
-        }
-        String region = matcher.group(3);
-        if (!Region.US_WEST_1.name.equals(region)) {
-            throw new CrnParseException(String.format("%s is not a supported region", region));
-        }
-        return new Crn.Builder()
-                .setPartition(Partition.safeFromString(matcher.group(1)))
-                .setService(Service.safeFromString(matcher.group(2)))
-                .setAccountId(matcher.group(4))
-                .setResourceType(ResourceType.fromString(matcher.group(5)))
-                .setResource(matcher.group(6))
-                .build();
+        return CrnParser.parse(input);
     }
-    //CHECKSTYLE:ON: checkstyle:magicnumber
 
     /**
      * Creates a CRN from the input string. This will explode instead of
@@ -531,6 +522,34 @@ public class Crn {
         return crn;
     }
 
+    /**
+     * Creates a CRN from the input string like {@link #safeFromString(String)}, but returns the same instance for the same input while it is
+     * in a bounded pool. Meant for the CRNs parsed on every request, like the account, environment and user CRNs.
+     *
+     * @param input the input string
+     * @return the CRN
+     * @throws NullPointerException if the input string is null
+     * @throws CrnParseException    if the input string does not match the CRN pattern or cannot be parsed
+     */
+    public static Crn intern(String input) {
+        checkNotNull(input);
+        return INTERN_POOL.get(input, Crn::safeFromString);
+    }
+
+    /**
+     * Returns the account ID of the CRN in the input string without creating the CRN. It validates the input the same way as
+     * {@link #fromString(String)}.
+     *
+     * @param input the input string
+     * @return the account ID, or null if the input string does not match the CRN pattern
+     * @throws NullPointerException if the input string is null
+     * @throws CrnParseException    if the input string matches the CRN pattern but cannot be parsed
+     */
+    @Nullable
+    public static String accountIdOf(String input) {
+        return CrnParser.accountIdOf(input);
+    }
+
     /**
      * Returns whether an input string is a CRN.
      *
@@ -539,9 +558,8 @@ public class Crn {
      */
     public static boolean isCrn(@Nullable String input) {
         try {
-            safeFromString(input);
-            return true;
-        } catch (NullPointerException | CrnParseException e) {
+            return input != null && accountIdOf(input) != null;
+        } catch (CrnParseException e) {
             return false;
         }
     }
@@ -652,10 +670,5 @@ public class Crn {
             return this;
         }
 
-        private Builder setPartition(Partition partition) {
-            this.partition = partition;
-            return this;
-        }
-
     }
 }
@@ -0,0 +1,180 @@
+package com.sequenceiq.cloudbreak.auth.altus;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Hand written parser of the CRN format accepted by {@code ^crn:(\w+):(\w+):(\S+):(\S+):(\w+):(\S+)$}. It finds the segment boundaries in one
+ * scan, resolves the partition, service and resource type by comparing the input in place and only cuts out the account id and the resource.
+ * <p>
+ * The region, account id and resource may contain colons in the pattern, and the greedy groups of the pattern prefer the longest region, then
+ * the longest account id. The boundaries are chosen the same way, so both parsers split every input identically.
+ */
+final class CrnParser {
+
+    private static final String PREFIX = "crn:";
+
+    private static final Crn.Partition[] PARTITIONS = Crn.Partition.values();
+
+    private static final Crn.Service[] SERVICES = Crn.Service.values();
+
+    private static final Crn.ResourceType[] RESOURCE_TYPES = Crn.ResourceType.values();
+
+    private final String input;
+
+    private int partitionEnd;
+
+    private int serviceEnd;
+
+    private int regionEnd;
+
+    private int accountIdEnd;
+
+    private int resourceTypeEnd;
+
+    private CrnParser(String input) {
+        this.input = checkNotNull(input);
+    }
+
+    /**
+     * Same contract as {@link Crn#fromString(String)}.
+     */
+    static Crn parse(String input) {
+        CrnParser parser = new CrnParser(input);
+        if (!parser.locate()) {
+            return null;
+        }
+        parser.checkRegion();
+        return new Crn(parser.partition(), parser.service(), Crn.Region.US_WEST_1, parser.accountId(), parser.resourceType(), parser.resource());
+    }
+
+    /**
+     * Same contract as {@code Crn.fromString(input).getAccountId()}, but without building the CRN.
+     */
+    static String accountIdOf(String input) {
+        CrnParser parser = new CrnParser(input);
+        if (!parser.locate()) {
+            return null;
+        }
+        parser.checkRegion();
+        parser.partition();
+        parser.service();
+        parser.resourceType();
+        return parser.accountId();
+    }
+
+    private boolean locate() {
+        if (!input.startsWith(PREFIX) || containsWhitespace()) {
+            return false;
+        }
+        partitionEnd = wordEnd(PREFIX.length());
+        if (partitionEnd < 0) {
+            return false;
+        }
+        serviceEnd = wordEnd(partitionEnd + 1);
+        return serviceEnd >= 0 && locateTail();
+    }
+
+    /**
+     * Picks the last colon that can end the resource type, then the last colon that leaves a non empty account id before it. A later resource
+     * type end never rules out a region end that an earlier one allows, so this is the split the backtracking regex settles on.
+     */
+    private boolean locateTail() {
+        int typeEnd = input.lastIndexOf(':');
+        while (typeEnd > serviceEnd) {
+            int accountEnd = input.lastIndexOf(':', typeEnd - 1);
+            if (accountEnd <= serviceEnd) {
+                return false;
+            }
+            if (typeEnd < input.length() - 1 && isWord(accountEnd + 1, typeEnd)) {
+                int regionEndCandidate = input.lastIndexOf(':', accountEnd - 2);
+                if (regionEndCandidate <= serviceEnd + 1) {
+                    return false;
+                }
+                regionEnd = regionEndCandidate;
+                accountIdEnd = accountEnd;
+                resourceTypeEnd = typeEnd;
+                return true;
+            }
+            typeEnd = accountEnd;
+        }
+        return false;
+    }
+
+    private int wordEnd(int from) {
+        int end = input.indexOf(':', from);
+        return end > from && isWord(from, end) ? end : -1;
+    }
+
+    private boolean isWord(int from, int to) {
+        if (from >= to) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            if (!isWordChar(input.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    private boolean containsWhitespace() {
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void checkRegion() {
+        if (!segmentEquals(serviceEnd + 1, regionEnd, Crn.Region.US_WEST_1.getName())) {
+            throw new CrnParseException(String.format("%s is not a supported region", input.substring(serviceEnd + 1, regionEnd)));
+        }
+    }
+
+    private Crn.Partition partition() {
+        for (Crn.Partition partition : PARTITIONS) {
+            if (segmentEquals(PREFIX.length(), partitionEnd, partition.getName())
+                    || segmentEquals(PREFIX.length(), partitionEnd, partition.getLegacyName())) {
+                return partition;
+            }
+        }
+        return Crn.Partition.safeFromString(input.substring(PREFIX.length(), partitionEnd));
+    }
+
+    private Crn.Service service() {
+        for (Crn.Service service : SERVICES) {
+            if (segmentEquals(partitionEnd + 1, serviceEnd, service.getName())
+                    || segmentEquals(partitionEnd + 1, serviceEnd, service.getLegacyName())) {
+                return service;
+            }
+        }
+        return Crn.Service.safeFromString(input.substring(partitionEnd + 1, serviceEnd));
+    }
+
+    private Crn.ResourceType resourceType() {
+        for (Crn.ResourceType resourceType : RESOURCE_TYPES) {
+            if (segmentEquals(accountIdEnd + 1, resourceTypeEnd, resourceType.getName())) {
+                return resourceType;
+            }
+        }
+        return Crn.ResourceType.fromString(input.substring(accountIdEnd + 1, resourceTypeEnd));
+    }
+
+    private String accountId() {
+        return input.substring(regionEnd + 1, accountIdEnd);
+    }
+
+    private String resource() {
+        return input.substring(resourceTypeEnd + 1);
+    }
+
+    private boolean segmentEquals(int from, int to, String value) {
+        return value != null && value.length() == to - from && input.regionMatches(from, value, 0, value.length());
+    }
+}
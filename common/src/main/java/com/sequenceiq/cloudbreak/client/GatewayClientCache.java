@@ -0,0 +1,208 @@
+package com.sequenceiq.cloudbreak.client;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.util.CheckedFunction;
+import com.sequenceiq.cloudbreak.util.CheckedSupplier;
+
+/**
+ * Keeps the expensive parts of a gateway client, like the TLS context or the whole HTTP client, so they are built once per gateway
+ * instead of once per call. The cache is bounded and drops the clients that were not used for the idle timeout. Every entry
+ * remembers the fingerprint of the TLS material and credentials it was built from: when a caller asks for the same gateway with
+ * a different fingerprint, for example after certificate rotation, the old client is dropped and a new one is built.
+ * <p>
+ * The clients handed out by {@link #acquire(String, String, CheckedFunction)} are leased: a dropped client is only closed when its last
+ * holder released it, so a long running operation keeps a working client even if the cache dropped it meanwhile. The clients handed out by
+ * {@link #get(String, String, CheckedSupplier)} are not tracked and are closed as soon as they are dropped.
+ *
+ * @param <C> type of the cached client
+ */
+public class GatewayClientCache<C> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GatewayClientCache.class);
+
+    private final String name;
+
+    private final Cache<String, CachedClient<C>> cache;
+
+    private final Consumer<C> closer;
+
+    private final MetricService metricService;
+
+    private final Set<String> gateways;
+
+    public GatewayClientCache(String name, long maxSize, Duration idleTimeout, Consumer<C> closer, MetricService metricService) {
+        this.name = name;
+        this.closer = closer;
+        this.metricService = metricService;
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(idleTimeout)
+                .removalListener((String gateway, CachedClient<C> cachedClient, RemovalCause cause) -> {
+                    metricService.incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_REMOVAL, "cache", name, "cause", cause.name().toLowerCase());
+                    if (cachedClient != null) {
+                        if (cachedClient.retire()) {
+                            LOGGER.debug("Closing cached {} client of gateway {}, cause: {}", name, gateway, cause);
+                            closer.accept(cachedClient.getClient());
+                        } else {
+                            LOGGER.debug("Cached {} client of gateway {} is dropped, cause: {}, it is closed when its last holder releases it",
+                                    name, gateway, cause);
+                        }
+                    }
+                })
+                .build();
+        gateways = metricService.gaugeCollectionSize(MetricType.GATEWAY_CLIENT_CACHE_SIZE, cache.asMap().keySet(), "cache", name);
+    }
+
+    /**
+     * Computes the fingerprint of the material a client is built from, so it can be compared without keeping the secrets in memory.
+     *
+     * @param parts certificates, keys and credentials used by the client, null values are allowed
+     * @return the fingerprint of the parts
+     */
+    public static String fingerprint(String... parts) {
+        String joined = Arrays.stream(parts).map(part -> Objects.toString(part, "")).collect(Collectors.joining("\n"));
+        return Hashing.sha256().hashString(joined, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the cached client of the gateway, or builds and caches a new one if there is none or it was built from a different fingerprint.
+     *
+     * @param gateway     the address that identifies the gateway
+     * @param fingerprint the fingerprint of the material the client is built from, see {@link #fingerprint(String...)}
+     * @param loader      builds the client
+     * @return the client of the gateway
+     */
+    public <E extends Exception> C get(String gateway, String fingerprint, CheckedSupplier<C, E> loader) throws E {
+        return getCachedClient(gateway, fingerprint, cachedClient -> loader.get()).getClient();
+    }
+
+    /**
+     * Returns the cached client of the gateway like {@link #get(String, String, CheckedSupplier)}, and leases it to the caller. The client is not
+     * closed until every caller that acquired it ran the release action that was given to the loader when the client was built.
+     *
+     * @param gateway     the address that identifies the gateway
+     * @param fingerprint the fingerprint of the material the client is built from, see {@link #fingerprint(String...)}
+     * @param loader      builds the client from the action that releases one lease of it, the client has to run it when a holder is done
+     * @return the client of the gateway, leased to the caller
+     */
+    public <E extends Exception> C acquire(String gateway, String fingerprint, CheckedFunction<Runnable, C, E> loader) throws E {
+        while (true) {
+            CachedClient<C> cachedClient = getCachedClient(gateway, fingerprint, created -> loader.apply(() -> release(gateway, created)));
+            if (cachedClient.lease()) {
+                return cachedClient.getClient();
+            }
+            LOGGER.debug("The cached {} client of gateway {} was dropped while it was acquired, retrying", name, gateway);
+        }
+    }
+
+    private <E extends Exception> CachedClient<C> getCachedClient(String gateway, String fingerprint,
+            CheckedFunction<CachedClient<C>, C, E> loader) throws E {
+        CachedClient<C> cachedClient = cache.getIfPresent(gateway);
+        if (cachedClient != null && cachedClient.getFingerprint().equals(fingerprint)) {
+            metricService.incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_HIT, "cache", name);
+            return cachedClient;
+        }
+        metricService.incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_MISS, "cache", name);
+        if (cachedClient != null) {
+            LOGGER.info("The TLS material or credentials of gateway {} changed, rebuilding the cached {} client", gateway, name);
+        }
+        CachedClient<C> created = new CachedClient<>(fingerprint);
+        created.setClient(loader.apply(created));
+        CachedClient<C> result = cache.asMap().compute(gateway,
+                (key, current) -> current != null && current.getFingerprint().equals(fingerprint) ? current : created);
+        if (result != created) {
+            LOGGER.debug("Another thread has already cached a {} client for gateway {}, dropping the new one", name, gateway);
+            created.retire();
+            closer.accept(created.getClient());
+        }
+        return result;
+    }
+
+    private void release(String gateway, CachedClient<C> cachedClient) {
+        if (cachedClient.release()) {
+            LOGGER.debug("Closing dropped {} client of gateway {} as its last holder released it", name, gateway);
+            closer.accept(cachedClient.getClient());
+        }
+    }
+
+    public void invalidate(String gateway) {
+        cache.invalidate(gateway);
+    }
+
+    public long size() {
+        return gateways.size();
+    }
+
+    private static class CachedClient<C> {
+
+        private final String fingerprint;
+
+        private volatile C client;
+
+        private int leases;
+
+        private boolean retired;
+
+        CachedClient(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        C getClient() {
+            return client;
+        }
+
+        void setClient(C client) {
+            this.client = client;
+        }
+
+        /**
+         * @return false if the client was already dropped from the cache, so it can not be leased anymore
+         */
+        synchronized boolean lease() {
+            if (retired) {
+                return false;
+            }
+            leases++;
+            return true;
+        }
+
+        /**
+         * @return true if the client was dropped from the cache and this was its last lease, so it has to be closed
+         */
+        synchronized boolean release() {
+            if (leases > 0) {
+                leases--;
+                return retired && leases == 0;
+            }
+            return false;
+        }
+
+        /**
+         * @return true if the client is not leased, so it has to be closed right away
+         */
+        synchronized boolean retire() {
+            retired = true;
+            return leases == 0;
+        }
+    }
+}
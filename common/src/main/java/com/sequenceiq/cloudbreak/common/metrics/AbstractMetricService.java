@@ -1,5 +1,7 @@
 package com.sequenceiq.cloudbreak.common.metrics;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -18,6 +20,8 @@ import io.micrometer.core.instrument.Timer;
 
 public abstract class AbstractMetricService implements MetricService {
 
+    private static final double[] TIMER_PERCENTILES = {0.5, 0.95, 0.99};
+
     private final ConcurrentMap<String, AtomicDouble> gaugeMetricMap = new ConcurrentHashMap<>();
 
     /**
@@ -60,6 +64,27 @@ public abstract class AbstractMetricService implements MetricService {
         return Metrics.gaugeMapSize(getMetricName(metric), Tags.empty(), map);
     }
 
+    @Override
+    public <T extends Collection<?>> T gaugeCollectionSize(Metric metric, T collection, String... tags) {
+        return Metrics.gaugeCollectionSize(getMetricName(metric), Tags.of(tags), collection);
+    }
+
+    /**
+     * Record a duration into a timer that also publishes the 50th, 95th and 99th percentiles.
+     *
+     * @param metric   Metric name
+     * @param duration Measured duration
+     * @param tags     Key-value pairs of tags
+     */
+    @Override
+    public void recordTimerMetric(Metric metric, Duration duration, String... tags) {
+        Timer.builder(getMetricName(metric))
+                .tags(tags)
+                .publishPercentiles(TIMER_PERCENTILES)
+                .register(Metrics.globalRegistry)
+                .record(duration);
+    }
+
     protected void incrementMetricCounter(String metric, String... tags) {
         Counter counter = Metrics.counter(metric, tags);
         counter.increment();
@@ -1,5 +1,7 @@
 package com.sequenceiq.cloudbreak.common.metrics;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 
 import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
@@ -14,4 +16,8 @@ public interface MetricService {
     void incrementMetricCounter(Metric metric, String... tags);
 
     <T, U> Map<T, U> gaugeMapSize(Metric metric, Map<T, U> map);
+
+    <T extends Collection<?>> T gaugeCollectionSize(Metric metric, T collection, String... tags);
+
+    void recordTimerMetric(Metric metric, Duration duration, String... tags);
 }
@@ -3,6 +3,8 @@ package com.sequenceiq.cloudbreak.common.metrics.type;
 public enum MetricType implements Metric {
     VAULT_READ("vault.read"),
     VAULT_READ_FAILED("vault.read.failed"),
+    VAULT_READ_CACHED("vault.read.cached"),
+    VAULT_READ_BULK("vault.read.bulk"),
     VAULT_WRITE("vault.write"),
     VAULT_WRITE_FAILED("vault.write.failed"),
     VAULT_DELETE("vault.delete"),
@@ -10,7 +12,11 @@ public enum MetricType implements Metric {
     HEARTBEAT_UPDATE_FAILED("heartbeat.update.failed"),
     REST_OPERATION("rest.operation"),
     REST_OPERATION_FAILED("rest.operation.failed"),
-    REST_OPERATION_CALLER_ID("rest.operation.caller.id");
+    REST_OPERATION_CALLER_ID("rest.operation.caller.id"),
+    GATEWAY_CLIENT_CACHE_HIT("gateway.client.cache.hit"),
+    GATEWAY_CLIENT_CACHE_MISS("gateway.client.cache.miss"),
+    GATEWAY_CLIENT_CACHE_REMOVAL("gateway.client.cache.removal"),
+    GATEWAY_CLIENT_CACHE_SIZE("gateway.client.cache.size");
 
     private final String metricName;
 
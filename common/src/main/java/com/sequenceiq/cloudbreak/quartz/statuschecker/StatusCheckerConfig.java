@@ -18,9 +18,19 @@ public class StatusCheckerConfig {
     @Value("${statuschecker.enabled:true}")
     private boolean autoSyncEnabled;
 
+    @Value("${statuschecker.batch.enabled:false}")
+    private boolean batchEnabled;
+
+    @Value("${statuschecker.batch.size:100}")
+    private int batchSize;
+
+    @Value("${statuschecker.batch.parallelism:8}")
+    private int batchParallelism;
+
     @PostConstruct
     void logEnablement() {
         LOGGER.info("Auto sync is {}", autoSyncEnabled ? "enabled" : "disabled");
+        LOGGER.info("Batched auto sync is {}", batchEnabled ? "enabled" : "disabled");
     }
 
     public boolean isAutoSyncEnabled() {
@@ -30,4 +40,20 @@ public class StatusCheckerConfig {
     public int getIntervalInSeconds() {
         return intervalInSeconds;
     }
+
+    /**
+     * When enabled, the resources are not checked by a job of their own, but by the batched status checker job of the service. Only enable it
+     * for services that schedule such a job.
+     */
+    public boolean isBatchEnabled() {
+        return batchEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
 }
@@ -0,0 +1,94 @@
+package com.sequenceiq.cloudbreak.quartz.statuschecker.job;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.Lists;
+import com.sequenceiq.cloudbreak.quartz.TracedQuartzJob;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.StatusCheckerConfig;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.service.StatusCheckerBatchExecutor;
+
+import io.opentracing.Tracer;
+
+/**
+ * Checks every due resource of a service in one job run instead of a job per resource. The due resources are grouped by a key that lets the
+ * provider answer for the whole group at once, typically the credential, region and platform, and every group is synced in batches of the
+ * configured size. The batches are synced concurrently by {@link StatusCheckerBatchExecutor}, and a failing batch does not stop the others.
+ *
+ * @param <R> the type of the checked resources
+ * @param <K> the type of the group key
+ */
+public abstract class BatchedStatusCheckerJob<R, K> extends TracedQuartzJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchedStatusCheckerJob.class);
+
+    @Inject
+    private StatusCheckerConfig properties;
+
+    @Inject
+    private StatusCheckerBatchExecutor batchExecutor;
+
+    public BatchedStatusCheckerJob(Tracer tracer, String jobName) {
+        super(tracer, jobName);
+    }
+
+    @Override
+    protected Object getMdcContextObject() {
+        return null;
+    }
+
+    @Override
+    protected void executeTracedJob(JobExecutionContext context) throws JobExecutionException {
+        Map<K, List<R>> groups = new LinkedHashMap<>();
+        for (R resource : findDueResources()) {
+            groups.computeIfAbsent(getGroupKey(resource), key -> new ArrayList<>()).add(resource);
+        }
+        List<Runnable> batchSyncs = new ArrayList<>();
+        groups.forEach((groupKey, resources) -> {
+            for (List<R> batch : Lists.partition(resources, properties.getBatchSize())) {
+                batchSyncs.add(() -> syncBatchSafely(groupKey, batch));
+            }
+        });
+        LOGGER.debug("Checking the status of {} resource groups in {} batches", groups.size(), batchSyncs.size());
+        runConcurrently(batchSyncs);
+    }
+
+    /**
+     * Runs the tasks on the threads of the batched status checkers and waits for all of them.
+     */
+    protected void runConcurrently(List<Runnable> tasks) {
+        batchExecutor.runAll(tasks);
+    }
+
+    private void syncBatchSafely(K groupKey, List<R> batch) {
+        try {
+            syncBatch(groupKey, batch);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Status check failed for a batch of {} resources of group {}", batch.size(), groupKey, e);
+        }
+    }
+
+    /**
+     * @return the resources that have to be checked in this run
+     */
+    protected abstract List<R> findDueResources();
+
+    /**
+     * @return the key of the group of the resource, resources of the same group must be checkable by the same provider call
+     */
+    protected abstract K getGroupKey(R resource);
+
+    /**
+     * Fetches the provider state of the batch at once and updates the status of every resource of it.
+     */
+    protected abstract void syncBatch(K groupKey, List<R> batch);
+}
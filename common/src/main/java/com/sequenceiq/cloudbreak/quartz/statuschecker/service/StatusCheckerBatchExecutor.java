@@ -0,0 +1,70 @@
+package com.sequenceiq.cloudbreak.quartz.statuschecker.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.StatusCheckerConfig;
+
+/**
+ * Runs the work of the batched status checker jobs on a bounded number of threads, so a run over the whole fleet is not limited to the Quartz
+ * thread of the job.
+ */
+@Component
+public class StatusCheckerBatchExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusCheckerBatchExecutor.class);
+
+    @Inject
+    private StatusCheckerConfig properties;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        int parallelism = Math.max(1, properties.getBatchParallelism());
+        executor = new MDCCleanerThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("status-checker-batch-%d").setDaemon(true).build(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Runs the tasks concurrently and waits for all of them. A failing task is logged and does not stop the others.
+     */
+    public void runAll(Collection<Runnable> tasks) {
+        List<Future<?>> futures = new ArrayList<>(tasks.size());
+        tasks.forEach(task -> futures.add(executor.submit(task)));
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOGGER.warn("Status check task failed", e.getCause());
+            } catch (InterruptedException e) {
+                LOGGER.info("Interrupted while waiting for the status check tasks, cancelling the remaining ones");
+                futures.forEach(remaining -> remaining.cancel(true));
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
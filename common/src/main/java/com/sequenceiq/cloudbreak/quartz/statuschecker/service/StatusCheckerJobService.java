@@ -27,6 +27,7 @@ import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.quartz.model.JobResourceAdapter;
 import com.sequenceiq.cloudbreak.quartz.statuschecker.StatusCheckerConfig;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.job.BatchedStatusCheckerJob;
 
 @Service
 public class StatusCheckerJobService {
@@ -39,6 +40,8 @@ public class StatusCheckerJobService {
 
     private static final String REMOTE_RESOURCE_CRN = "remoteResourceCrn";
 
+    private static final String BATCH_JOB_NAME = "batched-status-checker";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(StatusCheckerJobService.class);
 
     private static final int RANDOM_DELAY = 120;
@@ -55,17 +58,38 @@ public class StatusCheckerJobService {
     private ApplicationContext applicationContext;
 
     public <T> void schedule(JobResourceAdapter<T> resource) {
+        if (properties.isBatchEnabled()) {
+            LOGGER.debug("Batched status check is enabled, no job is scheduled for {}", resource.getLocalId());
+            return;
+        }
         JobDetail jobDetail = buildJobDetail(resource.getLocalId(), resource.getRemoteResourceId(), resource.getJobClassForResource());
         Trigger trigger = buildJobTrigger(jobDetail, RANDOM.nextInt(RANDOM_DELAY));
         schedule(jobDetail, trigger, resource.getLocalId());
     }
 
     public <T> void schedule(JobResourceAdapter<T> resource, int delayInSeconds) {
+        if (properties.isBatchEnabled()) {
+            LOGGER.debug("Batched status check is enabled, no job is scheduled for {}", resource.getLocalId());
+            return;
+        }
         JobDetail jobDetail = buildJobDetail(resource.getLocalId(), resource.getRemoteResourceId(), resource.getJobClassForResource());
         Trigger trigger = buildJobTrigger(jobDetail, delayInSeconds);
         schedule(jobDetail, trigger, resource.getLocalId());
     }
 
+    /**
+     * Schedules the job checking every resource of the service, used instead of the jobs per resource when batched status check is enabled.
+     */
+    public void scheduleBatch(Class<? extends BatchedStatusCheckerJob<?, ?>> jobClass) {
+        JobDetail jobDetail = JobBuilder.newJob(jobClass)
+                .withIdentity(BATCH_JOB_NAME, JOB_GROUP)
+                .withDescription("Checking the status of all resources Job")
+                .storeDurably()
+                .build();
+        Trigger trigger = buildJobTrigger(jobDetail, RANDOM.nextInt(RANDOM_DELAY));
+        schedule(jobDetail, trigger, BATCH_JOB_NAME);
+    }
+
     private void schedule(JobDetail jobDetail, Trigger trigger, String localId) {
         try {
             if (scheduler.getJobDetail(JobKey.jobKey(localId, JOB_GROUP)) != null) {
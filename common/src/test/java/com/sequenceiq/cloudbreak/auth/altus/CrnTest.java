@@ -3,14 +3,22 @@ package com.sequenceiq.cloudbreak.auth.altus;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 public class CrnTest {
 
+    private static final Pattern CRN_PATTERN = Pattern.compile("^crn:(\\w+):(\\w+):(\\S+):(\\S+):(\\w+):(\\S+)$");
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
@@ -120,4 +128,94 @@ public class CrnTest {
         Crn crn = Crn.fromString(machineUserBaby);
         assertEquals("b8a64902-7765-4ddd-a4f3-df81ae585e10", crn.getUserId());
     }
+
+    @Test
+    public void testParserSplitsLikeThePattern() {
+        List<String> inputs = List.of(exampleCrn, exampleCrn2, exampleCrn3, machineUserBaby, invalidCrnPattern, invalidCrnEmptyParts,
+                invalidCrnPartition, invalidCrnRegion, invalidCrnService, invalidCrnResourceType,
+                "crn:ccs:mastodon:us-west-1:acc:user:res",
+                "crn:cdp:iam:us-west-1:acc:ount:user:res",
+                "crn:cdp:iam:us-west-1:acc:user:a:b",
+                "crn:cdp:iam:us-west-1:a:b:user:x:y",
+                "crn:cdp:iam:us-west-1:acc:user:",
+                "crn:cdp:iam:us-west-1::user:res",
+                "crn:cdp:iam::acc:user:res",
+                "crn:cdp:iam:us-west-1:acc::res",
+                "crn:cdp:iam:us-west-1:acc:machine-user:res",
+                "crn:cdp:iam:us-west-1:acc:user:res:",
+                "crn:cdp:iam:us-west-1:acc:user::",
+                "crn:cdp:iam:us-west-1:acc:user:r e s",
+                "crn:cdp:iam:us-west-1:acc:user:res\n",
+                "crn:cdp:iam:us-west-1:\u00e1cc:user:r\u00e9s",
+                "crn:c-p:iam:us-west-1:acc:user:res",
+                "crn:cdp:iam:us-west-1:acc:user",
+                "crn:cdp:iam:us-west-1:acc",
+                "crn:cdp",
+                "crn:",
+                "CRN:cdp:iam:us-west-1:acc:user:res",
+                "");
+        for (String input : inputs) {
+            assertEquals(input, outcome(() -> fromStringWithPattern(input)), outcome(() -> Crn.fromString(input)));
+            assertEquals(input, outcome(() -> accountIdOf(fromStringWithPattern(input))), outcome(() -> Crn.accountIdOf(input)));
+        }
+    }
+
+    @Test
+    public void testAccountIdOf() {
+        assertEquals("9d74eee4-1cad-45d7-b645-7ccf9edbb73d", Crn.accountIdOf(exampleCrn));
+        assertNull(Crn.accountIdOf(invalidCrnPattern));
+    }
+
+    @Test
+    public void testAccountIdOfValidatesTheCrn() {
+        thrown.expect(CrnParseException.class);
+        Crn.accountIdOf(invalidCrnResourceType);
+    }
+
+    @Test
+    public void testInternReturnsTheSameInstance() {
+        Crn crn = Crn.intern(exampleCrn);
+
+        assertSame(crn, Crn.intern(exampleCrn));
+        assertEquals(Crn.fromString(exampleCrn), crn);
+    }
+
+    @Test
+    public void testInternRejectsInvalidPattern() {
+        thrown.expect(CrnParseException.class);
+        Crn.intern(invalidCrnPattern);
+    }
+
+    @Test
+    public void testToStringOfParsedCrn() {
+        Crn crn = Crn.fromString(exampleCrn);
+
+        assertEquals(exampleCrn, crn.toString());
+        assertSame(crn.toString(), crn.toString());
+    }
+
+    private static Crn fromStringWithPattern(String input) {
+        Matcher matcher = CRN_PATTERN.matcher(input);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String region = matcher.group(3);
+        if (!Crn.Region.US_WEST_1.getName().equals(region)) {
+            throw new CrnParseException(String.format("%s is not a supported region", region));
+        }
+        return new Crn(Crn.Partition.safeFromString(matcher.group(1)), Crn.Service.safeFromString(matcher.group(2)), Crn.Region.US_WEST_1,
+                matcher.group(4), Crn.ResourceType.fromString(matcher.group(5)), matcher.group(6));
+    }
+
+    private static String accountIdOf(Crn crn) {
+        return crn == null ? null : crn.getAccountId();
+    }
+
+    private static Object outcome(Supplier<Object> parse) {
+        try {
+            return parse.get();
+        } catch (RuntimeException e) {
+            return e.getClass().getSimpleName() + ": " + e.getMessage();
+        }
+    }
 }
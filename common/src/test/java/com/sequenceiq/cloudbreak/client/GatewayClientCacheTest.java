@@ -0,0 +1,168 @@
+package com.sequenceiq.cloudbreak.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+
+@ExtendWith(MockitoExtension.class)
+class GatewayClientCacheTest {
+
+    private static final String GATEWAY = "https://10.0.0.1:9443";
+
+    @Mock
+    private MetricService metricService;
+
+    private final List<Object> closedClients = new CopyOnWriteArrayList<>();
+
+    private GatewayClientCache<Object> underTest;
+
+    @BeforeEach
+    void setUp() {
+        when(metricService.gaugeCollectionSize(eq(MetricType.GATEWAY_CLIENT_CACHE_SIZE), any(Collection.class), anyString(), anyString()))
+                .thenAnswer(invocation -> invocation.getArgument(1));
+        underTest = new GatewayClientCache<>("test", 2, Duration.ofMinutes(1), closedClients::add, metricService);
+    }
+
+    @Test
+    void testClientIsReusedForTheSameFingerprint() {
+        String fingerprint = GatewayClientCache.fingerprint("serverCert", "clientCert", "clientKey");
+
+        Object first = underTest.get(GATEWAY, fingerprint, Object::new);
+        Object second = underTest.get(GATEWAY, fingerprint, Object::new);
+
+        assertSame(first, second);
+        assertEquals(1, underTest.size());
+        verify(metricService).incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_MISS, "cache", "test");
+        verify(metricService).incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_HIT, "cache", "test");
+    }
+
+    @Test
+    void testClientIsRebuiltAndOldOneIsClosedWhenTheCertificateChanges() {
+        Object first = underTest.get(GATEWAY, GatewayClientCache.fingerprint("serverCert", "clientCert", "clientKey"), Object::new);
+
+        Object second = underTest.get(GATEWAY, GatewayClientCache.fingerprint("rotatedServerCert", "clientCert", "clientKey"), Object::new);
+
+        assertNotSame(first, second);
+        assertEquals(1, underTest.size());
+        awaitClosed(first);
+    }
+
+    @Test
+    void testInvalidateClosesTheClient() {
+        Object client = underTest.get(GATEWAY, GatewayClientCache.fingerprint("serverCert"), Object::new);
+
+        underTest.invalidate(GATEWAY);
+
+        assertEquals(0, underTest.size());
+        awaitClosed(client);
+    }
+
+    @Test
+    void testAcquiredClientIsReusedAndClosedOnlyAfterItsLastHolderReleasedIt() {
+        String fingerprint = GatewayClientCache.fingerprint("serverCert");
+        AtomicReference<Runnable> releaser = new AtomicReference<>();
+        Object first = underTest.acquire(GATEWAY, fingerprint, release -> {
+            releaser.set(release);
+            return new Object();
+        });
+        Object second = underTest.acquire(GATEWAY, fingerprint, release -> new Object());
+        assertSame(first, second);
+
+        underTest.invalidate(GATEWAY);
+        awaitRemoval("explicit");
+        releaser.get().run();
+        assertFalse(closedClients.contains(first), "The client should not be closed while it is held");
+
+        releaser.get().run();
+        assertTrue(closedClients.contains(first), "The client should have been closed by its last holder");
+    }
+
+    @Test
+    void testReleasedClientIsClosedWhenItIsDropped() {
+        AtomicReference<Runnable> releaser = new AtomicReference<>();
+        Object client = underTest.acquire(GATEWAY, GatewayClientCache.fingerprint("serverCert"), release -> {
+            releaser.set(release);
+            return new Object();
+        });
+        releaser.get().run();
+        releaser.get().run();
+
+        underTest.invalidate(GATEWAY);
+
+        awaitClosed(client);
+        assertEquals(1, closedClients.size());
+    }
+
+    @Test
+    void testAcquiringAfterTheCertificateChangedDoesNotCloseTheHeldClient() {
+        AtomicReference<Runnable> releaser = new AtomicReference<>();
+        Object first = underTest.acquire(GATEWAY, GatewayClientCache.fingerprint("serverCert"), release -> {
+            releaser.set(release);
+            return new Object();
+        });
+
+        Object second = underTest.acquire(GATEWAY, GatewayClientCache.fingerprint("rotatedServerCert"), release -> new Object());
+
+        assertNotSame(first, second);
+        awaitRemoval("replaced");
+        assertFalse(closedClients.contains(first), "The client should not be closed while it is held");
+        releaser.get().run();
+        assertTrue(closedClients.contains(first), "The client should have been closed by its last holder");
+    }
+
+    @Test
+    void testLoaderFailureIsPropagatedAndNothingIsCached() {
+        Exception exception = assertThrows(Exception.class, () -> underTest.get(GATEWAY, GatewayClientCache.fingerprint("serverCert"), () -> {
+            throw new Exception("bad certificate");
+        }));
+
+        assertEquals("bad certificate", exception.getMessage());
+        assertEquals(0, underTest.size());
+    }
+
+    @Test
+    void testFingerprintDependsOnEveryPart() {
+        assertEquals(GatewayClientCache.fingerprint("a", null), GatewayClientCache.fingerprint("a", null));
+        assertNotEquals(GatewayClientCache.fingerprint("a", "b"), GatewayClientCache.fingerprint("a", "c"));
+        assertNotEquals(GatewayClientCache.fingerprint("ab", "c"), GatewayClientCache.fingerprint("a", "bc"));
+    }
+
+    private void awaitRemoval(String cause) {
+        verify(metricService, timeout(TimeUnit.SECONDS.toMillis(10)))
+                .incrementMetricCounter(MetricType.GATEWAY_CLIENT_CACHE_REMOVAL, "cache", "test", "cause", cause);
+    }
+
+    private void awaitClosed(Object client) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!closedClients.contains(client) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(closedClients.contains(client), "The client should have been closed");
+    }
+}
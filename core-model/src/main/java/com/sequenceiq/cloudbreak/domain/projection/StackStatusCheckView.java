@@ -0,0 +1,18 @@
+package com.sequenceiq.cloudbreak.domain.projection;
+
+import com.sequenceiq.cloudbreak.domain.stack.StackStatus;
+
+public interface StackStatusCheckView {
+
+    Long getId();
+
+    String getEnvironmentCrn();
+
+    String getCloudPlatform();
+
+    String getPlatformVariant();
+
+    String getRegion();
+
+    StackStatus getStatus();
+}
@@ -1,8 +1,11 @@
 package com.sequenceiq.cloudbreak.aspect;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,7 +19,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import com.sequenceiq.cloudbreak.service.secret.SecretValue;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields.SecretField;
 import com.sequenceiq.cloudbreak.common.service.Clock;
 import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
@@ -75,25 +79,10 @@ public class SecretAspects {
 
     private Object proceedSave(ProceedingJoinPoint proceedingJoinPoint) {
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
+        List<PendingSecret> pendingSecrets = new ArrayList<>();
         for (Object entity : entities) {
-            String tenant = null;
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret value = (Secret) field.get(entity);
-                        if (value != null && value.getRaw() != null && value.getSecret() == null) {
-                            tenant = Optional.ofNullable(tenant).orElseGet(() -> findTenant(entity));
-                            String path = String.format("%s/%s/%s/%s-%s", tenant,
-                                    entity.getClass().getSimpleName().toLowerCase(), field.getName().toLowerCase(),
-                                    UUID.randomUUID().toString(), Long.toHexString(clock.getCurrentTimeMillis()));
-                            String secret = secretService.put(path, value.getRaw());
-                            LOGGER.debug("Field: '{}' is saved at path: {}", field.getName(), path);
-                            field.set(entity, new SecretProxy(secretService, secret));
-                        }
-                    }
-                }
+                collectPendingSecrets(entity, pendingSecrets);
             } catch (IllegalArgumentException e) {
                 LOGGER.error("Given entity isn't instance of TenantAwareResource. Secret is not deleted!", e);
                 throw new CloudbreakServiceException(e);
@@ -102,15 +91,18 @@ public class SecretAspects {
                 throw new CloudbreakServiceException(e);
             }
         }
+        Collection<String> writtenSecrets = writeSecrets(pendingSecrets);
 
         Object proceed;
         try {
             proceed = proceedingJoinPoint.proceed();
         } catch (RuntimeException re) {
             LOGGER.warn("Failed to invoke repository save", re);
+            rollbackSecrets(pendingSecrets, writtenSecrets);
             throw re;
         } catch (Throwable throwable) {
             LOGGER.error("Failed to invoke repository save", throwable);
+            rollbackSecrets(pendingSecrets, writtenSecrets);
             throw new CloudbreakServiceException(throwable);
         }
 
@@ -121,17 +113,13 @@ public class SecretAspects {
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
         for (Object entity : entities) {
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret path = (Secret) field.get(entity);
-                        if (path != null && path.getSecret() != null) {
-                            secretService.delete(path.getSecret());
-                            LOGGER.debug("Secret deleted at path: {}", path);
-                        } else {
-                            LOGGER.debug("Secret is null for field: {}.{}", field.getDeclaringClass(), field.getName());
-                        }
+                for (SecretField field : SecretFields.of(entity.getClass())) {
+                    Secret path = (Secret) field.get(entity);
+                    if (path != null && path.getSecret() != null) {
+                        secretService.delete(path.getSecret());
+                        LOGGER.debug("Secret deleted at path: {}", path);
+                    } else {
+                        LOGGER.debug("Secret is null for field: {}.{}", field.getDeclaringClass(), field.getName());
                     }
                 }
             } catch (IllegalArgumentException e) {
@@ -161,6 +149,51 @@ public class SecretAspects {
         return arg instanceof Collection ? (Collection<Object>) arg : Collections.singleton(arg);
     }
 
+    private void collectPendingSecrets(Object entity, List<PendingSecret> pendingSecrets) {
+        String tenant = null;
+        for (SecretField field : SecretFields.of(entity.getClass())) {
+            Secret value = (Secret) field.get(entity);
+            if (value != null && value.getRaw() != null && value.getSecret() == null) {
+                tenant = Optional.ofNullable(tenant).orElseGet(() -> findTenant(entity));
+                String path = String.format("%s/%s/%s/%s-%s", tenant,
+                        entity.getClass().getSimpleName().toLowerCase(), field.getName().toLowerCase(),
+                        UUID.randomUUID().toString(), Long.toHexString(clock.getCurrentTimeMillis()));
+                pendingSecrets.add(new PendingSecret(entity, field, value, path));
+            }
+        }
+    }
+
+    /**
+     * Writes the secrets of all entities of the save concurrently and replaces the raw values with proxies once every write succeeded.
+     */
+    private Collection<String> writeSecrets(List<PendingSecret> pendingSecrets) {
+        if (pendingSecrets.isEmpty()) {
+            return List.of();
+        }
+        Map<String, String> valuesByPath = new LinkedHashMap<>();
+        pendingSecrets.forEach(pending -> valuesByPath.put(pending.path, pending.value.getRaw()));
+        Map<String, String> secretsByPath;
+        try {
+            secretsByPath = secretService.putAll(valuesByPath);
+        } catch (Exception e) {
+            LOGGER.warn("Looks like something went wrong with Secret store. Secret is not updated!", e);
+            throw new CloudbreakServiceException(e);
+        }
+        for (PendingSecret pending : pendingSecrets) {
+            pending.field.set(pending.entity, new SecretProxy(secretService, secretsByPath.get(pending.path)));
+            LOGGER.debug("Field: '{}' is saved at path: {}", pending.field.getName(), pending.path);
+        }
+        return secretsByPath.values();
+    }
+
+    private void rollbackSecrets(List<PendingSecret> pendingSecrets, Collection<String> writtenSecrets) {
+        if (!pendingSecrets.isEmpty()) {
+            LOGGER.info("Repository save failed, deleting the {} secrets written for it", writtenSecrets.size());
+            pendingSecrets.forEach(pending -> pending.field.set(pending.entity, pending.value));
+            secretService.deleteQuietly(writtenSecrets);
+        }
+    }
+
     private String findTenant(Object entity) {
         return Optional.ofNullable(entity)
                 .filter(e -> e instanceof TenantAwareResource)
@@ -170,4 +203,22 @@ public class SecretAspects {
                 .orElseThrow(() -> new IllegalArgumentException(
                         entity.getClass().getSimpleName() + " must be a subclass of " + TenantAwareResource.class.getSimpleName()));
     }
+
+    private static class PendingSecret {
+
+        private final Object entity;
+
+        private final SecretField field;
+
+        private final Secret value;
+
+        private final String path;
+
+        PendingSecret(Object entity, SecretField field, Secret value, String path) {
+            this.entity = entity;
+            this.field = field;
+            this.value = value;
+            this.path = path;
+        }
+    }
 }
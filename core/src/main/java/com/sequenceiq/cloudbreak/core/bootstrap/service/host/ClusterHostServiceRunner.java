@@ -15,6 +15,7 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -103,6 +104,8 @@ import com.sequenceiq.cloudbreak.service.environment.EnvironmentConfigProvider;
 import com.sequenceiq.cloudbreak.service.hostgroup.HostGroupService;
 import com.sequenceiq.cloudbreak.service.proxy.ProxyConfigProvider;
 import com.sequenceiq.cloudbreak.service.rdsconfig.RdsConfigService;
+import com.sequenceiq.cloudbreak.service.secret.service.SecretCacheScope;
+import com.sequenceiq.cloudbreak.service.secret.service.SecretService;
 import com.sequenceiq.cloudbreak.service.stack.InstanceGroupService;
 import com.sequenceiq.cloudbreak.service.stack.InstanceMetaDataService;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
@@ -222,6 +225,9 @@ public class ClusterHostServiceRunner {
     @Inject
     private InstanceGroupService instanceGroupService;
 
+    @Inject
+    private SecretService secretService;
+
     public void runClusterServices(@Nonnull Stack stack, @Nonnull Cluster cluster, List<String> candidateAddresses) {
         try {
             Set<Node> nodes = stackUtil.collectReachableNodes(stack);
@@ -305,6 +311,15 @@ public class ClusterHostServiceRunner {
     private SaltConfig createSaltConfig(Stack stack, Cluster cluster, GatewayConfig primaryGatewayConfig, Iterable<GatewayConfig> gatewayConfigs,
             Set<Node> nodes)
             throws IOException, CloudbreakOrchestratorException {
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            secretService.prefetch(Arrays.asList(cluster, cluster.getGateway(), cluster.getIdBroker()));
+            return createSaltConfigWithSecrets(stack, cluster, primaryGatewayConfig, gatewayConfigs, nodes);
+        }
+    }
+
+    private SaltConfig createSaltConfigWithSecrets(Stack stack, Cluster cluster, GatewayConfig primaryGatewayConfig,
+            Iterable<GatewayConfig> gatewayConfigs, Set<Node> nodes)
+            throws IOException, CloudbreakOrchestratorException {
         ClouderaManagerRepo clouderaManagerRepo = clusterComponentConfigProvider.getClouderaManagerRepoDetails(cluster.getId());
         Map<String, SaltPillarProperties> servicePillar = new HashMap<>();
         KerberosConfig kerberosConfig = kerberosConfigService.get(stack.getEnvironmentCrn(), stack.getName()).orElse(null);
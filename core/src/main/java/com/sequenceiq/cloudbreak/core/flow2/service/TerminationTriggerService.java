@@ -9,7 +9,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import com.cedarsoftware.util.io.JsonReader;
 import com.sequenceiq.cloudbreak.core.flow2.chain.FlowChainTriggers;
 import com.sequenceiq.cloudbreak.core.flow2.cluster.termination.ClusterTerminationState;
 import com.sequenceiq.cloudbreak.core.flow2.stack.termination.StackTerminationState;
@@ -18,6 +17,7 @@ import com.sequenceiq.cloudbreak.kerberos.KerberosConfigService;
 import com.sequenceiq.cloudbreak.reactor.api.event.stack.TerminationEvent;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.core.FlowLogService;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.service.FlowCancelService;
 
@@ -38,6 +38,9 @@ public class TerminationTriggerService {
     @Inject
     private FlowLogService flowLogService;
 
+    @Inject
+    private FlowPayloadSerializer flowPayloadSerializer;
+
     @Inject
     private ApplicationFlowInformation applicationFlowInformation;
 
@@ -87,7 +90,7 @@ public class TerminationTriggerService {
     private boolean isRunningFlowForced(FlowLog fl) {
         Class<?> payloadType = fl.getPayloadType();
         if (TerminationEvent.class.equals(payloadType)) {
-            TerminationEvent payload = (TerminationEvent) JsonReader.jsonToJava(fl.getPayload());
+            TerminationEvent payload = (TerminationEvent) flowPayloadSerializer.deserialize(fl.getPayload());
             return Boolean.TRUE.equals(payload.getForced());
         } else {
             LOGGER.warn("Payloadtype [{}] is not 'TerminationEvent' for flow [{}]", fl.getPayloadType(), fl.getFlowId());
@@ -25,6 +25,7 @@ import com.sequenceiq.cloudbreak.common.json.Json;
 import com.sequenceiq.cloudbreak.converter.v4.blueprint.BlueprintV4RequestToBlueprintConverter;
 import com.sequenceiq.cloudbreak.domain.Blueprint;
 import com.sequenceiq.cloudbreak.domain.BlueprintUpgradeOption;
+import com.sequenceiq.cloudbreak.template.CompiledTemplateCache;
 
 @Service
 public class DefaultBlueprintCache {
@@ -42,6 +43,9 @@ public class DefaultBlueprintCache {
     @Inject
     private BlueprintV4RequestToBlueprintConverter converter;
 
+    @Inject
+    private CompiledTemplateCache compiledTemplateCache;
+
     @PostConstruct
     public void loadBlueprintsFromFile() {
         Map<String, Set<String>> blueprints = blueprints();
@@ -65,6 +69,7 @@ public class DefaultBlueprintCache {
                         JsonNode blueprintUpgradeOption = jsonNode.get("blueprintUpgradeOption");
                         bp.setBlueprintUpgradeOption(getBlueprintUpgradeOption(blueprintUpgradeOption));
                         defaultBlueprints.put(bp.getName(), bp);
+                        compiledTemplateCache.precompile(bp.getBlueprintText());
                     }
                 }
             } catch (IOException e) {
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Component;
 import com.sequenceiq.cloudbreak.domain.projection.StackTtlView;
 import com.sequenceiq.cloudbreak.domain.stack.Stack;
 import com.sequenceiq.cloudbreak.quartz.model.JobInitializer;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.StatusCheckerConfig;
 import com.sequenceiq.cloudbreak.quartz.statuschecker.service.StatusCheckerJobService;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
 
@@ -19,8 +20,15 @@ public class StackJobInitializer implements JobInitializer {
     @Inject
     private StackService stackService;
 
+    @Inject
+    private StatusCheckerConfig statusCheckerConfig;
+
     @Override
     public void initJobs() {
+        if (statusCheckerConfig.isBatchEnabled()) {
+            jobService.scheduleBatch(StackStatusBatchCheckerJob.class);
+            return;
+        }
         stackService.getAllAlive().stream()
                 .map(this::convertToStack)
                 .filter(s -> !s.isStackInDeletionOrFailedPhase())
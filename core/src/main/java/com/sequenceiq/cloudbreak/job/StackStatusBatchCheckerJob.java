@@ -0,0 +1,200 @@
+package com.sequenceiq.cloudbreak.job;
+
+import static com.sequenceiq.cloudbreak.util.Benchmark.measure;
+import static java.util.stream.Collectors.toList;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.inject.Inject;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.domain.projection.StackStatusCheckView;
+import com.sequenceiq.cloudbreak.domain.stack.Stack;
+import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceMetaData;
+import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.job.BatchedStatusCheckerJob;
+import com.sequenceiq.cloudbreak.service.stack.InstanceMetaDataService;
+import com.sequenceiq.cloudbreak.service.stack.StackInstanceStatusChecker;
+import com.sequenceiq.cloudbreak.service.stack.StackService;
+import com.sequenceiq.flow.core.FlowLogService;
+
+import io.opentracing.Tracer;
+
+/**
+ * Checks all stacks in one run when batched status check is enabled. The stacks are grouped by the few fields of them the grouping needs, and
+ * the instances of the stacks sharing a credential, region and platform are queried from the provider at once. Every stack is then checked by
+ * {@link StackStatusCheckerJob} with its part of the result. The credentials and the batches are fetched and synced concurrently.
+ */
+@DisallowConcurrentExecution
+@Component
+public class StackStatusBatchCheckerJob
+        extends BatchedStatusCheckerJob<StackStatusBatchCheckerJob.StackToCheck, StackStatusBatchCheckerJob.InstanceStatusGroup> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackStatusBatchCheckerJob.class);
+
+    @Inject
+    private StackService stackService;
+
+    @Inject
+    private FlowLogService flowLogService;
+
+    @Inject
+    private InstanceMetaDataService instanceMetaDataService;
+
+    @Inject
+    private StackInstanceStatusChecker stackInstanceStatusChecker;
+
+    @Inject
+    private StackStatusCheckerJob stackStatusCheckerJob;
+
+    public StackStatusBatchCheckerJob(Tracer tracer) {
+        super(tracer, "Stack Status Batch Checker Job");
+    }
+
+    @Override
+    protected List<StackToCheck> findDueResources() {
+        List<StackStatusCheckView> stacks = stackService.getAllAliveForStatusCheck().stream()
+                .filter(this::hasSyncableStatus)
+                .collect(toList());
+        Map<String, CloudCredential> credentialsByEnvironment = new ConcurrentHashMap<>();
+        runConcurrently(stacks.stream()
+                .map(StackStatusCheckView::getEnvironmentCrn)
+                .distinct()
+                .map(environmentCrn -> (Runnable) () -> fetchCloudCredential(environmentCrn, credentialsByEnvironment))
+                .collect(toList()));
+        return stacks.stream()
+                .filter(stack -> stack.getEnvironmentCrn() != null && credentialsByEnvironment.containsKey(stack.getEnvironmentCrn()))
+                .map(stack -> new StackToCheck(stack, credentialsByEnvironment.get(stack.getEnvironmentCrn())))
+                .collect(toList());
+    }
+
+    @Override
+    protected InstanceStatusGroup getGroupKey(StackToCheck stackToCheck) {
+        StackStatusCheckView stack = stackToCheck.getStack();
+        return new InstanceStatusGroup(stack.getCloudPlatform(), stack.getPlatformVariant(), stack.getRegion(), stackToCheck.getCloudCredential().getId());
+    }
+
+    @Override
+    protected void syncBatch(InstanceStatusGroup groupKey, List<StackToCheck> batch) {
+        Map<Stack, Set<InstanceMetaData>> instanceMetaDataByStack = loadStacksWithoutRunningFlow(batch);
+        if (instanceMetaDataByStack.isEmpty()) {
+            return;
+        }
+        Map<Long, List<CloudVmInstanceStatus>> instanceStatuses = stackInstanceStatusChecker.queryInstanceStatuses(
+                batch.get(0).getCloudCredential(), instanceMetaDataByStack);
+        LOGGER.debug("Instance statuses of {} stacks of {} were queried at once: {}", instanceMetaDataByStack.size(), groupKey,
+                !instanceStatuses.isEmpty());
+        for (Stack stack : instanceMetaDataByStack.keySet()) {
+            MDCBuilder.buildMdcContext(stack);
+            try {
+                measure(() -> stackStatusCheckerJob.checkStack(stack, Optional.ofNullable(instanceStatuses.get(stack.getId()))),
+                        LOGGER, "Check status took {} ms for stack {}.", stack.getId());
+            } catch (RuntimeException e) {
+                LOGGER.info("Exception during cluster state check.", e);
+            }
+        }
+    }
+
+    private Map<Stack, Set<InstanceMetaData>> loadStacksWithoutRunningFlow(List<StackToCheck> batch) {
+        Map<Stack, Set<InstanceMetaData>> instanceMetaDataByStack = new LinkedHashMap<>();
+        for (StackToCheck stackToCheck : batch) {
+            Long stackId = stackToCheck.getStack().getId();
+            try {
+                if (!flowLogService.isOtherFlowRunning(stackId)) {
+                    instanceMetaDataByStack.put(stackService.get(stackId), instanceMetaDataService.findNotTerminatedForStack(stackId));
+                }
+            } catch (RuntimeException e) {
+                LOGGER.info("Stack {} is left out of the status check", stackId, e);
+            }
+        }
+        return instanceMetaDataByStack;
+    }
+
+    private void fetchCloudCredential(String environmentCrn, Map<String, CloudCredential> credentialsByEnvironment) {
+        if (environmentCrn != null) {
+            try {
+                credentialsByEnvironment.put(environmentCrn, stackInstanceStatusChecker.getCloudCredential(environmentCrn));
+            } catch (RuntimeException e) {
+                LOGGER.info("The stacks of environment {} are left out of the status check", environmentCrn, e);
+            }
+        }
+    }
+
+    private boolean hasSyncableStatus(StackStatusCheckView stack) {
+        return stack.getStatus() != null && stackStatusCheckerJob.syncableStates().contains(stack.getStatus().getStatus());
+    }
+
+    static class StackToCheck {
+
+        private final StackStatusCheckView stack;
+
+        private final CloudCredential cloudCredential;
+
+        StackToCheck(StackStatusCheckView stack, CloudCredential cloudCredential) {
+            this.stack = stack;
+            this.cloudCredential = cloudCredential;
+        }
+
+        StackStatusCheckView getStack() {
+            return stack;
+        }
+
+        CloudCredential getCloudCredential() {
+            return cloudCredential;
+        }
+    }
+
+    static class InstanceStatusGroup {
+
+        private final String platform;
+
+        private final String variant;
+
+        private final String region;
+
+        private final String credentialId;
+
+        InstanceStatusGroup(String platform, String variant, String region, String credentialId) {
+            this.platform = platform;
+            this.variant = variant;
+            this.region = region;
+            this.credentialId = credentialId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            InstanceStatusGroup that = (InstanceStatusGroup) o;
+            return Objects.equals(platform, that.platform) && Objects.equals(variant, that.variant) && Objects.equals(region, that.region)
+                    && Objects.equals(credentialId, that.credentialId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(platform, variant, region, credentialId);
+        }
+
+        @Override
+        public String toString() {
+            return "InstanceStatusGroup{platform='" + platform + "', variant='" + variant + "', region='" + region + "', credentialId='"
+                    + credentialId + "'}";
+        }
+    }
+}
@@ -5,6 +5,7 @@ import static com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.base.InstanceStat
 import static com.sequenceiq.cloudbreak.api.endpoint.v4.stacks.base.InstanceStatus.STOPPED;
 import static com.sequenceiq.cloudbreak.cloud.model.HostName.hostName;
 import static com.sequenceiq.cloudbreak.util.Benchmark.measure;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import java.util.Collection;
@@ -12,6 +13,8 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 
 import javax.inject.Inject;
@@ -105,24 +108,29 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
             return;
         }
         try {
-            measure(() -> {
-                Stack stack = stackService.get(getStackId());
-                if (unshedulableStates().contains(stack.getStatus())) {
-                    LOGGER.debug("Stack sync will be unscheduled, stack state is {}", stack.getStatus());
-                    jobService.unschedule(getLocalId());
-                } else if (null == stack.getStatus() || ignoredStates().contains(stack.getStatus())) {
-                    LOGGER.debug("Stack sync is skipped, stack state is {}", stack.getStatus());
-                } else if (syncableStates().contains(stack.getStatus())) {
-                    ThreadBasedUserCrnProvider.doAs(DATAHUB_INTERNAL_ACTOR_CRN, () -> doSync(stack));
-                } else {
-                    LOGGER.warn("Unhandled stack status, {}", stack.getStatus());
-                }
-            }, LOGGER, "Check status took {} ms for stack {}.", getStackId());
+            measure(() -> checkStack(stackService.get(getStackId()), Optional.empty()), LOGGER, "Check status took {} ms for stack {}.", getStackId());
         } catch (Exception e) {
             LOGGER.info("Exception during cluster state check.", e);
         }
     }
 
+    /**
+     * Checks the stack and updates its status. The instance statuses of the provider are queried for the stack, unless they were already
+     * fetched with the other stacks of a batch.
+     */
+    public void checkStack(Stack stack, Optional<List<CloudVmInstanceStatus>> prefetchedInstanceStatuses) {
+        if (unshedulableStates().contains(stack.getStatus())) {
+            LOGGER.debug("Stack sync will be unscheduled, stack state is {}", stack.getStatus());
+            jobService.unschedule(String.valueOf(stack.getId()));
+        } else if (null == stack.getStatus() || ignoredStates().contains(stack.getStatus())) {
+            LOGGER.debug("Stack sync is skipped, stack state is {}", stack.getStatus());
+        } else if (syncableStates().contains(stack.getStatus())) {
+            ThreadBasedUserCrnProvider.doAs(DATAHUB_INTERNAL_ACTOR_CRN, () -> doSync(stack, prefetchedInstanceStatuses));
+        } else {
+            LOGGER.warn("Unhandled stack status, {}", stack.getStatus());
+        }
+    }
+
     @VisibleForTesting
     Set<Status> unshedulableStates() {
         return EnumSet.of(
@@ -158,7 +166,6 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
         );
     }
 
-    @VisibleForTesting
     Set<Status> syncableStates() {
         return EnumSet.of(
                 Status.AVAILABLE,
@@ -181,7 +188,7 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
         );
     }
 
-    private void doSync(Stack stack) {
+    private void doSync(Stack stack, Optional<List<CloudVmInstanceStatus>> prefetchedInstanceStatuses) {
         ClusterApi connector = clusterApiConnectors.getConnector(stack);
         Set<InstanceMetaData> runningInstances = instanceMetaDataService.findNotTerminatedForStack(stack.getId());
         try {
@@ -191,24 +198,24 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
                 LOGGER.debug("Cluster '{}' state check, host certicates expiring: [{}], cm running, hoststates: {}",
                         stack.getId(), extendedHostStatuses.isHostCertExpiring(), hostStatuses);
                 reportHealthAndSyncInstances(stack, runningInstances, getFailedInstancesInstanceMetadata(hostStatuses, runningInstances),
-                        getNewHealthyHostNames(hostStatuses, runningInstances), extendedHostStatuses.isHostCertExpiring());
+                        getNewHealthyHostNames(hostStatuses, runningInstances), extendedHostStatuses.isHostCertExpiring(), prefetchedInstanceStatuses);
             } else {
-                syncInstances(stack, runningInstances, false);
+                syncInstances(stack, runningInstances, false, prefetchedInstanceStatuses);
             }
         } catch (RuntimeException e) {
             LOGGER.warn("Error during sync", e);
-            syncInstances(stack, runningInstances, false);
+            syncInstances(stack, runningInstances, false, prefetchedInstanceStatuses);
         }
     }
 
     private void reportHealthAndSyncInstances(Stack stack, Collection<InstanceMetaData> runningInstances, Collection<InstanceMetaData> failedInstances,
-            Set<String> newHealtyHostNames, boolean hostCertExpiring) {
+            Set<String> newHealtyHostNames, boolean hostCertExpiring, Optional<List<CloudVmInstanceStatus>> prefetchedInstanceStatuses) {
         Set<String> newFailedNodeNames = failedInstances.stream()
                 .filter(i -> !Set.of(SERVICES_UNHEALTHY, STOPPED).contains(i.getInstanceStatus()))
                 .map(InstanceMetaData::getDiscoveryFQDN)
                 .collect(toSet());
-        ifFlowNotRunning(() -> updateStates(stack, failedInstances, newFailedNodeNames, newHealtyHostNames, hostCertExpiring));
-        syncInstances(stack, runningInstances, failedInstances, InstanceSyncState.RUNNING, true);
+        ifFlowNotRunning(stack, () -> updateStates(stack, failedInstances, newFailedNodeNames, newHealtyHostNames, hostCertExpiring));
+        syncInstances(stack, runningInstances, failedInstances, InstanceSyncState.RUNNING, true, prefetchedInstanceStatuses);
     }
 
     private void updateStates(Stack stack, Collection<InstanceMetaData> failedInstances, Set<String> newFailedNodeNames, Set<String> newHealtyHostNames,
@@ -224,8 +231,8 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
         }
     }
 
-    private void ifFlowNotRunning(Runnable function) {
-        if (flowLogService.isOtherFlowRunning(getStackId())) {
+    private void ifFlowNotRunning(Stack stack, Runnable function) {
+        if (flowLogService.isOtherFlowRunning(stack.getId())) {
             return;
         }
         function.run();
@@ -247,16 +254,30 @@ public class StackStatusCheckerJob extends StatusCheckerJob {
                 && !queryClusterStatus(connector).getClusterStatus().equals(ClusterStatus.CLUSTERMANAGER_NOT_RUNNING);
     }
 
-    private void syncInstances(Stack stack, Collection<InstanceMetaData> instanceMetaData, boolean cmServerRunning) {
-        syncInstances(stack, instanceMetaData, instanceMetaData, InstanceSyncState.DELETED_ON_PROVIDER_SIDE, cmServerRunning);
+    private void syncInstances(Stack stack, Collection<InstanceMetaData> instanceMetaData, boolean cmServerRunning,
+            Optional<List<CloudVmInstanceStatus>> prefetchedInstanceStatuses) {
+        syncInstances(stack, instanceMetaData, instanceMetaData, InstanceSyncState.DELETED_ON_PROVIDER_SIDE, cmServerRunning, prefetchedInstanceStatuses);
     }
 
-    private void syncInstances(Stack stack, Collection<InstanceMetaData> runningInstances,
-            Collection<InstanceMetaData> instanceMetaData, InstanceSyncState defaultState, boolean cmServerRunning) {
-        List<CloudVmInstanceStatus> instanceStatuses = stackInstanceStatusChecker.queryInstanceStatuses(stack, instanceMetaData);
+    private void syncInstances(Stack stack, Collection<InstanceMetaData> runningInstances, Collection<InstanceMetaData> instanceMetaData,
+            InstanceSyncState defaultState, boolean cmServerRunning, Optional<List<CloudVmInstanceStatus>> prefetchedInstanceStatuses) {
+        List<CloudVmInstanceStatus> instanceStatuses = prefetchedInstanceStatuses
+                .map(statuses -> filterPrefetchedInstanceStatuses(statuses, instanceMetaData))
+                .orElseGet(() -> stackInstanceStatusChecker.queryInstanceStatuses(stack, instanceMetaData));
         LOGGER.debug("Cluster '{}' state check on provider, instances: {}", stack.getId(), instanceStatuses);
         SyncConfig syncConfig = new SyncConfig(true, cmServerRunning);
-        ifFlowNotRunning(() -> syncService.autoSync(stack, runningInstances, instanceStatuses, defaultState, syncConfig));
+        ifFlowNotRunning(stack, () -> syncService.autoSync(stack, runningInstances, instanceStatuses, defaultState, syncConfig));
+    }
+
+    private List<CloudVmInstanceStatus> filterPrefetchedInstanceStatuses(List<CloudVmInstanceStatus> prefetchedInstanceStatuses,
+            Collection<InstanceMetaData> instanceMetaData) {
+        Set<String> instanceIds = instanceMetaData.stream()
+                .map(InstanceMetaData::getInstanceId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        return prefetchedInstanceStatuses.stream()
+                .filter(status -> instanceIds.contains(status.getCloudInstance().getInstanceId()))
+                .collect(toList());
     }
 
     private ClusterStatusResult queryClusterStatus(ClusterApi connector) {
@@ -7,42 +7,71 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.Response.Status.Family;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 import org.springframework.util.CollectionUtils;
 
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sequenceiq.cloudbreak.client.RestClientUtil;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.Image;
 import com.sequenceiq.cloudbreak.cloud.model.catalog.Images;
 import com.sequenceiq.cloudbreak.core.CloudbreakImageCatalogException;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
 import com.sequenceiq.cloudbreak.service.image.catalog.ImageCatalogServiceProxy;
 import com.sequenceiq.cloudbreak.util.FileReaderUtils;
 
+/**
+ * Keeps the downloaded image catalogs by URL. A catalog is downloaded once even if several flows ask for it at the same time, and after the
+ * refresh interval it is served while it is revalidated in the background with a conditional request, so an unchanged catalog is not
+ * downloaded and parsed again. If the revalidation keeps failing, the catalog expires and the next caller downloads it again. The revalidations
+ * run on a few dedicated threads, so the blocking downloads do not occupy the common fork-join pool.
+ */
 @Component
 public class CachedImageCatalogProvider {
     private static final Logger LOGGER = LoggerFactory.getLogger(CachedImageCatalogProvider.class);
 
+    private static final long MAX_ENTRIES = 1000L;
+
+    private static final int EXPIRY_REFRESH_INTERVALS = 4;
+
     @Value("${cb.etc.config.dir:}")
     private String etcConfigDir;
 
+    @Value("${cb.image.catalog.cache.ttl:15}")
+    private long refreshMinutes;
+
+    @Value("${cb.image.catalog.cache.refresh.threads:2}")
+    private int refreshThreads;
+
     @Value("#{'${cb.enabled.linux.types}'.split(',')}")
     private List<String> enabledLinuxTypes;
 
@@ -52,31 +81,88 @@ public class CachedImageCatalogProvider {
     @Inject
     private ImageCatalogServiceProxy imageCatalogServiceProxy;
 
-    @Cacheable(cacheNames = "imageCatalogCache", key = "#catalogUrl")
+    private LoadingCache<String, ImageCatalogSnapshot> catalogs;
+
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, refreshThreads);
+        refreshExecutor = new MDCCleanerThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>((int) MAX_ENTRIES),
+                new ThreadFactoryBuilder().setNameFormat("image-catalog-refresh-%d").setDaemon(true).build(), new ThreadPoolExecutor.AbortPolicy());
+        long refreshSeconds = refreshMinutes == 0L ? 1L : TimeUnit.MINUTES.toSeconds(refreshMinutes);
+        catalogs = Caffeine.newBuilder()
+                .executor(refreshExecutor)
+                .maximumSize(MAX_ENTRIES)
+                .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                .expireAfterWrite(refreshSeconds * EXPIRY_REFRESH_INTERVALS, TimeUnit.SECONDS)
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ImageCatalogSnapshot load(String catalogUrl) throws CloudbreakImageCatalogException {
+                        return loadImageCatalog(catalogUrl, null);
+                    }
+
+                    @Override
+                    public ImageCatalogSnapshot reload(String catalogUrl, ImageCatalogSnapshot previous) throws CloudbreakImageCatalogException {
+                        return loadImageCatalog(catalogUrl, previous);
+                    }
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
     public CloudbreakImageCatalogV3 getImageCatalogV3(String catalogUrl) throws CloudbreakImageCatalogException {
-        CloudbreakImageCatalogV3 catalog;
+        ImageCatalogSnapshot snapshot = getImageCatalogSnapshot(catalogUrl);
+        return snapshot == null ? null : snapshot.getCatalog();
+    }
+
+    public ImageCatalogSnapshot getImageCatalogSnapshot(String catalogUrl) throws CloudbreakImageCatalogException {
         if (catalogUrl == null) {
             LOGGER.info("No image catalog was defined!");
             return null;
         }
+        try {
+            return catalogs.get(catalogUrl);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CloudbreakImageCatalogException) {
+                throw (CloudbreakImageCatalogException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
+    private ImageCatalogSnapshot loadImageCatalog(String catalogUrl, ImageCatalogSnapshot previous) throws CloudbreakImageCatalogException {
         try {
             long started = System.currentTimeMillis();
             String content;
+            String etag = null;
+            String lastModified = null;
             if (catalogUrl.startsWith("http")) {
                 Client client = RestClientUtil.get();
                 WebTarget target = client.target(catalogUrl);
-                Response response = target.request().get();
+                Response response = conditionalRequest(target, previous).get();
+                if (previous != null && response.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+                    LOGGER.debug("ImageCatalog at '{}' has not changed since the last download.", catalogUrl);
+                    response.close();
+                    return previous;
+                }
                 content = readResponse(target, response);
+                etag = response.getHeaderString(HttpHeaders.ETAG);
+                lastModified = response.getHeaderString(HttpHeaders.LAST_MODIFIED);
             } else {
                 content = readCatalogFromFile(catalogUrl);
             }
-            catalog = objectMapper.readValue(content, CloudbreakImageCatalogV3.class);
+            CloudbreakImageCatalogV3 catalog = objectMapper.readValue(content, CloudbreakImageCatalogV3.class);
             imageCatalogServiceProxy.validate(catalog);
             cleanAndValidateMaps(catalog);
             catalog = filterImagesByOsType(catalog);
+            ImageCatalogSnapshot snapshot = new ImageCatalogSnapshot(catalog, etag, lastModified);
             long timeOfParse = System.currentTimeMillis() - started;
             LOGGER.debug("ImageCatalog has been get and parsed from '{}' and took '{}' ms.", catalogUrl, timeOfParse);
+            return snapshot;
         } catch (RuntimeException e) {
             throw new CloudbreakImageCatalogException(String.format("Failed to get image catalog: %s from %s", e.getMessage(), catalogUrl), e);
         } catch (JsonMappingException e) {
@@ -84,7 +170,17 @@ public class CachedImageCatalogProvider {
         } catch (IOException e) {
             throw new CloudbreakImageCatalogException(String.format("Failed to read image catalog from file: '%s'", catalogUrl), e);
         }
-        return catalog;
+    }
+
+    private Invocation.Builder conditionalRequest(WebTarget target, ImageCatalogSnapshot previous) {
+        Invocation.Builder request = target.request();
+        if (previous != null && previous.getEtag() != null) {
+            request = request.header(HttpHeaders.IF_NONE_MATCH, previous.getEtag());
+        }
+        if (previous != null && previous.getLastModified() != null) {
+            request = request.header(HttpHeaders.IF_MODIFIED_SINCE, previous.getLastModified());
+        }
+        return request;
     }
 
     private CloudbreakImageCatalogV3 filterImagesByOsType(CloudbreakImageCatalogV3 catalog) {
@@ -139,8 +235,10 @@ public class CachedImageCatalogProvider {
         }
     }
 
-    @CacheEvict(value = "imageCatalogCache", key = "#catalogUrl")
     public void evictImageCatalogCache(String catalogUrl) {
+        if (catalogUrl != null) {
+            catalogs.invalidate(catalogUrl);
+        }
     }
 
     private String readCatalogFromFile(String catalogUrl) throws IOException {
@@ -23,4 +23,11 @@ public class ImageCatalogProvider {
         }
         return cachedImageCatalogProvider.getImageCatalogV3(catalogUrl);
     }
+
+    public ImageCatalogSnapshot getImageCatalogSnapshot(String catalogUrl, boolean forceRefresh) throws CloudbreakImageCatalogException {
+        if (forceRefresh) {
+            cachedImageCatalogProvider.evictImageCatalogCache(catalogUrl);
+        }
+        return cachedImageCatalogProvider.getImageCatalogSnapshot(catalogUrl);
+    }
 }
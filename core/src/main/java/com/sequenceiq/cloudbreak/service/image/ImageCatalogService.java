@@ -273,11 +273,9 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
 
     public StatedImage getImage(String catalogUrl, String catalogName, String imageId) throws CloudbreakImageNotFoundException,
             CloudbreakImageCatalogException {
-        Images images = imageCatalogProvider.getImageCatalogV3(catalogUrl).getImages();
-        Optional<? extends Image> image = getImage(imageId, images);
+        Optional<Image> image = imageCatalogProvider.getImageCatalogSnapshot(catalogUrl, false).getImage(imageId);
         if (image.isEmpty()) {
-            images = imageCatalogProvider.getImageCatalogV3(catalogUrl, true).getImages();
-            image = getImage(imageId, images);
+            image = imageCatalogProvider.getImageCatalogSnapshot(catalogUrl, true).getImage(imageId);
         }
         if (image.isEmpty()) {
             throw new CloudbreakImageNotFoundException(String.format("Could not find any image with id: '%s' in catalog:. '%s'", imageId, catalogName));
@@ -405,14 +403,6 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
         return new Images(emptyList(), emptyList(), emptySet());
     }
 
-    private Optional<? extends Image> getImage(String imageId, Images images) {
-        Optional<? extends Image> image = findFirstWithImageId(imageId, images.getBaseImages());
-        if (image.isEmpty()) {
-            image = findFirstWithImageId(imageId, images.getCdhImages());
-        }
-        return image;
-    }
-
     public StatedImages getImages(ImageFilter imageFilter) throws CloudbreakImageCatalogException {
         LOGGER.info("Determine images for imageCatalogUrl: '{}', platforms: '{}' and Cloudbreak version: '{}'.",
                 imageFilter.getImageCatalog().getImageCatalogUrl(), imageFilter.getPlatforms(), imageFilter.getCbVersion());
@@ -466,12 +456,6 @@ public class ImageCatalogService extends AbstractWorkspaceAwareResourceService<I
         return baseImageEnabled;
     }
 
-    private Optional<? extends Image> findFirstWithImageId(String imageId, Collection<? extends Image> images) {
-        return images.stream()
-                .filter(img -> img.getUuid().equals(imageId))
-                .findFirst();
-    }
-
     private List<Image> filterImagesByPlatforms(Collection<String> platforms, Collection<Image> images, Collection<String> vMImageUUIDs) {
         return images.stream()
                 .filter(isPlatformMatching(platforms, vMImageUUIDs))
@@ -0,0 +1,69 @@
+package com.sequenceiq.cloudbreak.service.image;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.sequenceiq.cloudbreak.cloud.model.catalog.CloudbreakImageCatalogV3;
+import com.sequenceiq.cloudbreak.cloud.model.catalog.Image;
+
+/**
+ * A downloaded image catalog with the validators of the response it came from and an index of its images by id, so looking up an image of
+ * the catalog does not walk the image lists.
+ */
+public class ImageCatalogSnapshot {
+
+    private final CloudbreakImageCatalogV3 catalog;
+
+    private final String etag;
+
+    private final String lastModified;
+
+    private final Map<String, Image> imagesById;
+
+    public ImageCatalogSnapshot(CloudbreakImageCatalogV3 catalog, String etag, String lastModified) {
+        this.catalog = catalog;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        imagesById = indexById(catalog);
+    }
+
+    public CloudbreakImageCatalogV3 getCatalog() {
+        return catalog;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Looks up an image by its id, the base images take precedence over the prewarmed images with the same id.
+     *
+     * @param imageId the id of the image
+     * @return the image with the id
+     */
+    public Optional<Image> getImage(String imageId) {
+        return Optional.ofNullable(imagesById.get(imageId));
+    }
+
+    private static Map<String, Image> indexById(CloudbreakImageCatalogV3 catalog) {
+        Map<String, Image> result = new HashMap<>();
+        if (catalog.getImages() != null) {
+            addAll(result, catalog.getImages().getBaseImages());
+            addAll(result, catalog.getImages().getCdhImages());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void addAll(Map<String, Image> result, List<Image> images) {
+        if (images != null) {
+            images.forEach(image -> result.putIfAbsent(image.getUuid(), image));
+        }
+    }
+}
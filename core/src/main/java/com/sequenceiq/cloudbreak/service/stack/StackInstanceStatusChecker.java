@@ -5,12 +5,20 @@ import static com.sequenceiq.cloudbreak.cloud.model.Location.location;
 import static com.sequenceiq.cloudbreak.cloud.model.Region.region;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
@@ -30,6 +38,8 @@ import com.sequenceiq.environment.client.EnvironmentInternalCrnClient;
 @Service
 public class StackInstanceStatusChecker {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(StackInstanceStatusChecker.class);
+
     @Inject
     private InstanceMetaDataToCloudInstanceConverter cloudInstanceConverter;
 
@@ -45,30 +55,101 @@ public class StackInstanceStatusChecker {
     @Inject
     private CredentialToCloudCredentialConverter cloudCredentialConverter;
 
+    @Value("${statuschecker.batch.query.platforms:AWS}")
+    private Set<String> batchQueryPlatforms;
+
     public List<CloudVmInstanceStatus> queryInstanceStatuses(Stack stack, Collection<InstanceMetaData> instanceMetaData) {
         List<CloudVmInstanceStatus> result = Collections.emptyList();
         if (!instanceMetaData.isEmpty()) {
-            List<CloudInstance> cloudInstances = cloudInstanceConverter.convert(instanceMetaData);
-            cloudInstances.forEach(instance -> stack.getParameters().forEach(instance::putParameter));
-            Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
-            CloudContext cloudContext = CloudContext.Builder.builder()
-                    .withId(stack.getId())
-                    .withName(stack.getName())
-                    .withCrn(stack.getResourceCrn())
-                    .withPlatform(stack.getCloudPlatform())
-                    .withVariant(stack.getPlatformVariant())
-                    .withUserId(stack.getCreator().getUserId())
-                    .withLocation(location)
-                    .withWorkspaceId(stack.getWorkspace().getId())
-                    .withAccountUUID(stack.getTenant().getName())
-                    .withAccountId(stack.getTenant().getId())
-                    .build();
+            List<CloudInstance> cloudInstances = convertToCloudInstances(stack, instanceMetaData);
             CloudCredential cloudCredential = getCloudCredential(stack.getEnvironmentCrn());
-            result = getCloudVmInstanceStatuses(cloudInstances, cloudContext, cloudCredential);
+            result = getCloudVmInstanceStatuses(cloudInstances, createCloudContext(stack), cloudCredential);
+        }
+        return result;
+    }
+
+    /**
+     * Queries the instances of stacks sharing the credential, region and platform with one provider call. The call runs with the cloud context
+     * of one of the stacks, so it is only made for the platforms whose instance check does not depend on anything stack specific in the context,
+     * like the resource group on Azure.
+     *
+     * @return the statuses by stack id, empty if the platform can not be queried at once or the provider call failed, so the stacks can be
+     * queried one by one
+     */
+    public Map<Long, List<CloudVmInstanceStatus>> queryInstanceStatuses(CloudCredential cloudCredential,
+            Map<Stack, ? extends Collection<InstanceMetaData>> instanceMetaDataByStack) {
+        if (!canBeQueriedAtOnce(instanceMetaDataByStack.keySet())) {
+            LOGGER.debug("The instances of {} stacks can not be queried at once", instanceMetaDataByStack.size());
+            return Collections.emptyMap();
+        }
+        Map<Long, List<CloudVmInstanceStatus>> result = new HashMap<>();
+        Map<String, Long> stackIdByInstanceId = new HashMap<>();
+        List<CloudInstance> cloudInstances = new ArrayList<>();
+        instanceMetaDataByStack.forEach((stack, instanceMetaData) -> {
+            result.put(stack.getId(), new ArrayList<>());
+            for (CloudInstance cloudInstance : convertToCloudInstances(stack, instanceMetaData)) {
+                cloudInstances.add(cloudInstance);
+                stackIdByInstanceId.put(cloudInstance.getInstanceId(), stack.getId());
+            }
+        });
+        if (!cloudInstances.isEmpty()) {
+            Stack anyStack = instanceMetaDataByStack.keySet().iterator().next();
+            List<CloudVmInstanceStatus> instanceStatuses;
+            try {
+                instanceStatuses = instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(cloudCredential, createCloudContext(anyStack), cloudInstances);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Failed to query the instances of {} stacks at once", instanceMetaDataByStack.size(), e);
+                return Collections.emptyMap();
+            }
+            for (CloudVmInstanceStatus instanceStatus : instanceStatuses) {
+                Long stackId = stackIdByInstanceId.get(instanceStatus.getCloudInstance().getInstanceId());
+                if (stackId != null) {
+                    result.get(stackId).add(instanceStatus);
+                }
+            }
         }
         return result;
     }
 
+    public CloudCredential getCloudCredential(String environmentCrn) {
+        return cloudCredentialConverter.convert(
+                credentialConverter.convert(
+                        environmentInternalCrnClient.withInternalCrn().credentialV1Endpoint().getByEnvironmentCrn(environmentCrn)
+                )
+        );
+    }
+
+    private boolean canBeQueriedAtOnce(Set<Stack> stacks) {
+        if (stacks.isEmpty()) {
+            return false;
+        }
+        Stack anyStack = stacks.iterator().next();
+        return batchQueryPlatforms.contains(anyStack.getCloudPlatform()) && stacks.stream()
+                .allMatch(stack -> anyStack.getCloudPlatform().equals(stack.getCloudPlatform()) && Objects.equals(anyStack.getRegion(), stack.getRegion()));
+    }
+
+    private List<CloudInstance> convertToCloudInstances(Stack stack, Collection<InstanceMetaData> instanceMetaData) {
+        List<CloudInstance> cloudInstances = cloudInstanceConverter.convert(instanceMetaData);
+        cloudInstances.forEach(instance -> stack.getParameters().forEach(instance::putParameter));
+        return cloudInstances;
+    }
+
+    private CloudContext createCloudContext(Stack stack) {
+        Location location = location(region(stack.getRegion()), availabilityZone(stack.getAvailabilityZone()));
+        return CloudContext.Builder.builder()
+                .withId(stack.getId())
+                .withName(stack.getName())
+                .withCrn(stack.getResourceCrn())
+                .withPlatform(stack.getCloudPlatform())
+                .withVariant(stack.getPlatformVariant())
+                .withUserId(stack.getCreator().getUserId())
+                .withLocation(location)
+                .withWorkspaceId(stack.getWorkspace().getId())
+                .withAccountUUID(stack.getTenant().getName())
+                .withAccountId(stack.getTenant().getId())
+                .build();
+    }
+
     private List<CloudVmInstanceStatus> getCloudVmInstanceStatuses(List<CloudInstance> cloudInstances,
             CloudContext cloudContext, CloudCredential cloudCredential) {
         List<CloudVmInstanceStatus> instanceStatuses;
@@ -81,12 +162,4 @@ public class StackInstanceStatusChecker {
         }
         return instanceStatuses;
     }
-
-    private CloudCredential getCloudCredential(String environmentCrn) {
-        return cloudCredentialConverter.convert(
-                credentialConverter.convert(
-                        environmentInternalCrnClient.withInternalCrn().credentialV1Endpoint().getByEnvironmentCrn(environmentCrn)
-                )
-        );
-    }
 }
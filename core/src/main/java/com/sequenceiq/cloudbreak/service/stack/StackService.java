@@ -71,6 +71,7 @@ import com.sequenceiq.cloudbreak.domain.projection.StackClusterStatusView;
 import com.sequenceiq.cloudbreak.domain.projection.StackCrnView;
 import com.sequenceiq.cloudbreak.domain.projection.StackIdView;
 import com.sequenceiq.cloudbreak.domain.projection.StackListItem;
+import com.sequenceiq.cloudbreak.domain.projection.StackStatusCheckView;
 import com.sequenceiq.cloudbreak.domain.projection.StackStatusView;
 import com.sequenceiq.cloudbreak.domain.projection.StackTtlView;
 import com.sequenceiq.cloudbreak.domain.stack.Component;
@@ -660,6 +661,10 @@ public class StackService implements ResourceIdProvider, ResourceNameProvider {
         return stackRepository.findAllAlive();
     }
 
+    public List<StackStatusCheckView> getAllAliveForStatusCheck() {
+        return stackRepository.findAllAliveForStatusCheck();
+    }
+
     public Set<Stack> getAllAliveWithInstanceGroups() {
         return stackRepository.findAllAliveWithInstanceGroups();
     }
@@ -2,7 +2,9 @@ package com.sequenceiq.cloudbreak.aspect;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -115,7 +117,7 @@ public class SecretAspectsTest {
 
         underTest.proceedOnRepositorySave(proceedingJoinPoint);
 
-        verify(secretService, times(1)).put(anyString(), eq("raw"));
+        verify(secretService, times(1)).putAll(argThat(values -> values.size() == 1 && values.containsValue("raw")));
 
         assertThat(dummyEntity.secret, IsInstanceOf.instanceOf(SecretProxy.class));
     }
@@ -128,7 +130,7 @@ public class SecretAspectsTest {
 
         underTest.proceedOnRepositorySaveAll(proceedingJoinPoint);
 
-        verify(secretService, times(1)).put(anyString(), eq("raw"));
+        verify(secretService, times(1)).putAll(argThat(values -> values.size() == 1 && values.containsValue("raw")));
 
         assertThat(dummyEntity.secret, IsInstanceOf.instanceOf(SecretProxy.class));
     }
@@ -182,6 +184,7 @@ public class SecretAspectsTest {
 
     private void verifySecretManagementIgnoredDuringSave(Secret secret) throws Exception {
         verify(secretService, times(0)).put(anyString(), anyString());
+        verify(secretService, times(0)).putAll(anyMap());
 
         Assert.assertFalse(secret instanceof SecretProxy);
     }
@@ -45,6 +45,7 @@ import com.sequenceiq.cloudbreak.service.environment.EnvironmentConfigProvider;
 import com.sequenceiq.cloudbreak.service.hostgroup.HostGroupService;
 import com.sequenceiq.cloudbreak.service.proxy.ProxyConfigProvider;
 import com.sequenceiq.cloudbreak.service.rdsconfig.RdsConfigService;
+import com.sequenceiq.cloudbreak.service.secret.service.SecretService;
 import com.sequenceiq.cloudbreak.service.stack.InstanceMetaDataService;
 import com.sequenceiq.cloudbreak.service.stack.StackService;
 import com.sequenceiq.cloudbreak.service.stack.flow.MountDisks;
@@ -141,6 +142,9 @@ public class ClusterHostServiceRunnerTest {
     @Mock
     private CMLicenseParser cmLicenseParser;
 
+    @Mock
+    private SecretService secretService;
+
     @InjectMocks
     private ClusterHostServiceRunner underTest;
 
@@ -4,6 +4,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -22,6 +24,7 @@ import com.sequenceiq.cloudbreak.cmtemplate.utils.BlueprintUtils;
 import com.sequenceiq.cloudbreak.common.json.JsonUtil;
 import com.sequenceiq.cloudbreak.converter.v4.blueprint.BlueprintV4RequestToBlueprintConverter;
 import com.sequenceiq.cloudbreak.domain.Blueprint;
+import com.sequenceiq.cloudbreak.template.CompiledTemplateCache;
 
 @RunWith(MockitoJUnitRunner.class)
 public class DefaulBlueprintCacheTest {
@@ -35,6 +38,9 @@ public class DefaulBlueprintCacheTest {
     @Mock
     private BlueprintEntities blueprintEntities;
 
+    @Mock
+    private CompiledTemplateCache compiledTemplateCache;
+
     @InjectMocks
     private DefaultBlueprintCache underTest;
 
@@ -87,6 +93,7 @@ public class DefaulBlueprintCacheTest {
         assertEquals(2L, defaultBlueprints.size());
         assertEquals("Description1", defaultBlueprints.get("bp1").getDescription());
         assertEquals("Description2", defaultBlueprints.get("bp2").getDescription());
+        verify(compiledTemplateCache, times(2)).precompile(any());
     }
 
 }
@@ -0,0 +1,199 @@
+package com.sequenceiq.cloudbreak.job;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.quartz.JobExecutionContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.api.endpoint.v4.common.Status;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
+import com.sequenceiq.cloudbreak.domain.projection.StackStatusCheckView;
+import com.sequenceiq.cloudbreak.domain.stack.Stack;
+import com.sequenceiq.cloudbreak.domain.stack.StackStatus;
+import com.sequenceiq.cloudbreak.domain.stack.instance.InstanceMetaData;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.StatusCheckerConfig;
+import com.sequenceiq.cloudbreak.quartz.statuschecker.service.StatusCheckerBatchExecutor;
+import com.sequenceiq.cloudbreak.service.stack.InstanceMetaDataService;
+import com.sequenceiq.cloudbreak.service.stack.StackInstanceStatusChecker;
+import com.sequenceiq.cloudbreak.service.stack.StackService;
+import com.sequenceiq.flow.core.FlowLogService;
+
+import io.opentracing.Tracer;
+
+class StackStatusBatchCheckerJobTest {
+
+    private static final String ENV_1 = "env-1";
+
+    private static final String ENV_2 = "env-2";
+
+    private static final String REGION = "eu-west-1";
+
+    @InjectMocks
+    private StackStatusBatchCheckerJob underTest;
+
+    @Mock
+    private StackService stackService;
+
+    @Mock
+    private FlowLogService flowLogService;
+
+    @Mock
+    private InstanceMetaDataService instanceMetaDataService;
+
+    @Mock
+    private StackInstanceStatusChecker stackInstanceStatusChecker;
+
+    @Mock
+    private StackStatusCheckerJob stackStatusCheckerJob;
+
+    @Mock
+    private StatusCheckerConfig properties;
+
+    @Mock
+    private StatusCheckerBatchExecutor batchExecutor;
+
+    @Mock
+    private JobExecutionContext jobExecutionContext;
+
+    @BeforeEach
+    void init() {
+        underTest = new StackStatusBatchCheckerJob(mock(Tracer.class));
+        MockitoAnnotations.initMocks(this);
+        when(properties.getBatchSize()).thenReturn(100);
+        doAnswer(invocation -> {
+            invocation.<Collection<Runnable>>getArgument(0).forEach(Runnable::run);
+            return null;
+        }).when(batchExecutor).runAll(any());
+        when(stackStatusCheckerJob.syncableStates()).thenReturn(EnumSet.of(Status.AVAILABLE));
+        when(stackInstanceStatusChecker.getCloudCredential(ENV_1)).thenReturn(new CloudCredential("cred-1", "cred-1"));
+        when(stackInstanceStatusChecker.getCloudCredential(ENV_2)).thenReturn(new CloudCredential("cred-2", "cred-2"));
+    }
+
+    @Test
+    void testStacksOfTheSameCredentialAndRegionAreQueriedAtOnce() {
+        Stack first = stack(1L, ENV_1, REGION);
+        Stack second = stack(2L, ENV_1, REGION);
+        Stack otherCredential = stack(3L, ENV_2, REGION);
+        Stack otherRegion = stack(4L, ENV_1, "us-west-2");
+        aliveStacks(first, second, otherCredential, otherRegion);
+        List<CloudVmInstanceStatus> firstStatuses = List.of(mock(CloudVmInstanceStatus.class));
+        when(stackInstanceStatusChecker.queryInstanceStatuses(any(CloudCredential.class), any()))
+                .thenReturn(Map.of(1L, firstStatuses, 2L, List.of()));
+
+        ReflectionTestUtils.invokeMethod(underTest, "executeTracedJob", jobExecutionContext);
+
+        ArgumentCaptor<Map<Stack, Set<InstanceMetaData>>> batches = ArgumentCaptor.forClass(Map.class);
+        verify(stackInstanceStatusChecker, times(3)).queryInstanceStatuses(any(CloudCredential.class), batches.capture());
+        assertEquals(Set.of(first, second), batches.getAllValues().get(0).keySet());
+        assertEquals(Set.of(otherCredential), batches.getAllValues().get(1).keySet());
+        assertEquals(Set.of(otherRegion), batches.getAllValues().get(2).keySet());
+        verify(stackInstanceStatusChecker, times(1)).getCloudCredential(ENV_1);
+        verify(stackStatusCheckerJob).checkStack(first, Optional.of(firstStatuses));
+        verify(stackStatusCheckerJob).checkStack(second, Optional.of(List.of()));
+    }
+
+    @Test
+    void testStacksAreQueriedOneByOneWhenTheBatchQueryFailed() {
+        Stack first = stack(1L, ENV_1, REGION);
+        aliveStacks(first);
+        when(stackInstanceStatusChecker.queryInstanceStatuses(any(CloudCredential.class), any())).thenReturn(Map.of());
+
+        ReflectionTestUtils.invokeMethod(underTest, "executeTracedJob", jobExecutionContext);
+
+        verify(stackStatusCheckerJob).checkStack(first, Optional.empty());
+    }
+
+    @Test
+    void testStacksWithRunningFlowOrNotSyncableStatusAreSkipped() {
+        Stack withFlow = stack(1L, ENV_1, REGION);
+        Stack deleting = stack(2L, ENV_1, REGION);
+        deleting.setStackStatus(new StackStatus(deleting, Status.DELETE_IN_PROGRESS, "", null));
+        aliveStacks(withFlow, deleting);
+        when(flowLogService.isOtherFlowRunning(1L)).thenReturn(true);
+
+        ReflectionTestUtils.invokeMethod(underTest, "executeTracedJob", jobExecutionContext);
+
+        verify(stackService, never()).get(anyLong());
+        verify(stackInstanceStatusChecker, never()).queryInstanceStatuses(any(CloudCredential.class), any());
+        verify(stackStatusCheckerJob, never()).checkStack(any(), any());
+    }
+
+    @Test
+    void testStacksOfEnvironmentWithoutCredentialAreSkipped() {
+        Stack first = stack(1L, ENV_1, REGION);
+        Stack second = stack(2L, ENV_2, REGION);
+        aliveStacks(first, second);
+        when(stackInstanceStatusChecker.getCloudCredential(ENV_1)).thenThrow(new IllegalStateException("environment is gone"));
+        when(stackInstanceStatusChecker.queryInstanceStatuses(any(CloudCredential.class), any())).thenReturn(Map.of());
+
+        ReflectionTestUtils.invokeMethod(underTest, "executeTracedJob", jobExecutionContext);
+
+        verify(stackService, never()).get(1L);
+        verify(stackStatusCheckerJob).checkStack(second, Optional.empty());
+    }
+
+    @Test
+    void testFailingStackDoesNotStopTheOthers() {
+        Stack first = stack(1L, ENV_1, REGION);
+        Stack second = stack(2L, ENV_1, REGION);
+        aliveStacks(first, second);
+        when(stackInstanceStatusChecker.queryInstanceStatuses(any(CloudCredential.class), any())).thenReturn(Map.of());
+        doThrow(new IllegalStateException("failed")).when(stackStatusCheckerJob).checkStack(eq(first), any());
+
+        ReflectionTestUtils.invokeMethod(underTest, "executeTracedJob", jobExecutionContext);
+
+        verify(stackStatusCheckerJob).checkStack(second, Optional.empty());
+    }
+
+    private void aliveStacks(Stack... stacks) {
+        List<StackStatusCheckView> views = new ArrayList<>();
+        for (Stack stack : stacks) {
+            StackStatusCheckView view = mock(StackStatusCheckView.class);
+            when(view.getId()).thenReturn(stack.getId());
+            when(view.getEnvironmentCrn()).thenReturn(stack.getEnvironmentCrn());
+            when(view.getCloudPlatform()).thenReturn(stack.getCloudPlatform());
+            when(view.getPlatformVariant()).thenReturn(stack.getPlatformVariant());
+            when(view.getRegion()).thenReturn(stack.getRegion());
+            when(view.getStatus()).thenReturn(stack.getStackStatus());
+            when(stackService.get(stack.getId())).thenReturn(stack);
+            views.add(view);
+        }
+        when(stackService.getAllAliveForStatusCheck()).thenReturn(views);
+    }
+
+    private Stack stack(Long id, String environmentCrn, String region) {
+        Stack stack = new Stack();
+        stack.setId(id);
+        stack.setEnvironmentCrn(environmentCrn);
+        stack.setRegion(region);
+        stack.setCloudPlatform("AWS");
+        stack.setPlatformVariant("AWS");
+        stack.setStackStatus(new StackStatus(stack, Status.AVAILABLE, "", null));
+        return stack;
+    }
+}
@@ -3,10 +3,12 @@ package com.sequenceiq.cloudbreak.orchestrator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.junit.Test;
 import org.slf4j.MDC;
 
+import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorInProgressException;
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorTimeoutException;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteria;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteriaModel;
@@ -42,6 +44,34 @@ public class SimpleOrchestratorBootstrapRunnerTest {
         assertNull(result);
     }
 
+    @Test
+    public void inProgressIsPolledWithBackoffWithinTheSameTimeout() throws Exception {
+        InProgressBootstrapRunner bootstrap = new InProgressBootstrapRunner();
+        OrchestratorBootstrapRunner runner = new OrchestratorBootstrapRunner(bootstrap,
+                new MockExitCriteria(),
+                new MockExitCriteriaModel(),
+                MDC.getCopyOfContextMap(), 2, 8, 2, 1);
+        try {
+            runner.call();
+            fail("Timeout expected");
+        } catch (CloudbreakOrchestratorTimeoutException exception) {
+            assertTrue(exception.getMessage().contains(EXCEPTION_MESSAGE));
+        }
+        // waits 1, 2, 4 and 8 ms charge the first retry, the next 8 ms wait charges the second one
+        assertEquals(5, bootstrap.count);
+    }
+
+    private static class InProgressBootstrapRunner implements OrchestratorBootstrap {
+
+        private int count;
+
+        @Override
+        public Boolean call() throws Exception {
+            count++;
+            throw new CloudbreakOrchestratorInProgressException(EXCEPTION_MESSAGE);
+        }
+    }
+
     private static class MockBootstrapRunner implements OrchestratorBootstrap {
 
         private int count;
@@ -2,6 +2,9 @@ package com.sequenceiq.cloudbreak.service.image;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -19,12 +22,14 @@ import java.util.stream.Collectors;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Invocation.Builder;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status.Family;
 import javax.ws.rs.core.Response.StatusType;
 
 import com.sequenceiq.cloudbreak.service.image.catalog.ImageCatalogServiceProxy;
 import org.assertj.core.util.Lists;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -114,6 +119,14 @@ public class ImageCatalogProviderTest {
         modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
 
         field.set(null, clientMap);
+
+        ReflectionTestUtils.setField(underTest, "refreshMinutes", 15L);
+        underTest.init();
+    }
+
+    @After
+    public void tearDown() {
+        underTest.shutdown();
     }
 
     @Test
@@ -313,4 +326,61 @@ public class ImageCatalogProviderTest {
 
         return errorMessage;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testImageCatalogIsDownloadedOnceUntilEvicted() throws CloudbreakImageCatalogException, IOException {
+        String path = getPath(CB_IMAGE_CATALOG_VALID_JSON);
+        String catalogUrl = "http";
+        mockHttpCatalog(catalogUrl, Files.readString(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON)));
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+
+        CloudbreakImageCatalogV3 first = underTest.getImageCatalogV3(catalogUrl);
+        CloudbreakImageCatalogV3 second = underTest.getImageCatalogV3(catalogUrl);
+        underTest.evictImageCatalogCache(catalogUrl);
+        underTest.getImageCatalogV3(catalogUrl);
+
+        assertSame(first, second);
+        verify(builderMock, times(2)).get();
+    }
+
+    @Test
+    public void testUnchangedHttpImageCatalogIsRevalidated() throws CloudbreakImageCatalogException, IOException {
+        String path = getPath(CB_IMAGE_CATALOG_VALID_JSON);
+        String catalogUrl = "http";
+        mockHttpCatalog(catalogUrl, Files.readString(Paths.get(path, CB_IMAGE_CATALOG_V2_JSON)));
+        when(responseMock.getHeaderString(HttpHeaders.ETAG)).thenReturn("\"v1\"");
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+        ImageCatalogSnapshot previous = underTest.getImageCatalogSnapshot(catalogUrl);
+        when(builderMock.header(HttpHeaders.IF_NONE_MATCH, "\"v1\"")).thenReturn(builderMock);
+        when(responseMock.getStatus()).thenReturn(Response.Status.NOT_MODIFIED.getStatusCode());
+
+        ImageCatalogSnapshot revalidated = ReflectionTestUtils.invokeMethod(underTest, "loadImageCatalog", catalogUrl, previous);
+
+        assertSame(previous, revalidated);
+        verify(responseMock, times(1)).readEntity(String.class);
+    }
+
+    @Test
+    public void testImagesAreLookedUpById() throws CloudbreakImageCatalogException {
+        String path = getPath(CB_IMAGE_CATALOG_V2_JSON);
+        ReflectionTestUtils.setField(underTest, "etcConfigDir", path);
+        ReflectionTestUtils.setField(underTest, "enabledLinuxTypes", Collections.emptyList());
+
+        ImageCatalogSnapshot snapshot = underTest.getImageCatalogSnapshot(CB_IMAGE_CATALOG_V2_JSON);
+
+        Image baseImage = snapshot.getCatalog().getImages().getBaseImages().get(0);
+        Image cdhImage = snapshot.getCatalog().getImages().getCdhImages().get(0);
+        assertSame(baseImage, snapshot.getImage(baseImage.getUuid()).get());
+        assertSame(cdhImage, snapshot.getImage(cdhImage.getUuid()).get());
+        Assert.assertTrue(snapshot.getImage("unknown").isEmpty());
+    }
+
+    private void mockHttpCatalog(String catalogUrl, String content) {
+        when(clientMock.target(catalogUrl)).thenReturn(webTargetMock);
+        when(webTargetMock.request()).thenReturn(builderMock);
+        when(builderMock.get()).thenReturn(responseMock);
+        when(responseMock.getStatusInfo()).thenReturn(statusTypeMock);
+        when(statusTypeMock.getFamily()).thenReturn(Family.SUCCESSFUL);
+        when(responseMock.readEntity(String.class)).thenReturn(content);
+    }
+}
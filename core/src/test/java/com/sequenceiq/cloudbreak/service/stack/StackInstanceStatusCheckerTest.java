@@ -1,13 +1,19 @@
 package com.sequenceiq.cloudbreak.service.stack;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.sequenceiq.cloudbreak.TestUtil;
+import com.sequenceiq.cloudbreak.cloud.context.CloudContext;
 import com.sequenceiq.cloudbreak.cloud.handler.InstanceStateQuery;
+import com.sequenceiq.cloudbreak.cloud.model.CloudCredential;
+import com.sequenceiq.cloudbreak.cloud.model.CloudInstance;
 import com.sequenceiq.cloudbreak.cloud.model.CloudVmInstanceStatus;
 import com.sequenceiq.cloudbreak.cloud.model.InstanceStatus;
 import com.sequenceiq.cloudbreak.converter.spi.CredentialToCloudCredentialConverter;
@@ -65,6 +75,7 @@ class StackInstanceStatusCheckerTest {
     void setUp() {
         stack = TestUtil.stack();
         instanceMetaData = new HashSet<>();
+        ReflectionTestUtils.setField(underTest, "batchQueryPlatforms", Set.of("AWS"));
     }
 
     private void setUpCredentials() {
@@ -104,4 +115,49 @@ class StackInstanceStatusCheckerTest {
         verify(instanceStateQuery, never()).getCloudVmInstanceStatuses(any(), any(), any());
     }
 
+    @Test
+    void shouldNotQueryStacksOfPlatformsWithStackSpecificContextAtOnce() {
+        Map<Stack, Collection<InstanceMetaData>> instanceMetaDataByStack = new LinkedHashMap<>();
+        instanceMetaDataByStack.put(stack(1L, "AZURE"), Set.of(new InstanceMetaData()));
+        instanceMetaDataByStack.put(stack(2L, "AZURE"), Set.of(new InstanceMetaData()));
+
+        Map<Long, List<CloudVmInstanceStatus>> result = underTest.queryInstanceStatuses(new CloudCredential("cred", "cred"), instanceMetaDataByStack);
+
+        assertTrue(result.isEmpty());
+        verify(instanceStateQuery, never()).getCloudVmInstanceStatusesWithoutRetry(any(), any(), any());
+    }
+
+    @Test
+    void shouldQueryStacksOfAllowedPlatformsAtOnce() {
+        Stack first = stack(1L, "AWS");
+        Stack second = stack(2L, "AWS");
+        Map<Stack, Collection<InstanceMetaData>> instanceMetaDataByStack = new LinkedHashMap<>();
+        instanceMetaDataByStack.put(first, Set.of(new InstanceMetaData()));
+        instanceMetaDataByStack.put(second, Set.of(new InstanceMetaData()));
+        CloudInstance firstInstance = cloudInstance("i-1");
+        CloudInstance secondInstance = cloudInstance("i-2");
+        when(cloudInstanceConverter.convert(anyCollection())).thenReturn(List.of(firstInstance), List.of(secondInstance));
+        CloudVmInstanceStatus firstStatus = new CloudVmInstanceStatus(firstInstance, InstanceStatus.STARTED);
+        CloudVmInstanceStatus secondStatus = new CloudVmInstanceStatus(secondInstance, InstanceStatus.STOPPED);
+        when(instanceStateQuery.getCloudVmInstanceStatusesWithoutRetry(any(), any(CloudContext.class), any()))
+                .thenReturn(List.of(firstStatus, secondStatus));
+
+        Map<Long, List<CloudVmInstanceStatus>> result = underTest.queryInstanceStatuses(new CloudCredential("cred", "cred"), instanceMetaDataByStack);
+
+        assertEquals(List.of(firstStatus), result.get(1L));
+        assertEquals(List.of(secondStatus), result.get(2L));
+    }
+
+    private Stack stack(Long id, String cloudPlatform) {
+        Stack stack = TestUtil.stack();
+        stack.setId(id);
+        stack.setCloudPlatform(cloudPlatform);
+        stack.setParameters(Map.of());
+        return stack;
+    }
+
+    private CloudInstance cloudInstance(String instanceId) {
+        return new CloudInstance(instanceId, null, null);
+    }
+
 }
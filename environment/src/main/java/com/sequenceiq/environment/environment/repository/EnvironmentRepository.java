@@ -31,6 +31,20 @@ public interface EnvironmentRepository extends AccountAwareResourceRepository<En
             + "AND e.archived = false")
     Set<Environment> findByAccountId(@Param("accountId") String accountId);
 
+    @Query("SELECT e FROM Environment e "
+            + "LEFT JOIN FETCH e.network n "
+            + "LEFT JOIN FETCH n.environment ev "
+            + "LEFT JOIN FETCH e.credential c "
+            + "LEFT JOIN FETCH e.authentication a "
+            + "LEFT JOIN FETCH e.parameters p "
+            + "WHERE e.accountId = :accountId "
+            + "AND e.resourceCrn IN (:resourceCrns) "
+            + "AND e.archived = false")
+    Set<Environment> findByAccountIdAndResourceCrnIn(@Param("accountId") String accountId, @Param("resourceCrns") Collection<String> resourceCrns);
+
+    @Query("SELECT e.resourceCrn FROM Environment e WHERE e.accountId = :accountId AND e.archived = false")
+    List<String> findAllResourceCrnsByAccountId(@Param("accountId") String accountId);
+
     Set<Environment> findByNameInAndAccountIdAndArchivedIsFalse(Collection<String> names, String accountId);
 
     Set<Environment> findByResourceCrnInAndAccountIdAndArchivedIsFalse(Collection<String> resourceCrns, String accountId);
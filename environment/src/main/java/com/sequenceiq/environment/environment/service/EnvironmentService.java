@@ -26,6 +26,7 @@ import org.springframework.stereotype.Service;
 import com.sequenceiq.authorization.resource.AuthorizationResourceType;
 import com.sequenceiq.authorization.service.OwnerAssignmentService;
 import com.sequenceiq.authorization.service.ResourceCrnAndNameProvider;
+import com.sequenceiq.authorization.service.list.ThreadBasedAllowedResourceCrnProvider;
 import com.sequenceiq.cloudbreak.auth.ThreadBasedUserCrnProvider;
 import com.sequenceiq.cloudbreak.auth.altus.Crn;
 import com.sequenceiq.cloudbreak.auth.altus.GrpcUmsClient;
@@ -138,7 +139,9 @@ public class EnvironmentService extends AbstractAccountAwareResourceService<Envi
 
     public List<EnvironmentDto> listByAccountId(String accountId) {
         LOGGER.debug("Listing environments by account id '{}'.", accountId);
-        Set<Environment> environments = environmentRepository.findByAccountId(accountId);
+        List<Environment> environments = ThreadBasedAllowedResourceCrnProvider.findAllowed(AuthorizationResourceType.ENVIRONMENT,
+                () -> environmentRepository.findByAccountId(accountId),
+                resourceCrns -> environmentRepository.findByAccountIdAndResourceCrnIn(accountId, resourceCrns));
         return environments.stream().map(environmentDtoConverter::environmentToDto).collect(Collectors.toList());
     }
 
@@ -347,8 +350,7 @@ public class EnvironmentService extends AbstractAccountAwareResourceService<Envi
 
     @Override
     public List<String> getResourceCrnsInAccount() {
-        return environmentRepository.findByAccountId(ThreadBasedUserCrnProvider.getAccountId()).stream()
-                .map(env -> env.getResourceCrn()).collect(Collectors.toList());
+        return environmentRepository.findAllResourceCrnsByAccountId(ThreadBasedUserCrnProvider.getAccountId());
     }
 
     @Override
@@ -16,6 +16,12 @@ public class Node implements Comparable<Node> {
     @Column(nullable = false)
     private long lastUpdated;
 
+    @Column(nullable = false)
+    private int activeFlowCount;
+
+    @Column(nullable = false)
+    private long queueDepth;
+
     @Version
     private Long version;
 
@@ -42,6 +48,22 @@ public class Node implements Comparable<Node> {
         this.lastUpdated = lastUpdated;
     }
 
+    public int getActiveFlowCount() {
+        return activeFlowCount;
+    }
+
+    public void setActiveFlowCount(int activeFlowCount) {
+        this.activeFlowCount = activeFlowCount;
+    }
+
+    public long getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(long queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
     public Long getVersion() {
         return version;
     }
@@ -79,6 +101,8 @@ public class Node implements Comparable<Node> {
         StringBuilder sb = new StringBuilder("Node{");
         sb.append("uuid='").append(uuid).append('\'');
         sb.append(", lastUpdated=").append(lastUpdated);
+        sb.append(", activeFlowCount=").append(activeFlowCount);
+        sb.append(", queueDepth=").append(queueDepth);
         sb.append('}');
         return sb.toString();
     }
@@ -1,11 +1,21 @@
 package com.sequenceiq.cloudbreak.ha.service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import com.sequenceiq.cloudbreak.ha.domain.Node;
 
 public interface FlowDistributor {
 
     Map<Node, List<String>> distribute(List<String> flows, List<Node> nodes);
+
+    /**
+     * Distributes the flows grouped by the resource they belong to. Implementations that support affinity keep the flows of
+     * one resource on the same node, the default implementation ignores the grouping.
+     */
+    default Map<Node, List<String>> distributeByResource(Map<Long, List<String>> flowsByResource, List<Node> nodes) {
+        return distribute(flowsByResource.values().stream().flatMap(Collection::stream).collect(Collectors.toList()), nodes);
+    }
 }
@@ -0,0 +1,107 @@
+package com.sequenceiq.cloudbreak.ha.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.sequenceiq.cloudbreak.ha.domain.Node;
+
+/**
+ * Assigns flows to the least loaded node, where the load is the active flow count and the event bus queue depth the node
+ * published with its last heartbeat. Flows of the same resource are kept together and the biggest resource groups are placed
+ * first, so a node restarting several flows of a resource does not compete with another node for the same resource.
+ */
+@Primary
+@Service
+public class LoadAwareFlowDistributor implements FlowDistributor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadAwareFlowDistributor.class);
+
+    @Override
+    public Map<Node, List<String>> distribute(List<String> flows, List<Node> nodes) {
+        Map<Long, List<String>> flowsOneByOne = new HashMap<>();
+        long key = 0;
+        for (String flow : flows) {
+            flowsOneByOne.put(key++, List.of(flow));
+        }
+        return distributeByResource(flowsOneByOne, nodes);
+    }
+
+    @Override
+    public Map<Node, List<String>> distributeByResource(Map<Long, List<String>> flowsByResource, List<Node> nodes) {
+        Map<Node, List<String>> result = new HashMap<>();
+        if (nodes.isEmpty()) {
+            return result;
+        }
+        PriorityQueue<NodeLoad> nodeLoads = new PriorityQueue<>(nodes.size());
+        nodes.forEach(node -> nodeLoads.add(new NodeLoad(node, (long) node.getActiveFlowCount() + node.getQueueDepth())));
+        LOGGER.debug("Number of resources to distribute: {}, across nodes with load: {}", flowsByResource.size(), nodeLoads);
+        List<List<String>> resourceGroups = flowsByResource.values().stream()
+                .sorted(Comparator.<List<String>>comparingInt(List::size).reversed())
+                .collect(Collectors.toList());
+        for (List<String> resourceFlows : resourceGroups) {
+            NodeLoad leastLoaded = nodeLoads.poll();
+            result.computeIfAbsent(leastLoaded.getNode(), k -> new ArrayList<>()).addAll(resourceFlows);
+            nodeLoads.add(new NodeLoad(leastLoaded.getNode(), leastLoaded.getLoad() + resourceFlows.size()));
+        }
+        LOGGER.debug("Result of flow distribution: {}", result);
+        return result;
+    }
+
+    private static class NodeLoad implements Comparable<NodeLoad> {
+
+        private final Node node;
+
+        private final long load;
+
+        NodeLoad(Node node, long load) {
+            this.node = node;
+            this.load = load;
+        }
+
+        Node getNode() {
+            return node;
+        }
+
+        long getLoad() {
+            return load;
+        }
+
+        @Override
+        public int compareTo(NodeLoad o) {
+            int result = Long.compare(load, o.load);
+            return result != 0 ? result : node.getUuid().compareTo(o.node.getUuid());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            NodeLoad nodeLoad = (NodeLoad) o;
+            return load == nodeLoad.load && node.equals(nodeLoad.node);
+        }
+
+        @Override
+        public int hashCode() {
+            return node.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return node.getUuid() + '=' + load;
+        }
+    }
+}
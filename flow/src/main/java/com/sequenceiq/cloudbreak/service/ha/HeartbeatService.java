@@ -3,6 +3,8 @@ package com.sequenceiq.cloudbreak.service.ha;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -37,6 +39,7 @@ import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
+import com.sequenceiq.flow.reactor.config.EventBusExecutors;
 
 @Service
 public class HeartbeatService {
@@ -88,6 +91,9 @@ public class HeartbeatService {
     @Inject
     private InMemoryCleanup inMemoryCleanup;
 
+    @Inject
+    private EventBusExecutors eventBusExecutors;
+
     @Scheduled(cron = "${cb.ha.heartbeat.rate:0/30 * * * * *}")
     public void heartbeat() {
         if (shouldRun()) {
@@ -100,8 +106,11 @@ public class HeartbeatService {
                         long lastUpdated = self.getLastUpdated();
                         long currentUpdated = clock.getCurrentTimeMillis();
                         self.setLastUpdated(currentUpdated);
+                        self.setActiveFlowCount(runningFlows.getRunningFlowIds().size());
+                        self.setQueueDepth(eventBusExecutors.getQueueDepth());
                         nodeService.save(self);
-                        LOGGER.debug("Node {} has updated heartbeat timestamp from {} to {}", nodeId, lastUpdated, currentUpdated);
+                        LOGGER.debug("Node {} has updated heartbeat timestamp from {} to {} with {} active flows and {} queued events", nodeId,
+                                lastUpdated, currentUpdated, self.getActiveFlowCount(), self.getQueueDepth());
                         metricService.incrementMetricCounter(MetricType.HEARTBEAT_UPDATE_SUCCESS);
                         return Boolean.TRUE;
                     } catch (RuntimeException e) {
@@ -180,10 +189,11 @@ public class HeartbeatService {
             updatedFlowLogs.addAll(invalidFlows);
             failedFlowLogs.removeAll(invalidFlows);
             LOGGER.info("The following flows have been filtered out from distribution: {}", getFlowIds(invalidFlows));
-            Map<Node, List<String>> flowDistribution = flowDistributor.distribute(getFlowIds(failedFlowLogs), activeNodes);
+            Map<String, List<FlowLog>> failedFlowLogsByFlowId = failedFlowLogs.stream().collect(Collectors.groupingBy(FlowLog::getFlowId));
+            Map<Node, List<String>> flowDistribution = flowDistributor.distributeByResource(getFlowIdsByResourceId(failedFlowLogs), activeNodes);
             for (Entry<Node, List<String>> entry : flowDistribution.entrySet()) {
                 entry.getValue().forEach(flowId ->
-                        failedFlowLogs.stream().filter(flowLog -> flowLog.getFlowId().equalsIgnoreCase(flowId)).forEach(flowLog -> {
+                        failedFlowLogsByFlowId.getOrDefault(flowId, Collections.emptyList()).forEach(flowLog -> {
                             flowLog.setCloudbreakNodeId(entry.getKey().getUuid());
                             updatedFlowLogs.add(flowLog);
                         }));
@@ -274,4 +284,15 @@ public class HeartbeatService {
         return flowLogCollection.stream().map(FlowLog::getFlowId).distinct().collect(Collectors.toList());
     }
 
+    private Map<Long, List<String>> getFlowIdsByResourceId(Collection<FlowLog> flowLogCollection) {
+        Map<Long, List<String>> flowIdsByResourceId = new HashMap<>();
+        Set<String> flowIds = new HashSet<>();
+        for (FlowLog flowLog : flowLogCollection) {
+            if (flowIds.add(flowLog.getFlowId())) {
+                flowIdsByResourceId.computeIfAbsent(flowLog.getResourceId(), k -> new ArrayList<>()).add(flowLog.getFlowId());
+            }
+        }
+        return flowIdsByResourceId;
+    }
+
 }
@@ -8,6 +8,7 @@ import com.sequenceiq.cloudbreak.cloud.scheduler.PollGroup;
 import com.sequenceiq.cloudbreak.cloud.store.InMemoryResourceStateStore;
 import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.chain.FlowChains;
+import com.sequenceiq.flow.service.flowlog.FlowLogBatchWriter;
 
 @Component
 public class InMemoryCleanup {
@@ -18,6 +19,9 @@ public class InMemoryCleanup {
     @Inject
     private FlowChains flowChains;
 
+    @Inject
+    private FlowLogBatchWriter flowLogBatchWriter;
+
     public void cancelEveryFlowWithoutDbUpdate() {
         for (String resourceType : InMemoryResourceStateStore.getResourceTypes()) {
             for (Long resourceId : InMemoryResourceStateStore.getAllResourceId(resourceType)) {
@@ -35,6 +39,7 @@ public class InMemoryCleanup {
             flowChains.removeFullFlowChain(flowChainId);
         }
         runningFlows.remove(flowId);
+        flowLogBatchWriter.evictLastFlowLog(flowId);
     }
 
 }
@@ -14,7 +14,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import com.cedarsoftware.util.io.JsonReader;
 import com.sequenceiq.cloudbreak.common.event.AcceptResult;
 import com.sequenceiq.cloudbreak.common.event.Acceptable;
 import com.sequenceiq.cloudbreak.common.event.Payload;
@@ -29,6 +28,7 @@ import com.sequenceiq.flow.core.chain.FlowChains;
 import com.sequenceiq.flow.core.config.FlowConfiguration;
 import com.sequenceiq.flow.core.exception.FlowNotFoundException;
 import com.sequenceiq.flow.core.model.FlowAcceptResult;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.ha.NodeConfig;
 
@@ -87,6 +87,9 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
     @Inject
     private InMemoryCleanup inMemoryCleanup;
 
+    @Inject
+    private FlowPayloadSerializer flowPayloadSerializer;
+
     @Override
     public void accept(Event<? extends Payload> event) {
         String key = (String) event.getKey();
@@ -152,7 +155,7 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
                         flowParameters.setFlowId(flowId);
                         Flow flow = flowConfig.createFlow(flowId, flowChainId, payload.getResourceId());
                         flow.initialize(contextParams);
-                        runningFlows.put(flow, flowChainId);
+                        runningFlows.put(flow, flowChainId, payload.getResourceId());
                         try {
                             transactionService.required(() -> {
                                 flowLogService.save(flowParameters, flowChainId, key, payload, null, flowConfig.getClass(), flow.getCurrentState());
@@ -194,20 +197,11 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         Flow flow = runningFlows.get(flowId);
         if (flow != null) {
             MutableBoolean flowCancelled = new MutableBoolean(false);
-            transactionService.required(() -> {
-                Optional<FlowLog> lastFlowLog = flowLogService.getLastFlowLog(flow.getFlowId());
-                lastFlowLog.ifPresent(flowLog -> {
-                    String nodeId = nodeConfig.getId();
-                    if (flowLog.getFinalized() || flowLog.getCloudbreakNodeId() == null || flowLog.getCloudbreakNodeId().equals(nodeId)) {
-                        updateFlowLogStatus(key, payload, flowChainId, flow, flowLog, flowParameters);
-                    } else {
-                        LOGGER.info("Flow {} was handled by another node {}, current node ID is {}, abandoning.",
-                                flow.getFlowId(), flowLog.getCloudbreakNodeId(), nodeId);
-                        inMemoryCleanup.cancelFlowWithoutDbUpdate(flow.getFlowId());
-                        flowCancelled.setTrue();
-                    }
-                });
-            });
+            if (flowLogService.isWriteBehindEnabled()) {
+                handleLastFlowLog(key, payload, flowParameters, flowChainId, flow, flowCancelled);
+            } else {
+                transactionService.required(() -> handleLastFlowLog(key, payload, flowParameters, flowChainId, flow, flowCancelled));
+            }
             if (!flowCancelled.booleanValue()) {
                 flow.sendEvent(key, flowParameters.getFlowTriggerUserCrn(), payload, flowParameters.getSpanContext());
             }
@@ -216,9 +210,27 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
         }
     }
 
+    private void handleLastFlowLog(String key, Payload payload, FlowParameters flowParameters, String flowChainId, Flow flow,
+            MutableBoolean flowCancelled) {
+        Optional<FlowLog> lastFlowLog = flowLogService.getLastFlowLog(flow.getFlowId());
+        lastFlowLog.ifPresent(flowLog -> {
+            String nodeId = nodeConfig.getId();
+            if (flowLog.getFinalized() || flowLog.getCloudbreakNodeId() == null || flowLog.getCloudbreakNodeId().equals(nodeId)) {
+                updateFlowLogStatus(key, payload, flowChainId, flow, flowLog, flowParameters);
+            } else {
+                LOGGER.info("Flow {} was handled by another node {}, current node ID is {}, abandoning.",
+                        flow.getFlowId(), flowLog.getCloudbreakNodeId(), nodeId);
+                inMemoryCleanup.cancelFlowWithoutDbUpdate(flow.getFlowId());
+                flowCancelled.setTrue();
+            }
+        });
+    }
+
     private void updateFlowLogStatus(String key, Payload payload, String flowChainId, Flow flow, FlowLog lastFlowLog, FlowParameters flowParameters) {
         if (flowLogService.repeatedFlowState(lastFlowLog, key)) {
             flowLogService.updateLastFlowLogPayload(lastFlowLog, payload, flow.getVariables());
+        } else if (flowLogService.isWriteBehindEnabled()) {
+            flowLogService.saveTransition(lastFlowLog, failHandledEvents.contains(key), flowParameters, flowChainId, key, payload, flow);
         } else {
             flowLogService.updateLastFlowLogStatus(lastFlowLog, failHandledEvents.contains(key));
             flowLogService.save(flowParameters, flowChainId, key, payload, flow.getVariables(), flow.getFlowConfigClass(), flow.getCurrentState());
@@ -293,13 +305,13 @@ public class Flow2Handler implements Consumer<Event<? extends Payload>> {
                 Optional<FlowConfiguration<?>> flowConfig = flowConfigs.stream()
                         .filter(fc -> fc.getClass().equals(flowLog.getFlowType())).findFirst();
                 try {
-                    Payload payload = (Payload) JsonReader.jsonToJava(flowLog.getPayload());
+                    Payload payload = (Payload) flowPayloadSerializer.deserialize(flowLog.getPayload());
                     Flow flow = flowConfig.get().createFlow(flowLog.getFlowId(), flowLog.getFlowChainId(), payload.getResourceId());
-                    runningFlows.put(flow, flowLog.getFlowChainId());
+                    runningFlows.put(flow, flowLog.getFlowChainId(), payload.getResourceId());
                     if (flowLog.getFlowChainId() != null) {
                         flowChainHandler.restoreFlowChain(flowLog.getFlowChainId());
                     }
-                    Map<Object, Object> variables = (Map<Object, Object>) JsonReader.jsonToJava(flowLog.getVariables());
+                    Map<Object, Object> variables = (Map<Object, Object>) flowPayloadSerializer.deserialize(flowLog.getVariables());
                     flow.initialize(flowLog.getCurrentState(), variables);
                     RestartAction restartAction = flowConfig.get().getRestartAction(flowLog.getNextEvent());
                     if (restartAction != null) {
@@ -16,6 +16,11 @@ public interface FlowLogService {
     FlowLog save(FlowParameters flowParameters, String flowChanId, String key, Payload payload, Map<Object, Object> variables, Class<?> flowType,
             FlowState currentState);
 
+    boolean isWriteBehindEnabled();
+
+    FlowLog saveTransition(FlowLog lastFlowLog, boolean failureEvent, FlowParameters flowParameters, String flowChanId, String key, Payload payload,
+            Flow flow);
+
     Iterable<FlowLog> saveAll(Iterable<FlowLog> entities);
 
     FlowLog close(Long stackId, String flowId) throws TransactionService.TransactionExecutionException;
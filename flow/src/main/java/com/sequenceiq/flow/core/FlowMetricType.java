@@ -4,7 +4,14 @@ import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
 
 public enum FlowMetricType implements Metric {
     FLOW_STEP("flowstep"),
-    ACTIVE_FLOWS("activeflow");
+    ACTIVE_FLOWS("activeflow"),
+    FLOWLOG_WRITE_LATENCY("flowlog.write.latency"),
+    FLOWLOG_WRITE_COUNT("flowlog.write.count"),
+    FLOWLOG_WRITE_BATCH_SIZE("flowlog.write.batchsize"),
+    FLOWLOG_WRITE_QUEUE_SIZE("flowlog.write.queuesize"),
+    EVENTBUS_SHARD_QUEUE_SIZE("eventbus.shard.queuesize"),
+    EVENTBUS_SHARD_WAIT_TIME("eventbus.shard.waittime"),
+    EVENTBUS_SHARD_REJECTED("eventbus.shard.rejected");
 
     private final String metricName;
 
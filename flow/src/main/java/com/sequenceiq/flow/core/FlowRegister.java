@@ -1,8 +1,11 @@
 package com.sequenceiq.flow.core;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
@@ -25,13 +28,29 @@ public class FlowRegister {
 
     private Map<String, Pair<Flow, String>> runningFlows;
 
+    private final Map<Long, Set<String>> flowIdsByResourceId = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> resourceIdByFlowId = new ConcurrentHashMap<>();
+
     @PostConstruct
     public void init() {
         runningFlows = metricService.gaugeMapSize(FlowMetricType.ACTIVE_FLOWS, new ConcurrentHashMap<>());
     }
 
     public void put(Flow flow, String chainFlowId) {
+        put(flow, chainFlowId, null);
+    }
+
+    public void put(Flow flow, String chainFlowId, Long resourceId) {
         LOGGER.info("Put flow {} to running flows", flow.getFlowId());
+        if (resourceId != null) {
+            resourceIdByFlowId.put(flow.getFlowId(), resourceId);
+            flowIdsByResourceId.compute(resourceId, (id, flowIds) -> {
+                Set<String> result = flowIds == null ? ConcurrentHashMap.newKeySet() : flowIds;
+                result.add(flow.getFlowId());
+                return result;
+            });
+        }
         runningFlows.put(flow.getFlowId(), new ImmutablePair<>(flow, chainFlowId));
         LOGGER.info("Running flows after put: {}", runningFlows.keySet());
     }
@@ -49,6 +68,7 @@ public class FlowRegister {
     public Flow remove(String flowId) {
         LOGGER.info("Remove flow {} from running flows", flowId);
         Pair<Flow, String> pair = runningFlows.remove(flowId);
+        removeFromResourceIndex(flowId);
         metricService.submit(FlowMetricType.ACTIVE_FLOWS, runningFlows.size());
         LOGGER.info("Running flows after removal: {}", runningFlows.keySet());
         return pair == null ? null : pair.getLeft();
@@ -57,4 +77,25 @@ public class FlowRegister {
     public Set<String> getRunningFlowIds() {
         return runningFlows.keySet();
     }
+
+    /**
+     * Returns the flows of the resource that are running on this node. Flows running on other nodes are not included.
+     */
+    public Set<Flow> getRunningFlowsByResourceId(Long resourceId) {
+        Set<String> flowIds = resourceId == null ? null : flowIdsByResourceId.get(resourceId);
+        if (flowIds == null) {
+            return Collections.emptySet();
+        }
+        return flowIds.stream().map(this::get).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private void removeFromResourceIndex(String flowId) {
+        Long resourceId = resourceIdByFlowId.remove(flowId);
+        if (resourceId != null) {
+            flowIdsByResourceId.computeIfPresent(resourceId, (id, flowIds) -> {
+                flowIds.remove(flowId);
+                return flowIds.isEmpty() ? null : flowIds;
+            });
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.sequenceiq.flow.core.payload;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import javax.inject.Inject;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+
+/**
+ * Stores the JSON-IO object graph of a payload as a deflated, base64 encoded document prefixed with a format version.
+ * The deflater is primed with a preset dictionary of the type, package and field names that JSON-IO repeats in every
+ * flow payload, so even short payloads shrink considerably. A dictionary must never change once released: a new dictionary
+ * needs a new format version, and every released version has to stay decodable for the rows already in the database.
+ */
+@Component
+public class CompactFlowPayloadCodec implements FlowPayloadCodec {
+
+    public static final String NAME = "compact";
+
+    static final String HEADER_PREFIX = "FPC";
+
+    static final char HEADER_SEPARATOR = ':';
+
+    static final int CURRENT_VERSION = 1;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private static final byte[] DICTIONARY_V1 = String.join("",
+            "java.lang.Boolean", "java.lang.Integer", "java.util.LinkedHashMap", "java.util.HashSet", "java.util.ArrayList",
+            "java.util.Collections$EmptyMap", "java.util.Collections$EmptyList", "java.util.HashMap", "java.util.concurrent.",
+            "reactor.rx.Promise", "reactor.core.", "reactor.fn.", "\"FLOW_STATE_NAME\"", "\"FLOW_START_EXEC_TIME\"", "\"FLOW_START_TIME\"",
+            "\"@keys\":[", "\"@items\":[", "\"@ref\":", "\"@id\":", "\"detailMessage\":", "\"exception\":", "\"errorDetails\":",
+            "\"cloudPlatform\":\"", "\"variant\":\"", "\"region\":\"", "\"availabilityZone\":\"", "\"name\":\"", "\"crn\":\"",
+            "\"resourceCrn\":\"", "\"accountId\":\"", "\"userId\":\"", "\"cloudContext\":{", "\"cloudCredential\":{", "\"cloudStack\":{",
+            "\"status\":\"", "\"statusReason\":", "\"selector\":\"", "\"resourceId\":", "\"stackId\":", "\"accepted\":{",
+            "\"complete\":", "\"value\":", "com.sequenceiq.cloudbreak.cloud.model.", "com.sequenceiq.cloudbreak.cloud.event.",
+            "com.sequenceiq.cloudbreak.reactor.api.event.", "com.sequenceiq.freeipa.flow.", "com.sequenceiq.datalake.flow.",
+            "com.sequenceiq.redbeams.flow.", "com.sequenceiq.environment.", "com.sequenceiq.cloudbreak.", "com.sequenceiq.",
+            "java.lang.Long", "java.lang.String", "\"@type\":\"").getBytes(StandardCharsets.UTF_8);
+
+    private static final Map<Integer, byte[]> DICTIONARIES = Map.of(1, DICTIONARY_V1);
+
+    @Inject
+    private JsonIoFlowPayloadCodec jsonIoFlowPayloadCodec;
+
+    @Value("${cb.flow.payload.codec.compression.level:1}")
+    private int compressionLevel;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean canDecode(String serialized) {
+        return serialized != null && serialized.startsWith(HEADER_PREFIX) && readVersion(serialized) != null;
+    }
+
+    @Override
+    public String encode(Object object) {
+        byte[] json = jsonIoFlowPayloadCodec.encode(object).getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            deflater.setDictionary(DICTIONARIES.get(CURRENT_VERSION));
+            deflater.setInput(json);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(json.length / 2, BUFFER_SIZE));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                compressed.write(buffer, 0, length);
+            }
+            return HEADER_PREFIX + CURRENT_VERSION + HEADER_SEPARATOR + Base64.getEncoder().encodeToString(compressed.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Object decode(String serialized) {
+        return jsonIoFlowPayloadCodec.decode(decodeToJson(serialized));
+    }
+
+    @Override
+    public String decodeToJson(String serialized) {
+        Integer version = readVersion(serialized);
+        if (version == null) {
+            throw new CloudbreakServiceException("Flow payload is not in compact format or its version is not supported");
+        }
+        byte[] compressed = Base64.getDecoder().decode(serialized.substring(serialized.indexOf(HEADER_SEPARATOR) + 1));
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream json = new ByteArrayOutputStream(compressed.length * 2);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && inflater.needsDictionary()) {
+                    inflater.setDictionary(DICTIONARIES.get(version));
+                } else if (length == 0 && inflater.needsInput()) {
+                    throw new CloudbreakServiceException("Compact flow payload is truncated");
+                }
+                json.write(buffer, 0, length);
+            }
+            return json.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new CloudbreakServiceException("Compact flow payload cannot be inflated", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private Integer readVersion(String serialized) {
+        int separator = serialized.indexOf(HEADER_SEPARATOR);
+        if (separator <= HEADER_PREFIX.length()) {
+            return null;
+        }
+        try {
+            int version = Integer.parseInt(serialized.substring(HEADER_PREFIX.length(), separator));
+            return DICTIONARIES.containsKey(version) ? version : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
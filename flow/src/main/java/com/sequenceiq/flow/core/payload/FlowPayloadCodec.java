@@ -0,0 +1,28 @@
+package com.sequenceiq.flow.core.payload;
+
+/**
+ * Serializes flow payloads and flow variables into the text columns of the flow log.
+ */
+public interface FlowPayloadCodec {
+
+    /**
+     * @return the name of the codec used in the {@code cb.flow.payload.codec} property
+     */
+    String name();
+
+    /**
+     * @param serialized a value previously read from the flow log
+     * @return true if the value was written by this codec
+     */
+    boolean canDecode(String serialized);
+
+    String encode(Object object);
+
+    Object decode(String serialized);
+
+    /**
+     * @param serialized a value previously read from the flow log
+     * @return the JSON-IO document of the value, for consumers that inspect the payload as JSON
+     */
+    String decodeToJson(String serialized);
+}
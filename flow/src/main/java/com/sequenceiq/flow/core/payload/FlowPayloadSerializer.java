@@ -0,0 +1,61 @@
+package com.sequenceiq.flow.core.payload;
+
+import java.util.List;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes flow payloads and variables with the configured codec and reads them back with the codec that wrote them,
+ * so flow logs written before a codec change stay restartable.
+ */
+@Service
+public class FlowPayloadSerializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowPayloadSerializer.class);
+
+    @Value("${cb.flow.payload.codec:" + JsonIoFlowPayloadCodec.NAME + "}")
+    private String codecName;
+
+    @Inject
+    private List<FlowPayloadCodec> codecs;
+
+    @Inject
+    private JsonIoFlowPayloadCodec jsonIoFlowPayloadCodec;
+
+    private FlowPayloadCodec writeCodec;
+
+    @PostConstruct
+    public void init() {
+        writeCodec = codecs.stream()
+                .filter(codec -> codec.name().equalsIgnoreCase(codecName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown flow payload codec: " + codecName));
+        LOGGER.info("Flow payloads are written with the '{}' codec", writeCodec.name());
+    }
+
+    public String serialize(Object object) {
+        return writeCodec.encode(object);
+    }
+
+    public Object deserialize(String serialized) {
+        return getReadCodec(serialized).decode(serialized);
+    }
+
+    public String toJson(String serialized) {
+        return getReadCodec(serialized).decodeToJson(serialized);
+    }
+
+    private FlowPayloadCodec getReadCodec(String serialized) {
+        return codecs.stream()
+                .filter(codec -> codec != jsonIoFlowPayloadCodec)
+                .filter(codec -> codec.canDecode(serialized))
+                .findFirst()
+                .orElse(jsonIoFlowPayloadCodec);
+    }
+}
@@ -0,0 +1,8 @@
+package com.sequenceiq.flow.domain;
+
+public interface FlowLogNodeIdWithVersion {
+
+    String getCloudbreakNodeId();
+
+    Long getVersion();
+}
@@ -1,9 +1,10 @@
 package com.sequenceiq.flow.reactor.config;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -15,8 +16,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
-import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
 import com.sequenceiq.flow.reactor.handler.ConsumerNotFoundHandler;
 import com.sequenceiq.flow.service.flowlog.FlowLogDBService;
@@ -25,9 +26,10 @@ import reactor.Environment;
 import reactor.bus.Event;
 import reactor.bus.EventBus;
 import reactor.bus.spec.EventBusSpec;
+import reactor.core.Dispatcher;
 import reactor.core.dispatch.ThreadPoolExecutorDispatcher;
 import reactor.core.support.Exceptions;
-import reactor.core.support.NamedDaemonThreadFactory;
+import reactor.fn.Consumer;
 import reactor.fn.timer.Timer;
 
 @Configuration
@@ -44,6 +46,18 @@ public class EventBusConfig {
     @Value("${cb.eventbus.threadpool.backlog.size:1000}")
     private int eventBusThreadPoolBacklogSize;
 
+    @Value("${cb.eventbus.threadpool.shard.count:1}")
+    private int eventBusThreadPoolShardCount;
+
+    @Value("${cb.eventbus.threadpool.rejection.policy:BLOCK}")
+    private EventBusRejectionHandler.Policy eventBusRejectionPolicy;
+
+    @Value("${cb.eventbus.threadpool.rejection.block.timeout.ms:5000}")
+    private long eventBusRejectionBlockTimeoutMs;
+
+    @Inject
+    private MetricService metricService;
+
     @Inject
     @Lazy
     private ApplicationFlowInformation applicationFlowInformation;
@@ -118,28 +132,50 @@ public class EventBusConfig {
     }
 
     @Bean
-    public EventBus reactor(MDCCleanerThreadPoolExecutor threadPoolExecutor, Environment env) {
+    public EventBus reactor(EventBusExecutors eventBusExecutors, Environment env) {
         return new EventBusSpec()
                 .env(env)
-                .dispatcher(new ThreadPoolExecutorDispatcher(eventBusThreadPoolBacklogSize, eventBusThreadPoolCoreSize, threadPoolExecutor))
+                .dispatcher(createDispatcher(eventBusExecutors))
                 .traceEventPath()
-                .dispatchErrorHandler(throwable -> {
-                    handleFlowFail(throwable);
-                    LOGGER.error("Exception happened in dispatcher", throwable);
-                })
+                .dispatchErrorHandler(eventBusDispatchErrorHandler())
                 .consumerNotFoundHandler(new ConsumerNotFoundHandler())
                 .get();
     }
 
-    @Bean("eventBusThreadPoolExecutor")
-    public MDCCleanerThreadPoolExecutor getPoolExecutor() {
-        return new MDCCleanerThreadPoolExecutor(eventBusThreadPoolCoreSize,
-                eventBusThreadPoolMaxSize,
-                0L,
-                TimeUnit.MILLISECONDS,
-                new LinkedBlockingQueue<>(eventBusThreadPoolBacklogSize),
-                new NamedDaemonThreadFactory("reactorDispatcher"),
-                (r, executor) -> LOGGER.error("Task has been rejected from 'reactorDispatcher' threadpool. Executor state: " + executor));
+    @Bean("eventBusDispatchErrorHandler")
+    public Consumer<Throwable> eventBusDispatchErrorHandler() {
+        return throwable -> {
+            handleFlowFail(throwable);
+            LOGGER.error("Exception happened in dispatcher", throwable);
+        };
+    }
+
+    @Bean
+    public EventBusExecutors eventBusExecutors() {
+        int shardCount = Math.max(1, eventBusThreadPoolShardCount);
+        LOGGER.info("Event bus dispatcher uses {} shard(s) with {} rejection policy", shardCount, eventBusRejectionPolicy);
+        List<EventBusShardExecutor> shards = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards.add(new EventBusShardExecutor(shard,
+                    perShard(eventBusThreadPoolCoreSize, shardCount),
+                    perShard(eventBusThreadPoolMaxSize, shardCount),
+                    new LinkedBlockingQueue<>(perShard(eventBusThreadPoolBacklogSize, shardCount)),
+                    new EventBusRejectionHandler(shard, eventBusRejectionPolicy, eventBusRejectionBlockTimeoutMs, metricService),
+                    metricService));
+        }
+        return new EventBusExecutors(shards);
+    }
+
+    private Dispatcher createDispatcher(EventBusExecutors eventBusExecutors) {
+        int shardCount = eventBusExecutors.getShards().size();
+        List<Dispatcher> dispatchers = eventBusExecutors.getShards().stream()
+                .map(executor -> new ThreadPoolExecutorDispatcher(perShard(eventBusThreadPoolBacklogSize, shardCount),
+                        perShard(eventBusThreadPoolCoreSize, shardCount), executor))
+                .collect(Collectors.toList());
+        return shardCount == 1 ? dispatchers.get(0) : new ResourceAffineDispatcher(dispatchers);
+    }
 
+    private int perShard(int total, int shardCount) {
+        return Math.max(1, (total + shardCount - 1) / shardCount);
     }
 }
@@ -0,0 +1,20 @@
+package com.sequenceiq.flow.reactor.config;
+
+import java.util.List;
+
+public class EventBusExecutors {
+
+    private final List<EventBusShardExecutor> shards;
+
+    public EventBusExecutors(List<EventBusShardExecutor> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public List<EventBusShardExecutor> getShards() {
+        return shards;
+    }
+
+    public long getQueueDepth() {
+        return shards.stream().mapToLong(shard -> shard.getQueue().size()).sum();
+    }
+}
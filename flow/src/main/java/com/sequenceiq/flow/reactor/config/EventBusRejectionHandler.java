@@ -0,0 +1,61 @@
+package com.sequenceiq.flow.reactor.config;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.core.FlowMetricType;
+
+/**
+ * Applies backpressure when the queue of an event bus shard is full. With {@link Policy#BLOCK} the publisher waits for free space
+ * up to the configured timeout; when there is still no space, or with {@link Policy#SHED}, the event is refused with a
+ * {@link RejectedExecutionException} so the publisher notices it instead of the event being lost silently.
+ */
+public class EventBusRejectionHandler implements RejectedExecutionHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBusRejectionHandler.class);
+
+    private final String shardTag;
+
+    private final Policy policy;
+
+    private final long blockTimeoutMs;
+
+    private final MetricService metricService;
+
+    public EventBusRejectionHandler(int shard, Policy policy, long blockTimeoutMs, MetricService metricService) {
+        this.shardTag = String.valueOf(shard);
+        this.policy = policy;
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.metricService = metricService;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+        if (policy == Policy.BLOCK && !executor.isShutdown() && offer(r, executor)) {
+            return;
+        }
+        metricService.incrementMetricCounter(FlowMetricType.EVENTBUS_SHARD_REJECTED, "shard", shardTag, "policy", policy.name().toLowerCase());
+        LOGGER.error("Task has been rejected from 'reactorDispatcher' shard {} with {} policy. Executor state: {}", shardTag, policy, executor);
+        throw new RejectedExecutionException("Event bus shard " + shardTag + " is saturated, task has been rejected");
+    }
+
+    private boolean offer(Runnable r, ThreadPoolExecutor executor) {
+        try {
+            return executor.getQueue().offer(r, blockTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public enum Policy {
+        BLOCK,
+        SHED
+    }
+}
@@ -0,0 +1,43 @@
+package com.sequenceiq.flow.reactor.config;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import com.sequenceiq.flow.core.FlowMetricType;
+
+import reactor.core.support.NamedDaemonThreadFactory;
+
+/**
+ * Thread pool of one event bus shard. Publishes the depth of its queue and the time tasks spent waiting in it.
+ */
+public class EventBusShardExecutor extends MDCCleanerThreadPoolExecutor {
+
+    private final String shardTag;
+
+    private final MetricService metricService;
+
+    public EventBusShardExecutor(int shard, int corePoolSize, int maximumPoolSize, BlockingQueue<Runnable> workQueue,
+            RejectedExecutionHandler handler, MetricService metricService) {
+        super(corePoolSize, maximumPoolSize, 0L, TimeUnit.MILLISECONDS, workQueue, new NamedDaemonThreadFactory("reactorDispatcher-" + shard), handler);
+        this.shardTag = String.valueOf(shard);
+        this.metricService = metricService;
+        metricService.gaugeCollectionSize(FlowMetricType.EVENTBUS_SHARD_QUEUE_SIZE, workQueue, "shard", shardTag);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        long enqueuedNanos = System.nanoTime();
+        super.execute(() -> {
+            metricService.recordTimerMetric(FlowMetricType.EVENTBUS_SHARD_WAIT_TIME, Duration.ofNanos(System.nanoTime() - enqueuedNanos), "shard", shardTag);
+            command.run();
+        });
+    }
+
+    public String getShardTag() {
+        return shardTag;
+    }
+}
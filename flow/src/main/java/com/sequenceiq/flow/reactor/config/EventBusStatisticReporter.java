@@ -1,15 +1,17 @@
 package com.sequenceiq.flow.reactor.config;
 
-import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+
 import reactor.bus.EventBus;
 import reactor.core.Dispatcher;
 
-import javax.inject.Inject;
-import javax.inject.Named;
-
 @Component
 public class EventBusStatisticReporter {
 
@@ -19,8 +21,7 @@ public class EventBusStatisticReporter {
     private EventBus eventBus;
 
     @Inject
-    @Named("eventBusThreadPoolExecutor")
-    private MDCCleanerThreadPoolExecutor executor;
+    private EventBusExecutors eventBusExecutors;
 
     public void logInfoReport() {
         LOGGER.info("Reactor event bus statistics: {}", create());
@@ -37,12 +38,14 @@ public class EventBusStatisticReporter {
         stats.setRemainingSlots(dispatcher.remainingSlots());
         stats.setInContext(dispatcher.inContext());
 
-        stats.setPoolSize(executor.getPoolSize());
-        stats.setCorePoolSize(executor.getCorePoolSize());
-        stats.setActiveCount(executor.getActiveCount());
-        stats.setTaskCount(executor.getTaskCount());
-        stats.setActiveCount(executor.getActiveCount());
-        stats.setCompletedTaskCount(executor.getCompletedTaskCount());
+        List<EventBusShardExecutor> executors = eventBusExecutors.getShards();
+        stats.setShardCount(executors.size());
+        stats.setPoolSize(executors.stream().mapToInt(EventBusShardExecutor::getPoolSize).sum());
+        stats.setCorePoolSize(executors.stream().mapToInt(EventBusShardExecutor::getCorePoolSize).sum());
+        stats.setActiveCount(executors.stream().mapToInt(EventBusShardExecutor::getActiveCount).sum());
+        stats.setTaskCount(executors.stream().mapToLong(EventBusShardExecutor::getTaskCount).sum());
+        stats.setCompletedTaskCount(executors.stream().mapToLong(EventBusShardExecutor::getCompletedTaskCount).sum());
+        stats.setShardQueueSizes(executors.stream().map(executor -> executor.getQueue().size()).collect(Collectors.toList()));
 
         return stats;
     }
@@ -67,6 +70,10 @@ public class EventBusStatisticReporter {
 
         private boolean inContext;
 
+        private int shardCount;
+
+        private List<Integer> shardQueueSizes;
+
         public void setGetActiveCount(long getActiveCount) {
             this.getActiveCount = getActiveCount;
         }
@@ -103,6 +110,14 @@ public class EventBusStatisticReporter {
             this.inContext = inContext;
         }
 
+        public void setShardCount(int shardCount) {
+            this.shardCount = shardCount;
+        }
+
+        public void setShardQueueSizes(List<Integer> shardQueueSizes) {
+            this.shardQueueSizes = shardQueueSizes;
+        }
+
         @Override
         public String toString() {
             return "EventBusStatistics{" +
@@ -115,6 +130,8 @@ public class EventBusStatisticReporter {
                     ", poolSize=" + poolSize +
                     ", activeCount=" + activeCount +
                     ", inContext=" + inContext +
+                    ", shardCount=" + shardCount +
+                    ", shardQueueSizes=" + shardQueueSizes +
                     '}';
         }
     }
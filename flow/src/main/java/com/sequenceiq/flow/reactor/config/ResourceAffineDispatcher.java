@@ -0,0 +1,113 @@
+package com.sequenceiq.flow.reactor.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sequenceiq.cloudbreak.common.event.Payload;
+
+import reactor.bus.Event;
+import reactor.core.Dispatcher;
+import reactor.fn.Consumer;
+
+/**
+ * Spreads the events of the event bus over several dispatchers, each of them with its own thread pool and queue.
+ * Events of the same resource are always routed to the same shard, so they are queued in publishing order and
+ * a busy resource can only saturate its own shard. Events without a resource id are distributed round-robin.
+ * The lifecycle operations are applied to all shards and their statistics are aggregated.
+ */
+public class ResourceAffineDispatcher implements Dispatcher {
+
+    private final List<Dispatcher> shards;
+
+    private final AtomicInteger roundRobin = new AtomicInteger();
+
+    public ResourceAffineDispatcher(List<Dispatcher> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one dispatcher shard is required");
+        }
+        this.shards = List.copyOf(shards);
+    }
+
+    @Override
+    public <E> void tryDispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+        shards.get(selectShard(data)).tryDispatch(data, eventConsumer, errorConsumer);
+    }
+
+    @Override
+    public <E> void dispatch(E data, Consumer<E> eventConsumer, Consumer<Throwable> errorConsumer) {
+        shards.get(selectShard(data)).dispatch(data, eventConsumer, errorConsumer);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        shards.get(selectShard(command)).execute(command);
+    }
+
+    @Override
+    public long remainingSlots() {
+        return shards.stream().mapToLong(Dispatcher::remainingSlots).sum();
+    }
+
+    @Override
+    public long backlogSize() {
+        return shards.stream().mapToLong(Dispatcher::backlogSize).sum();
+    }
+
+    @Override
+    public boolean supportsOrdering() {
+        return false;
+    }
+
+    @Override
+    public boolean inContext() {
+        return shards.stream().anyMatch(Dispatcher::inContext);
+    }
+
+    @Override
+    public boolean alive() {
+        return shards.stream().allMatch(Dispatcher::alive);
+    }
+
+    @Override
+    public void shutdown() {
+        shards.forEach(Dispatcher::shutdown);
+    }
+
+    @Override
+    public void forceShutdown() {
+        shards.forEach(Dispatcher::forceShutdown);
+    }
+
+    @Override
+    public boolean awaitAndShutdown() {
+        boolean result = true;
+        for (Dispatcher shard : shards) {
+            result &= shard.awaitAndShutdown();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean awaitAndShutdown(long timeout, TimeUnit timeUnit) {
+        long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+        boolean result = true;
+        for (Dispatcher shard : shards) {
+            result &= shard.awaitAndShutdown(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceAffineDispatcher" + shards;
+    }
+
+    int selectShard(Object data) {
+        Object payload = data instanceof Event ? ((Event<?>) data).getData() : data;
+        if (payload instanceof Payload && ((Payload) payload).getResourceId() != null) {
+            return Math.floorMod(((Payload) payload).getResourceId().hashCode(), shards.size());
+        }
+        return Math.floorMod(roundRobin.getAndIncrement(), shards.size());
+    }
+}
@@ -0,0 +1,129 @@
+package com.sequenceiq.flow.reactor.handler;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
+import com.sequenceiq.flow.reactor.api.handler.EventHandler;
+
+import reactor.bus.Event;
+import reactor.fn.Consumer;
+
+/**
+ * Runs selected long-blocking event handlers on a separate elastic thread pool instead of the event bus threads,
+ * so a handler waiting minutes for a cloud provider or cluster manager does not hold one of the limited event bus threads.
+ * The MDC context of the event bus thread is copied to the handler thread; the tracing span and the flow trigger user
+ * are restored from the event headers when the handler is invoked. When the elastic pool is exhausted the handler
+ * runs on the event bus thread as before.
+ */
+@Component
+public class ElasticEventHandlerExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElasticEventHandlerExecutor.class);
+
+    private static final String ALL_HANDLERS = "*";
+
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static final long BYTES_PER_KB = 1024L;
+
+    @Value("${cb.eventbus.handler.elastic.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.eventbus.handler.elastic.handlers:}")
+    private Set<String> handlerNames;
+
+    @Value("${cb.eventbus.handler.elastic.max.size:2000}")
+    private int maxPoolSize;
+
+    @Value("${cb.eventbus.handler.elastic.thread.stack.size.kb:512}")
+    private long threadStackSizeKb;
+
+    @Inject
+    @Named("eventBusDispatchErrorHandler")
+    private Consumer<Throwable> dispatchErrorHandler;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            LOGGER.info("Elastic execution is enabled for event handlers {} with max {} threads", handlerNames, maxPoolSize);
+            executor = new MDCCleanerThreadPoolExecutor(0, maxPoolSize, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new StackSizeThreadFactory(threadStackSizeKb * BYTES_PER_KB), new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Wraps the handler so that it runs on the elastic pool when elastic execution is enabled for it.
+     *
+     * @param handler the handler to register on the event bus
+     * @return the consumer to register on the event bus
+     */
+    public <T> Consumer<Event<T>> decorate(EventHandler<T> handler) {
+        String handlerName = AopUtils.getTargetClass(handler).getSimpleName();
+        if (executor != null && (handlerNames.contains(ALL_HANDLERS) || handlerNames.contains(handlerName))) {
+            LOGGER.debug("Handler [{}] runs on the elastic event handler pool", handlerName);
+            return event -> execute(handler, event);
+        }
+        return handler;
+    }
+
+    int getActiveCount() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    private <T> void execute(EventHandler<T> handler, Event<T> event) {
+        Map<String, String> mdcContext = MDCBuilder.getMdcContextMap();
+        executor.execute(() -> {
+            MDCBuilder.buildMdcContextFromMap(mdcContext);
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                dispatchErrorHandler.accept(e);
+            }
+        });
+    }
+
+    private static class StackSizeThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        private final long stackSize;
+
+        StackSizeThreadFactory(long stackSize) {
+            this.stackSize = stackSize;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(null, r, "elasticEventHandler-" + counter.incrementAndGet(), stackSize);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
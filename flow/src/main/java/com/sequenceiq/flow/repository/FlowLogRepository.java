@@ -15,6 +15,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
+import com.sequenceiq.flow.domain.FlowLogNodeIdWithVersion;
 import com.sequenceiq.flow.domain.StateStatus;
 
 @Transactional(TxType.REQUIRED)
@@ -26,6 +27,9 @@ public interface FlowLogRepository extends CrudRepository<FlowLog, Long> {
             + "WHERE fl.stateStatus = 'PENDING' AND fl.resourceId = :resourceId")
     Set<FlowLogIdWithTypeAndTimestamp> findAllRunningFlowLogByResourceId(@Param("resourceId") Long resourceId);
 
+    @Query("SELECT fl.cloudbreakNodeId as cloudbreakNodeId, fl.version as version FROM FlowLog fl WHERE fl.id = :id")
+    Optional<FlowLogNodeIdWithVersion> findNodeIdWithVersionById(@Param("id") Long id);
+
     @Query("SELECT DISTINCT fl.flowId, fl.resourceId, fl.cloudbreakNodeId FROM FlowLog fl WHERE fl.stateStatus = 'PENDING'")
     List<Object[]> findAllPending();
 
@@ -58,6 +62,10 @@ public interface FlowLogRepository extends CrudRepository<FlowLog, Long> {
     @Query("UPDATE FlowLog fl SET fl.stateStatus = :stateStatus WHERE fl.id = :id")
     void updateLastLogStatusInFlow(@Param("id") Long id, @Param("stateStatus") StateStatus stateStatus);
 
+    @Modifying
+    @Query("UPDATE FlowLog fl SET fl.stateStatus = :stateStatus WHERE fl.id IN (:ids)")
+    void updateLastLogStatusInFlows(@Param("ids") Set<Long> ids, @Param("stateStatus") StateStatus stateStatus);
+
     @Modifying
     @Query("DELETE FROM FlowLog fl WHERE fl.finalized = TRUE")
     int purgeFinalizedFlowLogs();
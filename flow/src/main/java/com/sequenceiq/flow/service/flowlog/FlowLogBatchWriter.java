@@ -0,0 +1,267 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.google.common.collect.Lists;
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.flow.core.FlowMetricType;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+import reactor.core.support.NamedDaemonThreadFactory;
+
+/**
+ * Group commits flow state transitions of many flows into batched inserts and updates.
+ * Callers are blocked until their own transition is committed, so a transition is durable before the next state's action runs.
+ * The last flow log of every flow handled by this node is kept in memory, so only its owner node and version are read per event instead of
+ * looking up the last flow log of the flow.
+ */
+@Component
+public class FlowLogBatchWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FlowLogBatchWriter.class);
+
+    private static final long POLL_TIMEOUT_MS = 1000L;
+
+    @Value("${cb.flow.flowlog.writebehind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cb.flow.flowlog.writebehind.batch.size:200}")
+    private int maxBatchSize;
+
+    @Value("${cb.flow.flowlog.writebehind.batch.linger.ms:0}")
+    private long lingerMs;
+
+    @Value("${cb.flow.flowlog.writebehind.write.timeout.ms:60000}")
+    private long writeTimeoutMs;
+
+    @Inject
+    private FlowLogRepository flowLogRepository;
+
+    @Inject
+    private TransactionService transactionService;
+
+    @Inject
+    private MetricService metricService;
+
+    private final BlockingQueue<FlowLogWrite> pendingWrites = new LinkedBlockingQueue<>();
+
+    private final Map<String, FlowLog> lastFlowLogs = new ConcurrentHashMap<>();
+
+    private ExecutorService writerExecutor;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            LOGGER.info("Flow log write-behind is enabled with max batch size {} and linger {} ms", maxBatchSize, lingerMs);
+            running = true;
+            writerExecutor = Executors.newSingleThreadExecutor(new NamedDaemonThreadFactory("flowLogBatchWriter"));
+            writerExecutor.submit(this::writeLoop);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writerExecutor != null) {
+            running = false;
+            writerExecutor.shutdown();
+            if (!writerExecutor.awaitTermination(writeTimeoutMs, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Flow log batch writer did not finish in time, {} writes are still pending", pendingWrites.size());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Updates the status of the previous flow log and saves the new one in the next batch, then waits for the commit.
+     *
+     * @param lastFlowLog       the previous flow log of the flow, its status is updated when not null
+     * @param lastFlowLogStatus the new status of the previous flow log
+     * @param flowLog           the flow log to insert or update
+     * @return the saved flow log
+     */
+    public FlowLog write(FlowLog lastFlowLog, StateStatus lastFlowLogStatus, FlowLog flowLog) {
+        FlowLogWrite write = new FlowLogWrite(lastFlowLog == null ? null : lastFlowLog.getId(), lastFlowLogStatus, flowLog);
+        if (running) {
+            pendingWrites.add(write);
+        } else {
+            LOGGER.debug("Flow log batch writer is not running, writing flow log of flow {} directly", flowLog.getFlowId());
+            writeBatch(List.of(write));
+        }
+        try {
+            return write.getResult().get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CloudbreakServiceException("Interrupted while waiting for flow log write of flow " + flowLog.getFlowId(), e);
+        } catch (ExecutionException e) {
+            throw new CloudbreakServiceException("Flow log write failed for flow " + flowLog.getFlowId(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new CloudbreakServiceException("Flow log write timed out for flow " + flowLog.getFlowId(), e);
+        }
+    }
+
+    public Optional<FlowLog> getLastFlowLog(String flowId) {
+        return Optional.ofNullable(lastFlowLogs.get(flowId));
+    }
+
+    public void cacheLastFlowLog(FlowLog flowLog) {
+        if (enabled) {
+            lastFlowLogs.put(flowLog.getFlowId(), flowLog);
+        }
+    }
+
+    public void evictLastFlowLog(String flowId) {
+        lastFlowLogs.remove(flowId);
+    }
+
+    private void writeLoop() {
+        List<FlowLogWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running || !pendingWrites.isEmpty()) {
+            try {
+                FlowLogWrite first = pendingWrites.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    collectBatch(batch);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                LOGGER.warn("Flow log batch writer has been interrupted", e);
+                running = false;
+                pendingWrites.drainTo(batch);
+                batch.forEach(write -> write.getResult().completeExceptionally(e));
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.error("Unexpected error in flow log batch writer", e);
+                batch.forEach(write -> write.getResult().completeExceptionally(e));
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<FlowLogWrite> batch) throws InterruptedException {
+        pendingWrites.drainTo(batch, maxBatchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        long remaining = deadline - System.nanoTime();
+        while (batch.size() < maxBatchSize && remaining > 0) {
+            FlowLogWrite next = pendingWrites.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            pendingWrites.drainTo(batch, maxBatchSize - batch.size());
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    private void writeBatch(List<FlowLogWrite> batch) {
+        metricService.submit(FlowMetricType.FLOWLOG_WRITE_BATCH_SIZE, batch.size());
+        metricService.submit(FlowMetricType.FLOWLOG_WRITE_QUEUE_SIZE, pendingWrites.size());
+        try {
+            List<FlowLog> savedFlowLogs = transactionService.required(() -> saveBatch(batch));
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), savedFlowLogs.get(i));
+            }
+        } catch (TransactionExecutionException | RuntimeException e) {
+            if (batch.size() > 1) {
+                LOGGER.warn("Batched write of {} flow logs failed, writing them one by one", batch.size(), e);
+                batch.forEach(write -> writeBatch(List.of(write)));
+            } else {
+                LOGGER.error("Failed to write flow log of flow {}", batch.get(0).getFlowLog().getFlowId(), e);
+                batch.get(0).getResult().completeExceptionally(e);
+            }
+        }
+    }
+
+    private List<FlowLog> saveBatch(List<FlowLogWrite> batch) {
+        batch.stream()
+                .filter(write -> write.getLastFlowLogId() != null)
+                .collect(groupingBy(FlowLogWrite::getLastFlowLogStatus, mapping(FlowLogWrite::getLastFlowLogId, toSet())))
+                .forEach((status, ids) -> flowLogRepository.updateLastLogStatusInFlows(ids, status));
+        List<FlowLog> flowLogs = batch.stream().map(FlowLogWrite::getFlowLog).collect(toList());
+        return Lists.newArrayList(flowLogRepository.saveAll(flowLogs));
+    }
+
+    private void complete(FlowLogWrite write, FlowLog savedFlowLog) {
+        cacheLastFlowLog(savedFlowLog);
+        write.getResult().complete(savedFlowLog);
+        metricService.incrementMetricCounter(FlowMetricType.FLOWLOG_WRITE_COUNT);
+        metricService.recordTimerMetric(FlowMetricType.FLOWLOG_WRITE_LATENCY, Duration.ofNanos(System.nanoTime() - write.getEnqueuedNanos()));
+    }
+
+    private static class FlowLogWrite {
+
+        private final Long lastFlowLogId;
+
+        private final StateStatus lastFlowLogStatus;
+
+        private final FlowLog flowLog;
+
+        private final long enqueuedNanos = System.nanoTime();
+
+        private final CompletableFuture<FlowLog> result = new CompletableFuture<>();
+
+        FlowLogWrite(Long lastFlowLogId, StateStatus lastFlowLogStatus, FlowLog flowLog) {
+            this.lastFlowLogId = lastFlowLogId;
+            this.lastFlowLogStatus = lastFlowLogStatus;
+            this.flowLog = flowLog;
+        }
+
+        Long getLastFlowLogId() {
+            return lastFlowLogId;
+        }
+
+        StateStatus getLastFlowLogStatus() {
+            return lastFlowLogStatus;
+        }
+
+        FlowLog getFlowLog() {
+            return flowLog;
+        }
+
+        long getEnqueuedNanos() {
+            return enqueuedNanos;
+        }
+
+        CompletableFuture<FlowLog> getResult() {
+            return result;
+        }
+    }
+}
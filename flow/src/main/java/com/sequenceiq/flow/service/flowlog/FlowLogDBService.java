@@ -4,6 +4,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
@@ -14,7 +15,6 @@ import javax.inject.Inject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
 
@@ -24,16 +24,18 @@ import com.sequenceiq.cloudbreak.auth.altus.Crn;
 import com.sequenceiq.cloudbreak.common.event.Payload;
 import com.sequenceiq.cloudbreak.common.event.Selectable;
 import com.sequenceiq.cloudbreak.common.exception.NotFoundException;
-import com.sequenceiq.cloudbreak.common.json.JsonUtil;
 import com.sequenceiq.cloudbreak.common.service.TransactionService;
 import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow;
 import com.sequenceiq.flow.core.FlowConstants;
 import com.sequenceiq.flow.core.FlowLogService;
 import com.sequenceiq.flow.core.FlowParameters;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.core.config.AbstractFlowConfiguration;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.domain.FlowChainLog;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
@@ -60,8 +62,7 @@ public class FlowLogDBService implements FlowLogService {
     private ApplicationFlowInformation applicationFlowInformation;
 
     @Inject
-    @Qualifier("JsonWriterOptions")
-    private Map<String, Object> writeOptions;
+    private FlowPayloadSerializer flowPayloadSerializer;
 
     @Inject
     private TransactionService transactionService;
@@ -69,25 +70,51 @@ public class FlowLogDBService implements FlowLogService {
     @Inject
     private ResourceIdProvider resourceIdProvider;
 
+    @Inject
+    private FlowLogBatchWriter flowLogBatchWriter;
+
+    @Inject
+    private FlowRegister runningFlows;
+
+    private volatile Set<String> terminationFlowClassNames;
+
     public FlowLog save(FlowParameters flowParameters, String flowChanId, String key, Payload payload, Map<Object, Object> variables, Class<?> flowType,
             FlowState currentState) {
+        FlowLog flowLog = createFlowLog(flowParameters, flowChanId, key, payload, variables, flowType, currentState);
+        FlowLog savedFlowLog = flowLogRepository.save(flowLog);
+        flowLogBatchWriter.cacheLastFlowLog(savedFlowLog);
+        return savedFlowLog;
+    }
+
+    @Override
+    public boolean isWriteBehindEnabled() {
+        return flowLogBatchWriter.isEnabled();
+    }
+
+    @Override
+    public FlowLog saveTransition(FlowLog lastFlowLog, boolean failureEvent, FlowParameters flowParameters, String flowChanId, String key,
+            Payload payload, Flow flow) {
+        FlowLog flowLog = createFlowLog(flowParameters, flowChanId, key, payload, flow.getVariables(), flow.getFlowConfigClass(), flow.getCurrentState());
+        StateStatus lastStateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
+        if (flowLogBatchWriter.isEnabled()) {
+            return flowLogBatchWriter.write(lastFlowLog, lastStateStatus, flowLog);
+        }
+        flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), lastStateStatus);
+        return flowLogRepository.save(flowLog);
+    }
+
+    private FlowLog createFlowLog(FlowParameters flowParameters, String flowChanId, String key, Payload payload, Map<Object, Object> variables,
+            Class<?> flowType, FlowState currentState) {
         String payloadAsString = getSerializedString(payload);
         String variablesJson = getSerializedString(variables);
         FlowLog flowLog = new FlowLog(payload.getResourceId(), flowParameters.getFlowId(), flowChanId, flowParameters.getFlowTriggerUserCrn(), key,
                 payloadAsString, payload.getClass(), variablesJson, flowType, currentState.toString());
         flowLog.setCloudbreakNodeId(nodeConfig.getId());
-        return flowLogRepository.save(flowLog);
+        return flowLog;
     }
 
     public String getSerializedString(Object object) {
-        String objectAsString;
-        try {
-            objectAsString = JsonWriter.objectToJson(object, writeOptions);
-        } catch (Exception e) {
-            LOGGER.debug("Somehow can not serialize object to string, try another method..", e);
-            objectAsString = JsonUtil.writeValueAsStringSilent(object);
-        }
-        return objectAsString;
+        return flowPayloadSerializer.serialize(object);
     }
 
     @Override
@@ -108,13 +135,15 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     private FlowLog finalize(Long stackId, String flowId, String state) throws TransactionExecutionException {
-        return transactionService.required(() -> {
+        FlowLog finalFlowLog = transactionService.required(() -> {
             flowLogRepository.finalizeByFlowId(flowId);
             getLastFlowLog(flowId).ifPresent(flowLog -> updateLastFlowLogStatus(flowLog, false));
             FlowLog flowLog = new FlowLog(stackId, flowId, state, Boolean.TRUE, StateStatus.SUCCESSFUL);
             flowLog.setCloudbreakNodeId(nodeConfig.getId());
             return flowLogRepository.save(flowLog);
         });
+        flowLogBatchWriter.evictLastFlowLog(flowId);
+        return finalFlowLog;
     }
 
     public void saveChain(String flowChainId, String parentFlowChainId, Queue<Selectable> chain, String flowTriggerUserCrn) {
@@ -126,14 +155,14 @@ public class FlowLogDBService implements FlowLogService {
     public void updateLastFlowLogStatus(FlowLog lastFlowLog, boolean failureEvent) {
         StateStatus stateStatus = failureEvent ? StateStatus.FAILED : StateStatus.SUCCESSFUL;
         flowLogRepository.updateLastLogStatusInFlow(lastFlowLog.getId(), stateStatus);
+        flowLogBatchWriter.evictLastFlowLog(lastFlowLog.getFlowId());
     }
 
     public void cancelTooOldTerminationFlowForResource(Long resourceId, long olderThan) {
         Set<FlowLogIdWithTypeAndTimestamp> allRunningFlowIdsByResourceId = flowLogRepository.findAllRunningFlowLogByResourceId(resourceId);
+        Set<String> terminationFlows = getTerminationFlowClassNames();
         allRunningFlowIdsByResourceId.stream()
-                .filter(flowLog -> applicationFlowInformation.getTerminationFlow().stream()
-                        .map(Class::getName)
-                        .anyMatch(terminationFlowClassName -> terminationFlowClassName.equals(flowLog.getFlowType().getName())))
+                .filter(flowLog -> terminationFlows.contains(flowLog.getFlowType().getName()))
                 .filter(flowlog -> flowlog.getCreated() < olderThan)
                 .findFirst().ifPresent(flowLog -> {
             try {
@@ -147,15 +176,24 @@ public class FlowLogDBService implements FlowLogService {
 
     private Set<String> findAllRunningNonTerminationFlowIdsByResourceId(Long resourceId) {
         Set<FlowLogIdWithTypeAndTimestamp> allRunningFlowIdsByResourceId = flowLogRepository.findAllRunningFlowLogByResourceId(resourceId);
+        Set<String> terminationFlows = getTerminationFlowClassNames();
         return allRunningFlowIdsByResourceId.stream()
-                .filter(flowLog -> applicationFlowInformation.getTerminationFlow().stream()
-                        .map(Class::getName)
-                        .noneMatch(terminationFlowClassName -> terminationFlowClassName.equals(flowLog.getFlowType().getName())))
+                .filter(flowLog -> !terminationFlows.contains(flowLog.getFlowType().getName()))
                 .map(FlowLogIdWithTypeAndTimestamp::getFlowId)
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Flows running on this node are answered from {@link FlowRegister}, the database is only queried when there is no such local flow,
+     * which also covers the flows running on other nodes.
+     */
     public boolean isOtherNonTerminationFlowRunning(Long resourceId) {
+        Set<String> terminationFlows = getTerminationFlowClassNames();
+        boolean localFlowRunning = runningFlows.getRunningFlowsByResourceId(resourceId).stream()
+                .anyMatch(flow -> !terminationFlows.contains(flow.getFlowConfigClass().getName()));
+        if (localFlowRunning) {
+            return true;
+        }
         Set<String> flowIds = findAllRunningNonTerminationFlowIdsByResourceId(resourceId);
         return !flowIds.isEmpty();
     }
@@ -168,29 +206,64 @@ public class FlowLogDBService implements FlowLogService {
     }
 
     public boolean isOtherFlowRunning(Long resourceId) {
+        if (!runningFlows.getRunningFlowsByResourceId(resourceId).isEmpty()) {
+            return true;
+        }
         Set<String> flowIds = findAllRunningFlowIdsByResourceId(resourceId);
         return !flowIds.isEmpty();
     }
 
+    private Set<String> getTerminationFlowClassNames() {
+        if (terminationFlowClassNames == null) {
+            terminationFlowClassNames = applicationFlowInformation.getTerminationFlow().stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return terminationFlowClassNames;
+    }
+
     public boolean repeatedFlowState(FlowLog lastFlowLog, String event) {
         return Optional.ofNullable(lastFlowLog).map(FlowLog::getNextEvent).map(flowLog -> flowLog.equalsIgnoreCase(event)).orElse(false);
     }
 
     public void updateLastFlowLogPayload(FlowLog lastFlowLog, Payload payload, Map<Object, Object> variables) {
-        String payloadJson = JsonWriter.objectToJson(payload, writeOptions);
-        String variablesJson = JsonWriter.objectToJson(variables, writeOptions);
+        String payloadJson = getSerializedString(payload);
+        String variablesJson = getSerializedString(variables);
         Optional.ofNullable(lastFlowLog)
                 .ifPresent(flowLog -> {
                     flowLog.setPayload(payloadJson);
                     flowLog.setVariables(variablesJson);
-                    flowLogRepository.save(flowLog);
+                    if (flowLogBatchWriter.isEnabled()) {
+                        flowLogBatchWriter.write(null, null, flowLog);
+                    } else {
+                        flowLogRepository.save(flowLog);
+                    }
                 });
     }
 
     public Optional<FlowLog> getLastFlowLog(String flowId) {
+        Optional<FlowLog> cachedFlowLog = flowLogBatchWriter.getLastFlowLog(flowId);
+        if (cachedFlowLog.isPresent()) {
+            if (isUpToDate(cachedFlowLog.get())) {
+                return cachedFlowLog;
+            }
+            LOGGER.info("The cached last flow log of flow {} has been changed by another node, reading it again", flowId);
+            flowLogBatchWriter.evictLastFlowLog(flowId);
+        }
         return flowLogRepository.findFirstByFlowIdOrderByCreatedDesc(flowId);
     }
 
+    /**
+     * The owner node and the version of the cached flow log is read from the DB by its id, so a flow that was distributed to another node
+     * by the heartbeat is abandoned here, and the cached entity is not written back with a stale version.
+     */
+    private boolean isUpToDate(FlowLog cachedFlowLog) {
+        return flowLogRepository.findNodeIdWithVersionById(cachedFlowLog.getId())
+                .map(current -> Objects.equals(current.getCloudbreakNodeId(), cachedFlowLog.getCloudbreakNodeId())
+                        && Objects.equals(current.getVersion(), cachedFlowLog.getVersion()))
+                .orElse(false);
+    }
+
     @Override
     public Set<String> findAllRunningNonTerminationFlowIdsByStackId(Long resourceId) {
         return findAllRunningNonTerminationFlowIdsByResourceId(resourceId);
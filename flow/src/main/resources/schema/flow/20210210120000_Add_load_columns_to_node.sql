@@ -0,0 +1,11 @@
+-- // Add load columns to node
+-- Migration SQL that makes the change goes here.
+
+ALTER TABLE node ADD COLUMN IF NOT EXISTS activeflowcount int4 NOT NULL DEFAULT 0;
+ALTER TABLE node ADD COLUMN IF NOT EXISTS queuedepth int8 NOT NULL DEFAULT 0;
+
+-- //@UNDO
+-- SQL to undo the change goes here.
+
+ALTER TABLE node DROP COLUMN IF EXISTS activeflowcount;
+ALTER TABLE node DROP COLUMN IF EXISTS queuedepth;
@@ -5,7 +5,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -64,6 +64,7 @@ import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
+import com.sequenceiq.flow.reactor.config.EventBusExecutors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class HeartbeatServiceTest {
@@ -112,6 +113,9 @@ public class HeartbeatServiceTest {
     @Mock
     private InMemoryCleanup inMemoryCleanup;
 
+    @Mock
+    private EventBusExecutors eventBusExecutors;
+
     @Captor
     private ArgumentCaptor<String> stringCaptor;
 
@@ -158,7 +162,7 @@ public class HeartbeatServiceTest {
         distribution.computeIfAbsent(clusterNodes.get(0), v -> new ArrayList<>()).
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(1), suspendedFlows.get(2),
                         suspendedFlows.get(3), suspendedFlows.get(4)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         Set<FlowLog> myNewFlowLogs = new HashSet<>();
         myNewFlowLogs.addAll(node1FlowLogs);
@@ -210,7 +214,7 @@ public class HeartbeatServiceTest {
         distribution.computeIfAbsent(clusterNodes.get(0), v -> new ArrayList<>()).
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(1), suspendedFlows.get(2),
                         suspendedFlows.get(3), suspendedFlows.get(4)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         Set<FlowLog> myNewFlowLogs = new HashSet<>();
         myNewFlowLogs.addAll(node1FlowLogs);
@@ -262,7 +266,7 @@ public class HeartbeatServiceTest {
         distribution.computeIfAbsent(clusterNodes.get(0), v -> new ArrayList<>()).
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(1), suspendedFlows.get(2),
                         suspendedFlows.get(3), suspendedFlows.get(4)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         Set<FlowLog> myNewFlowLogs = new HashSet<>();
         myNewFlowLogs.addAll(node1FlowLogs);
@@ -327,7 +331,7 @@ public class HeartbeatServiceTest {
         distribution.computeIfAbsent(clusterNodes.get(0), v -> new ArrayList<>()).
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(1), suspendedFlows.get(2),
                         suspendedFlows.get(3), suspendedFlows.get(4)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         Set<FlowLog> myNewFlowLogs = new HashSet<>();
         myNewFlowLogs.addAll(node1FlowLogs);
@@ -378,7 +382,7 @@ public class HeartbeatServiceTest {
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(2)));
         distribution.computeIfAbsent(clusterNodes.get(2), v -> new ArrayList<>()).
                 addAll(Collections.singletonList(suspendedFlows.get(1)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         Set<FlowLog> myNewFlowLogs = new HashSet<>();
         myNewFlowLogs.addAll(node1FlowLogs.stream().filter(fl -> fl.getFlowId().equalsIgnoreCase(suspendedFlows.get(0))).collect(Collectors.toList()));
@@ -420,7 +424,7 @@ public class HeartbeatServiceTest {
                 addAll(Arrays.asList(suspendedFlows.get(0), suspendedFlows.get(2)));
         distribution.computeIfAbsent(clusterNodes.get(2), v -> new ArrayList<>()).
                 addAll(Collections.singletonList(suspendedFlows.get(1)));
-        when(flowDistributor.distribute(any(), any())).thenReturn(distribution);
+        when(flowDistributor.distributeByResource(any(), any())).thenReturn(distribution);
 
         List<FlowLog> myNewFlowLogs = node1FlowLogs.stream().filter(fl -> fl.getFlowId().equalsIgnoreCase(suspendedFlows.get(0))).collect(Collectors.toList());
         when(flowLogService.findAllByCloudbreakNodeId(MY_ID)).thenReturn(new HashSet<>(myNewFlowLogs));
@@ -554,7 +558,7 @@ public class HeartbeatServiceTest {
         when(flowLogService.findAllByCloudbreakNodeId(NODE_1_ID)).thenReturn(failedFlowLogs2);
 
         Map<Node, List<String>> flowDistribution = createFlowDistribution(failedFLowLogs1, failedFlowLogs2);
-        when(flowDistributor.distribute(anyList(), eq(clusterNodes.subList(2, clusterNodes.size())))).thenReturn(flowDistribution);
+        when(flowDistributor.distributeByResource(anyMap(), eq(clusterNodes.subList(2, clusterNodes.size())))).thenReturn(flowDistribution);
 
         Set<Long> deletedResources = failedFLowLogs1.stream()
                 .map(FlowLog::getResourceId)
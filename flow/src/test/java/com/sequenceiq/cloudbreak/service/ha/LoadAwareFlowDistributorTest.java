@@ -0,0 +1,66 @@
+package com.sequenceiq.cloudbreak.service.ha;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.cloudbreak.ha.domain.Node;
+import com.sequenceiq.cloudbreak.ha.service.LoadAwareFlowDistributor;
+
+class LoadAwareFlowDistributorTest {
+
+    private final LoadAwareFlowDistributor underTest = new LoadAwareFlowDistributor();
+
+    @Test
+    void testFlowsGoToTheLeastLoadedNode() {
+        Node busy = node("busy", 10, 5L);
+        Node idle = node("idle", 0, 0L);
+
+        Map<Node, List<String>> result = underTest.distribute(List.of("flow1", "flow2", "flow3"), List.of(busy, idle));
+
+        assertNull(result.get(busy));
+        assertEquals(3, result.get(idle).size());
+    }
+
+    @Test
+    void testFlowsAreSpreadWhenLoadIsEqual() {
+        Node node1 = node("node1", 0, 0L);
+        Node node2 = node("node2", 0, 0L);
+
+        Map<Node, List<String>> result = underTest.distribute(List.of("flow1", "flow2", "flow3", "flow4"), List.of(node1, node2));
+
+        assertEquals(2, result.get(node1).size());
+        assertEquals(2, result.get(node2).size());
+    }
+
+    @Test
+    void testFlowsOfTheSameResourceStayTogether() {
+        Node node1 = node("node1", 0, 0L);
+        Node node2 = node("node2", 1, 0L);
+
+        Map<Node, List<String>> result = underTest.distributeByResource(
+                Map.of(1L, List.of("flow1", "flow2", "flow3"), 2L, List.of("flow4"), 3L, List.of("flow5")), List.of(node1, node2));
+
+        assertEquals(List.of("flow1", "flow2", "flow3"), result.get(node1));
+        assertEquals(2, result.get(node2).size());
+        assertTrue(result.get(node2).containsAll(List.of("flow4", "flow5")));
+    }
+
+    @Test
+    void testNoActiveNode() {
+        assertTrue(underTest.distributeByResource(Map.of(1L, List.of("flow1")), Collections.emptyList()).isEmpty());
+    }
+
+    private Node node(String uuid, int activeFlowCount, long queueDepth) {
+        Node node = new Node(uuid);
+        node.setActiveFlowCount(activeFlowCount);
+        node.setQueueDepth(queueDepth);
+        return node;
+    }
+}
@@ -27,6 +27,7 @@ import com.sequenceiq.flow.core.chain.FlowChains;
 import com.sequenceiq.flow.core.config.FlowConfiguration;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.service.flowlog.FlowLogBatchWriter;
 
 @ExtendWith(MockitoExtension.class)
 class InMemoryCleanupTest {
@@ -39,6 +40,9 @@ class InMemoryCleanupTest {
     @Mock
     private FlowChains flowChains;
 
+    @Mock
+    private FlowLogBatchWriter flowLogBatchWriter;
+
     @InjectMocks
     private InMemoryCleanup underTest;
 
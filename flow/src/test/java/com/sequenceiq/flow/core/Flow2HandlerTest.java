@@ -3,6 +3,7 @@ package com.sequenceiq.flow.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -41,6 +42,7 @@ import org.springframework.statemachine.access.StateMachineAccessor;
 import org.springframework.statemachine.config.StateMachineFactory;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.cedarsoftware.util.io.JsonReader;
 import com.cedarsoftware.util.io.JsonWriter;
 import com.google.common.collect.Lists;
 import com.sequenceiq.cloudbreak.common.event.Payload;
@@ -51,6 +53,7 @@ import com.sequenceiq.flow.core.chain.FlowChainHandler;
 import com.sequenceiq.flow.core.chain.FlowChains;
 import com.sequenceiq.flow.core.config.FlowConfiguration;
 import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.core.restart.DefaultRestartAction;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.StateStatus;
@@ -83,6 +86,9 @@ public class Flow2HandlerTest {
     @Mock
     private FlowLogService flowLogService;
 
+    @Mock
+    private FlowPayloadSerializer flowPayloadSerializer;
+
     @Mock
     private Map<String, FlowConfiguration<?>> flowConfigurationMap;
 
@@ -176,6 +182,7 @@ public class Flow2HandlerTest {
             ((Runnable) invocation.getArgument(0)).run();
             return null;
         }).when(transactionService).required(any(Runnable.class));
+        when(flowPayloadSerializer.deserialize(anyString())).thenAnswer(invocation -> JsonReader.jsonToJava(invocation.getArgument(0)));
         when(tracer.buildSpan(anyString())).thenReturn(spanBuilder);
         when(spanBuilder.addReference(anyString(), any())).thenReturn(spanBuilder);
         when(spanBuilder.ignoreActiveSpan()).thenReturn(spanBuilder);
@@ -195,7 +202,7 @@ public class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), any());
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), isNull(), any(), any());
@@ -214,7 +221,7 @@ public class Flow2HandlerTest {
                 eq(flowConfig.getClass()), eq(flowState))).thenThrow(new RuntimeException("Can't save flow log"));
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), any());
         verify(flowLogService, times(1))
                 .save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(), eq(flowConfig.getClass()), eq(flowState));
         verify(runningFlows, times(1)).remove(anyString());
@@ -236,7 +243,7 @@ public class Flow2HandlerTest {
         event.getHeaders().set(FlowConstants.FLOW_TRIGGER_USERCRN, FLOW_TRIGGER_USERCRN);
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class));
+        verify(runningFlows, times(1)).put(eq(flow), isNull(String.class), any());
         verify(flowLogService, times(1)).save(any(FlowParameters.class), nullable(String.class), eq("KEY"), any(Payload.class), any(),
                 ArgumentMatchers.eq(helloWorldFlowConfig.getClass()), eq(flowState));
         verify(flow, times(1)).sendEvent(anyString(), anyString(), any(), any());
@@ -248,7 +255,7 @@ public class Flow2HandlerTest {
         event.setKey("KEY");
         underTest.accept(event);
         verify(flowConfigurationMap, times(1)).get(anyString());
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), any());
         verify(flowLogService, never()).save(any(FlowParameters.class), anyString(), anyString(), any(Payload.class), anyMap(), any(), any(FlowState.class));
     }
 
@@ -274,6 +281,26 @@ public class Flow2HandlerTest {
         assertNull(flowParameters.getFlowTriggerUserCrn());
     }
 
+    @Test
+    public void testExistingFlowWithWriteBehind() throws TransactionExecutionException {
+        FlowLog lastFlowLog = new FlowLog();
+        lastFlowLog.setNextEvent("OTHER_KEY");
+        BDDMockito.<FlowConfiguration<?>>given(flowConfigurationMap.get(any())).willReturn(flowConfig);
+        given(runningFlows.get(anyString())).willReturn(flow);
+        given(flow.getCurrentState()).willReturn(flowState);
+        given(flow.getFlowId()).willReturn(FLOW_ID);
+        given(flowLogService.isWriteBehindEnabled()).willReturn(true);
+        given(flowLogService.getLastFlowLog(FLOW_ID)).willReturn(Optional.of(lastFlowLog));
+
+        dummyEvent.setKey("KEY");
+        underTest.accept(dummyEvent);
+        verify(transactionService, never()).required(any(Runnable.class));
+        verify(flowLogService, times(1)).saveTransition(eq(lastFlowLog), eq(false), any(FlowParameters.class), nullable(String.class), eq("KEY"),
+                any(Payload.class), eq(flow));
+        verify(flowLogService, never()).updateLastFlowLogStatus(any(), anyBoolean());
+        verify(flow, times(1)).sendEvent(eq("KEY"), isNull(), any(), any());
+    }
+
     @Test
     public void testFinalizedFlow() {
         FlowLog lastFlowLog = new FlowLog();
@@ -355,7 +382,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), any());
         verify(flowChains, never()).removeFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
@@ -370,7 +397,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), any());
         verify(flowChains, never()).removeFlowChain(anyString());
         verify(flowChains, times(1)).triggerNextFlow(eq(FLOW_CHAIN_ID), eq(FLOW_TRIGGER_USERCRN), any(Map.class));
     }
@@ -385,7 +412,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), any());
         verify(flowChains, never()).removeFullFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
@@ -401,7 +428,7 @@ public class Flow2HandlerTest {
         verify(flowLogService, times(1)).close(anyLong(), eq(FLOW_ID));
         verify(runningFlows, times(1)).remove(eq(FLOW_ID));
         verify(runningFlows, never()).get(eq(FLOW_ID));
-        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class));
+        verify(runningFlows, never()).put(any(Flow.class), isNull(String.class), any());
         verify(flowChains, times(1)).removeFullFlowChain(anyString());
         verify(flowChains, never()).triggerNextFlow(anyString(), anyString(), any(Map.class));
     }
@@ -0,0 +1,69 @@
+package com.sequenceiq.flow.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+@ExtendWith(MockitoExtension.class)
+class FlowRegisterTest {
+
+    private static final Long RESOURCE_ID = 1L;
+
+    @Mock
+    private MetricService metricService;
+
+    @InjectMocks
+    private FlowRegister underTest;
+
+    @BeforeEach
+    void setUp() {
+        when(metricService.gaugeMapSize(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        underTest.init();
+    }
+
+    @Test
+    void testRunningFlowsAreIndexedByResource() {
+        Flow flow1 = flow("flow1");
+        Flow flow2 = flow("flow2");
+        underTest.put(flow1, null, RESOURCE_ID);
+        underTest.put(flow2, "chain", RESOURCE_ID);
+        underTest.put(flow("flow3"), null, 2L);
+
+        assertEquals(Set.of(flow1, flow2), underTest.getRunningFlowsByResourceId(RESOURCE_ID));
+
+        underTest.remove("flow1");
+
+        assertEquals(Set.of(flow2), underTest.getRunningFlowsByResourceId(RESOURCE_ID));
+
+        underTest.remove("flow2");
+
+        assertTrue(underTest.getRunningFlowsByResourceId(RESOURCE_ID).isEmpty());
+    }
+
+    @Test
+    void testFlowWithoutResourceIsNotIndexed() {
+        underTest.put(flow("flow1"), null);
+
+        assertTrue(underTest.getRunningFlowsByResourceId(RESOURCE_ID).isEmpty());
+        assertTrue(underTest.getRunningFlowsByResourceId(null).isEmpty());
+    }
+
+    private Flow flow(String flowId) {
+        Flow flow = mock(Flow.class);
+        when(flow.getFlowId()).thenReturn(flowId);
+        return flow;
+    }
+}
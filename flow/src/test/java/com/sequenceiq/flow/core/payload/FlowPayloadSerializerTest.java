@@ -0,0 +1,127 @@
+package com.sequenceiq.flow.core.payload;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.cedarsoftware.util.io.JsonWriter;
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.flow.reactor.api.event.BaseFlowEvent;
+
+class FlowPayloadSerializerTest {
+
+    private static final Long RESOURCE_ID = 1L;
+
+    private static final String RESOURCE_CRN = "crn:cdp:datalake:us-west-1:tenant:datalake:b8a64902-7765-4ddd-a4f3-df81ae585e10";
+
+    private final JsonIoFlowPayloadCodec jsonIoFlowPayloadCodec = new JsonIoFlowPayloadCodec();
+
+    private final CompactFlowPayloadCodec compactFlowPayloadCodec = new CompactFlowPayloadCodec();
+
+    private final FlowPayloadSerializer underTest = new FlowPayloadSerializer();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jsonIoFlowPayloadCodec, "writeOptions", Map.of());
+        ReflectionTestUtils.setField(compactFlowPayloadCodec, "jsonIoFlowPayloadCodec", jsonIoFlowPayloadCodec);
+        ReflectionTestUtils.setField(compactFlowPayloadCodec, "compressionLevel", 1);
+        ReflectionTestUtils.setField(underTest, "codecs", List.of(jsonIoFlowPayloadCodec, compactFlowPayloadCodec));
+        ReflectionTestUtils.setField(underTest, "jsonIoFlowPayloadCodec", jsonIoFlowPayloadCodec);
+    }
+
+    @Test
+    void testJsonIoRoundTrip() {
+        initCodec(JsonIoFlowPayloadCodec.NAME);
+
+        String serialized = underTest.serialize(new BaseFlowEvent("SELECTOR", RESOURCE_ID, RESOURCE_CRN));
+
+        assertTrue(serialized.startsWith("{"));
+        BaseFlowEvent payload = (BaseFlowEvent) underTest.deserialize(serialized);
+        assertEquals(RESOURCE_ID, payload.getResourceId());
+        assertEquals(RESOURCE_CRN, payload.getResourceCrn());
+    }
+
+    @Test
+    void testCompactRoundTrip() {
+        initCodec(CompactFlowPayloadCodec.NAME);
+
+        String serialized = underTest.serialize(new BaseFlowEvent("SELECTOR", RESOURCE_ID, RESOURCE_CRN));
+
+        assertTrue(serialized.startsWith(CompactFlowPayloadCodec.HEADER_PREFIX + CompactFlowPayloadCodec.CURRENT_VERSION));
+        BaseFlowEvent payload = (BaseFlowEvent) underTest.deserialize(serialized);
+        assertEquals(RESOURCE_ID, payload.getResourceId());
+        assertEquals(RESOURCE_CRN, payload.getResourceCrn());
+        assertEquals("SELECTOR", payload.selector());
+    }
+
+    @Test
+    void testCompactIsSmallerThanJsonIo() {
+        initCodec(CompactFlowPayloadCodec.NAME);
+        BaseFlowEvent event = new BaseFlowEvent("SELECTOR", RESOURCE_ID, RESOURCE_CRN);
+
+        String json = jsonIoFlowPayloadCodec.encode(event);
+        String compact = underTest.serialize(event);
+
+        assertTrue(compact.length() < json.length(), "compact: " + compact.length() + ", json: " + json.length());
+    }
+
+    @Test
+    void testCompactVariablesRoundTrip() {
+        initCodec(CompactFlowPayloadCodec.NAME);
+        Map<Object, Object> variables = new HashMap<>();
+        variables.put("FLOW_START_TIME", 1234L);
+        variables.put("FLOW_STATE_NAME", "INIT_STATE");
+
+        Object deserialized = underTest.deserialize(underTest.serialize(variables));
+
+        assertEquals(variables, deserialized);
+    }
+
+    @Test
+    void testOldJsonIoRowIsReadableWithCompactCodec() {
+        initCodec(CompactFlowPayloadCodec.NAME);
+        String oldRow = JsonWriter.objectToJson(new BaseFlowEvent("SELECTOR", RESOURCE_ID, RESOURCE_CRN));
+
+        BaseFlowEvent payload = (BaseFlowEvent) underTest.deserialize(oldRow);
+
+        assertEquals(RESOURCE_ID, payload.getResourceId());
+        assertEquals(oldRow, underTest.toJson(oldRow));
+    }
+
+    @Test
+    void testToJsonOfCompactRow() {
+        initCodec(CompactFlowPayloadCodec.NAME);
+        BaseFlowEvent event = new BaseFlowEvent("SELECTOR", RESOURCE_ID, RESOURCE_CRN);
+
+        String json = underTest.toJson(underTest.serialize(event));
+
+        assertEquals(jsonIoFlowPayloadCodec.encode(event), json);
+    }
+
+    @Test
+    void testUnknownCompactVersionIsNotDecodedAsCompact() {
+        assertFalse(compactFlowPayloadCodec.canDecode("FPC99:AAAA"));
+        assertThrows(CloudbreakServiceException.class, () -> compactFlowPayloadCodec.decode("FPC99:AAAA"));
+    }
+
+    @Test
+    void testUnknownCodecName() {
+        ReflectionTestUtils.setField(underTest, "codecName", "unknown");
+
+        assertThrows(IllegalStateException.class, underTest::init);
+    }
+
+    private void initCodec(String codecName) {
+        ReflectionTestUtils.setField(underTest, "codecName", codecName);
+        underTest.init();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sequenceiq.flow.reactor.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.flow.core.FlowMetricType;
+
+class EventBusRejectionHandlerTest {
+
+    private final MetricService metricService = mock(MetricService.class);
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testBlockPolicyQueuesTaskWhenSpaceIsAvailable() {
+        EventBusRejectionHandler underTest = new EventBusRejectionHandler(0, EventBusRejectionHandler.Policy.BLOCK, 100L, metricService);
+
+        underTest.rejectedExecution(() -> { }, executor);
+
+        assertEquals(1, executor.getQueue().size());
+        verify(metricService, never()).incrementMetricCounter(FlowMetricType.EVENTBUS_SHARD_REJECTED, "shard", "0", "policy", "block");
+    }
+
+    @Test
+    void testBlockPolicyRejectsAfterTimeout() {
+        EventBusRejectionHandler underTest = new EventBusRejectionHandler(0, EventBusRejectionHandler.Policy.BLOCK, 10L, metricService);
+        executor.getQueue().add(() -> { });
+
+        assertThrows(RejectedExecutionException.class, () -> underTest.rejectedExecution(() -> { }, executor));
+
+        verify(metricService).incrementMetricCounter(FlowMetricType.EVENTBUS_SHARD_REJECTED, "shard", "0", "policy", "block");
+    }
+
+    @Test
+    void testShedPolicyRejectsImmediately() {
+        EventBusRejectionHandler underTest = new EventBusRejectionHandler(1, EventBusRejectionHandler.Policy.SHED, 1000L, metricService);
+
+        assertThrows(RejectedExecutionException.class, () -> underTest.rejectedExecution(() -> { }, executor));
+
+        assertEquals(0, executor.getQueue().size());
+        verify(metricService).incrementMetricCounter(FlowMetricType.EVENTBUS_SHARD_REJECTED, "shard", "1", "policy", "shed");
+    }
+}
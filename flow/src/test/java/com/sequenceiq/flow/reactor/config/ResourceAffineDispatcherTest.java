@@ -0,0 +1,94 @@
+package com.sequenceiq.flow.reactor.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sequenceiq.flow.reactor.api.event.BaseFlowEvent;
+
+import reactor.bus.Event;
+import reactor.core.Dispatcher;
+
+class ResourceAffineDispatcherTest {
+
+    private Dispatcher shard0;
+
+    private Dispatcher shard1;
+
+    private Dispatcher underTest;
+
+    @BeforeEach
+    void setUp() {
+        shard0 = mock(Dispatcher.class);
+        shard1 = mock(Dispatcher.class);
+        underTest = new ResourceAffineDispatcher(List.of(shard0, shard1));
+    }
+
+    @Test
+    void testEventsOfTheSameResourceGoToTheSameShard() {
+        Event<BaseFlowEvent> first = Event.wrap(new BaseFlowEvent("FIRST", 3L, "crn"));
+        Event<BaseFlowEvent> second = Event.wrap(new BaseFlowEvent("SECOND", 3L, "crn"));
+
+        underTest.dispatch(first, null, null);
+        underTest.dispatch(second, null, null);
+
+        verify(shard1, times(1)).dispatch(eq(first), any(), any());
+        verify(shard1, times(1)).dispatch(eq(second), any(), any());
+        verify(shard0, never()).dispatch(any(), any(), any());
+    }
+
+    @Test
+    void testEventsWithoutResourceAreDistributed() {
+        underTest.dispatch(Event.wrap("first"), null, null);
+        underTest.dispatch(Event.wrap("second"), null, null);
+
+        verify(shard0, times(1)).dispatch(any(), any(), any());
+        verify(shard1, times(1)).dispatch(any(), any(), any());
+    }
+
+    @Test
+    void testStatisticsAreAggregated() {
+        when(shard0.backlogSize()).thenReturn(10L);
+        when(shard1.backlogSize()).thenReturn(20L);
+        when(shard1.inContext()).thenReturn(true);
+
+        assertEquals(30L, underTest.backlogSize());
+        assertTrue(underTest.inContext());
+    }
+
+    @Test
+    void testShutdownIsAppliedToAllShards() {
+        when(shard0.awaitAndShutdown()).thenReturn(true);
+        when(shard1.awaitAndShutdown()).thenReturn(false);
+
+        underTest.shutdown();
+
+        verify(shard0, times(1)).shutdown();
+        verify(shard1, times(1)).shutdown();
+        assertFalse(underTest.awaitAndShutdown());
+        verify(shard0, times(1)).awaitAndShutdown();
+        verify(shard1, times(1)).awaitAndShutdown();
+    }
+
+    @Test
+    void testShardExceptionIsPropagated() {
+        Event<BaseFlowEvent> event = Event.wrap(new BaseFlowEvent("SELECTOR", 0L, "crn"));
+        doThrow(new IllegalStateException("saturated")).when(shard0).dispatch(eq(event), any(), any());
+
+        assertThrows(IllegalStateException.class, () -> underTest.dispatch(event, null, null));
+    }
+}
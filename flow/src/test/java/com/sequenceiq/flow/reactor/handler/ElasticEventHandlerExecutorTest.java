@@ -0,0 +1,132 @@
+package com.sequenceiq.flow.reactor.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.logger.MDCBuilder;
+import com.sequenceiq.flow.reactor.api.handler.EventHandler;
+
+import reactor.bus.Event;
+import reactor.fn.Consumer;
+
+class ElasticEventHandlerExecutorTest {
+
+    private static final String FLOW_ID = "flowId";
+
+    private final ElasticEventHandlerExecutor underTest = new ElasticEventHandlerExecutor();
+
+    private final CompletableFuture<Throwable> dispatchError = new CompletableFuture<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "handlerNames", Set.of(BlockingHandler.class.getSimpleName()));
+        ReflectionTestUtils.setField(underTest, "maxPoolSize", 2);
+        ReflectionTestUtils.setField(underTest, "threadStackSizeKb", 256L);
+        ReflectionTestUtils.setField(underTest, "dispatchErrorHandler", (Consumer<Throwable>) dispatchError::complete);
+        underTest.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.shutdown();
+        MDCBuilder.cleanupMdc();
+    }
+
+    @Test
+    void testSelectedHandlerRunsOnElasticPoolWithMdc() throws Exception {
+        BlockingHandler handler = new BlockingHandler();
+        MDCBuilder.addFlowId(FLOW_ID);
+
+        underTest.decorate(handler).accept(Event.wrap("payload"));
+
+        HandlerCall call = handler.call.get(10, TimeUnit.SECONDS);
+        assertNotEquals(Thread.currentThread().getName(), call.threadName);
+        assertTrue(call.threadName.startsWith("elasticEventHandler-"));
+        assertEquals(FLOW_ID, call.flowId);
+    }
+
+    @Test
+    void testOtherHandlerIsNotDecorated() {
+        OtherHandler handler = new OtherHandler();
+
+        assertSame(handler, underTest.decorate(handler));
+    }
+
+    @Test
+    void testDisabled() {
+        underTest.shutdown();
+        ReflectionTestUtils.setField(underTest, "enabled", false);
+        ReflectionTestUtils.setField(underTest, "executor", null);
+        underTest.init();
+        BlockingHandler handler = new BlockingHandler();
+
+        assertSame(handler, underTest.decorate(handler));
+    }
+
+    @Test
+    void testHandlerFailureIsReportedToDispatchErrorHandler() throws Exception {
+        BlockingHandler handler = new BlockingHandler();
+        IllegalStateException failure = new IllegalStateException("failed");
+        handler.failure = failure;
+
+        underTest.decorate(handler).accept(Event.wrap("payload"));
+
+        assertSame(failure, dispatchError.get(10, TimeUnit.SECONDS));
+    }
+
+    private static class HandlerCall {
+
+        private final String threadName;
+
+        private final String flowId;
+
+        HandlerCall(String threadName, String flowId) {
+            this.threadName = threadName;
+            this.flowId = flowId;
+        }
+    }
+
+    private static class BlockingHandler implements EventHandler<String> {
+
+        private final CompletableFuture<HandlerCall> call = new CompletableFuture<>();
+
+        private RuntimeException failure;
+
+        @Override
+        public String selector() {
+            return "BLOCKING";
+        }
+
+        @Override
+        public void accept(Event<String> event) {
+            call.complete(new HandlerCall(Thread.currentThread().getName(), MDCBuilder.getMdcContextMap().get("flowId")));
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private static class OtherHandler implements EventHandler<String> {
+
+        @Override
+        public String selector() {
+            return "OTHER";
+        }
+
+        @Override
+        public void accept(Event<String> event) {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.sequenceiq.flow.service.flowlog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.sequenceiq.cloudbreak.common.exception.CloudbreakServiceException;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService;
+import com.sequenceiq.cloudbreak.common.service.TransactionService.TransactionExecutionException;
+import com.sequenceiq.flow.domain.FlowLog;
+import com.sequenceiq.flow.domain.StateStatus;
+import com.sequenceiq.flow.repository.FlowLogRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FlowLogBatchWriterTest {
+
+    private static final String FLOW_ID = "flowId";
+
+    private static final Long LAST_FLOW_LOG_ID = 1L;
+
+    @Mock
+    private FlowLogRepository flowLogRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private MetricService metricService;
+
+    @InjectMocks
+    private FlowLogBatchWriter underTest;
+
+    @BeforeEach
+    void setUp() throws TransactionExecutionException {
+        ReflectionTestUtils.setField(underTest, "enabled", true);
+        ReflectionTestUtils.setField(underTest, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(underTest, "writeTimeoutMs", 10000L);
+        lenient().when(transactionService.required(any(Supplier.class))).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+    }
+
+    @Test
+    void testWriteUpdatesLastFlowLogAndCachesNewOne() {
+        FlowLog lastFlowLog = flowLog(LAST_FLOW_LOG_ID);
+        FlowLog flowLog = flowLog(null);
+        when(flowLogRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        FlowLog result = underTest.write(lastFlowLog, StateStatus.SUCCESSFUL, flowLog);
+
+        assertSame(flowLog, result);
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlows(Set.of(LAST_FLOW_LOG_ID), StateStatus.SUCCESSFUL);
+        verify(flowLogRepository, times(1)).saveAll(List.of(flowLog));
+        assertSame(flowLog, underTest.getLastFlowLog(FLOW_ID).get());
+    }
+
+    @Test
+    void testWriteWithoutLastFlowLogOnlySaves() {
+        FlowLog flowLog = flowLog(LAST_FLOW_LOG_ID);
+        when(flowLogRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        underTest.write(null, null, flowLog);
+
+        verify(flowLogRepository, never()).updateLastLogStatusInFlows(any(), any());
+        verify(flowLogRepository, times(1)).saveAll(List.of(flowLog));
+    }
+
+    @Test
+    void testWriteFailure() {
+        FlowLog flowLog = flowLog(null);
+        when(flowLogRepository.saveAll(anyIterable())).thenThrow(new IllegalStateException("db down"));
+
+        CloudbreakServiceException exception = assertThrows(CloudbreakServiceException.class,
+                () -> underTest.write(flowLog(LAST_FLOW_LOG_ID), StateStatus.FAILED, flowLog));
+
+        assertTrue(exception.getMessage().contains(FLOW_ID));
+        assertTrue(underTest.getLastFlowLog(FLOW_ID).isEmpty());
+    }
+
+    @Test
+    void testWriteWithRunningWriter() throws InterruptedException {
+        FlowLog flowLog = flowLog(null);
+        when(flowLogRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+        underTest.init();
+        try {
+            assertSame(flowLog, underTest.write(flowLog(LAST_FLOW_LOG_ID), StateStatus.SUCCESSFUL, flowLog));
+        } finally {
+            underTest.shutdown();
+        }
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlows(Set.of(LAST_FLOW_LOG_ID), StateStatus.SUCCESSFUL);
+    }
+
+    @Test
+    void testEvictLastFlowLog() {
+        underTest.cacheLastFlowLog(flowLog(LAST_FLOW_LOG_ID));
+        assertEquals(LAST_FLOW_LOG_ID, underTest.getLastFlowLog(FLOW_ID).get().getId());
+
+        underTest.evictLastFlowLog(FLOW_ID);
+
+        assertTrue(underTest.getLastFlowLog(FLOW_ID).isEmpty());
+    }
+
+    private FlowLog flowLog(Long id) {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setId(id);
+        flowLog.setFlowId(FLOW_ID);
+        return flowLog;
+    }
+}
@@ -1,10 +1,13 @@
 package com.sequenceiq.flow.service.flowlog;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -38,12 +41,18 @@ import com.sequenceiq.cloudbreak.common.event.Selectable;
 import com.sequenceiq.cloudbreak.common.exception.NotFoundException;
 import com.sequenceiq.cloudbreak.common.service.TransactionService;
 import com.sequenceiq.flow.core.ApplicationFlowInformation;
+import com.sequenceiq.flow.core.Flow;
 import com.sequenceiq.flow.core.FlowEvent;
+import com.sequenceiq.flow.core.FlowParameters;
+import com.sequenceiq.flow.core.FlowRegister;
 import com.sequenceiq.flow.core.FlowState;
 import com.sequenceiq.flow.core.ResourceIdProvider;
 import com.sequenceiq.flow.core.config.AbstractFlowConfiguration;
+import com.sequenceiq.flow.core.helloworld.config.HelloWorldFlowConfig;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.FlowLogIdWithTypeAndTimestamp;
+import com.sequenceiq.flow.domain.FlowLogNodeIdWithVersion;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.flow.ha.NodeConfig;
 import com.sequenceiq.flow.repository.FlowLogRepository;
@@ -81,6 +90,15 @@ public class FlowLogDBServiceTest {
     @Mock
     private NodeConfig nodeConfig;
 
+    @Mock
+    private FlowLogBatchWriter flowLogBatchWriter;
+
+    @Mock
+    private FlowPayloadSerializer flowPayloadSerializer;
+
+    @Mock
+    private FlowRegister runningFlows;
+
     @Test
     public void updateLastFlowLogStatus() {
         runUpdateLastFlowLogStatusTest(false, StateStatus.SUCCESSFUL);
@@ -112,6 +130,87 @@ public class FlowLogDBServiceTest {
         assertEquals(flowLogOptional, lastFlowLog);
     }
 
+    @Test
+    public void getLastFlowLogFromWriteBehindCache() {
+        FlowLog flowLog = new FlowLog();
+        flowLog.setId(ID);
+        flowLog.setCloudbreakNodeId("node1");
+        flowLog.setVersion(1L);
+
+        when(flowLogBatchWriter.getLastFlowLog(FLOW_ID)).thenReturn(Optional.of(flowLog));
+        when(flowLogRepository.findNodeIdWithVersionById(ID)).thenReturn(Optional.of(nodeIdWithVersion("node1", 1L)));
+
+        assertEquals(Optional.of(flowLog), underTest.getLastFlowLog(FLOW_ID));
+        verify(flowLogRepository, never()).findFirstByFlowIdOrderByCreatedDesc(anyString());
+    }
+
+    @Test
+    public void getLastFlowLogReadsAgainWhenTheFlowWasDistributedToAnotherNode() {
+        FlowLog cachedFlowLog = new FlowLog();
+        cachedFlowLog.setId(ID);
+        cachedFlowLog.setCloudbreakNodeId("node1");
+        cachedFlowLog.setVersion(1L);
+        FlowLog currentFlowLog = new FlowLog();
+        currentFlowLog.setId(ID);
+        currentFlowLog.setCloudbreakNodeId("node2");
+        currentFlowLog.setVersion(2L);
+
+        when(flowLogBatchWriter.getLastFlowLog(FLOW_ID)).thenReturn(Optional.of(cachedFlowLog));
+        when(flowLogRepository.findNodeIdWithVersionById(ID)).thenReturn(Optional.of(nodeIdWithVersion("node2", 2L)));
+        when(flowLogRepository.findFirstByFlowIdOrderByCreatedDesc(FLOW_ID)).thenReturn(Optional.of(currentFlowLog));
+
+        assertEquals(Optional.of(currentFlowLog), underTest.getLastFlowLog(FLOW_ID));
+        verify(flowLogBatchWriter, times(1)).evictLastFlowLog(FLOW_ID);
+    }
+
+    private FlowLogNodeIdWithVersion nodeIdWithVersion(String nodeId, Long version) {
+        return new FlowLogNodeIdWithVersion() {
+            @Override
+            public String getCloudbreakNodeId() {
+                return nodeId;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+
+    @Test
+    public void saveTransitionWithoutWriteBehind() {
+        FlowLog lastFlowLog = new FlowLog();
+        lastFlowLog.setId(ID);
+
+        underTest.saveTransition(lastFlowLog, true, new FlowParameters(FLOW_ID, null, null), null, "KEY", mock(Selectable.class), createFlow());
+
+        verify(flowLogRepository, times(1)).updateLastLogStatusInFlow(ID, StateStatus.FAILED);
+        verify(flowLogRepository, times(1)).save(any(FlowLog.class));
+        verify(flowLogBatchWriter, never()).write(any(), any(), any());
+    }
+
+    @Test
+    public void saveTransitionWithWriteBehind() {
+        FlowLog lastFlowLog = new FlowLog();
+        lastFlowLog.setId(ID);
+        when(flowLogBatchWriter.isEnabled()).thenReturn(true);
+
+        underTest.saveTransition(lastFlowLog, false, new FlowParameters(FLOW_ID, null, null), null, "KEY", mock(Selectable.class), createFlow());
+
+        ArgumentCaptor<FlowLog> flowLogCaptor = ArgumentCaptor.forClass(FlowLog.class);
+        verify(flowLogBatchWriter, times(1)).write(eq(lastFlowLog), eq(StateStatus.SUCCESSFUL), flowLogCaptor.capture());
+        assertEquals(FLOW_ID, flowLogCaptor.getValue().getFlowId());
+        assertEquals("KEY", flowLogCaptor.getValue().getNextEvent());
+        verify(flowLogRepository, never()).updateLastLogStatusInFlow(anyLong(), any());
+        verify(flowLogRepository, never()).save(any());
+    }
+
+    private Flow createFlow() {
+        Flow flow = mock(Flow.class);
+        when(flow.getCurrentState()).thenReturn(mock(FlowState.class));
+        return flow;
+    }
+
     @Test
     public void updateLastFlowLogPayload() {
         FlowLog flowLog = new FlowLog();
@@ -119,6 +218,7 @@ public class FlowLogDBServiceTest {
 
         Payload payload = mock(Selectable.class);
         Map<Object, Object> variables = Map.of("repeated", 2);
+        when(flowPayloadSerializer.serialize(any())).thenAnswer(invocation -> JsonWriter.objectToJson(invocation.getArgument(0), Map.of()));
 
         underTest.updateLastFlowLogPayload(flowLog, payload, variables);
 
@@ -241,6 +341,49 @@ public class FlowLogDBServiceTest {
         verify(flowLogRepository, times(0)).updateLastLogStatusInFlow(eq(10L), eq(StateStatus.SUCCESSFUL));
     }
 
+    @Test
+    public void isOtherFlowRunningAnsweredByLocalFlow() {
+        when(runningFlows.getRunningFlowsByResourceId(ID)).thenReturn(Set.of(mock(Flow.class)));
+
+        assertTrue(underTest.isOtherFlowRunning(ID));
+
+        verify(flowLogRepository, never()).findAllRunningFlowLogByResourceId(anyLong());
+    }
+
+    @Test
+    public void isOtherFlowRunningFallsBackToDatabase() {
+        when(flowLogRepository.findAllRunningFlowLogByResourceId(ID)).thenReturn(Collections.emptySet());
+
+        assertFalse(underTest.isOtherFlowRunning(ID));
+
+        verify(flowLogRepository).findAllRunningFlowLogByResourceId(ID);
+    }
+
+    @Test
+    public void isOtherNonTerminationFlowRunningAnsweredByLocalFlow() {
+        Flow flow = mock(Flow.class);
+        doReturn(HelloWorldFlowConfig.class).when(flow).getFlowConfigClass();
+        when(runningFlows.getRunningFlowsByResourceId(ID)).thenReturn(Set.of(flow));
+        when(applicationFlowInformation.getTerminationFlow()).thenReturn(Collections.singletonList(TerminationFlowConfig.class));
+
+        assertTrue(underTest.isOtherNonTerminationFlowRunning(ID));
+
+        verify(flowLogRepository, never()).findAllRunningFlowLogByResourceId(anyLong());
+    }
+
+    @Test
+    public void isOtherNonTerminationFlowRunningIgnoresLocalTerminationFlow() {
+        Flow flow = mock(Flow.class);
+        doReturn(TerminationFlowConfig.class).when(flow).getFlowConfigClass();
+        when(runningFlows.getRunningFlowsByResourceId(ID)).thenReturn(Set.of(flow));
+        when(applicationFlowInformation.getTerminationFlow()).thenReturn(Collections.singletonList(TerminationFlowConfig.class));
+        FlowLogIdWithTypeAndTimestamp terminationFlowLog = mock(FlowLogIdWithTypeAndTimestamp.class);
+        doReturn(TerminationFlowConfig.class).when(terminationFlowLog).getFlowType();
+        when(flowLogRepository.findAllRunningFlowLogByResourceId(ID)).thenReturn(Set.of(terminationFlowLog));
+
+        assertFalse(underTest.isOtherNonTerminationFlowRunning(ID));
+    }
+
     @Test
     public void testNoPendingFlowEvent() {
         Boolean actual = underTest.hasPendingFlowEvent(Lists.newArrayList(createFlowLog(false, "1"), createFlowLog(false, "2")));
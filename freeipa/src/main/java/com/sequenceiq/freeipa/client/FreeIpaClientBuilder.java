@@ -107,6 +107,14 @@ public class FreeIpaClientBuilder {
             Map<String, String> additionalHeaders, Map<String, String> additionalHeadersStickySessionFirstRpc,
             Map<String, String> additionalHeadersStickySession, Optional<String> stickyIdHeader, RequestListener rpcRequestListener, Tracer tracer)
             throws Exception {
+        this(user, pass, clientConfig, hostname, port, basePath, additionalHeaders, additionalHeadersStickySessionFirstRpc, additionalHeadersStickySession,
+                stickyIdHeader, rpcRequestListener, tracer, clientConfig.hasSSLConfigs() ? createSslContext(clientConfig) : null);
+    }
+
+    private FreeIpaClientBuilder(String user, String pass, HttpClientConfig clientConfig, String hostname, int port, String basePath,
+            Map<String, String> additionalHeaders, Map<String, String> additionalHeadersStickySessionFirstRpc,
+            Map<String, String> additionalHeadersStickySession, Optional<String> stickyIdHeader, RequestListener rpcRequestListener, Tracer tracer,
+            SSLContext sslContext) {
         this.user = user;
         this.pass = pass;
         this.clientConfig = clientConfig;
@@ -114,16 +122,14 @@ public class FreeIpaClientBuilder {
         this.hostname = hostname;
         this.tracer = tracer;
 
-        if (clientConfig.hasSSLConfigs()) {
-            this.sslContext =
-                    setupSSLContext(clientConfig.getClientCert(), clientConfig.getClientKey(), clientConfig.getServerCert());
+        this.sslContext = sslContext;
+        if (sslContext != null) {
             RegistryBuilder<ConnectionSocketFactory> registryBuilder = RegistryBuilder.create();
             SSLConnectionSocketFactory socketFactory = new SSLConnectionSocketFactory(sslContext, hostnameVerifier());
             registryBuilder.register("https", socketFactory);
             Registry<ConnectionSocketFactory> registry = registryBuilder.build();
             connectionManager = new PoolingHttpClientConnectionManager(registry);
         } else {
-            this.sslContext = null;
             connectionManager = new PoolingHttpClientConnectionManager();
         }
 
@@ -142,6 +148,18 @@ public class FreeIpaClientBuilder {
         this(user, pass, clientConfig, hostname, port, DEFAULT_BASE_PATH, Map.of(), Map.of(), Map.of(), Optional.empty(), null, tracer);
     }
 
+    /**
+     * Creates a builder that uses an already built TLS context, see {@link #createSslContext(HttpClientConfig)}, so the TLS sessions
+     * of the context can be resumed by the clients of the same FreeIPA instance.
+     */
+    public FreeIpaClientBuilder(String user, String pass, HttpClientConfig clientConfig, int port, String hostname, SSLContext sslContext, Tracer tracer) {
+        this(user, pass, clientConfig, hostname, port, DEFAULT_BASE_PATH, Map.of(), Map.of(), Map.of(), Optional.empty(), null, tracer, sslContext);
+    }
+
+    public static SSLContext createSslContext(HttpClientConfig clientConfig) throws Exception {
+        return setupSSLContext(clientConfig.getClientCert(), clientConfig.getClientKey(), clientConfig.getServerCert());
+    }
+
     public FreeIpaClient build(boolean withPing) throws URISyntaxException, IOException, FreeIpaClientException, FreeIpaHostNotAvailableException {
         Optional<String> stickyId = Optional.empty();
         if (withPing) {
@@ -266,7 +284,7 @@ public class FreeIpaClientBuilder {
                 "}";
     }
 
-    private SSLContext setupSSLContext(String clientCert, String clientKey, String serverCert) throws Exception {
+    private static SSLContext setupSSLContext(String clientCert, String clientKey, String serverCert) throws Exception {
         Security.addProvider(new BouncyCastleProvider());
         SSLContext context;
         if (StringUtils.isNoneBlank(clientCert, clientKey, serverCert)) {
@@ -15,6 +15,7 @@ import com.sequenceiq.cloudbreak.telemetry.converter.FlowPayloadToDiagnosticDeta
 import com.sequenceiq.common.api.diagnostics.DiagnosticsCollection;
 import com.sequenceiq.common.api.diagnostics.DiagnosticsCollectionStatus;
 import com.sequenceiq.common.api.diagnostics.ListDiagnosticsCollectionResponse;
+import com.sequenceiq.flow.core.payload.FlowPayloadSerializer;
 import com.sequenceiq.flow.domain.FlowLog;
 import com.sequenceiq.flow.domain.StateStatus;
 import com.sequenceiq.freeipa.flow.freeipa.diagnostics.config.DiagnosticsCollectionFlowConfig;
@@ -25,6 +26,9 @@ public class FlowLogsToListDiagnosticsCollectionResponseConverter {
     @Inject
     private FlowPayloadToDiagnosticDetailsConverter flowPayloadToDiagnosticDetailsConverter;
 
+    @Inject
+    private FlowPayloadSerializer flowPayloadSerializer;
+
     @Inject
     private DiagnosticsCollectionFlowConfig diagnosticsCollectionFlowConfig;
 
@@ -36,7 +40,7 @@ public class FlowLogsToListDiagnosticsCollectionResponseConverter {
                         DiagnosticsCollection collection = new DiagnosticsCollection();
                         collection.setFlowId(flowLog.getFlowId());
                         collection.setCreated(flowLog.getCreated());
-                        collection.setProperties(flowPayloadToDiagnosticDetailsConverter.convert(flowLog.getPayload()));
+                        collection.setProperties(flowPayloadToDiagnosticDetailsConverter.convert(flowPayloadSerializer.toJson(flowLog.getPayload())));
                         collection.setStatus(calculateStatus(flowLog));
                         collection.setCurrentFlowStatus(flowLog.getCurrentState());
                         collection.setProgressPercentage(calculateProgressPercentage(flowLog));
@@ -1,6 +1,7 @@
 package com.sequenceiq.freeipa.service.freeipa;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -9,17 +10,22 @@ import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.net.ssl.SSLContext;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.googlecode.jsonrpc4j.JsonRpcClient.RequestListener;
 import com.sequenceiq.cloudbreak.ccm.endpoint.ServiceFamilies;
+import com.sequenceiq.cloudbreak.client.GatewayClientCache;
 import com.sequenceiq.cloudbreak.client.HttpClientConfig;
 import com.sequenceiq.cloudbreak.clusterproxy.ClusterProxyConfiguration;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.logger.MDCBuilder;
 import com.sequenceiq.freeipa.api.v1.freeipa.stack.model.common.Status;
 import com.sequenceiq.freeipa.client.ClusterProxyErrorRpcListener;
@@ -83,6 +89,23 @@ public class FreeIpaClientFactory {
     @Inject
     private Tracer tracer;
 
+    @Inject
+    private MetricService metricService;
+
+    @Value("${freeipa.client.ssl.cache.max.size:1000}")
+    private long sslCacheMaxSize;
+
+    @Value("${freeipa.client.ssl.cache.idle.minutes:30}")
+    private long sslCacheIdleMinutes;
+
+    private GatewayClientCache<SSLContext> sslContextCache;
+
+    @PostConstruct
+    public void init() {
+        sslContextCache = new GatewayClientCache<>("freeipa", sslCacheMaxSize, Duration.ofMinutes(sslCacheIdleMinutes), sslContext -> {
+        }, metricService);
+    }
+
     public FreeIpaClient getFreeIpaClientForStackId(Long stackId) throws FreeIpaClientException {
         LOGGER.debug("Retrieving stack for stack id {}", stackId);
 
@@ -226,7 +249,14 @@ public class FreeIpaClientFactory {
                 stack, instanceMetaData.getPublicIpWrapper(), instanceMetaData);
         FreeIpa freeIpa = freeIpaService.findByStack(stack);
         int gatewayPort = Optional.ofNullable(stack.getGatewayport()).orElse(ServiceFamilies.GATEWAY.getDefaultPort());
-        return new FreeIpaClientBuilder(ADMIN_USER, freeIpa.getAdminPassword(), httpClientConfig, gatewayPort, instanceMetaData.getDiscoveryFQDN(), tracer);
+        if (!httpClientConfig.hasSSLConfigs()) {
+            return new FreeIpaClientBuilder(ADMIN_USER, freeIpa.getAdminPassword(), httpClientConfig, gatewayPort, instanceMetaData.getDiscoveryFQDN(), tracer);
+        }
+        String fingerprint = GatewayClientCache.fingerprint(httpClientConfig.getServerCert(), httpClientConfig.getClientCert(), httpClientConfig.getClientKey());
+        SSLContext sslContext = sslContextCache.get(httpClientConfig.getApiAddress() + ':' + gatewayPort, fingerprint,
+                () -> FreeIpaClientBuilder.createSslContext(httpClientConfig));
+        return new FreeIpaClientBuilder(ADMIN_USER, freeIpa.getAdminPassword(), httpClientConfig, gatewayPort, instanceMetaData.getDiscoveryFQDN(),
+                sslContext, tracer);
     }
 
     private InvalidFreeIpaStateException createFreeIpaStateIsInvalidException(Status stackStatus) {
@@ -34,6 +34,8 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
 
     private static final int MINIMUM_DISPLAYED_TIME_IN_MIN = 1;
 
+    private static final int BACKOFF_MULTIPLIER = 2;
+
     private final OrchestratorBootstrap orchestratorBootstrap;
 
     private final Map<String, String> mdcMap;
@@ -46,6 +48,8 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
 
     private final int sleepTime;
 
+    private final int initialSleepTime;
+
     private final int maxRetryOnError;
 
     public OrchestratorBootstrapRunner(OrchestratorBootstrap orchestratorBootstrap, ExitCriteria exitCriteria,
@@ -56,12 +60,25 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
     public OrchestratorBootstrapRunner(OrchestratorBootstrap orchestratorBootstrap, ExitCriteria exitCriteria,
             ExitCriteriaModel exitCriteriaModel, Map<String, String> mdcReplica,
             int maxRetryCount, int sleepTime, int maxRetryOnError) {
+        this(orchestratorBootstrap, exitCriteria, exitCriteriaModel, mdcReplica, maxRetryCount, sleepTime, maxRetryOnError, sleepTime);
+    }
+
+    /**
+     * Creates a runner that polls an in progress component with an exponential backoff: the first wait is {@code initialSleepTime}
+     * and it is doubled after every attempt until it reaches {@code sleepTime}. The retry count is charged by the time spent waiting,
+     * so the overall timeout stays {@code maxRetryCount * sleepTime} regardless of the shorter waits at the beginning.
+     * Failed attempts are always retried after {@code sleepTime}.
+     */
+    public OrchestratorBootstrapRunner(OrchestratorBootstrap orchestratorBootstrap, ExitCriteria exitCriteria,
+            ExitCriteriaModel exitCriteriaModel, Map<String, String> mdcReplica,
+            int maxRetryCount, int sleepTime, int maxRetryOnError, int initialSleepTime) {
         this.orchestratorBootstrap = orchestratorBootstrap;
         mdcMap = mdcReplica;
         this.exitCriteria = exitCriteria;
         this.exitCriteriaModel = exitCriteriaModel;
         this.maxRetryCount = maxRetryCount;
         this.sleepTime = sleepTime;
+        this.initialSleepTime = Math.max(Math.min(initialSleepTime, sleepTime), 1);
         this.maxRetryOnError = maxRetryOnError;
     }
 
@@ -78,6 +95,8 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
         Boolean success = null;
         int retryCount = 1;
         int errorCount = 1;
+        int nextSleepTime = initialSleepTime;
+        long sleptSinceLastRetry = 0;
         Exception actualException = null;
         String type = orchestratorBootstrap.getClass().getSimpleName().replace("Bootstrap", "");
         long initialStartTime = System.currentTimeMillis();
@@ -105,9 +124,15 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
                 String elapsedTimeLog = createElapseTimeLog(initialStartTime, startTime);
                 LOGGER.debug("Orchestrator component {} start in progress, retrying [{}/{}] {}, Reason: {}, additional info: {}",
                         type, retryCount, maxRetryCount, elapsedTimeLog, actualException, orchestratorBootstrap);
-                retryCount++;
+                int inProgressSleepTime = nextSleepTime;
+                nextSleepTime = Math.min(nextSleepTime * BACKOFF_MULTIPLIER, sleepTime);
+                sleptSinceLastRetry += inProgressSleepTime;
+                if (sleptSinceLastRetry >= sleepTime) {
+                    retryCount++;
+                    sleptSinceLastRetry -= sleepTime;
+                }
                 if (retryCount <= maxRetryCount) {
-                    trySleeping();
+                    trySleeping(inProgressSleepTime);
                 } else {
                     success = Boolean.FALSE;
                 }
@@ -119,7 +144,7 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
                 retryCount++;
                 errorCount++;
                 if (belowAttemptThreshold(retryCount, errorCount)) {
-                    trySleeping();
+                    trySleeping(sleepTime);
                 } else {
                     success = Boolean.FALSE;
                 }
@@ -172,10 +197,10 @@ public class OrchestratorBootstrapRunner implements Callable<Boolean> {
         return retryCount <= maxRetryCount && errorCount <= maxRetryOnError;
     }
 
-    private void trySleeping() {
+    private void trySleeping(int sleepTimeInMs) {
         if (!Thread.interrupted()) {
             try {
-                Thread.sleep(sleepTime);
+                Thread.sleep(sleepTimeInMs);
             } catch (InterruptedException ie) {
                 LOGGER.debug("The thread was interrupted during sleeping. Sleeping halted, continuing execution.", ie);
             }
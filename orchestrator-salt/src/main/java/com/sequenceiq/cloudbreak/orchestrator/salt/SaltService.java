@@ -1,10 +1,12 @@
 package com.sequenceiq.cloudbreak.orchestrator.salt;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 
 import org.slf4j.Logger;
@@ -12,6 +14,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.sequenceiq.cloudbreak.client.GatewayClientCache;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorFailedException;
 import com.sequenceiq.cloudbreak.orchestrator.model.GatewayConfig;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
@@ -29,11 +33,41 @@ public class SaltService {
     @Inject
     private Tracer tracer;
 
+    @Inject
+    private MetricService metricService;
+
     @Value("${rest.debug}")
     private boolean restDebug;
 
+    @Value("${cb.salt.connector.cache.enabled:true}")
+    private boolean connectorCacheEnabled;
+
+    @Value("${cb.salt.connector.cache.max.size:500}")
+    private long connectorCacheMaxSize;
+
+    @Value("${cb.salt.connector.cache.idle.minutes:10}")
+    private long connectorCacheIdleMinutes;
+
+    private GatewayClientCache<SaltConnector> saltConnectorCache;
+
+    @PostConstruct
+    public void init() {
+        saltConnectorCache = new GatewayClientCache<>("salt", connectorCacheMaxSize, Duration.ofMinutes(connectorCacheIdleMinutes),
+                SaltConnector::closeClient, metricService);
+    }
+
+    /**
+     * The returned connector is shared with the other callers of the same gateway when the connector cache is enabled,
+     * closing it only releases the caller's lease, the underlying client is closed after the cache dropped it and every holder closed it.
+     */
     public SaltConnector createSaltConnector(GatewayConfig gatewayConfig) {
-        return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug, tracer);
+        if (!connectorCacheEnabled) {
+            return new SaltConnector(gatewayConfig, saltErrorResolver, restDebug, tracer);
+        }
+        String fingerprint = GatewayClientCache.fingerprint(gatewayConfig.getHostname(), gatewayConfig.getServerCert(), gatewayConfig.getClientCert(),
+                gatewayConfig.getClientKey(), gatewayConfig.getSaltBootPassword(), gatewayConfig.getSaltPassword(), gatewayConfig.getSignatureKey());
+        return saltConnectorCache.acquire(gatewayConfig.getGatewayUrl(), fingerprint,
+                releaser -> new SaltConnector(gatewayConfig, saltErrorResolver, restDebug, tracer, releaser));
     }
 
     public List<SaltConnector> createSaltConnector(Collection<GatewayConfig> gatewayConfigs) {
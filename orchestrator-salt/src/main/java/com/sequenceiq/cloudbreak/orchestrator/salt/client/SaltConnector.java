@@ -87,8 +87,22 @@ public class SaltConnector implements Closeable {
 
     private final String hostname;
 
+    private final String gatewayUrl;
+
+    private final Runnable releaser;
+
     public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, Tracer tracer) {
+        this(gatewayConfig, saltErrorResolver, debug, tracer, null);
+    }
+
+    /**
+     * @param releaser when given the connector is shared between the callers, so {@link #close()} only releases the caller's lease of it
+     *                 by running the releaser, and the owner of the pool closes the underlying client with {@link #closeClient()}
+     */
+    public SaltConnector(GatewayConfig gatewayConfig, SaltErrorResolver saltErrorResolver, boolean debug, Tracer tracer, Runnable releaser) {
         this.hostname = gatewayConfig.getHostname();
+        this.gatewayUrl = gatewayConfig.getGatewayUrl();
+        this.releaser = releaser;
         ClientTracingFeature tracingFeature = new ClientTracingFeature.Builder(tracer)
                 .withTraceSerialization(false)
                 .withDecorators(List.of(new TracingClientSpanDecorator())).build();
@@ -335,6 +349,14 @@ public class SaltConnector implements Closeable {
 
     @Override
     public void close() {
+        if (releaser == null) {
+            closeClient();
+        } else {
+            releaser.run();
+        }
+    }
+
+    public void closeClient() {
         if (restClient != null) {
             restClient.close();
         }
@@ -352,6 +374,10 @@ public class SaltConnector implements Closeable {
         return hostname;
     }
 
+    public String getGatewayUrl() {
+        return gatewayUrl;
+    }
+
     private String toJson(Object target) {
         try {
             return MAPPER.writeValueAsString(target);
@@ -0,0 +1,121 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.poller;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobState;
+import com.sequenceiq.cloudbreak.orchestrator.salt.states.SaltStates;
+
+/**
+ * Tells the job trackers whether their salt job is still running with a single {@code jobs.active} call per gateway URL, instead of
+ * every tracker of the gateway listing the active jobs on its own. The first tracker runs the call and the trackers arriving
+ * meanwhile wait for its result. A finished call is reused within the sweep interval, but only by the trackers that had received
+ * the id of their job before the call started, so a new job is never reported as finished based on a listing that salt may have
+ * produced before it registered the job.
+ */
+@Component
+public class SaltActiveJobsMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SaltActiveJobsMonitor.class);
+
+    @Value("${cb.salt.activejobs.sweep.interval.ms:2000}")
+    private long sweepIntervalMs;
+
+    @Inject
+    private MetricService metricService;
+
+    private final Map<String, Sweep> sweepsByGateway = new ConcurrentHashMap<>();
+
+    /**
+     * @param saltConnector connector of the gateway the job was submitted to
+     * @param jobId         the id of the salt job
+     * @param jidReceivedAt {@link System#nanoTime()} when the submit call of the job returned its id
+     * @return true if the job is in the active job list of the gateway
+     */
+    public boolean isRunning(SaltConnector saltConnector, String jobId, long jidReceivedAt) {
+        return activeJobIds(saltConnector, jidReceivedAt).contains(jobId);
+    }
+
+    public void jobCompleted(SaltJobRunner saltJobRunner, JobState jobState, Duration duration) {
+        metricService.recordTimerMetric(SaltJobMetricType.SALT_JOB_DURATION, duration,
+                "runner", saltJobRunner.getClass().getSimpleName(), "state", jobState.name().toLowerCase());
+    }
+
+    private Set<String> activeJobIds(SaltConnector saltConnector, long jidReceivedAt) {
+        String gateway = saltConnector.getGatewayUrl();
+        long now = System.nanoTime();
+        Sweep candidate = new Sweep(now);
+        Sweep sweep = sweepsByGateway.compute(gateway,
+                (key, current) -> current != null && current.isReusable(jidReceivedAt, now, sweepIntervalNanos()) ? current : candidate);
+        if (sweep == candidate) {
+            runSweep(saltConnector, gateway, candidate);
+        } else {
+            LOGGER.debug("Reusing the active salt jobs of gateway {}", gateway);
+        }
+        try {
+            return sweep.getActiveJobIds().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    private void runSweep(SaltConnector saltConnector, String gateway, Sweep sweep) {
+        try {
+            Set<String> activeJobIds = SaltStates.activeJobIds(saltConnector);
+            metricService.recordTimerMetric(SaltJobMetricType.SALT_ACTIVE_JOBS_SWEEP, Duration.ofNanos(System.nanoTime() - sweep.getStartedAt()));
+            sweep.getActiveJobIds().complete(activeJobIds);
+        } catch (RuntimeException e) {
+            LOGGER.debug("Failed to list the active salt jobs of gateway {}", gateway, e);
+            metricService.incrementMetricCounter(SaltJobMetricType.SALT_ACTIVE_JOBS_SWEEP_FAILED);
+            sweepsByGateway.remove(gateway, sweep);
+            sweep.getActiveJobIds().completeExceptionally(e);
+        }
+        long now = System.nanoTime();
+        sweepsByGateway.values().removeIf(other -> other.isExpired(now, sweepIntervalNanos()));
+    }
+
+    private long sweepIntervalNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(sweepIntervalMs);
+    }
+
+    private static class Sweep {
+
+        private final long startedAt;
+
+        private final CompletableFuture<Set<String>> activeJobIds = new CompletableFuture<>();
+
+        Sweep(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        long getStartedAt() {
+            return startedAt;
+        }
+
+        CompletableFuture<Set<String>> getActiveJobIds() {
+            return activeJobIds;
+        }
+
+        boolean isReusable(long jidReceivedAt, long now, long sweepIntervalNanos) {
+            return startedAt - jidReceivedAt > 0 && !isExpired(now, sweepIntervalNanos) && !activeJobIds.isCompletedExceptionally();
+        }
+
+        boolean isExpired(long now, long sweepIntervalNanos) {
+            return activeJobIds.isDone() && now - startedAt >= sweepIntervalNanos;
+        }
+    }
+}
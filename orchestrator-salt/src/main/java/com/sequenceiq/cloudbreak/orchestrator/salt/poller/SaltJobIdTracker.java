@@ -2,6 +2,7 @@ package com.sequenceiq.cloudbreak.orchestrator.salt.poller;
 
 import static com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobId.jobId;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 
@@ -15,6 +16,7 @@ import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorIn
 import com.sequenceiq.cloudbreak.orchestrator.exception.CloudbreakOrchestratorTerminateException;
 import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
 import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobState;
+import com.sequenceiq.cloudbreak.orchestrator.salt.poller.checker.SaltJobFailedException;
 import com.sequenceiq.cloudbreak.orchestrator.salt.states.SaltStates;
 
 public class SaltJobIdTracker implements OrchestratorBootstrap {
@@ -27,6 +29,12 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
 
     private final boolean retryOnFail;
 
+    private SaltActiveJobsMonitor activeJobsMonitor;
+
+    private long submittedAt;
+
+    private long jidReceivedAt;
+
     public SaltJobIdTracker(SaltConnector saltConnector, SaltJobRunner saltJobRunner) {
         this(saltConnector, saltJobRunner, true);
     }
@@ -41,7 +49,7 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
     public Boolean call() throws Exception {
         if (JobState.NOT_STARTED.equals(saltJobRunner.getJobState())) {
             LOGGER.debug("Job has not started in the cluster. Starting for first time.");
-            saltJobRunner.setJid(jobId(saltJobRunner.submit(saltConnector)));
+            submit();
             checkIsFinished(saltJobRunner.getJid().getJobId());
         } else if (JobState.IN_PROGRESS.equals(saltJobRunner.getJobState())) {
             String jobId = saltJobRunner.getJid().getJobId();
@@ -54,7 +62,7 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
         } else if (JobState.FAILED == saltJobRunner.getJobState() || JobState.AMBIGUOUS == saltJobRunner.getJobState()) {
             String jobId = saltJobRunner.getJid().getJobId();
             LOGGER.debug("Job: {} failed in the previous time. Trigger again with these targets: {}", jobId, saltJobRunner.getTargetHostnames());
-            saltJobRunner.setJid(jobId(saltJobRunner.submit(saltConnector)));
+            submit();
             saltJobRunner.setJobState(JobState.IN_PROGRESS);
             return call();
         }
@@ -70,14 +78,25 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
         return true;
     }
 
+    private void submit() throws SaltJobFailedException {
+        submittedAt = System.nanoTime();
+        saltJobRunner.setJid(jobId(saltJobRunner.submit(saltConnector)));
+        jidReceivedAt = System.nanoTime();
+    }
+
     private void checkIsFinished(String jobId) throws CloudbreakOrchestratorFailedException {
-        boolean jobRunning = SaltStates.jobIsRunning(saltConnector, jobId);
+        boolean jobRunning = activeJobsMonitor == null
+                ? SaltStates.jobIsRunning(saltConnector, jobId)
+                : activeJobsMonitor.isRunning(saltConnector, jobId, jidReceivedAt);
         if (jobRunning) {
             LOGGER.debug("Job: {} is running currently, waiting for next polling attempt.", jobId);
             saltJobRunner.setJobState(JobState.IN_PROGRESS);
         } else {
             LOGGER.debug("Job finished: {}. Collecting missing nodes", jobId);
             checkJobFinishedWithSuccess();
+            if (activeJobsMonitor != null) {
+                activeJobsMonitor.jobCompleted(saltJobRunner, saltJobRunner.getJobState(), Duration.ofNanos(System.nanoTime() - submittedAt));
+            }
         }
     }
 
@@ -128,4 +147,8 @@ public class SaltJobIdTracker implements OrchestratorBootstrap {
     public SaltJobRunner getSaltJobRunner() {
         return saltJobRunner;
     }
+
+    public void setActiveJobsMonitor(SaltActiveJobsMonitor activeJobsMonitor) {
+        this.activeJobsMonitor = activeJobsMonitor;
+    }
 }
@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.poller;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum SaltJobMetricType implements Metric {
+    SALT_JOB_DURATION("salt.job.duration"),
+    SALT_ACTIVE_JOBS_SWEEP("salt.activejobs.sweep"),
+    SALT_ACTIVE_JOBS_SWEEP_FAILED("salt.activejobs.sweep.failed");
+
+    private final String metricName;
+
+    SaltJobMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
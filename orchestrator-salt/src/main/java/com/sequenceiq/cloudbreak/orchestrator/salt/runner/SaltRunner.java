@@ -2,6 +2,8 @@ package com.sequenceiq.cloudbreak.orchestrator.salt.runner;
 
 import java.util.concurrent.Callable;
 
+import javax.inject.Inject;
+
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -9,6 +11,8 @@ import org.springframework.stereotype.Component;
 import com.sequenceiq.cloudbreak.orchestrator.OrchestratorBootstrap;
 import com.sequenceiq.cloudbreak.orchestrator.OrchestratorBootstrapRunner;
 import com.sequenceiq.cloudbreak.orchestrator.host.OrchestratorStateRetryParams;
+import com.sequenceiq.cloudbreak.orchestrator.salt.poller.SaltActiveJobsMonitor;
+import com.sequenceiq.cloudbreak.orchestrator.salt.poller.SaltJobIdTracker;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteria;
 import com.sequenceiq.cloudbreak.orchestrator.state.ExitCriteriaModel;
 
@@ -23,10 +27,15 @@ public class SaltRunner {
     @Value("${cb.max.salt.new.service.retry}")
     private int maxRetry;
 
+    @Value("${cb.salt.poll.initial.sleep.ms:1000}")
+    private int initialSleepTime;
+
+    @Inject
+    private SaltActiveJobsMonitor saltActiveJobsMonitor;
+
     public Callable<Boolean> runner(OrchestratorBootstrap bootstrap, ExitCriteria exitCriteria, ExitCriteriaModel exitCriteriaModel, int maxRetry,
             boolean usingErrorCount) {
-        return new OrchestratorBootstrapRunner(bootstrap, exitCriteria, exitCriteriaModel, MDC.getCopyOfContextMap(), maxRetry, SLEEP_TIME,
-                usingErrorCount ? maxRetryOnError : maxRetry);
+        return runner(bootstrap, exitCriteria, exitCriteriaModel, maxRetry, usingErrorCount ? maxRetryOnError : maxRetry);
     }
 
     public Callable<Boolean> runner(OrchestratorBootstrap bootstrap, ExitCriteria exitCriteria, ExitCriteriaModel exitCriteriaModel) {
@@ -35,8 +44,11 @@ public class SaltRunner {
 
     public Callable<Boolean> runner(OrchestratorBootstrap bootstrap, ExitCriteria exitCriteria, ExitCriteriaModel exitCriteriaModel, int maxRetry,
             int maxRetryOnError) {
+        if (bootstrap instanceof SaltJobIdTracker) {
+            ((SaltJobIdTracker) bootstrap).setActiveJobsMonitor(saltActiveJobsMonitor);
+        }
         return new OrchestratorBootstrapRunner(bootstrap, exitCriteria, exitCriteriaModel, MDC.getCopyOfContextMap(), maxRetry, SLEEP_TIME,
-                maxRetryOnError);
+                maxRetryOnError, initialSleepTime);
     }
 
     public Callable<Boolean> runnerWithUsingErrorCount(OrchestratorBootstrap bootstrap, ExitCriteria exitCriteria, ExitCriteriaModel exitCriteriaModel) {
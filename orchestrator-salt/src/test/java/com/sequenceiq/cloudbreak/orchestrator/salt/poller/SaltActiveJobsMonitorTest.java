@@ -0,0 +1,183 @@
+package com.sequenceiq.cloudbreak.orchestrator.salt.poller;
+
+import static com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltClientType.RUNNER;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.orchestrator.salt.client.SaltConnector;
+import com.sequenceiq.cloudbreak.orchestrator.salt.domain.JobState;
+import com.sequenceiq.cloudbreak.orchestrator.salt.domain.RunningJobsResponse;
+import com.sequenceiq.cloudbreak.orchestrator.salt.poller.checker.HighStateRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SaltActiveJobsMonitorTest {
+
+    private static final String GATEWAY_URL = "https://10.0.0.1:9443";
+
+    @Mock
+    private MetricService metricService;
+
+    @Mock
+    private SaltConnector saltConnector;
+
+    @InjectMocks
+    private SaltActiveJobsMonitor underTest;
+
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger sweepCount = new AtomicInteger();
+
+    private volatile CountDownLatch sweepReleased = new CountDownLatch(0);
+
+    @Before
+    public void setUp() {
+        Whitebox.setInternalState(underTest, "sweepIntervalMs", TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    public void testJobsSubmittedBeforeTheSweepShareOneCall() {
+        stubSaltApi();
+        activeJobs.add("1");
+        long jidReceivedAt = System.nanoTime();
+
+        assertTrue(underTest.isRunning(saltConnector, "1", jidReceivedAt));
+        assertFalse(underTest.isRunning(saltConnector, "2", jidReceivedAt));
+        assertFalse(underTest.isRunning(saltConnector, "3", jidReceivedAt));
+
+        assertEquals(1, sweepCount.get());
+    }
+
+    @Test
+    public void testJobSubmittedAfterTheSweepStartedTriggersANewCall() {
+        stubSaltApi();
+        assertFalse(underTest.isRunning(saltConnector, "1", System.nanoTime()));
+
+        activeJobs.add("2");
+        assertTrue(underTest.isRunning(saltConnector, "2", System.nanoTime()));
+
+        assertEquals(2, sweepCount.get());
+    }
+
+    @Test
+    public void testSweepIsRepeatedAfterTheInterval() {
+        Whitebox.setInternalState(underTest, "sweepIntervalMs", 0L);
+        stubSaltApi();
+        activeJobs.add("1");
+        long jidReceivedAt = System.nanoTime();
+        assertTrue(underTest.isRunning(saltConnector, "1", jidReceivedAt));
+
+        activeJobs.clear();
+        assertFalse(underTest.isRunning(saltConnector, "1", jidReceivedAt));
+
+        assertEquals(2, sweepCount.get());
+    }
+
+    @Test
+    public void testConcurrentTrackersWaitForTheRunningSweep() throws Exception {
+        stubSaltApi();
+        activeJobs.add("1");
+        sweepReleased = new CountDownLatch(1);
+        long jidReceivedAt = System.nanoTime();
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executorService.submit(() -> underTest.isRunning(saltConnector, "1", jidReceivedAt));
+            while (sweepCount.get() == 0) {
+                Thread.sleep(1);
+            }
+            Future<Boolean> second = executorService.submit(() -> underTest.isRunning(saltConnector, "2", jidReceivedAt));
+            sweepReleased.countDown();
+
+            assertTrue(first.get(1, TimeUnit.MINUTES));
+            assertFalse(second.get(1, TimeUnit.MINUTES));
+        } finally {
+            executorService.shutdownNow();
+        }
+        assertEquals(1, sweepCount.get());
+    }
+
+    @Test
+    public void testGatewaysAreSweptSeparately() {
+        stubSaltApi();
+        SaltConnector otherSaltConnector = mock(SaltConnector.class);
+        when(otherSaltConnector.getGatewayUrl()).thenReturn("https://10.0.0.2:9443");
+        when(otherSaltConnector.run(eq("jobs.active"), eq(RUNNER), eq(RunningJobsResponse.class))).thenAnswer(invocation -> {
+            sweepCount.incrementAndGet();
+            return runningJobsResponse();
+        });
+        activeJobs.add("1");
+        long jidReceivedAt = System.nanoTime();
+
+        assertTrue(underTest.isRunning(saltConnector, "1", jidReceivedAt));
+        assertTrue(underTest.isRunning(otherSaltConnector, "1", jidReceivedAt));
+
+        assertEquals(2, sweepCount.get());
+    }
+
+    @Test
+    public void testFailedSweepIsNotReused() {
+        when(saltConnector.getGatewayUrl()).thenReturn(GATEWAY_URL);
+        when(saltConnector.run(eq("jobs.active"), eq(RUNNER), eq(RunningJobsResponse.class)))
+                .thenThrow(new IllegalStateException("salt-api is not available"))
+                .thenAnswer(invocation -> runningJobsResponse());
+        long jidReceivedAt = System.nanoTime();
+
+        assertThrows(IllegalStateException.class, () -> underTest.isRunning(saltConnector, "1", jidReceivedAt));
+        assertFalse(underTest.isRunning(saltConnector, "1", jidReceivedAt));
+
+        verify(metricService).incrementMetricCounter(SaltJobMetricType.SALT_ACTIVE_JOBS_SWEEP_FAILED);
+    }
+
+    @Test
+    public void testJobCompletedRecordsDurationByRunner() {
+        SaltJobRunner saltJobRunner = new HighStateRunner(Set.of(), Set.of());
+
+        underTest.jobCompleted(saltJobRunner, JobState.FINISHED, Duration.ofSeconds(3));
+
+        verify(metricService).recordTimerMetric(SaltJobMetricType.SALT_JOB_DURATION, Duration.ofSeconds(3),
+                "runner", "HighStateRunner", "state", "finished");
+    }
+
+    private void stubSaltApi() {
+        when(saltConnector.getGatewayUrl()).thenReturn(GATEWAY_URL);
+        when(saltConnector.run(eq("jobs.active"), eq(RUNNER), eq(RunningJobsResponse.class))).thenAnswer(invocation -> {
+            sweepCount.incrementAndGet();
+            sweepReleased.await(1, TimeUnit.MINUTES);
+            return runningJobsResponse();
+        });
+    }
+
+    private RunningJobsResponse runningJobsResponse() {
+        RunningJobsResponse response = new RunningJobsResponse();
+        Map<String, Map<String, Object>> jobs = activeJobs.stream().collect(Collectors.toMap(jid -> jid, jid -> Map.<String, Object>of()));
+        response.setResult(List.of(jobs));
+        return response;
+    }
+}
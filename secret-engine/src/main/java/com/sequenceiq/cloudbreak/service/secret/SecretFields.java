@@ -0,0 +1,112 @@
+package com.sequenceiq.cloudbreak.service.secret;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SecretValue} fields of entity classes. The fields of a class are looked up once and read and written through method handles, so
+ * saving an entity does not scan the declared fields and check their annotations again.
+ */
+public final class SecretFields {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SecretFields.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final ClassValue<List<SecretField>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<SecretField> computeValue(Class<?> type) {
+            return discover(type);
+        }
+    };
+
+    private SecretFields() {
+    }
+
+    /**
+     * @param type the entity class
+     * @return the fields of the class, not of its superclasses, annotated with {@link SecretValue}
+     */
+    public static List<SecretField> of(Class<?> type) {
+        return FIELDS.get(type);
+    }
+
+    private static List<SecretField> discover(Class<?> type) {
+        List<SecretField> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (field.isAnnotationPresent(SecretValue.class) && !Modifier.isStatic(field.getModifiers())) {
+                LOGGER.debug("Found SecretValue annotation on {}", field);
+                fields.add(new SecretField(field));
+            }
+        }
+        return fields.isEmpty() ? List.of() : Collections.unmodifiableList(fields);
+    }
+
+    public static final class SecretField {
+
+        private final String name;
+
+        private final Class<?> declaringClass;
+
+        private final MethodHandle getter;
+
+        private final MethodHandle setter;
+
+        private SecretField(Field field) {
+            name = field.getName();
+            declaringClass = field.getDeclaringClass();
+            try {
+                field.setAccessible(true);
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+                setter = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                throw new SecretOperationException(String.format("Secret field %s is not accessible", field), e);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getDeclaringClass() {
+            return declaringClass;
+        }
+
+        public Object get(Object entity) {
+            try {
+                return (Object) getter.invokeExact(entity);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new SecretOperationException(t);
+            }
+        }
+
+        public void set(Object entity, Object value) {
+            try {
+                setter.invokeExact(entity, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new SecretOperationException(t);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return declaringClass.getName() + '.' + name;
+        }
+    }
+}
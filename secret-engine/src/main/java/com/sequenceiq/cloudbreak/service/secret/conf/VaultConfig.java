@@ -88,6 +88,12 @@ public class VaultConfig extends AbstractVaultConfiguration {
     @Value("${https.proxyPassword:}")
     private String httpsProxyPassword;
 
+    @Value("${vault.connection.pool.max.per.route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${vault.connection.pool.max.total:40}")
+    private int maxConnectionsTotal;
+
     @Override
     public VaultEndpoint vaultEndpoint() {
         VaultEndpoint endpoint = VaultEndpoint.create(address, port);
@@ -160,6 +166,8 @@ public class VaultConfig extends AbstractVaultConfiguration {
             httpClientBuilder.setDefaultRequestConfig(requestConfig);
 
             httpClientBuilder.setRedirectStrategy(new LaxRedirectStrategy());
+            httpClientBuilder.setMaxConnPerRoute(maxConnectionsPerRoute);
+            httpClientBuilder.setMaxConnTotal(maxConnectionsTotal);
             return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
         }
 
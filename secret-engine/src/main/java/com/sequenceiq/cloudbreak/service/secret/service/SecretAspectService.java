@@ -1,8 +1,11 @@
 package com.sequenceiq.cloudbreak.service.secret.service;
 
-import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import javax.inject.Inject;
@@ -13,8 +16,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import com.google.common.base.Strings;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields.SecretField;
 import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
-import com.sequenceiq.cloudbreak.service.secret.SecretValue;
 import com.sequenceiq.cloudbreak.service.secret.domain.AccountIdAwareResource;
 import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
@@ -33,24 +37,10 @@ public class SecretAspectService {
 
     public Object proceedSave(ProceedingJoinPoint proceedingJoinPoint) {
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
+        List<PendingSecret> pendingSecrets = new ArrayList<>();
         for (Object entity : entities) {
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret value = (Secret) field.get(entity);
-                        if (value != null && value.getRaw() != null && value.getSecret() == null) {
-                            String accountId = findAccountId(entity);
-                            String path = String.format("%s/%s/%s/%s-%s", accountId,
-                                    entity.getClass().getSimpleName().toLowerCase(), field.getName().toLowerCase(),
-                                    UUID.randomUUID().toString(), Long.toHexString(System.currentTimeMillis()));
-                            String secret = secretService.put(path, value.getRaw());
-                            LOGGER.debug("Field: '{}' is saved at path: {}", field.getName(), path);
-                            field.set(entity, new SecretProxy(secretService, secret));
-                        }
-                    }
-                }
+                collectPendingSecrets(entity, pendingSecrets);
             } catch (IllegalArgumentException e) {
                 LOGGER.error("Given entity isn't instance of {}. Secret is not updated!",
                         AccountIdAwareResource.class.getSimpleName(), e);
@@ -60,15 +50,18 @@ public class SecretAspectService {
                 throw new SecretOperationException(e.getMessage());
             }
         }
+        Collection<String> writtenSecrets = writeSecrets(pendingSecrets);
 
         Object proceed;
         try {
             proceed = proceedingJoinPoint.proceed();
         } catch (RuntimeException re) {
             LOGGER.warn("Failed to invoke repository save", re);
+            rollbackSecrets(pendingSecrets, writtenSecrets);
             throw re;
         } catch (Throwable throwable) {
             LOGGER.error("Failed to invoke repository save", throwable);
+            rollbackSecrets(pendingSecrets, writtenSecrets);
             throw new SecretOperationException(throwable);
         }
 
@@ -79,17 +72,13 @@ public class SecretAspectService {
         Collection<Object> entities = convertFirstArgToCollection(proceedingJoinPoint);
         for (Object entity : entities) {
             try {
-                for (Field field : entity.getClass().getDeclaredFields()) {
-                    if (field.isAnnotationPresent(SecretValue.class)) {
-                        LOGGER.debug("Found SecretValue annotation on {}", field);
-                        field.setAccessible(true);
-                        Secret path = (Secret) field.get(entity);
-                        if (path != null && path.getSecret() != null) {
-                            secretService.delete(path.getSecret());
-                            LOGGER.debug("Secret deleted at path: {}", path);
-                        } else {
-                            LOGGER.debug("Secret is null for field: {}.{}", field.getDeclaringClass(), field.getName());
-                        }
+                for (SecretField field : SecretFields.of(entity.getClass())) {
+                    Secret path = (Secret) field.get(entity);
+                    if (path != null && path.getSecret() != null) {
+                        secretService.delete(path.getSecret());
+                        LOGGER.debug("Secret deleted at path: {}", path);
+                    } else {
+                        LOGGER.debug("Secret is null for field: {}.{}", field.getDeclaringClass(), field.getName());
                     }
                 }
             } catch (IllegalArgumentException e) {
@@ -124,6 +113,51 @@ public class SecretAspectService {
         return arg instanceof Collection ? (Collection<Object>) arg : Collections.singleton(arg);
     }
 
+    private void collectPendingSecrets(Object entity, List<PendingSecret> pendingSecrets) {
+        for (SecretField field : SecretFields.of(entity.getClass())) {
+            Secret value = (Secret) field.get(entity);
+            if (value != null && value.getRaw() != null && value.getSecret() == null) {
+                String accountId = findAccountId(entity);
+                String path = String.format("%s/%s/%s/%s-%s", accountId,
+                        entity.getClass().getSimpleName().toLowerCase(), field.getName().toLowerCase(),
+                        UUID.randomUUID().toString(), Long.toHexString(System.currentTimeMillis()));
+                pendingSecrets.add(new PendingSecret(entity, field, value, path));
+            }
+        }
+    }
+
+    /**
+     * Writes the secrets of all entities concurrently and replaces the raw values with proxies once every write succeeded. The secret service
+     * deletes the written secrets if any of the writes fails, so the entities keep their raw values.
+     */
+    private Collection<String> writeSecrets(List<PendingSecret> pendingSecrets) {
+        if (pendingSecrets.isEmpty()) {
+            return List.of();
+        }
+        Map<String, String> valuesByPath = new LinkedHashMap<>();
+        pendingSecrets.forEach(pending -> valuesByPath.put(pending.path, pending.value.getRaw()));
+        Map<String, String> secretsByPath;
+        try {
+            secretsByPath = secretService.putAll(valuesByPath);
+        } catch (Exception e) {
+            LOGGER.warn("Looks like something went wrong with Secret store. Secret is not updated!", e);
+            throw new SecretOperationException(e.getMessage());
+        }
+        for (PendingSecret pending : pendingSecrets) {
+            pending.field.set(pending.entity, new SecretProxy(secretService, secretsByPath.get(pending.path)));
+            LOGGER.debug("Field: '{}' is saved at path: {}", pending.field.getName(), pending.path);
+        }
+        return secretsByPath.values();
+    }
+
+    private void rollbackSecrets(List<PendingSecret> pendingSecrets, Collection<String> writtenSecrets) {
+        if (!pendingSecrets.isEmpty()) {
+            LOGGER.info("Repository save failed, deleting the {} secrets written for it", writtenSecrets.size());
+            pendingSecrets.forEach(pending -> pending.field.set(pending.entity, pending.value));
+            secretService.deleteQuietly(writtenSecrets);
+        }
+    }
+
     private String findAccountId(Object entity) throws IllegalArgumentException {
         if (entity != null) {
             if (entity instanceof AccountIdAwareResource) {
@@ -140,4 +174,22 @@ public class SecretAspectService {
             throw new IllegalArgumentException("The entity is null");
         }
     }
+
+    private static class PendingSecret {
+
+        private final Object entity;
+
+        private final SecretField field;
+
+        private final Secret value;
+
+        private final String path;
+
+        PendingSecret(Object entity, SecretField field, Secret value, String path) {
+            this.entity = entity;
+            this.field = field;
+            this.value = value;
+            this.path = path;
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package com.sequenceiq.cloudbreak.service.secret.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the secrets read by {@link SecretService} on the current thread until the scope is closed, so rendering a stack that reads the same
+ * secrets several times goes to Vault once per secret. Scopes can be nested, only the outermost scope drops the secrets.
+ * <pre>
+ * try (SecretCacheScope ignored = SecretCacheScope.open()) {
+ *     secretService.prefetch(entities);
+ *     ...
+ * }
+ * </pre>
+ */
+public final class SecretCacheScope implements AutoCloseable {
+
+    private static final ThreadLocal<Map<String, String>> SECRETS = new ThreadLocal<>();
+
+    private final boolean outermost;
+
+    private SecretCacheScope(boolean outermost) {
+        this.outermost = outermost;
+    }
+
+    public static SecretCacheScope open() {
+        if (SECRETS.get() != null) {
+            return new SecretCacheScope(false);
+        }
+        SECRETS.set(new HashMap<>());
+        return new SecretCacheScope(true);
+    }
+
+    static Optional<Map<String, String>> current() {
+        return Optional.ofNullable(SECRETS.get());
+    }
+
+    @Override
+    public void close() {
+        if (outermost) {
+            SECRETS.remove();
+        }
+    }
+}
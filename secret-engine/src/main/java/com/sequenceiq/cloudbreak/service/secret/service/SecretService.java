@@ -3,11 +3,27 @@ package com.sequenceiq.cloudbreak.service.secret.service;
 import static java.lang.String.format;
 
 import java.security.InvalidKeyException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,11 +32,18 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
+import com.sequenceiq.cloudbreak.logger.concurrent.MDCCleanerThreadPoolExecutor;
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields;
+import com.sequenceiq.cloudbreak.service.secret.SecretFields.SecretField;
+import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
+import com.sequenceiq.cloudbreak.service.secret.SecretValue;
 import com.sequenceiq.cloudbreak.service.secret.conf.VaultConfig;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 import com.sequenceiq.cloudbreak.service.secret.model.SecretResponse;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV1Engine;
 import com.sequenceiq.cloudbreak.service.secret.vault.VaultKvV2Engine;
@@ -32,9 +55,14 @@ public class SecretService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SecretService.class);
 
+    private static final int BULK_QUEUE_SIZE = 1000;
+
     @Value("${secret.engine:}")
     private String engineClass;
 
+    @Value("${secret.bulk.threads:8}")
+    private int bulkThreads;
+
     private final MetricService metricService;
 
     private final List<SecretEngine> engines;
@@ -43,6 +71,8 @@ public class SecretService {
 
     private final VaultRetryService vaultRetryService;
 
+    private ExecutorService bulkExecutor;
+
     public SecretService(MetricService metricService, List<SecretEngine> engines, VaultRetryService vaultRetryService) {
         this.metricService = metricService;
         this.engines = engines;
@@ -55,6 +85,16 @@ public class SecretService {
             persistentEngine = engines.stream().filter(e -> e.getClass().getCanonicalName().startsWith(engineClass)).findFirst()
                     .orElseThrow(() -> new RuntimeException(format("Selected secret engine (%s) is not found, please check secret.engine", engineClass)));
         }
+        bulkExecutor = new MDCCleanerThreadPoolExecutor(bulkThreads, bulkThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(BULK_QUEUE_SIZE), new ThreadFactoryBuilder().setNameFormat("secret-bulk-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (bulkExecutor != null) {
+            bulkExecutor.shutdownNow();
+        }
     }
 
     /**
@@ -82,6 +122,67 @@ public class SecretService {
         return secret;
     }
 
+    /**
+     * Stores several secrets in Secret's key-value store concurrently. If any of the writes fails, the secrets written by the others are
+     * deleted and the failure is thrown.
+     *
+     * @param valuesByKey Secret contents by the path where they will be stored
+     * @return Secrets by path
+     */
+    public Map<String, String> putAll(Map<String, String> valuesByKey) throws InvalidKeyException {
+        Map<String, CompletableFuture<String>> writes = new LinkedHashMap<>();
+        valuesByKey.forEach((key, value) -> writes.put(key, runBulk(() -> putUnchecked(key, value), valuesByKey.size())));
+        Map<String, String> secrets = new LinkedHashMap<>();
+        Throwable failure = null;
+        for (Map.Entry<String, CompletableFuture<String>> write : writes.entrySet()) {
+            try {
+                secrets.put(write.getKey(), write.getValue().join());
+            } catch (CompletionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure != null) {
+            LOGGER.warn("Writing {} of {} secrets failed, deleting the written ones", writes.size() - secrets.size(), writes.size());
+            deleteQuietly(secrets.values());
+            throwUnwrapped(failure);
+        }
+        return secrets;
+    }
+
+    /**
+     * Deletes the secrets and only logs the failures, used to clean up secrets that are not referenced by anything.
+     *
+     * @param secrets Key-value secrets in Secret
+     */
+    public void deleteQuietly(Collection<String> secrets) {
+        for (String secret : secrets) {
+            try {
+                delete(secret);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Could not delete secret {}, it is left behind in the secret store", secret, e);
+            }
+        }
+    }
+
+    private String putUnchecked(String key, String value) {
+        try {
+            return put(key, value);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void throwUnwrapped(Throwable failure) throws InvalidKeyException {
+        if (failure instanceof InvalidKeyException) {
+            throw (InvalidKeyException) failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new SecretOperationException(failure);
+    }
+
     /**
      * Fetches the secret from Secret's store. If the secret is not found then null is returned.
      * If the secret is null then null is returned.
@@ -93,6 +194,110 @@ public class SecretService {
         if (secret == null) {
             return null;
         }
+        Optional<Map<String, String>> cache = SecretCacheScope.current();
+        if (cache.isPresent() && cache.get().containsKey(secret)) {
+            metricService.incrementMetricCounter(MetricType.VAULT_READ_CACHED);
+            return cache.get().get(secret);
+        }
+        String value = read(secret);
+        cache.ifPresent(c -> c.put(secret, value));
+        return value;
+    }
+
+    /**
+     * Fetches several secrets from Secret's store. The secrets missing from the current {@link SecretCacheScope} are read concurrently.
+     *
+     * @param secrets Key-value secrets in Secret
+     * @return Secret contents by secret, the content is null if the secret is not found
+     */
+    public Map<String, String> getAll(Collection<String> secrets) {
+        Map<String, String> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        Optional<Map<String, String>> cache = SecretCacheScope.current();
+        for (String secret : secrets) {
+            if (secret == null) {
+                continue;
+            }
+            if (cache.isPresent() && cache.get().containsKey(secret)) {
+                metricService.incrementMetricCounter(MetricType.VAULT_READ_CACHED);
+                result.put(secret, cache.get().get(secret));
+            } else {
+                missing.add(secret);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<String, String> read = readAll(missing);
+            result.putAll(read);
+            cache.ifPresent(c -> c.putAll(read));
+        }
+        return result;
+    }
+
+    /**
+     * Reads the {@link SecretValue} fields of the entities into the current {@link SecretCacheScope} with one bulk read, so reading the
+     * fields later does not go to Secret's store one by one. Does nothing outside of a scope.
+     *
+     * @param entities entities with {@link SecretValue} fields
+     */
+    public void prefetch(Collection<?> entities) {
+        if (SecretCacheScope.current().isEmpty()) {
+            LOGGER.debug("No secret cache scope is open, skipping the prefetch of secrets");
+            return;
+        }
+        List<String> secrets = new ArrayList<>();
+        for (Object entity : entities) {
+            if (entity != null) {
+                collectSecrets(entity, secrets);
+            }
+        }
+        getAll(secrets);
+    }
+
+    private void collectSecrets(Object entity, List<String> secrets) {
+        for (SecretField field : SecretFields.of(entity.getClass())) {
+            try {
+                Object value = field.get(entity);
+                if (value instanceof Secret && ((Secret) value).getSecret() != null) {
+                    secrets.add(((Secret) value).getSecret());
+                }
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not read the secret field {}, it is read on demand", field, e);
+            }
+        }
+    }
+
+    private Map<String, String> readAll(Collection<String> secrets) {
+        long start = System.currentTimeMillis();
+        Map<String, CompletableFuture<String>> reads = new HashMap<>();
+        for (String secret : secrets) {
+            reads.put(secret, runBulk(() -> read(secret), secrets.size()));
+        }
+        Map<String, String> result = new HashMap<>();
+        try {
+            reads.forEach((secret, read) -> result.put(secret, read.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        metricService.recordTimerMetric(MetricType.VAULT_READ_BULK, Duration.ofMillis(System.currentTimeMillis() - start));
+        LOGGER.debug("Reading {} secrets took {} ms", secrets.size(), System.currentTimeMillis() - start);
+        return result;
+    }
+
+    private <T> CompletableFuture<T> runBulk(Supplier<T> task, int batchSize) {
+        if (bulkExecutor != null && batchSize > 1) {
+            return CompletableFuture.supplyAsync(task, bulkExecutor);
+        }
+        try {
+            return CompletableFuture.completedFuture(task.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private String read(String secret) {
         metricService.incrementMetricCounter(() -> "secret.read." + convertSecretToMetric(secret));
         long start = System.currentTimeMillis();
 
@@ -136,6 +341,7 @@ public class SecretService {
      * @param secret Key-value secret in Secret
      */
     public void delete(String secret) {
+        SecretCacheScope.current().ifPresent(cache -> cache.remove(secret));
         metricService.incrementMetricCounter(() -> "secret.delete." + convertSecretToMetric(secret));
         long start = System.currentTimeMillis();
         engines.stream()
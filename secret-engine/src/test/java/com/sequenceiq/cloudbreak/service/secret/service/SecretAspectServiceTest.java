@@ -1,9 +1,18 @@
 package com.sequenceiq.cloudbreak.service.secret.service;
 
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.Signature;
 import org.aspectj.lang.reflect.SourceLocation;
@@ -22,6 +31,7 @@ import com.sequenceiq.cloudbreak.service.secret.SecretOperationException;
 import com.sequenceiq.cloudbreak.service.secret.SecretValue;
 import com.sequenceiq.cloudbreak.service.secret.domain.AccountIdAwareResource;
 import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
+import com.sequenceiq.cloudbreak.service.secret.domain.SecretProxy;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SecretAspectServiceTest {
@@ -40,15 +50,60 @@ public class SecretAspectServiceTest {
         VaultTest vaultTest = new VaultTest("justice-league", "super");
         VaultTestProceedingJoinPoint proceedingJoinPoint = new VaultTestProceedingJoinPoint(vaultTest);
 
-        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> valueCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Map<String, String>> valuesCaptor = ArgumentCaptor.forClass(Map.class);
 
-        when(secretService.put(keyCaptor.capture(), valueCaptor.capture())).thenReturn("");
+        when(secretService.putAll(valuesCaptor.capture())).thenReturn(Map.of());
 
         underTest.proceedSave(proceedingJoinPoint);
 
-        Assert.assertTrue(keyCaptor.getValue().startsWith("justice-league/vaulttest/power/"));
-        Assert.assertEquals(valueCaptor.getValue(), "super");
+        Map.Entry<String, String> value = valuesCaptor.getValue().entrySet().iterator().next();
+        Assert.assertTrue(value.getKey().startsWith("justice-league/vaulttest/power/"));
+        Assert.assertEquals(value.getValue(), "super");
+    }
+
+    @Test
+    public void testVaultPutWhenSavingMoreEntitiesThenWritesTheirSecretsTogether() throws Exception {
+        VaultTest superman = new VaultTest("justice-league", "flight");
+        VaultTest batman = new VaultTest("justice-league", "money");
+        VaultTestProceedingJoinPoint proceedingJoinPoint = new VaultTestProceedingJoinPoint(List.of(superman, batman));
+
+        when(secretService.putAll(any())).then(i -> secretsByPath(i.getArgument(0)));
+
+        underTest.proceedSave(proceedingJoinPoint);
+
+        verify(secretService, times(1)).putAll(argThat(values -> values.size() == 2 && values.containsValue("flight") && values.containsValue("money")));
+        Assert.assertTrue(superman.getPower() instanceof SecretProxy);
+        Assert.assertTrue(batman.getPower().getSecret().startsWith("justice-league/vaulttest/power/"));
+    }
+
+    @Test
+    public void testVaultPutWhenRepositorySaveFailsThenDeletesTheWrittenSecrets() throws Exception {
+        VaultTest vaultTest = new VaultTest("justice-league", "super");
+        VaultTestProceedingJoinPoint proceedingJoinPoint = new VaultTestProceedingJoinPoint(vaultTest, new IllegalStateException("db"));
+
+        when(secretService.putAll(any())).then(i -> secretsByPath(i.getArgument(0)));
+
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("db");
+
+        try {
+            underTest.proceedSave(proceedingJoinPoint);
+        } finally {
+            verify(secretService, times(1)).deleteQuietly(argThat(secrets -> secrets.size() == 1
+                    && secrets.iterator().next().startsWith("justice-league/vaulttest/power/")));
+            Assert.assertFalse(vaultTest.getPower() instanceof SecretProxy);
+            Assert.assertEquals("super", vaultTest.getPower().getRaw());
+        }
+    }
+
+    @Test
+    public void testVaultPutWhenNoSecretToWriteThenSecretServiceIsNotCalled() throws Exception {
+        VaultTest vaultTest = new VaultTest("justice-league", new Secret("super", "justice-league/vaulttest/power/123"));
+        VaultTestProceedingJoinPoint proceedingJoinPoint = new VaultTestProceedingJoinPoint(vaultTest);
+
+        underTest.proceedSave(proceedingJoinPoint);
+
+        verify(secretService, never()).putAll(any());
     }
 
     @Test
@@ -67,7 +122,7 @@ public class SecretAspectServiceTest {
         VaultTest vaultTest = new VaultTest("justice-league", "super");
         VaultTestProceedingJoinPoint proceedingJoinPoint = new VaultTestProceedingJoinPoint(vaultTest);
 
-        when(secretService.put(anyString(), anyString())).thenThrow(new RuntimeException("runtime"));
+        when(secretService.putAll(any())).thenThrow(new RuntimeException("runtime"));
 
         thrown.expect(SecretOperationException.class);
         thrown.expectMessage("runtime");
@@ -90,14 +145,25 @@ public class SecretAspectServiceTest {
         Assert.assertTrue(keyCaptor.getValue().startsWith("justice-league/vaulttest/power/123-123-123-123"));
     }
 
+    private static Map<String, String> secretsByPath(Map<String, String> valuesByPath) {
+        return valuesByPath.keySet().stream().collect(Collectors.toMap(Function.identity(), Function.identity()));
+    }
+
     private static class VaultTestProceedingJoinPoint implements ProceedingJoinPoint {
 
         private Object[] args;
 
+        private RuntimeException failure;
+
         VaultTestProceedingJoinPoint(Object obj) {
             this.args = new Object[]{obj};
         }
 
+        VaultTestProceedingJoinPoint(Object obj, RuntimeException failure) {
+            this(obj);
+            this.failure = failure;
+        }
+
         @Override
         public void set$AroundClosure(AroundClosure arc) {
 
@@ -105,6 +171,9 @@ public class SecretAspectServiceTest {
 
         @Override
         public Object proceed() throws Throwable {
+            if (failure != null) {
+                throw failure;
+            }
             return "GO";
         }
 
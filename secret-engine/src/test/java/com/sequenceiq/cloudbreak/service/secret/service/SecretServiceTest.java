@@ -11,6 +11,10 @@ import static org.mockito.Mockito.when;
 import java.lang.reflect.Field;
 import java.security.InvalidKeyException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.junit.Assert;
@@ -28,6 +32,8 @@ import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
 import com.sequenceiq.cloudbreak.common.metrics.type.MetricType;
 import com.sequenceiq.cloudbreak.service.secret.SecretEngine;
+import com.sequenceiq.cloudbreak.service.secret.SecretValue;
+import com.sequenceiq.cloudbreak.service.secret.domain.Secret;
 
 @RunWith(MockitoJUnitRunner.class)
 public class SecretServiceTest {
@@ -138,4 +144,168 @@ public class SecretServiceTest {
         verify(persistentEngine, times(1)).delete(anyString());
         verify(metricService, times(1)).submit(eq(MetricType.VAULT_WRITE), anyDouble());
     }
+
+    @Test
+    public void testGetInScopeReadsVaultOnce() {
+        when(persistentEngine.get("secret")).thenReturn("value");
+
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            Assert.assertEquals("value", underTest.get("secret"));
+            Assert.assertEquals("value", underTest.get("secret"));
+        }
+
+        verify(persistentEngine, times(1)).get("secret");
+        verify(metricService, times(1)).incrementMetricCounter(MetricType.VAULT_READ_CACHED);
+    }
+
+    @Test
+    public void testGetOutsideScopeAlwaysReadsVault() {
+        when(persistentEngine.get("secret")).thenReturn("value");
+
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            underTest.get("secret");
+        }
+        underTest.get("secret");
+
+        verify(persistentEngine, times(2)).get("secret");
+    }
+
+    @Test
+    public void testNestedScopeKeepsSecretsUntilOutermostScopeIsClosed() {
+        when(persistentEngine.get("secret")).thenReturn("value");
+
+        try (SecretCacheScope outer = SecretCacheScope.open()) {
+            try (SecretCacheScope inner = SecretCacheScope.open()) {
+                underTest.get("secret");
+            }
+            underTest.get("secret");
+        }
+
+        verify(persistentEngine, times(1)).get("secret");
+        Assert.assertTrue(SecretCacheScope.current().isEmpty());
+    }
+
+    @Test
+    public void testDeleteDropsSecretFromScope() {
+        when(persistentEngine.get("secret")).thenReturn("value");
+
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            underTest.get("secret");
+            underTest.delete("secret");
+            underTest.get("secret");
+        }
+
+        verify(persistentEngine, times(2)).get("secret");
+    }
+
+    @Test
+    public void testGetAllReadsSecretsConcurrently() throws Exception {
+        Map<String, String> vault = new ConcurrentHashMap<>(Map.of("s1", "v1", "s2", "v2", "s3", "v3"));
+        CountDownLatch allReading = new CountDownLatch(vault.size());
+        when(persistentEngine.get(anyString())).then(i -> {
+            allReading.countDown();
+            allReading.await(10, TimeUnit.SECONDS);
+            return vault.get(i.<String>getArgument(0));
+        });
+        initWithBulkThreads(3);
+
+        Map<String, String> result;
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            result = underTest.getAll(List.of("s1", "s2", "s3", "s1"));
+            Assert.assertEquals("v2", underTest.get("s2"));
+        } finally {
+            underTest.shutdown();
+        }
+
+        Assert.assertEquals(Map.of("s1", "v1", "s2", "v2", "s3", "v3"), result);
+        Assert.assertEquals(0L, allReading.getCount());
+        verify(persistentEngine, times(3)).get(anyString());
+        verify(metricService, times(1)).recordTimerMetric(eq(MetricType.VAULT_READ_BULK), any());
+    }
+
+    @Test
+    public void testPrefetchReadsSecretValueFieldsOfEntities() throws Exception {
+        when(persistentEngine.get("s1")).thenReturn("v1");
+        when(persistentEngine.get("s2")).thenReturn("v2");
+        initWithBulkThreads(2);
+        SecretEntity entity = new SecretEntity(new Secret(null, "s1"), new Secret(null, "s2"));
+
+        try (SecretCacheScope ignored = SecretCacheScope.open()) {
+            underTest.prefetch(List.of(entity));
+            Assert.assertEquals("v1", underTest.get("s1"));
+            Assert.assertEquals("v2", underTest.get("s2"));
+        } finally {
+            underTest.shutdown();
+        }
+
+        verify(persistentEngine, times(1)).get("s1");
+        verify(persistentEngine, times(1)).get("s2");
+        verify(persistentEngine, times(0)).get("plain");
+    }
+
+    @Test
+    public void testPrefetchOutsideScopeDoesNotReadVault() {
+        underTest.prefetch(List.of(new SecretEntity(new Secret(null, "s1"), new Secret(null, "s2"))));
+
+        verify(persistentEngine, times(0)).get(anyString());
+    }
+
+    @Test
+    public void testPutAllDeletesWrittenSecretsWhenAWriteFails() throws Exception {
+        when(persistentEngine.exists(anyString())).thenReturn(false);
+        when(persistentEngine.put("ok", "v1")).thenReturn("ok-secret");
+        when(persistentEngine.put("failing", "v2")).thenThrow(new IllegalStateException("vault down"));
+        initWithBulkThreads(2);
+
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("vault down");
+
+        try {
+            underTest.putAll(Map.of("ok", "v1", "failing", "v2"));
+        } finally {
+            underTest.shutdown();
+            verify(persistentEngine, times(1)).delete("ok-secret");
+        }
+    }
+
+    @Test
+    public void testPutAllReturnsSecretsByKey() throws Exception {
+        when(persistentEngine.exists(anyString())).thenReturn(false);
+        when(persistentEngine.put("k1", "v1")).thenReturn("s1");
+        when(persistentEngine.put("k2", "v2")).thenReturn("s2");
+        initWithBulkThreads(2);
+
+        Map<String, String> result;
+        try {
+            result = underTest.putAll(Map.of("k1", "v1", "k2", "v2"));
+        } finally {
+            underTest.shutdown();
+        }
+
+        Assert.assertEquals(Map.of("k1", "s1", "k2", "s2"), result);
+        verify(persistentEngine, times(0)).delete(anyString());
+    }
+
+    private void initWithBulkThreads(int threads) {
+        Field bulkThreads = ReflectionUtils.findField(SecretService.class, "bulkThreads");
+        ReflectionUtils.makeAccessible(bulkThreads);
+        ReflectionUtils.setField(bulkThreads, underTest, threads);
+        underTest.init();
+    }
+
+    private static class SecretEntity {
+
+        @SecretValue
+        private final Secret first;
+
+        @SecretValue
+        private final Secret second;
+
+        private final Secret plain = new Secret(null, "plain");
+
+        SecretEntity(Secret first, Secret second) {
+            this.first = first;
+            this.second = second;
+        }
+    }
 }
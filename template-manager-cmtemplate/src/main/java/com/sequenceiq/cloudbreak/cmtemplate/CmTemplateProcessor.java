@@ -80,6 +80,8 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     private final ApiClusterTemplate cmTemplate;
 
+    private CmTemplateView view;
+
     public CmTemplateProcessor(@Nonnull String cmTemplateText) {
         try {
             cmTemplate = JsonUtil.readValue(cmTemplateText, ApiClusterTemplate.class);
@@ -172,13 +174,12 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public Map<String, Set<ServiceComponent>> getServiceComponentsByHostGroup() {
-        Map<String, ServiceComponent> rolesByRoleRef = mapRoleRefsToServiceComponents();
-        return collectServiceComponentsByHostGroup(rolesByRoleRef);
+        return getView().getServiceComponentsByHostGroup();
     }
 
     private Map<String, Set<String>> getImpalaCoordinatorsByHostGroup() {
         Map<String, ServiceComponent> rolesByRoleRef = getImpalaCoordinators();
-        return collectServiceComponentsByHostGroup(rolesByRoleRef).entrySet().stream()
+        return CmTemplateView.collectByHostGroup(cmTemplate, rolesByRoleRef).entrySet().stream()
                 .collect(toMap(
                         Entry::getKey,
                         e -> e.getValue().stream()
@@ -186,19 +187,6 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
                                 .collect(toSet())));
     }
 
-    private Map<String, Set<ServiceComponent>> collectServiceComponentsByHostGroup(Map<String, ServiceComponent> rolesByRoleRef) {
-        Map<String, Set<ServiceComponent>> result = new HashMap<>();
-        List<ApiClusterTemplateHostTemplate> hostTemplates = Optional.ofNullable(cmTemplate.getHostTemplates()).orElse(List.of());
-        for (ApiClusterTemplateHostTemplate apiClusterTemplateHostTemplate : hostTemplates) {
-            Set<ServiceComponent> components = apiClusterTemplateHostTemplate.getRoleConfigGroupsRefNames().stream()
-                    .map(rolesByRoleRef::get)
-                    .filter(Objects::nonNull)
-                    .collect(toSet());
-            result.put(apiClusterTemplateHostTemplate.getRefName(), components);
-        }
-        return result;
-    }
-
     @Override
     public String getHostGroupPropertyIdentifier() {
         return "template";
@@ -238,13 +226,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     @Override
     public Map<String, Set<String>> getComponentsByHostGroup() {
-        return getServiceComponentsByHostGroup().entrySet().stream()
-                .collect(toMap(
-                        Map.Entry::getKey,
-                        e -> e.getValue().stream()
-                                .map(ServiceComponent::getComponent)
-                                .collect(toSet())
-                ));
+        return getView().getComponentsByHostGroup();
     }
 
     @Override
@@ -375,6 +357,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public List<ApiClusterTemplateHostTemplate> getHostTemplates() {
+        invalidateView();
         return cmTemplate.getHostTemplates();
     }
 
@@ -467,6 +450,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
             cmTemplate.getHostTemplates().stream()
                     .filter(hostTemplate -> hostTemplate.getRefName().equals(hostGroupService.getKey()))
                     .forEach(ht -> ht.getRoleConfigGroupsRefNames().addAll(serviceRefNames));
+            invalidateView();
         }
     }
 
@@ -559,15 +543,15 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
     }
 
     public Optional<ApiClusterTemplateService> getServiceByType(String serviceType) {
-        for (ApiClusterTemplateService service : cmTemplate.getServices()) {
-            if (serviceType.equalsIgnoreCase(service.getServiceType())) {
-                return Optional.of(service);
-            }
-        }
-        return Optional.empty();
+        return getView().getServiceByType(serviceType);
     }
 
+    /**
+     * The caller may change the services and host templates of the returned model, so the indexed view of the template is rebuilt on the
+     * next lookup.
+     */
     public ApiClusterTemplate getTemplate() {
+        invalidateView();
         return cmTemplate;
     }
 
@@ -610,10 +594,12 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     public void setHostTemplates(List<ApiClusterTemplateHostTemplate> hostTemplates) {
         cmTemplate.setHostTemplates(hostTemplates);
+        invalidateView();
     }
 
     public void setServices(List<ApiClusterTemplateService> services) {
         cmTemplate.setServices(services);
+        invalidateView();
     }
 
     public void addDiagnosticTags(TemplatePreparationObject templatePreparationObject, ClouderaManagerRepo clouderaManagerRepo) {
@@ -641,13 +627,7 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
 
     @VisibleForTesting
     Map<String, ServiceComponent> mapRoleRefsToServiceComponents() {
-        return ofNullable(cmTemplate.getServices()).orElse(List.of()).stream()
-                .filter(service -> service.getRoleConfigGroups() != null)
-                .flatMap(service -> service.getRoleConfigGroups().stream()
-                        .map(rcg -> Pair.of(service.getServiceType(), rcg)))
-                .collect(toMap(
-                        pair -> pair.getRight().getRefName(),
-                        pair -> ServiceComponent.of(pair.getLeft(), pair.getRight().getRoleType())));
+        return getView().getServiceComponentsByRoleRef();
     }
 
     Map<String, ServiceComponent> getImpalaCoordinators() {
@@ -714,6 +694,17 @@ public class CmTemplateProcessor implements BlueprintTextProcessor {
         return false;
     }
 
+    private CmTemplateView getView() {
+        if (view == null) {
+            view = new CmTemplateView(cmTemplate);
+        }
+        return view;
+    }
+
+    private void invalidateView() {
+        view = null;
+    }
+
     public Optional<ApiClusterTemplateConfig> getRoleConfig(String serviceType, String roleType, String configName) {
         return getServiceByType(serviceType).flatMap(
                 service -> Optional.ofNullable(service.getRoleConfigGroups()).orElseGet(List::of).stream()
@@ -0,0 +1,90 @@
+package com.sequenceiq.cloudbreak.cmtemplate;
+
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toUnmodifiableSet;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import com.cloudera.api.swagger.model.ApiClusterTemplate;
+import com.cloudera.api.swagger.model.ApiClusterTemplateHostTemplate;
+import com.cloudera.api.swagger.model.ApiClusterTemplateService;
+import com.sequenceiq.cloudbreak.template.model.ServiceComponent;
+
+/**
+ * Read only index of the services, role config groups and host templates of a cluster template. {@link CmTemplateProcessor} builds it on the
+ * first lookup and drops it when the structure of the template changes, so the config providers asking for the components of the host groups
+ * share one walk over the template. Configs are not part of the view, they change with almost every provider.
+ */
+class CmTemplateView {
+
+    private final Map<String, ApiClusterTemplateService> servicesByType = new HashMap<>();
+
+    private final Map<String, ServiceComponent> serviceComponentsByRoleRef;
+
+    private final Map<String, Set<ServiceComponent>> serviceComponentsByHostGroup;
+
+    private final Map<String, Set<String>> componentsByHostGroup;
+
+    CmTemplateView(ApiClusterTemplate template) {
+        List<ApiClusterTemplateService> services = ofNullable(template.getServices()).orElse(List.of());
+        for (ApiClusterTemplateService service : services) {
+            if (service.getServiceType() != null) {
+                servicesByType.putIfAbsent(service.getServiceType().toLowerCase(Locale.ROOT), service);
+            }
+        }
+        serviceComponentsByRoleRef = Collections.unmodifiableMap(services.stream()
+                .filter(service -> service.getRoleConfigGroups() != null)
+                .flatMap(service -> service.getRoleConfigGroups().stream()
+                        .map(rcg -> Pair.of(service.getServiceType(), rcg)))
+                .collect(toMap(
+                        pair -> pair.getRight().getRefName(),
+                        pair -> ServiceComponent.of(pair.getLeft(), pair.getRight().getRoleType()))));
+        serviceComponentsByHostGroup = Collections.unmodifiableMap(collectByHostGroup(template, serviceComponentsByRoleRef));
+        componentsByHostGroup = Collections.unmodifiableMap(serviceComponentsByHostGroup.entrySet().stream()
+                .collect(toMap(
+                        Map.Entry::getKey,
+                        e -> e.getValue().stream()
+                                .map(ServiceComponent::getComponent)
+                                .collect(toUnmodifiableSet()))));
+    }
+
+    static Map<String, Set<ServiceComponent>> collectByHostGroup(ApiClusterTemplate template, Map<String, ServiceComponent> rolesByRoleRef) {
+        Map<String, Set<ServiceComponent>> result = new HashMap<>();
+        List<ApiClusterTemplateHostTemplate> hostTemplates = ofNullable(template.getHostTemplates()).orElse(List.of());
+        for (ApiClusterTemplateHostTemplate hostTemplate : hostTemplates) {
+            Set<ServiceComponent> components = hostTemplate.getRoleConfigGroupsRefNames().stream()
+                    .map(rolesByRoleRef::get)
+                    .filter(Objects::nonNull)
+                    .collect(toSet());
+            result.put(hostTemplate.getRefName(), Collections.unmodifiableSet(components));
+        }
+        return result;
+    }
+
+    Optional<ApiClusterTemplateService> getServiceByType(String serviceType) {
+        return Optional.ofNullable(servicesByType.get(serviceType.toLowerCase(Locale.ROOT)));
+    }
+
+    Map<String, ServiceComponent> getServiceComponentsByRoleRef() {
+        return serviceComponentsByRoleRef;
+    }
+
+    Map<String, Set<ServiceComponent>> getServiceComponentsByHostGroup() {
+        return serviceComponentsByHostGroup;
+    }
+
+    Map<String, Set<String>> getComponentsByHostGroup() {
+        return componentsByHostGroup;
+    }
+}
@@ -40,9 +40,11 @@ import com.sequenceiq.cloudbreak.cmtemplate.configproviders.core.CoreConfigProvi
 import com.sequenceiq.cloudbreak.cmtemplate.configproviders.hbase.HbaseCloudStorageServiceConfigProvider;
 import com.sequenceiq.cloudbreak.cmtemplate.configproviders.hive.HiveMetastoreConfigProvider;
 import com.sequenceiq.cloudbreak.cmtemplate.configproviders.s3guard.S3GuardConfigProvider;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
 import com.sequenceiq.cloudbreak.domain.RDSConfig;
 import com.sequenceiq.cloudbreak.domain.StorageLocation;
 import com.sequenceiq.cloudbreak.domain.stack.cluster.gateway.Gateway;
+import com.sequenceiq.cloudbreak.template.CompiledTemplateCache;
 import com.sequenceiq.cloudbreak.template.TemplatePreparationObject;
 import com.sequenceiq.cloudbreak.template.TemplateProcessor;
 import com.sequenceiq.cloudbreak.template.filesystem.BaseFileSystemConfigurationsView;
@@ -98,6 +100,9 @@ public class CentralCmTemplateUpdaterTest {
     @Mock
     private EntitlementService entitlementService;
 
+    @Mock
+    private MetricService metricService;
+
     private ClouderaManagerRepo clouderaManagerRepo;
 
     @Before
@@ -136,6 +141,11 @@ public class CentralCmTemplateUpdaterTest {
         ReflectionTestUtils.setField(cmTemplateComponentConfigProviderProcessor, "providers", cmTemplateComponentConfigProviders);
         ReflectionTestUtils.setField(cmTemplateConfigInjectorProcessor, "injectors", List.of());
         ReflectionTestUtils.setField(cmHostGroupRoleConfigProviderProcessor, "providers", List.of());
+        CompiledTemplateCache compiledTemplateCache = new CompiledTemplateCache();
+        ReflectionTestUtils.setField(compiledTemplateCache, "maxSize", 10L);
+        ReflectionTestUtils.setField(compiledTemplateCache, "metricService", metricService);
+        compiledTemplateCache.init();
+        ReflectionTestUtils.setField(templateProcessor, "compiledTemplateCache", compiledTemplateCache);
     }
 
     private static Set<HostgroupView> toHostgroupViews(Map<String, List<Map<String, String>>> hostgroupMappings) {
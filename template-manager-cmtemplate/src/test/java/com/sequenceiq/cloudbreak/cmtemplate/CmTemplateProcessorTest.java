@@ -406,6 +406,34 @@ public class CmTemplateProcessorTest {
         assertEquals(expectedTemplate, actualTemplate);
     }
 
+    @Test
+    public void testLookupsFollowTheAdditionalServices() {
+        underTest = new CmTemplateProcessor(getBlueprintText("input/clouderamanager.bp"));
+        assertFalse(underTest.isComponentExistsInHostGroup("KNOX_GATEWAY", "master"));
+        ApiClusterTemplateService knox = new ApiClusterTemplateService().serviceType("KNOX").refName("knox");
+        ApiClusterTemplateRoleConfigGroup knoxGateway = new ApiClusterTemplateRoleConfigGroup()
+                .roleType("KNOX_GATEWAY").base(true).refName("knox-KNOX_GATEWAY-BASE");
+        knox.roleConfigGroups(List.of(knoxGateway));
+
+        underTest.extendTemplateWithAdditionalServices(Map.of("master", knox));
+
+        assertTrue(underTest.isComponentExistsInHostGroup("KNOX_GATEWAY", "master"));
+        assertTrue(underTest.getServiceComponentsByHostGroup().get("master").contains(ServiceComponent.of("KNOX", "KNOX_GATEWAY")));
+        assertEquals(knox, underTest.getServiceByType("knox").get());
+    }
+
+    @Test
+    public void testLookupsFollowChangesMadeThroughTheTemplateModel() {
+        underTest = new CmTemplateProcessor(getBlueprintText("input/clouderamanager.bp"));
+        assertTrue(underTest.isComponentExistsInHostGroup("NODEMANAGER", "worker"));
+
+        underTest.getTemplate().getHostTemplates().stream()
+                .filter(hostTemplate -> "worker".equals(hostTemplate.getRefName()))
+                .forEach(hostTemplate -> hostTemplate.getRoleConfigGroupsRefNames().remove("yarn-NODEMANAGER-BASE"));
+
+        assertFalse(underTest.isComponentExistsInHostGroup("NODEMANAGER", "worker"));
+    }
+
     @Test
     public void testExtendTemplateWithAdditionalServicesWithKnoxServiceAndMultipleGateway() {
         underTest = new CmTemplateProcessor(getBlueprintText("input/clouderamanager-multi-gateway.bp"));
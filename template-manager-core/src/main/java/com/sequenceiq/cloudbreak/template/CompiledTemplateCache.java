@@ -0,0 +1,83 @@
+package com.sequenceiq.cloudbreak.template;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.jknack.handlebars.Handlebars;
+import com.github.jknack.handlebars.Template;
+import com.google.common.hash.Hashing;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+import com.sequenceiq.cloudbreak.handlebar.HandlebarTemplate;
+import com.sequenceiq.cloudbreak.handlebar.HandlebarUtils;
+
+/**
+ * Bounded cache of compiled Handlebars templates keyed by the SHA-256 hash of the template text, so the same cluster template is parsed once
+ * instead of on every render or parameter query. Compiled templates are immutable and can be applied concurrently.
+ */
+@Component
+public class CompiledTemplateCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompiledTemplateCache.class);
+
+    private final Handlebars handlebars = HandlebarUtils.handlebars();
+
+    @Value("${cb.template.compiled.cache.max.size:500}")
+    private long maxSize;
+
+    @Inject
+    private MetricService metricService;
+
+    private Cache<String, Template> templates;
+
+    @PostConstruct
+    public void init() {
+        templates = Caffeine.newBuilder().maximumSize(maxSize).build();
+        metricService.gaugeMapSize(CompiledTemplateMetricType.COMPILED_TEMPLATE_CACHE_SIZE, templates.asMap());
+    }
+
+    public Template get(String sourceTemplate) throws IOException {
+        String key = Hashing.sha256().hashString(sourceTemplate, StandardCharsets.UTF_8).toString();
+        Template template = templates.getIfPresent(key);
+        if (template != null) {
+            metricService.incrementMetricCounter(CompiledTemplateMetricType.COMPILED_TEMPLATE_LOOKUP, "result", "hit");
+            return template;
+        }
+        metricService.incrementMetricCounter(CompiledTemplateMetricType.COMPILED_TEMPLATE_LOOKUP, "result", "miss");
+        try {
+            return templates.get(key, k -> compile(sourceTemplate));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Compiles the template ahead of its first use, for example for the default blueprints at startup. A template that cannot be compiled
+     * is only logged here, the error is reported again when the template is processed.
+     */
+    public void precompile(String sourceTemplate) {
+        try {
+            get(sourceTemplate);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Template could not be precompiled", e);
+        }
+    }
+
+    private Template compile(String sourceTemplate) {
+        try {
+            return handlebars.compileInline(sourceTemplate, HandlebarTemplate.DEFAULT_PREFIX.key(), HandlebarTemplate.DEFAULT_POSTFIX.key());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sequenceiq.cloudbreak.template;
+
+import com.sequenceiq.cloudbreak.common.metrics.type.Metric;
+
+public enum CompiledTemplateMetricType implements Metric {
+
+    COMPILED_TEMPLATE_LOOKUP("template.compiled.lookup"),
+    COMPILED_TEMPLATE_CACHE_SIZE("template.compiled.cache.size");
+
+    private final String metricName;
+
+    CompiledTemplateMetricType(String metricName) {
+        this.metricName = metricName;
+    }
+
+    @Override
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -4,15 +4,14 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import javax.inject.Inject;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import com.github.jknack.handlebars.Handlebars;
 import com.github.jknack.handlebars.TagType;
 import com.github.jknack.handlebars.Template;
-import com.sequenceiq.cloudbreak.handlebar.HandlebarTemplate;
-import com.sequenceiq.cloudbreak.handlebar.HandlebarUtils;
 import com.sequenceiq.cloudbreak.common.json.JsonUtil;
 
 @Component
@@ -20,7 +19,8 @@ public class TemplateProcessor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TemplateProcessor.class);
 
-    private final Handlebars handlebars = HandlebarUtils.handlebars();
+    @Inject
+    private CompiledTemplateCache compiledTemplateCache;
 
     public String process(String sourceTemplate, TemplatePreparationObject source, Map<String, Object> customProperties) throws IOException {
         long started = System.currentTimeMillis();
@@ -42,13 +42,13 @@ public class TemplateProcessor {
 
     private String generateTemplateWithParameters(String sourceTemplate, TemplatePreparationObject source, Map<String, Object> customProperties)
             throws IOException {
-        Template template = handlebars.compileInline(sourceTemplate, HandlebarTemplate.DEFAULT_PREFIX.key(), HandlebarTemplate.DEFAULT_POSTFIX.key());
+        Template template = compiledTemplateCache.get(sourceTemplate);
         return template.apply(prepareTemplateObject(source, customProperties));
     }
 
     private List<String> queryTemplateParameters(String sourceTemplate)
             throws IOException {
-        Template template = handlebars.compileInline(sourceTemplate, HandlebarTemplate.DEFAULT_PREFIX.key(), HandlebarTemplate.DEFAULT_POSTFIX.key());
+        Template template = compiledTemplateCache.get(sourceTemplate);
         return template.collect(TagType.VAR);
     }
 
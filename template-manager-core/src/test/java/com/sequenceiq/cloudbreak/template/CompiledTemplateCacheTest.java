@@ -0,0 +1,68 @@
+package com.sequenceiq.cloudbreak.template;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.github.jknack.handlebars.Template;
+import com.sequenceiq.cloudbreak.common.metrics.MetricService;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CompiledTemplateCacheTest {
+
+    private static final String TEMPLATE = "{\"clusterName\":\"{{{general.clusterName}}}\"}";
+
+    @Mock
+    private MetricService metricService;
+
+    @InjectMocks
+    private CompiledTemplateCache underTest;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(underTest, "maxSize", 10L);
+        underTest.init();
+    }
+
+    @Test
+    public void testSameTemplateIsCompiledOnce() throws IOException {
+        Template first = underTest.get(TEMPLATE);
+        Template second = underTest.get(TEMPLATE);
+
+        assertSame(first, second);
+        assertEquals("{\"clusterName\":\"cluster\"}", second.apply(Map.of("general", Map.of("clusterName", "cluster"))));
+        verify(metricService).incrementMetricCounter(CompiledTemplateMetricType.COMPILED_TEMPLATE_LOOKUP, "result", "miss");
+        verify(metricService).incrementMetricCounter(CompiledTemplateMetricType.COMPILED_TEMPLATE_LOOKUP, "result", "hit");
+    }
+
+    @Test
+    public void testDifferentTemplatesAreCompiledSeparately() throws IOException {
+        assertNotSame(underTest.get(TEMPLATE), underTest.get(TEMPLATE + " "));
+    }
+
+    @Test
+    public void testPrecompiledTemplateIsServedFromTheCache() throws IOException {
+        underTest.precompile(TEMPLATE);
+
+        underTest.get(TEMPLATE);
+
+        verify(metricService).incrementMetricCounter(CompiledTemplateMetricType.COMPILED_TEMPLATE_LOOKUP, "result", "hit");
+    }
+
+    @Test
+    public void testPrecompileSwallowsInvalidTemplates() {
+        underTest.precompile("{{#if}}");
+    }
+}